@@ -0,0 +1,223 @@
+package com.cc.hal.sim;
+
+import com.cc.config.Parameters;
+import com.cc.hal.Hardware;
+import com.cc.inputs.driver.Driver;
+import com.cc.inputs.driver.DriverState;
+import com.cc.inputs.driver.XBoxController;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.outputs.frame.OutputFrame;
+import com.cc.systems.Chassis;
+import com.cc.utility.Utility;
+
+/**
+ * Times the drive math that runs every loop against the simulated hardware.
+ * Each case is warmed up first, then run for several rounds, and the fastest
+ * and middle round are printed in nanoseconds per call. Every result is added
+ * into a sink which is printed at the end, so the JIT cannot throw the work away.
+ */
+public class DriveBenchmark
+{
+    //How many calls are made in one round.
+    private static final int _CALLS = 2000000;
+
+    //How many rounds are thrown away while the JIT warms up, and how many are kept.
+    private static final int _WARMUP_ROUNDS = 5;
+    private static final int _ROUNDS = 10;
+
+    //The number of different inputs each case steps through.
+    private static final int _INPUTS = 256;
+
+    //The sum of every result, printed at the end.
+    private static double _sink = 0.0;
+
+    //The inputs each case steps through, between -1 and 1.
+    private static double[] _inputs;
+
+    /**
+     * One piece of code to be timed.
+     */
+    private static abstract class Case
+    {
+        //The name printed with the results.
+        private String _name;
+
+        /**
+         * Creates a case with the given name.
+         *
+         * @param name The name printed with the results.
+         */
+        Case( String name )
+        {
+            _name = name;
+        }
+
+        /**
+         * Runs the code once with the given input.
+         *
+         * @param input The input, between -1 and 1.
+         *
+         * @return A result that depends on the work done.
+         */
+        abstract double call( double input );
+    }
+
+    /**
+     * Runs every benchmark.
+     *
+     * @param args Not used.
+     */
+    public static void main( String[] args )
+    {
+        //Swaps in the simulated hardware before any subsystem is created.
+        final SimHardware hardware = new SimHardware();
+        Hardware.setInstance( hardware );
+
+        //Keeps the parameters off the Smart Dashboard and gives them the robot's starting values.
+        Parameters parameters = Parameters.getInstance();
+        parameters.setOffline( true );
+        parameters.publish( Parameters.DRIVER_EXPO, 2.0 );
+        parameters.publish( Parameters.ROT_DEAD_ZONE, 0.05 );
+
+        //Creates the inputs, spread across the whole range.
+        _inputs = new double[ _INPUTS ];
+        for( int i = 0; i < _INPUTS; i++ )
+        {
+            _inputs[ i ] = Math.sin( i * 0.37 );
+        }
+
+        final Chassis chassis = Chassis.getInstance();
+        final Driver driver = XBoxController.getInstance();
+        final OutputFrame output = OutputFrame.getInstance();
+        final SimMotor leftFront = hardware.getPwm( 1 );
+        final SimAngleSensor gyro = hardware.getAnalog( 2, true );
+        final SimJoystick joystick = hardware.getSimJoystick( 1 );
+        final InputFrame frame = InputFrame.getInstance();
+
+        measure( new Case( "Utility.limitRange" )
+        {
+            double call( double input )
+            {
+                return Utility.limitRange( input * 1.5 );
+            }
+        } );
+
+        measure( new Case( "Utility.expo" )
+        {
+            double call( double input )
+            {
+                return Utility.expo( input, 2.0 );
+            }
+        } );
+
+        measure( new Case( "Driver.normalize" )
+        {
+            double call( double input )
+            {
+                return driver.normalize( input, -1.0, 1.0, 0.0 );
+            }
+        } );
+
+        measure( new Case( "Chassis.holoDrive" )
+        {
+            double call( double input )
+            {
+                chassis.holoDrive( input, -input * 0.5, input * 0.25 );
+                output.commit();
+                return leftFront.get();
+            }
+        } );
+
+        measure( new Case( "Chassis.relativeHoloDrive" )
+        {
+            double call( double input )
+            {
+                frame.startTick();
+                gyro.setState( input * 180.0, 0.0 );
+                chassis.updateSensors();
+                chassis.relativeHoloDrive( input, -input * 0.5, input * 0.25 );
+                output.commit();
+                return leftFront.get();
+            }
+        } );
+
+        measure( new Case( "Driver axes and relativeHoloDrive" )
+        {
+            double call( double input )
+            {
+                //One whole tele-op drive tick: the controller polled once, field oriented drive, then the outputs written.
+                frame.startTick();
+                joystick.setAxis( 4, input );
+                joystick.setAxis( 5, -input );
+                joystick.setAxis( 1, input * 0.5 );
+                gyro.setState( input * 180.0, 0.0 );
+                chassis.updateSensors();
+                DriverState state = driver.poll();
+                chassis.relativeHoloDrive( state.getY(), state.getX(), state.getRot() );
+                output.commit();
+                return leftFront.get();
+            }
+        } );
+
+        //Prints the sink so none of the work can be skipped.
+        System.out.println( "Sink: " + _sink );
+    }
+
+    /**
+     * Warms up and times one case, then prints the results.
+     *
+     * @param benchmark The case to time.
+     */
+    private static void measure( Case benchmark )
+    {
+        //Runs the warm up rounds without keeping the times.
+        for( int i = 0; i < _WARMUP_ROUNDS; i++ )
+        {
+            runRound( benchmark );
+        }
+
+        //Runs the timed rounds.
+        double[] times = new double[ _ROUNDS ];
+        for( int i = 0; i < _ROUNDS; i++ )
+        {
+            times[ i ] = runRound( benchmark );
+        }
+
+        //Sorts the times so the fastest and the middle can be found.
+        for( int i = 1; i < _ROUNDS; i++ )
+        {
+            double time = times[ i ];
+            int j = i - 1;
+            while( j >= 0 && times[ j ] > time )
+            {
+                times[ j + 1 ] = times[ j ];
+                j--;
+            }
+            times[ j + 1 ] = time;
+        }
+
+        System.out.println( benchmark._name + ": min " + times[ 0 ] + " ns, median " + times[ _ROUNDS / 2 ] + " ns" );
+    }
+
+    /**
+     * Runs one round of a case.
+     *
+     * @param benchmark The case to run.
+     *
+     * @return The time of each call in nanoseconds.
+     */
+    private static double runRound( Case benchmark )
+    {
+        double sum = 0.0;
+        long start = System.currentTimeMillis();
+        for( int i = 0; i < _CALLS; i++ )
+        {
+            sum += benchmark.call( _inputs[ i & ( _INPUTS - 1 ) ] );
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        //Keeps the result so the calls cannot be thrown away.
+        _sink += sum;
+        return elapsed * 1000000.0 / _CALLS;
+    }
+}
@@ -0,0 +1,342 @@
+package com.cc.hal.sim;
+
+import com.cc.config.Parameters;
+import com.cc.hal.Hardware;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.outputs.frame.OutputFrame;
+import com.cc.recorder.FlightLog;
+import com.cc.recorder.FlightRecorder;
+
+import edu.wpi.first.wpilibj.IterativeRobot;
+import edu.wpi.first.wpilibj.templates.RobotTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.microedition.io.Connector;
+
+/**
+ * Runs the robot code again over a flight log. Nothing is read from the
+ * hardware, instead the input frame of each loop is filled from the log, the
+ * loop is run in the mode it ran in, and the outputs it writes are checked
+ * against the outputs in the log. If the code has not changed, every loop
+ * should write exactly what it wrote on the robot, so a problem seen in a match
+ * can be run again as many times as needed.
+ * <p>
+ * The flight recorder leaves out most of the loops while disabled, which only
+ * read the parameters, so a missing tick after a disabled loop is skipped. Any
+ * other missing tick means the recorder dropped records, and every loop after
+ * it would start from the wrong state, so the replay stops there.
+ * <p>
+ * The replay never reads the hardware, but RobotTemplate is an IterativeRobot,
+ * and the WPILib IterativeRobot reads the driver station and the FPGA when it
+ * is created. The desktop build swaps the WPILib classes for stand-ins which
+ * do nothing, so "ant replay" in the desktop directory runs the replay on a
+ * desktop computer. ReplayCheck records a log to check the replay with.
+ */
+public class Replay
+{
+    //The length of one robot loop in seconds.
+    private static final double _DT = 0.02;
+
+    //The log being replayed.
+    private FlightLog _log;
+
+    //The robot code being replayed.
+    private IterativeRobot _robot;
+
+    //The number of loops replayed and the number whose outputs were different.
+    private int _loops = 0;
+    private int _mismatches = 0;
+
+    //The tick of the first loop whose outputs were different, and the largest difference in a motor.
+    private int _firstMismatch = -1;
+    private double _largestDifference = 0.0;
+
+    //The number of disabled loops left out of the log, and the first tick dropped from it.
+    private int _skippedLoops = 0;
+    private int _missingTick = -1;
+
+    //How long the replay took in milliseconds.
+    private long _time = 0;
+
+    /**
+     * Creates a replay of a log.
+     *
+     * @param log The log to replay.
+     * @param robot The robot code to run, which must not have started yet.
+     */
+    public Replay( FlightLog log, IterativeRobot robot )
+    {
+        _log = log;
+        _robot = robot;
+    }
+
+    /**
+     * Replays every record of the log.
+     */
+    public void run()
+    {
+        //Swaps in the simulated hardware, which is never read, and keeps the parameters off the Smart Dashboard.
+        Hardware.setInstance( new SimHardware() );
+        Parameters parameters = Parameters.getInstance();
+        parameters.setOffline( true );
+        InputFrame input = InputFrame.getInstance();
+        input.setReplaying( true );
+        OutputFrame output = OutputFrame.getInstance();
+
+        long startTime = System.currentTimeMillis();
+        int lastTick = -1;
+        int lastMode = FlightRecorder.ROBOT;
+        for( int record = 0; record < _log.getRecordCount(); record++ )
+        {
+            //Sets the parameters to what they were from here on.
+            if( _log.getType( record ) == FlightRecorder.PARAMETER_RECORD )
+            {
+                int count = Math.min( _log.getParameterCount( record ), parameters.getCount() );
+                for( int i = 0; i < count; i++ )
+                {
+                    parameters.publish( i, _log.getParameter( record, i ) );
+                }
+                continue;
+            }
+
+            //Skips the disabled loops the recorder left out, and stops if any other loop is missing.
+            int tick = _log.getInt( record, FlightRecorder.TICK );
+            if( lastTick >= 0 && tick != lastTick + 1 )
+            {
+                if( lastMode == FlightRecorder.DISABLED )
+                {
+                    _skippedLoops += tick - lastTick - 1;
+                }
+                else
+                {
+                    _missingTick = lastTick + 1;
+                    break;
+                }
+            }
+            lastTick = tick;
+            lastMode = _log.getMode( record );
+
+            //Fills the input frame with what the loop read.
+            for( int i = 0; i < InputFrame.MAX_VALUES; i++ )
+            {
+                input.setValue( i, _log.getInputValue( record, i ) );
+            }
+            for( int i = 0; i < InputFrame.MAX_STATES; i++ )
+            {
+                input.setState( i, _log.getInputState( record, i ) );
+            }
+
+            runLoop( _log.getMode( record ), _log.isInit( record ) );
+            _loops++;
+
+            //Checks what the loop wrote against the log.
+            boolean same = true;
+            for( int i = 0; i < output.getMotorCount(); i++ )
+            {
+                //Compares the bits, since the log holds each motor value as a float.
+                float replayed = (float) output.getMotor( i );
+                float recorded = _log.getMotor( record, i );
+                if( Float.floatToIntBits( replayed ) != Float.floatToIntBits( recorded ) )
+                {
+                    same = false;
+                    _largestDifference = Math.max( _largestDifference, Math.abs( replayed - recorded ) );
+                }
+            }
+            for( int i = 0; i < output.getRelayCount(); i++ )
+            {
+                if( output.getRelay( i ) != _log.getRelay( record, i ) )
+                {
+                    same = false;
+                }
+            }
+            if( !same )
+            {
+                if( _mismatches == 0 )
+                {
+                    _firstMismatch = _log.getInt( record, FlightRecorder.TICK );
+                }
+                _mismatches++;
+            }
+        }
+        _time = System.currentTimeMillis() - startTime;
+
+        //Stops the recorder the robot code started, so its thread ends.
+        FlightRecorder.getInstance().stop();
+    }
+
+    /**
+     * Runs one loop of the robot code.
+     *
+     * @param mode The mode the loop ran in.
+     * @param init Whether the loop started the mode.
+     */
+    private void runLoop( int mode, boolean init )
+    {
+        switch( mode )
+        {
+            case FlightRecorder.ROBOT:
+                _robot.robotInit();
+                break;
+
+            case FlightRecorder.DISABLED:
+                if( init )
+                {
+                    _robot.disabledInit();
+                }
+                else
+                {
+                    _robot.disabledPeriodic();
+                }
+                break;
+
+            case FlightRecorder.AUTONOMOUS:
+                if( init )
+                {
+                    _robot.autonomousInit();
+                }
+                else
+                {
+                    _robot.autonomousPeriodic();
+                }
+                break;
+
+            case FlightRecorder.TELEOP:
+                if( init )
+                {
+                    _robot.teleopInit();
+                }
+                else
+                {
+                    _robot.teleopPeriodic();
+                }
+                break;
+
+            case FlightRecorder.TEST:
+                if( init )
+                {
+                    _robot.testInit();
+                }
+                else
+                {
+                    _robot.testPeriodic();
+                }
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Gets the number of loops replayed.
+     *
+     * @return The number of loops.
+     */
+    public int getLoops()
+    {
+        return _loops;
+    }
+
+    /**
+     * Gets the number of loops whose outputs were different from the log.
+     *
+     * @return The number of loops.
+     */
+    public int getMismatches()
+    {
+        return _mismatches;
+    }
+
+    /**
+     * Gets the tick of the first loop whose outputs were different from the log.
+     *
+     * @return The tick, or -1 if every loop was the same.
+     */
+    public int getFirstMismatch()
+    {
+        return _firstMismatch;
+    }
+
+    /**
+     * Gets the largest difference between a motor value and the log.
+     *
+     * @return The difference.
+     */
+    public double getLargestDifference()
+    {
+        return _largestDifference;
+    }
+
+    /**
+     * Gets the number of disabled loops which were left out of the log and skipped.
+     *
+     * @return The number of loops.
+     */
+    public int getSkippedLoops()
+    {
+        return _skippedLoops;
+    }
+
+    /**
+     * Gets the tick of the first loop which is missing from the log, where the replay stopped.
+     *
+     * @return The tick, or -1 if no loop was missing.
+     */
+    public int getMissingTick()
+    {
+        return _missingTick;
+    }
+
+    /**
+     * Gets how long the replay took.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getTime()
+    {
+        return _time;
+    }
+
+    /**
+     * Replays a flight log against the robot code and prints how it compared.
+     *
+     * @param args The name of the log file.
+     */
+    public static void main( String[] args )
+    {
+        String name = args.length > 0 ? args[ 0 ] : "flight0.bin";
+
+        //Reads the whole log into memory.
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try
+        {
+            InputStream in = Connector.openInputStream( "file:///" + name );
+            byte[] buffer = new byte[ FlightRecorder.RECORD_SIZE ];
+            int read;
+            while( ( read = in.read( buffer ) ) > 0 )
+            {
+                bytes.write( buffer, 0, read );
+            }
+            in.close();
+        }
+        catch( IOException e )
+        {
+            System.out.println( "Could not read the flight log: " + e.getMessage() );
+            return;
+        }
+
+        Replay replay = new Replay( new FlightLog( bytes.toByteArray() ), new RobotTemplate() );
+        replay.run();
+
+        //Prints the results.
+        System.out.println( "Replayed " + replay.getLoops() + " loops (" + ( replay.getLoops() * _DT ) + " s of robot time) in " + replay.getTime() + " ms" );
+        System.out.println( "Different outputs: " + replay.getMismatches() + " loops, first at tick " + replay.getFirstMismatch() + ", largest motor difference " + replay.getLargestDifference() );
+        System.out.println( "Skipped disabled loops: " + replay.getSkippedLoops() );
+        if( replay.getMissingTick() >= 0 )
+        {
+            System.out.println( "Stopped at tick " + replay.getMissingTick() + ", which is missing from the log, so the loops after it were not replayed" );
+        }
+    }
+}
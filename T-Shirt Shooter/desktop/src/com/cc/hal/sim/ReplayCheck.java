@@ -0,0 +1,225 @@
+package com.cc.hal.sim;
+
+import com.cc.config.Parameters;
+import com.cc.hal.Hardware;
+import com.cc.recorder.FlightLog;
+import com.cc.recorder.FlightRecorder;
+
+import edu.wpi.first.wpilibj.templates.RobotTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.microedition.io.Connector;
+
+/**
+ * Records a flight log for Replay to check. Runs RobotTemplate against the
+ * simulated robot through a short match: disabled for longer than the flight
+ * recorder keeps, the whole of autonomous with an AutoCommand picked, then
+ * tele-op with both joysticks moving, every button pressed in turn and a
+ * parameter changed halfway. The log is written to replaycheck.bin, and again
+ * to replaycheck-dropped.bin with one tele-op loop taken out.
+ * <p>
+ * Every time the robot code reads is on the simulated clock, which only moves
+ * by one loop each loop, so the timed steps of the AutoCommand end on the same
+ * loop however fast the match runs, and the replay gives the same outputs.
+ * <p>
+ * The robot code is made of singletons, so a log cannot be replayed in the
+ * program which recorded it. Running Replay on replaycheck.bin afterwards
+ * should give no different outputs, and on replaycheck-dropped.bin should stop
+ * at the missing tick. Like Replay, this creates a RobotTemplate, so it runs
+ * from the desktop build, with "ant replaycheck".
+ */
+public class ReplayCheck
+{
+    //The length of one robot loop in seconds.
+    private static final double _DT = 0.02;
+
+    //How many loops are run in each mode.
+    private static final int _DISABLED_LOOPS = 300;
+    private static final int _AUTONOMOUS_LOOPS = 750;
+    private static final int _TELEOP_LOOPS = 300;
+
+    //The joystick buttons pressed in turn, and how many loops each is held for.
+    private static final int _BUTTONS = 10;
+    private static final int _DRIVER_HOLD_LOOPS = 20;
+    private static final int _ARM_HOLD_LOOPS = 15;
+
+    //The AutoCommand picked when none is given, which is the Center Auto Command.
+    private static final int _AUTO_COMMAND = 1;
+
+    //How often to wait for the flight recorder to write the ring to the log, in loops, and how long, in milliseconds.
+    private static final int _FLUSH_LOOPS = 250;
+    private static final long _FLUSH_WAIT = 500;
+
+    //The number of loops run so far.
+    private static int _loops = 0;
+
+    //The names of the log files written.
+    private static final String _LOG = "replaycheck.bin";
+    private static final String _DROPPED_LOG = "replaycheck-dropped.bin";
+
+    /**
+     * Runs the match and writes the logs.
+     *
+     * @param args The number of the AutoCommand to pick.
+     */
+    public static void main( String[] args )
+    {
+        //Swaps in the simulated hardware before the robot code is created.
+        SimHardware hardware = new SimHardware();
+        Hardware.setInstance( hardware );
+        SimRobot robot = new SimRobot( hardware );
+        RobotTemplate template = new RobotTemplate();
+        Parameters parameters = Parameters.getInstance();
+        int autoCommand = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : _AUTO_COMMAND;
+        hardware.getSimChooser( "Auto Command" ).setValue( autoCommand );
+
+        //Starts the robot and leaves it disabled.
+        template.robotInit();
+        step( robot );
+        template.disabledInit();
+        step( robot );
+        for( int i = 0; i < _DISABLED_LOOPS; i++ )
+        {
+            template.disabledPeriodic();
+            step( robot );
+        }
+
+        //Runs the whole of autonomous.
+        double autonomousStart = hardware.getSimClock().getTime();
+        template.autonomousInit();
+        step( robot );
+        for( int i = 0; i < _AUTONOMOUS_LOOPS; i++ )
+        {
+            template.autonomousPeriodic();
+            step( robot );
+        }
+        double autonomousTime = hardware.getSimClock().getTime() - autonomousStart;
+        double autonomousX = robot.getX();
+        double autonomousY = robot.getY();
+        double autonomousHeading = robot.getHeading();
+
+        //Drives around, moves the arm and presses every button in turn.
+        template.teleopInit();
+        step( robot );
+        SimJoystick driver = hardware.getSimJoystick( 1 );
+        SimJoystick arm = hardware.getSimJoystick( 2 );
+        for( int i = 0; i < _TELEOP_LOOPS; i++ )
+        {
+            driver.setAxis( 1, Math.sin( i * 0.05 ) );
+            driver.setAxis( 2, Math.cos( i * 0.03 ) * 0.7 );
+            arm.setAxis( 1, Math.sin( i * 0.02 ) * 0.5 );
+            arm.setAxis( 2, Math.sin( i * 0.1 ) * 0.3 );
+            arm.setAxis( 3, Math.sin( i * 0.07 ) );
+            for( int button = 1; button <= _BUTTONS; button++ )
+            {
+                driver.setButton( button, ( i / _DRIVER_HOLD_LOOPS ) % _BUTTONS == button - 1 );
+                arm.setButton( button, ( i / _ARM_HOLD_LOOPS ) % _BUTTONS == button - 1 );
+            }
+
+            //Changes a parameter halfway, so the log holds a second parameter record.
+            if( i == _TELEOP_LOOPS / 2 )
+            {
+                parameters.publish( Parameters.DRIVER_EXPO, 3.0 );
+            }
+
+            template.teleopPeriodic();
+            step( robot );
+        }
+        FlightRecorder recorder = FlightRecorder.getInstance();
+        recorder.stop();
+
+        //Finds the loop in the middle of tele-op, which is left out of the second log.
+        byte[] log = hardware.getLog();
+        FlightLog flightLog = new FlightLog( log );
+        int teleopRecords = 0;
+        for( int i = 0; i < flightLog.getRecordCount(); i++ )
+        {
+            if( flightLog.getType( i ) == FlightRecorder.LOOP_RECORD && flightLog.getMode( i ) == FlightRecorder.TELEOP )
+            {
+                teleopRecords++;
+            }
+        }
+        int dropped = -1;
+        int teleopRecord = 0;
+        for( int i = 0; i < flightLog.getRecordCount() && dropped < 0; i++ )
+        {
+            if( flightLog.getType( i ) == FlightRecorder.LOOP_RECORD && flightLog.getMode( i ) == FlightRecorder.TELEOP )
+            {
+                teleopRecord++;
+                if( teleopRecord > teleopRecords / 2 )
+                {
+                    dropped = i;
+                }
+            }
+        }
+
+        //Writes both logs.
+        try
+        {
+            writeLog( _LOG, log, -1 );
+            writeLog( _DROPPED_LOG, log, dropped );
+        }
+        catch( IOException e )
+        {
+            System.out.println( "Could not write the logs: " + e.getMessage() );
+            return;
+        }
+
+        //Prints what was recorded.
+        System.out.println( "Recorded " + flightLog.getRecordCount() + " records, " + recorder.getDropped() + " dropped by the recorder" );
+        System.out.println( "Autonomous " + autoCommand + ": " + autonomousTime + " s of robot time, x " + autonomousX + " in, y " + autonomousY + " in, heading " + autonomousHeading + " deg" );
+        System.out.println( "Robot: x " + robot.getX() + " in, y " + robot.getY() + " in, arm " + robot.getArmPosition() );
+        System.out.println( "Wrote " + _LOG + ", and " + _DROPPED_LOG + " without tick " + flightLog.getInt( dropped, FlightRecorder.TICK ) );
+    }
+
+    /**
+     * Moves the physics forward by one loop. Every few loops, gives the flight
+     * recorder time to empty its ring, since the match runs much faster than on
+     * the robot, and otherwise the ring fills and the recorder drops loops.
+     *
+     * @param robot The simulated robot.
+     */
+    private static void step( SimRobot robot )
+    {
+        robot.step( _DT );
+        _loops++;
+
+        if( _loops % _FLUSH_LOOPS == 0 )
+        {
+            try
+            {
+                Thread.sleep( _FLUSH_WAIT );
+            }
+            catch( InterruptedException e )
+            {
+                //Nothing to do; the recorder may just drop some loops.
+            }
+        }
+    }
+
+    /**
+     * Writes a log to a file, leaving out one record.
+     *
+     * @param name The name of the file.
+     * @param log The log.
+     * @param skip The index of the record to leave out, or -1 to write every record.
+     *
+     * @throws IOException If the file could not be written.
+     */
+    private static void writeLog( String name, byte[] log, int skip ) throws IOException
+    {
+        OutputStream out = Connector.openOutputStream( "file:///" + name );
+        if( skip < 0 )
+        {
+            out.write( log );
+        }
+        else
+        {
+            int split = skip * FlightRecorder.RECORD_SIZE;
+            out.write( log, 0, split );
+            out.write( log, split + FlightRecorder.RECORD_SIZE, log.length - split - FlightRecorder.RECORD_SIZE );
+        }
+        out.close();
+    }
+}
@@ -0,0 +1,35 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.Accelerometer;
+
+/**
+ * A simulated accelerometer whose accelerations are set by the physics model.
+ */
+public class SimAccelerometer implements Accelerometer
+{
+    //The x, y, and z accelerations in Gs. The accelerometer sits flat, so z reads gravity.
+    private double _x = 0.0;
+    private double _y = 0.0;
+    private double _z = 1.0;
+
+    /**
+     * Sets the accelerations. Called by the physics model.
+     *
+     * @param x The x acceleration in Gs.
+     * @param y The y acceleration in Gs.
+     * @param z The z acceleration in Gs.
+     */
+    public void setState( double x, double y, double z )
+    {
+        _x = x;
+        _y = y;
+        _z = z;
+    }
+
+    public void read( double[] axes )
+    {
+        axes[ 0 ] = _x;
+        axes[ 1 ] = _y;
+        axes[ 2 ] = _z;
+    }
+}
@@ -0,0 +1,27 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.AnalogSensor;
+
+/**
+ * A simulated analog sensor whose value is set by the physics model.
+ */
+public class SimAnalogInput implements AnalogSensor
+{
+    //The raw value.
+    private double _value = 0.0;
+
+    /**
+     * Sets the raw value. Called by the physics model.
+     *
+     * @param value The raw value.
+     */
+    public void setValue( double value )
+    {
+        _value = value;
+    }
+
+    public double getValue()
+    {
+        return _value;
+    }
+}
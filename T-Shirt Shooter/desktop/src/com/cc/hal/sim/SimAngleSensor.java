@@ -0,0 +1,60 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.AngleSensor;
+
+/**
+ * A simulated angle sensor whose angle and rate are set by the physics model.
+ */
+public class SimAngleSensor implements AngleSensor
+{
+    //Whether resetting the sensor zeroes it, which is true for a gyro but not a potentiometer.
+    private boolean _resettable;
+
+    //The true angle from the physics model and the angle at the last reset.
+    private double _angle = 0.0;
+    private double _offset = 0.0;
+
+    //The rate of the angle from the physics model.
+    private double _rate = 0.0;
+
+    /**
+     * Creates a simulated angle sensor.
+     *
+     * @param resettable Whether resetting the sensor zeroes it.
+     */
+    public SimAngleSensor( boolean resettable )
+    {
+        _resettable = resettable;
+    }
+
+    /**
+     * Sets the true angle and rate. Called by the physics model.
+     *
+     * @param angle The true angle.
+     * @param rate The true rate of the angle.
+     */
+    public void setState( double angle, double rate )
+    {
+        _angle = angle;
+        _rate = rate;
+    }
+
+    public double getAngle()
+    {
+        return _angle - _offset;
+    }
+
+    public double getRate()
+    {
+        return _rate;
+    }
+
+    public void reset()
+    {
+        //Only a resettable sensor zeroes itself.
+        if( _resettable )
+        {
+            _offset = _angle;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.VoltageSensor;
+
+/**
+ * A simulated battery whose voltage is set by the physics model.
+ */
+public class SimBattery implements VoltageSensor
+{
+    //The voltage, which starts at a fully charged battery.
+    private double _voltage = 12.6;
+
+    /**
+     * Sets the voltage. Called by the physics model.
+     *
+     * @param voltage The voltage in volts.
+     */
+    public void setVoltage( double voltage )
+    {
+        _voltage = voltage;
+    }
+
+    public double getVoltage()
+    {
+        return _voltage;
+    }
+}
@@ -0,0 +1,46 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.Clock;
+
+/**
+ * A simulated clock which only moves when it is told to, so the robot code
+ * sees the time of the simulation however fast or slow the simulation runs.
+ * The microsecond count comes from the computer the simulation runs on, which
+ * only keeps time to the millisecond, so short sections of the loop are timed
+ * as either 0 or 1000 microseconds.
+ */
+public class SimClock implements Clock
+{
+    //The time in seconds, which starts at zero like the FPGA timer.
+    private double _time = 0.0;
+
+    /**
+     * Moves the time forward. Called by the physics model once every step.
+     *
+     * @param dt The time to move forward in seconds.
+     */
+    public void advance( double dt )
+    {
+        _time += dt;
+    }
+
+    /**
+     * Sets the time, such as to jump straight to the next thing that happens.
+     *
+     * @param time The time in seconds.
+     */
+    public void setTime( double time )
+    {
+        _time = time;
+    }
+
+    public double getTime()
+    {
+        return _time;
+    }
+
+    public long getMicros()
+    {
+        return System.currentTimeMillis() * 1000;
+    }
+}
@@ -0,0 +1,58 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.DistanceSensor;
+
+/**
+ * A simulated encoder which counts the distance added by the physics model while it is started.
+ */
+public class SimDistanceSensor implements DistanceSensor
+{
+    //The current count and rate.
+    private double _count = 0.0;
+    private double _rate = 0.0;
+
+    //Whether the encoder is counting.
+    private boolean _started = false;
+
+    /**
+     * Adds to the count if the encoder is started. Called by the physics model.
+     *
+     * @param counts The counts moved since the last step.
+     * @param rate The rate of the counts per second.
+     */
+    public void addCounts( double counts, double rate )
+    {
+        if( _started )
+        {
+            _count += counts;
+        }
+
+        _rate = rate;
+    }
+
+    public double get()
+    {
+        //A real encoder only gives whole ticks.
+        return (int) _count;
+    }
+
+    public double getRate()
+    {
+        return _rate;
+    }
+
+    public void start()
+    {
+        _started = true;
+    }
+
+    public void stop()
+    {
+        _started = false;
+    }
+
+    public void reset()
+    {
+        _count = 0.0;
+    }
+}
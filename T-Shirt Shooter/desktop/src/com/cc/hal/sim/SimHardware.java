@@ -0,0 +1,344 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.Accelerometer;
+import com.cc.hal.AnalogSensor;
+import com.cc.hal.AngleSensor;
+import com.cc.hal.AxisSource;
+import com.cc.hal.Clock;
+import com.cc.hal.DigitalSwitch;
+import com.cc.hal.DistanceSensor;
+import com.cc.hal.Hardware;
+import com.cc.hal.MotorOutput;
+import com.cc.hal.RelayOutput;
+import com.cc.hal.VoltageSensor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Hashtable;
+
+/**
+ * The hardware backend for the simulation. Every piece of hardware is a plain
+ * Java object stored by its port or channel, so the physics model can read the
+ * outputs and set the sensors of the same objects the robot code uses.
+ */
+public class SimHardware extends Hardware
+{
+    //The number of ports and channels of each kind on the robot.
+    private static final int _PWM_PORTS = 11;
+    private static final int _ANALOG_CHANNELS = 9;
+    private static final int _DIGITAL_CHANNELS = 15;
+    private static final int _RELAY_CHANNELS = 9;
+    private static final int _JOYSTICK_PORTS = 5;
+
+    //The hardware stored by port or channel.
+    private SimMotor[] _pwm = new SimMotor[ _PWM_PORTS ];
+    private SimAngleSensor[] _analog = new SimAngleSensor[ _ANALOG_CHANNELS ];
+    private SimAnalogInput[] _analogInputs = new SimAnalogInput[ _ANALOG_CHANNELS ];
+    private SimDistanceSensor[] _encoders = new SimDistanceSensor[ _DIGITAL_CHANNELS ];
+    private SimSwitch[] _digital = new SimSwitch[ _DIGITAL_CHANNELS ];
+    private SimRelay[] _relays = new SimRelay[ _RELAY_CHANNELS ];
+    private SimJoystick[] _joysticks = new SimJoystick[ _JOYSTICK_PORTS ];
+
+    //The choosers by their names.
+    private Hashtable _choosers = new Hashtable();
+
+    //The accelerometer. The robot only has one.
+    private SimAccelerometer _accelerometer = new SimAccelerometer();
+
+    //The battery.
+    private SimBattery _battery = new SimBattery();
+
+    //The clock, which the physics model moves forward.
+    private SimClock _clock = new SimClock();
+
+    //Every log opened by its name, and the last one opened, which are kept in memory.
+    private Hashtable _logs = new Hashtable();
+    private ByteArrayOutputStream _log = null;
+
+    /**
+     * Returns true because this is a simulation.
+     *
+     * @return Whether the backend is a simulation.
+     */
+    public boolean isSimulated()
+    {
+        return true;
+    }
+
+    public MotorOutput getTalon( int port )
+    {
+        return getPwm( port );
+    }
+
+    public MotorOutput getVictor( int port )
+    {
+        return getPwm( port );
+    }
+
+    public AngleSensor getGyro( int channel )
+    {
+        return getAnalog( channel, true );
+    }
+
+    public AngleSensor getPotentiometer( int channel )
+    {
+        return getAnalog( channel, false );
+    }
+
+    public AnalogSensor getAnalogInput( int channel, int oversampleBits, int averageBits )
+    {
+        return getSimAnalogInput( channel );
+    }
+
+    public DistanceSensor getEncoder( int aChannel, int bChannel )
+    {
+        return getSimEncoder( aChannel );
+    }
+
+    public DigitalSwitch getDigitalInput( int channel )
+    {
+        return getSwitch( channel );
+    }
+
+    public RelayOutput getRelay( int channel )
+    {
+        return getSimRelay( channel );
+    }
+
+    public AxisSource getJoystick( int port )
+    {
+        return getSimJoystick( port );
+    }
+
+    public AnalogSensor getChooser( String name, AnalogSensor chooser )
+    {
+        //Starts with the option the chooser picks, unless something else was already picked.
+        if( _choosers.get( name ) == null )
+        {
+            getSimChooser( name ).setValue( chooser.getValue() );
+        }
+
+        return getSimChooser( name );
+    }
+
+    public Accelerometer getAccelerometer( int module )
+    {
+        return _accelerometer;
+    }
+
+    /**
+     * Gets the simulated accelerometer.
+     *
+     * @return The simulated accelerometer.
+     */
+    public SimAccelerometer getSimAccelerometer()
+    {
+        return _accelerometer;
+    }
+
+    public VoltageSensor getBattery()
+    {
+        return _battery;
+    }
+
+    /**
+     * Gets the simulated battery.
+     *
+     * @return The simulated battery.
+     */
+    public SimBattery getSimBattery()
+    {
+        return _battery;
+    }
+
+    public Clock getClock()
+    {
+        return _clock;
+    }
+
+    /**
+     * Gets the simulated clock.
+     *
+     * @return The simulated clock.
+     */
+    public SimClock getSimClock()
+    {
+        return _clock;
+    }
+
+    public OutputStream openLog( String name )
+    {
+        _log = new ByteArrayOutputStream();
+        _logs.put( name, _log );
+        return _log;
+    }
+
+    public InputStream openLogInput( String name ) throws IOException
+    {
+        ByteArrayOutputStream log = (ByteArrayOutputStream) _logs.get( name );
+        if( log == null )
+        {
+            throw new IOException( "No log named " + name );
+        }
+
+        return new ByteArrayInputStream( log.toByteArray() );
+    }
+
+    /**
+     * Gets everything written to the last log opened.
+     *
+     * @return The bytes of the log, or nothing if no log was opened.
+     */
+    public byte[] getLog()
+    {
+        if( _log == null )
+        {
+            return new byte[ 0 ];
+        }
+
+        return _log.toByteArray();
+    }
+
+    /**
+     * Gets the simulated motor on the given PWM port, creating it if needed.
+     *
+     * @param port The PWM port.
+     *
+     * @return The simulated motor.
+     */
+    public SimMotor getPwm( int port )
+    {
+        if( _pwm[ port ] == null )
+        {
+            _pwm[ port ] = new SimMotor();
+        }
+
+        return _pwm[ port ];
+    }
+
+    /**
+     * Gets the simulated sensor on the given analog channel, creating it if needed.
+     *
+     * @param channel The analog channel.
+     * @param resettable Whether the sensor zeroes itself when reset, if it has to be created.
+     *
+     * @return The simulated sensor.
+     */
+    public SimAngleSensor getAnalog( int channel, boolean resettable )
+    {
+        if( _analog[ channel ] == null )
+        {
+            _analog[ channel ] = new SimAngleSensor( resettable );
+        }
+
+        return _analog[ channel ];
+    }
+
+    /**
+     * Gets the simulated raw analog sensor on the given analog channel, creating it if needed.
+     *
+     * @param channel The analog channel.
+     *
+     * @return The simulated sensor.
+     */
+    public SimAnalogInput getSimAnalogInput( int channel )
+    {
+        if( _analogInputs[ channel ] == null )
+        {
+            _analogInputs[ channel ] = new SimAnalogInput();
+        }
+
+        return _analogInputs[ channel ];
+    }
+
+    /**
+     * Gets the simulated encoder whose A signal is on the given digital channel, creating it if needed.
+     *
+     * @param aChannel The digital channel of the A signal.
+     *
+     * @return The simulated encoder.
+     */
+    public SimDistanceSensor getSimEncoder( int aChannel )
+    {
+        if( _encoders[ aChannel ] == null )
+        {
+            _encoders[ aChannel ] = new SimDistanceSensor();
+        }
+
+        return _encoders[ aChannel ];
+    }
+
+    /**
+     * Gets the simulated switch on the given digital channel, creating it if needed.
+     *
+     * @param channel The digital channel.
+     *
+     * @return The simulated switch.
+     */
+    public SimSwitch getSwitch( int channel )
+    {
+        if( _digital[ channel ] == null )
+        {
+            _digital[ channel ] = new SimSwitch();
+        }
+
+        return _digital[ channel ];
+    }
+
+    /**
+     * Gets the simulated relay on the given relay channel, creating it if needed.
+     *
+     * @param channel The relay channel.
+     *
+     * @return The simulated relay.
+     */
+    public SimRelay getSimRelay( int channel )
+    {
+        if( _relays[ channel ] == null )
+        {
+            _relays[ channel ] = new SimRelay();
+        }
+
+        return _relays[ channel ];
+    }
+
+    /**
+     * Gets the simulated chooser with the given name, creating it if needed.
+     * Setting its value picks an option.
+     *
+     * @param name The name the chooser is shown with.
+     *
+     * @return The simulated chooser.
+     */
+    public SimAnalogInput getSimChooser( String name )
+    {
+        SimAnalogInput chooser = (SimAnalogInput) _choosers.get( name );
+        if( chooser == null )
+        {
+            chooser = new SimAnalogInput();
+            _choosers.put( name, chooser );
+        }
+
+        return chooser;
+    }
+
+    /**
+     * Gets the simulated controller on the given driver station port, creating it if needed.
+     *
+     * @param port The driver station port.
+     *
+     * @return The simulated controller.
+     */
+    public SimJoystick getSimJoystick( int port )
+    {
+        if( _joysticks[ port ] == null )
+        {
+            _joysticks[ port ] = new SimJoystick();
+        }
+
+        return _joysticks[ port ];
+    }
+}
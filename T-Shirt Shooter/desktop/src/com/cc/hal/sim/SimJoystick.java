@@ -0,0 +1,61 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.AxisSource;
+
+/**
+ * A simulated controller whose axes and buttons are set by the simulation.
+ */
+public class SimJoystick implements AxisSource
+{
+    //The most axes and buttons a controller can have.
+    private static final int _MAX_AXES = 13;
+    private static final int _MAX_BUTTONS = 13;
+
+    //The value of each axis and the state of each button.
+    private double[] _axes = new double[ _MAX_AXES ];
+    private boolean[] _buttons = new boolean[ _MAX_BUTTONS ];
+
+    /**
+     * Sets the value of an axis.
+     *
+     * @param axis The number of the axis.
+     * @param value The value of the axis.
+     */
+    public void setAxis( int axis, double value )
+    {
+        _axes[ axis ] = value;
+    }
+
+    /**
+     * Sets the state of a button.
+     *
+     * @param button The number of the button.
+     * @param pressed Whether the button is pressed.
+     */
+    public void setButton( int button, boolean pressed )
+    {
+        _buttons[ button ] = pressed;
+    }
+
+    public double getRawAxis( int axis )
+    {
+        //Axes which do not exist read zero.
+        if( axis < 0 || axis >= _MAX_AXES )
+        {
+            return 0.0;
+        }
+
+        return _axes[ axis ];
+    }
+
+    public boolean getRawButton( int button )
+    {
+        //Buttons which do not exist read not pressed.
+        if( button < 0 || button >= _MAX_BUTTONS )
+        {
+            return false;
+        }
+
+        return _buttons[ button ];
+    }
+}
@@ -0,0 +1,27 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.MotorOutput;
+
+/**
+ * A simulated motor output which just remembers the value it was set to.
+ */
+public class SimMotor implements MotorOutput
+{
+    //The value the motor was last set to.
+    private double _value = 0.0;
+
+    public void set( double speed )
+    {
+        _value = speed;
+    }
+
+    public double get()
+    {
+        return _value;
+    }
+
+    public void stopMotor()
+    {
+        _value = 0.0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.RelayOutput;
+
+/**
+ * A simulated relay which just remembers whether it is on.
+ */
+public class SimRelay implements RelayOutput
+{
+    //Whether the relay is driven forward.
+    private boolean _on = false;
+
+    public void set( boolean on )
+    {
+        _on = on;
+    }
+
+    public boolean get()
+    {
+        return _on;
+    }
+}
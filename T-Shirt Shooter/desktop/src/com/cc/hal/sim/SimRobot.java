@@ -0,0 +1,379 @@
+package com.cc.hal.sim;
+
+import java.util.Random;
+
+/**
+ * A simple physics model of the robot. Each step reads the simulated motor and
+ * relay outputs and moves the mecanum chassis, the arm, the shooter cam, and the
+ * air tank, works out the current they draw from the battery, then writes the
+ * results into the simulated sensors. The ports and
+ * channels match the ones the subsystems use on the real robot.
+ */
+public class SimRobot
+{
+    //The PWM ports of the four drive talons, the pivot, and the shooter valve.
+    private static final int _LEFT_FRONT = 1;
+    private static final int _LEFT_REAR = 2;
+    private static final int _RIGHT_FRONT = 3;
+    private static final int _RIGHT_REAR = 4;
+    private static final int _PIVOT = 5;
+    private static final int _SHOOTER_VALVE = 10;
+
+    //The analog channels of the potentiometer, the gyro, and the sonar.
+    private static final int _POTENT = 1;
+    private static final int _GYRO = 2;
+    private static final int _SONAR = 3;
+
+    //The digital channels of the encoder, the pressure switch, and the shooter limit switch.
+    private static final int _ENCODER = 1;
+    private static final int _PRESSURE_SWITCH = 5;
+    private static final int _SHOOTER_LIMIT = 8;
+
+    //The first digital channel of the encoder on each wheel, in the order left front, right front, left rear, right rear.
+    public static final int[] WHEEL_ENCODERS = { 3, 6, 9, 11 };
+
+    //The relay channels of the cocking motor and the compressor.
+    private static final int _COCK_RELAY = 1;
+    private static final int _COMPRESSOR_RELAY = 8;
+
+    //The top speed of the chassis in inches per second and its top turn rate in degrees per second.
+    private final double _MAX_SPEED = 150.0;
+    private final double _MAX_TURN_RATE = 360.0;
+
+    //How long the chassis takes to get most of the way to a new speed, in seconds.
+    private final double _DRIVE_TIME_CONSTANT = 0.25;
+
+    //One G in inches per second squared.
+    private final double _G = 386.09;
+
+    //The encoder ticks per inch, which matches the Smart Dashboard default.
+    private final double _TICKS_PER_INCH = -53.199;
+
+    //How far in front of the starting spot the wall is, in inches.
+    private final double _WALL_X = 200.0;
+
+    //The sonar ticks per inch, and the farthest it can read in inches.
+    private final double _SONAR_TICKS_PER_INCH = 4.84;
+    private final double _SONAR_MAX_RANGE = 254.0;
+
+    //How much noise the sonar has, in inches either way.
+    private final double _SONAR_NOISE = 0.5;
+
+    //The top speed of the arm in potentiometer values per second and how quickly it gets there.
+    private final double _ARM_MAX_RATE = 400.0;
+    private final double _ARM_TIME_CONSTANT = 0.1;
+
+    //The potentiometer values at the two hard stops of the arm.
+    private final double _POTENT_MIN = 20.0;
+    private final double _POTENT_MAX = 450.0;
+
+    //How long the cocking cam takes to go all the way around, and how much of it presses the limit switch.
+    private final double _CAM_PERIOD = 1.5;
+    private final double _CAM_PRESSED = 0.1;
+
+    //How fast the compressor fills the tank and the valve empties it, in psi per second.
+    private final double _FILL_RATE = 1.5;
+    private final double _DRAIN_RATE = 400.0;
+
+    //The pressures where the pressure switch turns the compressor on and off.
+    private final double _SWITCH_ON_PRESSURE = 95.0;
+    private final double _SWITCH_OFF_PRESSURE = 120.0;
+
+    //The voltage of the battery with nothing running, and its resistance along with the wiring, in ohms.
+    private final double _BATTERY_VOLTAGE = 12.6;
+    private final double _BATTERY_RESISTANCE = 0.02;
+
+    //The current a drive motor draws pushing against a stopped wheel, held down by the wheel slipping, in amps.
+    private final double _DRIVE_STALL_CURRENT = 80.0;
+
+    //The current the pivot draws against a stopped arm, the compressor draws, and everything else draws, in amps.
+    private final double _PIVOT_STALL_CURRENT = 30.0;
+    private final double _COMPRESSOR_CURRENT = 10.0;
+    private final double _BASE_CURRENT = 3.0;
+
+    //The simulated hardware the model reads and writes.
+    private SimHardware _hardware;
+
+    //Makes the sonar noise. Seeded so every run is the same.
+    private Random _random = new Random( 2014 );
+
+    //The position in inches, heading in degrees, and speeds of the chassis.
+    private double _x = 0.0;
+    private double _y = 0.0;
+    private double _heading = 0.0;
+    private double _forwardSpeed = 0.0;
+    private double _slideSpeed = 0.0;
+    private double _turnRate = 0.0;
+
+    //The forward and slide accelerations of the chassis in inches per second squared.
+    private double _forwardAccel = 0.0;
+    private double _slideAccel = 0.0;
+
+    //The position and speed of the arm in potentiometer values.
+    private double _armPosition = 220.0;
+    private double _armRate = 0.0;
+
+    //How far around the cocking cam is, from 0 to 1.
+    private double _cam = 0.0;
+
+    //The pressure in the tank in psi.
+    private double _pressure = 120.0;
+
+    //The current drawn from the battery in amps.
+    private double _current = 0.0;
+
+    /**
+     * Creates the physics model for the given simulated hardware.
+     *
+     * @param hardware The simulated hardware.
+     */
+    public SimRobot( SimHardware hardware )
+    {
+        _hardware = hardware;
+
+        //Writes the starting state into the sensors.
+        writeSensors( 0.0 );
+    }
+
+    /**
+     * Moves the model forward by the given time.
+     *
+     * @param dt The time to move forward in seconds.
+     */
+    public void step( double dt )
+    {
+        stepChassis( dt );
+        stepArm( dt );
+        stepPneumatics( dt );
+        stepBattery();
+        writeSensors( dt );
+        _hardware.getSimClock().advance( dt );
+    }
+
+    /**
+     * Moves the mecanum chassis from the four drive outputs.
+     *
+     * @param dt The time to move forward in seconds.
+     */
+    private void stepChassis( double dt )
+    {
+        //Reads the wheel values. The right side motors are mounted reversed.
+        double lf = _hardware.getPwm( _LEFT_FRONT ).get();
+        double lr = _hardware.getPwm( _LEFT_REAR ).get();
+        double rf = -_hardware.getPwm( _RIGHT_FRONT ).get();
+        double rr = -_hardware.getPwm( _RIGHT_REAR ).get();
+
+        //Finds the forward, slide, and rotation the wheels add up to.
+        double fwd = ( lf + rf + lr + rr ) / 4;
+        double sld = ( lf - rf - lr + rr ) / 4;
+        double rot = ( lf - rf + lr - rr ) / 4;
+
+        //Moves each speed part of the way towards where the wheels are pushing it.
+        double alpha = Math.min( 1.0, dt / _DRIVE_TIME_CONSTANT );
+        double forwardChange = ( fwd * _MAX_SPEED - _forwardSpeed ) * alpha;
+        double slideChange = ( sld * _MAX_SPEED - _slideSpeed ) * alpha;
+        _forwardSpeed += forwardChange;
+        _slideSpeed += slideChange;
+        _forwardAccel = forwardChange / dt;
+        _slideAccel = slideChange / dt;
+        _turnRate += ( rot * _MAX_TURN_RATE - _turnRate ) * alpha;
+
+        //Moves the robot on the field.
+        double radians = Math.toRadians( _heading );
+        _x += ( _forwardSpeed * Math.cos( radians ) - _slideSpeed * Math.sin( radians ) ) * dt;
+        _y += ( _forwardSpeed * Math.sin( radians ) + _slideSpeed * Math.cos( radians ) ) * dt;
+        _heading += _turnRate * dt;
+    }
+
+    /**
+     * Moves the arm from the pivot output.
+     *
+     * @param dt The time to move forward in seconds.
+     */
+    private void stepArm( double dt )
+    {
+        //The potentiometer value goes up as the pivot runs backwards.
+        double target = -_hardware.getPwm( _PIVOT ).get() * _ARM_MAX_RATE;
+        _armRate += ( target - _armRate ) * Math.min( 1.0, dt / _ARM_TIME_CONSTANT );
+        _armPosition += _armRate * dt;
+
+        //Stops the arm at the hard stops.
+        if( _armPosition < _POTENT_MIN )
+        {
+            _armPosition = _POTENT_MIN;
+            _armRate = 0.0;
+        }
+        else if( _armPosition > _POTENT_MAX )
+        {
+            _armPosition = _POTENT_MAX;
+            _armRate = 0.0;
+        }
+    }
+
+    /**
+     * Turns the cocking cam and fills and empties the air tank.
+     *
+     * @param dt The time to move forward in seconds.
+     */
+    private void stepPneumatics( double dt )
+    {
+        //The cam turns while the cocking relay is on.
+        if( _hardware.getSimRelay( _COCK_RELAY ).get() )
+        {
+            _cam += dt / _CAM_PERIOD;
+            _cam -= Math.floor( _cam );
+        }
+
+        //The compressor fills the tank while its relay is on.
+        if( _hardware.getSimRelay( _COMPRESSOR_RELAY ).get() )
+        {
+            _pressure = Math.min( _pressure + _FILL_RATE * dt, _SWITCH_OFF_PRESSURE + 10.0 );
+        }
+
+        //The valve empties the tank faster the more pressure there is.
+        if( _hardware.getPwm( _SHOOTER_VALVE ).get() > 0.5 )
+        {
+            _pressure = Math.max( _pressure - _DRAIN_RATE * ( _pressure / _SWITCH_OFF_PRESSURE ) * dt, 0.0 );
+        }
+    }
+
+    /**
+     * Works out the current drawn from the battery and how far that pulls its voltage down.
+     * A motor draws current in proportion to how far its output is ahead of
+     * how fast it is already turning.
+     */
+    private void stepBattery()
+    {
+        //Finds how fast each wheel is turning, from the speeds of the chassis.
+        double fwd = _forwardSpeed / _MAX_SPEED;
+        double sld = _slideSpeed / _MAX_SPEED;
+        double rot = _turnRate / _MAX_TURN_RATE;
+
+        //Adds up the current of each drive motor. The right side motors are mounted reversed.
+        _current = _BASE_CURRENT;
+        _current += _DRIVE_STALL_CURRENT * Math.abs( _hardware.getPwm( _LEFT_FRONT ).get() - ( fwd + sld + rot ) );
+        _current += _DRIVE_STALL_CURRENT * Math.abs( -_hardware.getPwm( _RIGHT_FRONT ).get() - ( fwd - sld - rot ) );
+        _current += _DRIVE_STALL_CURRENT * Math.abs( _hardware.getPwm( _LEFT_REAR ).get() - ( fwd - sld + rot ) );
+        _current += _DRIVE_STALL_CURRENT * Math.abs( -_hardware.getPwm( _RIGHT_REAR ).get() - ( fwd + sld - rot ) );
+
+        //Adds the pivot, which turns backwards as the potentiometer value goes up, and the compressor.
+        _current += _PIVOT_STALL_CURRENT * Math.abs( _hardware.getPwm( _PIVOT ).get() + _armRate / _ARM_MAX_RATE );
+        if( _hardware.getSimRelay( _COMPRESSOR_RELAY ).get() )
+        {
+            _current += _COMPRESSOR_CURRENT;
+        }
+
+        _hardware.getSimBattery().setVoltage( _BATTERY_VOLTAGE - _current * _BATTERY_RESISTANCE );
+    }
+
+    /**
+     * Writes the state of the model into the simulated sensors.
+     *
+     * @param dt The time the model just moved forward in seconds.
+     */
+    private void writeSensors( double dt )
+    {
+        _hardware.getAnalog( _GYRO, true ).setState( _heading, _turnRate );
+        _hardware.getAnalog( _POTENT, false ).setState( _armPosition, _armRate );
+        _hardware.getSimEncoder( _ENCODER ).addCounts( _forwardSpeed * dt * _TICKS_PER_INCH, _forwardSpeed * _TICKS_PER_INCH );
+
+        //Each wheel turns with the forward and slide speeds, and with the rotation at the same rate it turns the chassis.
+        double spin = _turnRate / _MAX_TURN_RATE * _MAX_SPEED;
+        addWheelCounts( 0, _forwardSpeed + _slideSpeed + spin, dt );
+        addWheelCounts( 1, _forwardSpeed - _slideSpeed - spin, dt );
+        addWheelCounts( 2, _forwardSpeed - _slideSpeed + spin, dt );
+        addWheelCounts( 3, _forwardSpeed + _slideSpeed - spin, dt );
+        _hardware.getSwitch( _SHOOTER_LIMIT ).setState( _cam < _CAM_PRESSED );
+
+        //The sonar points forward at the wall, with a little noise.
+        double wallDistance = Math.min( _WALL_X - _x, _SONAR_MAX_RANGE );
+        wallDistance += ( _random.nextDouble() * 2 - 1 ) * _SONAR_NOISE;
+        _hardware.getSimAnalogInput( _SONAR ).setValue( wallDistance * _SONAR_TICKS_PER_INCH );
+
+        //The accelerometer is mounted with its x axis pointing backwards and its y axis pointing sideways.
+        _hardware.getSimAccelerometer().setState( -_forwardAccel / _G, _slideAccel / _G, 1.0 );
+
+        //The pressure switch turns on when the tank is low and stays on until it is full.
+        SimSwitch pressureSwitch = _hardware.getSwitch( _PRESSURE_SWITCH );
+        if( _pressure < _SWITCH_ON_PRESSURE )
+        {
+            pressureSwitch.setState( true );
+        }
+        else if( _pressure >= _SWITCH_OFF_PRESSURE )
+        {
+            pressureSwitch.setState( false );
+        }
+    }
+
+    /**
+     * Turns a wheel encoder by the distance its wheel moved.
+     *
+     * @param wheel The index of the wheel.
+     * @param speed The speed of the wheel in inches per second.
+     * @param dt The time the wheel moved for in seconds.
+     */
+    private void addWheelCounts( int wheel, double speed, double dt )
+    {
+        _hardware.getSimEncoder( WHEEL_ENCODERS[ wheel ] ).addCounts( speed * dt * _TICKS_PER_INCH, speed * _TICKS_PER_INCH );
+    }
+
+    /**
+     * Gets the x position of the chassis on the field.
+     *
+     * @return The x position in inches.
+     */
+    public double getX()
+    {
+        return _x;
+    }
+
+    /**
+     * Gets the y position of the chassis on the field.
+     *
+     * @return The y position in inches.
+     */
+    public double getY()
+    {
+        return _y;
+    }
+
+    /**
+     * Gets the heading of the chassis.
+     *
+     * @return The heading in degrees.
+     */
+    public double getHeading()
+    {
+        return _heading;
+    }
+
+    /**
+     * Gets the position of the arm.
+     *
+     * @return The position of the arm in potentiometer values.
+     */
+    public double getArmPosition()
+    {
+        return _armPosition;
+    }
+
+    /**
+     * Gets the current drawn from the battery.
+     *
+     * @return The current in amps.
+     */
+    public double getCurrent()
+    {
+        return _current;
+    }
+
+    /**
+     * Gets the pressure in the air tank.
+     *
+     * @return The pressure in psi.
+     */
+    public double getPressure()
+    {
+        return _pressure;
+    }
+}
@@ -0,0 +1,27 @@
+package com.cc.hal.sim;
+
+import com.cc.hal.DigitalSwitch;
+
+/**
+ * A simulated switch whose state is set by the physics model.
+ */
+public class SimSwitch implements DigitalSwitch
+{
+    //The state of the switch.
+    private boolean _state = false;
+
+    /**
+     * Sets the state of the switch. Called by the physics model.
+     *
+     * @param state The state of the switch.
+     */
+    public void setState( boolean state )
+    {
+        _state = state;
+    }
+
+    public boolean get()
+    {
+        return _state;
+    }
+}
@@ -0,0 +1,177 @@
+package com.cc.hal.sim;
+
+import com.cc.config.Parameters;
+import com.cc.hal.DistanceSensor;
+import com.cc.hal.Hardware;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.outputs.frame.OutputFrame;
+import com.cc.recorder.FlightLog;
+import com.cc.recorder.FlightRecorder;
+import com.cc.recorder.Profiler;
+import com.cc.utility.LogHistogram;
+import com.cc.shooter.ShooterCompressor;
+import com.cc.systems.Chassis;
+import com.cc.systems.Mechanism;
+import com.cc.systems.MotionController;
+import com.cc.systems.PowerBudget;
+
+/**
+ * Runs the robot code against the simulated hardware on a desktop computer.
+ * Drives the chassis forward with the motion controller while the mechanism
+ * holds the arm at the top, then drives up to the wall with the sonar, and
+ * prints where the robot ended up and how long each loop took to run.
+ */
+public class Simulation
+{
+    //The length of one robot loop in seconds.
+    private static final double _DT = 0.02;
+
+    //The most loops to run before giving up, which is 15 seconds of robot time.
+    private static final int _MAX_LOOPS = 750;
+
+    //How far and how fast to drive.
+    private static final double _DISTANCE = 85.0;
+    private static final double _SPEED = 0.75;
+
+    //How far from the wall to stop.
+    private static final double _WALL_DISTANCE = 24.0;
+
+    /**
+     * Runs the simulation.
+     *
+     * @param args Not used.
+     */
+    public static void main( String[] args )
+    {
+        //Swaps in the simulated hardware before any subsystem is created.
+        SimHardware hardware = new SimHardware();
+        Hardware.setInstance( hardware );
+        SimRobot robot = new SimRobot( hardware );
+
+        //Keeps the parameters off the Smart Dashboard and gives them the robot's starting values.
+        Parameters parameters = Parameters.getInstance();
+        parameters.setOffline( true );
+        parameters.publish( Parameters.ENCODER_TICKS, -53.199 );
+        parameters.publish( Parameters.MAX_VELOCITY, 150.0 );
+        parameters.publish( Parameters.VELOCITY_P_CONSTANT, 0.005 );
+        parameters.publish( Parameters.ROTATION_PRIORITY, 1.0 );
+        parameters.publish( Parameters.WHEEL_P_CONSTANT, 0.0 );
+        parameters.publish( Parameters.PROFILER, 1.0 );
+        parameters.publish( Parameters.ARM_UP_SPEED, 1.0 );
+        parameters.publish( Parameters.ARM_DOWN_SPEED, -1.0 );
+        parameters.publish( Parameters.ARM_MAXIMUM_EXTREME, -1000000 );
+        parameters.publish( Parameters.ARM_MINIMUM_EXTREME, 1000000 );
+        parameters.publish( Parameters.ARM_P_CONSTANT, 0.01 );
+        parameters.publish( Parameters.ARM_I_CONSTANT, 0.002 );
+        parameters.publish( Parameters.ARM_D_CONSTANT, 0.0005 );
+
+        //Creates the subsystems against the simulated hardware.
+        PowerBudget power = PowerBudget.getInstance();
+        InputFrame input = InputFrame.getInstance();
+        OutputFrame output = OutputFrame.getInstance();
+        Chassis chassis = Chassis.getInstance();
+        MotionController motion = MotionController.getInstance();
+        Mechanism mechanism = Mechanism.getInstance();
+        ShooterCompressor compressor = ShooterCompressor.getInstance();
+        FlightRecorder recorder = FlightRecorder.getInstance();
+        Profiler profiler = Profiler.getInstance();
+        recorder.start( "flight" );
+
+        //Gives the chassis the simulated wheel encoders, so its position comes from the wheels.
+        DistanceSensor[] wheelEncoders = new DistanceSensor[ SimRobot.WHEEL_ENCODERS.length ];
+        for( int i = 0; i < wheelEncoders.length; i++ )
+        {
+            wheelEncoders[ i ] = hardware.getEncoder( SimRobot.WHEEL_ENCODERS[ i ], SimRobot.WHEEL_ENCODERS[ i ] + 1 );
+            wheelEncoders[ i ].start();
+        }
+        chassis.setWheelEncoders( wheelEncoders );
+
+        //Starts the move and holds the arm at the top.
+        motion.startMove( _DISTANCE, _SPEED );
+        mechanism.setArmPosition( 40.0 );
+
+        //Runs the loop the same way the robot does, timing only the robot code.
+        long robotTime = 0;
+        long startTime = System.currentTimeMillis();
+        int loops = 0;
+        boolean atWall = false;
+        while( loops < _MAX_LOOPS && !atWall )
+        {
+            long loopStart = System.currentTimeMillis();
+            input.startTick();
+            profiler.startLoop();
+            recorder.startLoop();
+            profiler.begin( Profiler.SENSORS );
+            power.update();
+            chassis.updateSensors();
+            profiler.end( Profiler.SENSORS );
+            profiler.begin( Profiler.DRIVE );
+            motion.step();
+            profiler.end( Profiler.DRIVE );
+            profiler.begin( Profiler.COMPRESSOR );
+            compressor.runCompressor();
+            profiler.end( Profiler.COMPRESSOR );
+            profiler.begin( Profiler.ARM );
+            mechanism.runArm();
+            profiler.end( Profiler.ARM );
+            profiler.begin( Profiler.OUTPUTS );
+            output.commit();
+            profiler.end( Profiler.OUTPUTS );
+            profiler.begin( Profiler.RECORDER );
+            recorder.record( FlightRecorder.AUTONOMOUS, null );
+            profiler.end( Profiler.RECORDER );
+            profiler.endLoop();
+            robotTime += System.currentTimeMillis() - loopStart;
+
+            //Moves the physics forward by one loop.
+            robot.step( _DT );
+            loops++;
+
+            //Once the first move is done and the arm is up, drives to the wall, then stops.
+            if( motion.isDone() && mechanism.isArmOnTarget() )
+            {
+                if( chassis.getSonar().isFresh() && chassis.getSonar().getDistance() > _WALL_DISTANCE + 1.0 )
+                {
+                    motion.startWallMove( _WALL_DISTANCE, _SPEED );
+                }
+                else
+                {
+                    atWall = true;
+                }
+            }
+        }
+        long totalTime = System.currentTimeMillis() - startTime;
+
+        //Writes the rest of the flight log and reads its last record back.
+        recorder.stop();
+        FlightLog log = new FlightLog( hardware.getLog() );
+        int records = log.getRecordCount();
+        int last = records - 1;
+        while( last > 0 && log.getType( last ) != FlightRecorder.LOOP_RECORD )
+        {
+            last--;
+        }
+        float lastGyro = log.getFloat( last, FlightRecorder.GYRO );
+        float lastPotent = log.getFloat( last, FlightRecorder.POTENT );
+
+        //Prints the results.
+        System.out.println( "Loops: " + loops + " (" + ( loops * _DT ) + " s of robot time)" );
+        System.out.println( "Chassis: x " + robot.getX() + " in, y " + robot.getY() + " in, heading " + robot.getHeading() + " deg" );
+        System.out.println( "Odometry: x " + chassis.getX() + " in, y " + chassis.getY() + " in" );
+        System.out.println( "Sonar: " + chassis.getSonar().getDistance() + " in (target " + _WALL_DISTANCE + ")" );
+        System.out.println( "Arm: " + robot.getArmPosition() + " (target 40.0)" );
+        System.out.println( "Pressure: " + robot.getPressure() + " psi (estimate " + compressor.getModel().getPressure() + ")" );
+        System.out.println( "Battery: lowest " + power.getLowestVoltage() + " V, " + power.getBrownouts() + " brownouts" );
+        System.out.println( "Outputs: " + output.getSkippedWrites() + " unchanged writes skipped" );
+        System.out.println( "Flight log: " + records + " records, " + recorder.getDropped() + " dropped, last gyro " + lastGyro + " deg, last pot " + lastPotent );
+        for( int i = 0; i < profiler.getSections(); i++ )
+        {
+            LogHistogram histogram = profiler.getHistogram( i );
+            if( histogram.getCount() > 0 )
+            {
+                System.out.println( "Profile " + profiler.getName( i ) + ": p50 " + histogram.getPercentile( 0.5 ) + " us, p99 " + histogram.getPercentile( 0.99 ) + " us, max " + histogram.getMax() + " us, " + histogram.getOverruns() + " overruns" );
+            }
+        }
+        System.out.println( "Robot code: " + robotTime + " ms, total: " + totalTime + " ms" );
+    }
+}
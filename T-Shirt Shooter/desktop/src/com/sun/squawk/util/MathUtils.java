@@ -0,0 +1,28 @@
+package com.sun.squawk.util;
+
+/**
+ * A desktop stand-in for the Squawk MathUtils, which has the Math methods that
+ * Java ME leaves out.
+ */
+public class MathUtils
+{
+    public static double pow( double a, double b )
+    {
+        return Math.pow( a, b );
+    }
+
+    public static double exp( double a )
+    {
+        return Math.exp( a );
+    }
+
+    public static double log( double a )
+    {
+        return Math.log( a );
+    }
+
+    public static double atan2( double y, double x )
+    {
+        return Math.atan2( y, x );
+    }
+}
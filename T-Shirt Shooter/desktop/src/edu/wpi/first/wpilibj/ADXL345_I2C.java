@@ -0,0 +1,61 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib ADXL345_I2C accelerometer, which never
+ * accelerates.
+ */
+public class ADXL345_I2C
+{
+    /**
+     * The ranges the accelerometer can measure over.
+     */
+    public static class DataFormat_Range
+    {
+        public static final DataFormat_Range k2G = new DataFormat_Range();
+        public static final DataFormat_Range k4G = new DataFormat_Range();
+        public static final DataFormat_Range k8G = new DataFormat_Range();
+        public static final DataFormat_Range k16G = new DataFormat_Range();
+
+        private DataFormat_Range()
+        {
+        }
+    }
+
+    /**
+     * The axes of the accelerometer.
+     */
+    public static class Axes
+    {
+        public static final Axes kX = new Axes();
+        public static final Axes kY = new Axes();
+        public static final Axes kZ = new Axes();
+
+        private Axes()
+        {
+        }
+    }
+
+    /**
+     * The accelerations along all three axes at once.
+     */
+    public static class AllAxes
+    {
+        public double XAxis;
+        public double YAxis;
+        public double ZAxis;
+    }
+
+    public ADXL345_I2C( int slot, DataFormat_Range range )
+    {
+    }
+
+    public double getAcceleration( Axes axis )
+    {
+        return 0.0;
+    }
+
+    public AllAxes getAccelerations()
+    {
+        return new AllAxes();
+    }
+}
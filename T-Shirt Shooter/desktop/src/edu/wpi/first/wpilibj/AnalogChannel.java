@@ -0,0 +1,39 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib AnalogChannel, which always reads zero.
+ */
+public class AnalogChannel
+{
+    public AnalogChannel( int channel )
+    {
+    }
+
+    public int getValue()
+    {
+        return 0;
+    }
+
+    public int getAverageValue()
+    {
+        return 0;
+    }
+
+    public double getVoltage()
+    {
+        return 0.0;
+    }
+
+    public double getAverageVoltage()
+    {
+        return 0.0;
+    }
+
+    public void setOversampleBits( int bits )
+    {
+    }
+
+    public void setAverageBits( int bits )
+    {
+    }
+}
@@ -0,0 +1,34 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib Compressor, which never runs and whose
+ * pressure switch never trips.
+ */
+public class Compressor
+{
+    public Compressor( int pressureSwitchChannel, int relayChannel )
+    {
+    }
+
+    public void start()
+    {
+    }
+
+    public void stop()
+    {
+    }
+
+    public boolean enabled()
+    {
+        return false;
+    }
+
+    public boolean getPressureSwitchValue()
+    {
+        return false;
+    }
+
+    public void setRelayValue( Relay.Value value )
+    {
+    }
+}
@@ -0,0 +1,16 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib DigitalInput, which always reads false.
+ */
+public class DigitalInput
+{
+    public DigitalInput( int channel )
+    {
+    }
+
+    public boolean get()
+    {
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib DriverStation, which always reads a full
+ * battery.
+ */
+public class DriverStation
+{
+    //The full battery voltage.
+    private static final double _VOLTAGE = 12.5;
+
+    //The singleton instance.
+    private static DriverStation _instance = null;
+
+    public static DriverStation getInstance()
+    {
+        if( _instance == null )
+        {
+            _instance = new DriverStation();
+        }
+
+        return _instance;
+    }
+
+    public double getBatteryVoltage()
+    {
+        return _VOLTAGE;
+    }
+}
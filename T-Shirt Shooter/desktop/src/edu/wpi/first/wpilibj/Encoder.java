@@ -0,0 +1,33 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib Encoder, which never counts.
+ */
+public class Encoder
+{
+    public Encoder( int aChannel, int bChannel )
+    {
+    }
+
+    public int get()
+    {
+        return 0;
+    }
+
+    public double getRate()
+    {
+        return 0.0;
+    }
+
+    public void start()
+    {
+    }
+
+    public void stop()
+    {
+    }
+
+    public void reset()
+    {
+    }
+}
@@ -0,0 +1,25 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib Gyro, which never turns.
+ */
+public class Gyro
+{
+    public Gyro( int channel )
+    {
+    }
+
+    public double getAngle()
+    {
+        return 0.0;
+    }
+
+    public double getRate()
+    {
+        return 0.0;
+    }
+
+    public void reset()
+    {
+    }
+}
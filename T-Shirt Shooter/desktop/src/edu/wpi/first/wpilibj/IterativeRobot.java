@@ -0,0 +1,46 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib IterativeRobot. The real one reads the
+ * driver station and the FPGA when it is created and runs the loop itself;
+ * this one does nothing, so the desktop programs can create RobotTemplate and
+ * call its mode methods themselves.
+ */
+public class IterativeRobot
+{
+    public void robotInit()
+    {
+    }
+
+    public void disabledInit()
+    {
+    }
+
+    public void disabledPeriodic()
+    {
+    }
+
+    public void autonomousInit()
+    {
+    }
+
+    public void autonomousPeriodic()
+    {
+    }
+
+    public void teleopInit()
+    {
+    }
+
+    public void teleopPeriodic()
+    {
+    }
+
+    public void testInit()
+    {
+    }
+
+    public void testPeriodic()
+    {
+    }
+}
@@ -0,0 +1,22 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib Joystick, which is always centered with
+ * no buttons pressed.
+ */
+public class Joystick
+{
+    public Joystick( int port )
+    {
+    }
+
+    public double getRawAxis( int axis )
+    {
+        return 0.0;
+    }
+
+    public boolean getRawButton( int button )
+    {
+        return false;
+    }
+}
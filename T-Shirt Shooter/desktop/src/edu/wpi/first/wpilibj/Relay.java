@@ -0,0 +1,48 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib Relay, which switches nothing.
+ */
+public class Relay
+{
+    /**
+     * The directions a relay can be switched in.
+     */
+    public static class Direction
+    {
+        public static final Direction kBoth = new Direction();
+        public static final Direction kForward = new Direction();
+        public static final Direction kReverse = new Direction();
+
+        private Direction()
+        {
+        }
+    }
+
+    /**
+     * The values a relay can be switched to.
+     */
+    public static class Value
+    {
+        public static final Value kOff = new Value();
+        public static final Value kOn = new Value();
+        public static final Value kForward = new Value();
+        public static final Value kReverse = new Value();
+
+        private Value()
+        {
+        }
+    }
+
+    public Relay( int channel )
+    {
+    }
+
+    public void setDirection( Direction direction )
+    {
+    }
+
+    public void set( Value value )
+    {
+    }
+}
@@ -0,0 +1,14 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib SpeedController, so the robot code builds
+ * off the robot.
+ */
+public interface SpeedController
+{
+    public void set( double speed );
+
+    public double get();
+
+    public void disable();
+}
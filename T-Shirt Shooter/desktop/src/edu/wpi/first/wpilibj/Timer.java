@@ -0,0 +1,33 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib Timer, which counts from when the program
+ * started.
+ */
+public class Timer
+{
+    //When the program started in milliseconds.
+    private static final long _START = System.currentTimeMillis();
+
+    public static double getFPGATimestamp()
+    {
+        return ( System.currentTimeMillis() - _START ) / 1000.0;
+    }
+
+    public static long getUsClock()
+    {
+        return ( System.currentTimeMillis() - _START ) * 1000;
+    }
+
+    public static void delay( double seconds )
+    {
+        try
+        {
+            Thread.sleep( (long) ( seconds * 1000 ) );
+        }
+        catch( InterruptedException e )
+        {
+            //Nothing to do; the delay is just cut short.
+        }
+    }
+}
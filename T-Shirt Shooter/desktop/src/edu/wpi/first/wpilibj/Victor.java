@@ -0,0 +1,30 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * A desktop stand-in for the WPILib Victor, which remembers the last speed it
+ * was set to and drives nothing.
+ */
+public class Victor implements SpeedController
+{
+    //The last speed it was set to.
+    private double _speed = 0.0;
+
+    public Victor( int channel )
+    {
+    }
+
+    public void set( double speed )
+    {
+        _speed = speed;
+    }
+
+    public double get()
+    {
+        return _speed;
+    }
+
+    public void disable()
+    {
+        _speed = 0.0;
+    }
+}
@@ -0,0 +1,17 @@
+package edu.wpi.first.wpilibj.networktables;
+
+/**
+ * A desktop stand-in for the WPILib NetworkTable, which is always empty.
+ */
+public class NetworkTable
+{
+    public static NetworkTable getTable( String name )
+    {
+        return new NetworkTable();
+    }
+
+    public double getNumber( String key, double defaultValue )
+    {
+        return defaultValue;
+    }
+}
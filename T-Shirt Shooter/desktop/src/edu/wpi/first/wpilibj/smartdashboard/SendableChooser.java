@@ -0,0 +1,25 @@
+package edu.wpi.first.wpilibj.smartdashboard;
+
+/**
+ * A desktop stand-in for the WPILib SendableChooser, which always has its
+ * default option picked.
+ */
+public class SendableChooser
+{
+    //The default option.
+    private Object _default = null;
+
+    public void addDefault( String name, Object object )
+    {
+        _default = object;
+    }
+
+    public void addObject( String name, Object object )
+    {
+    }
+
+    public Object getSelected()
+    {
+        return _default;
+    }
+}
@@ -0,0 +1,44 @@
+package edu.wpi.first.wpilibj.smartdashboard;
+
+import java.util.Hashtable;
+
+/**
+ * A desktop stand-in for the WPILib SmartDashboard, which keeps the values put
+ * on it so they can be read back, and shows nothing.
+ */
+public class SmartDashboard
+{
+    //The values put on the dashboard by key.
+    private static Hashtable _values = new Hashtable();
+
+    public static void putNumber( String key, double value )
+    {
+        _values.put( key, new Double( value ) );
+    }
+
+    public static double getNumber( String key )
+    {
+        return getNumber( key, 0.0 );
+    }
+
+    public static double getNumber( String key, double defaultValue )
+    {
+        Object value = _values.get( key );
+        if( !( value instanceof Double ) )
+        {
+            return defaultValue;
+        }
+
+        return ( (Double) value ).doubleValue();
+    }
+
+    public static void putBoolean( String key, boolean value )
+    {
+        _values.put( key, value ? Boolean.TRUE : Boolean.FALSE );
+    }
+
+    public static void putData( String key, Object data )
+    {
+        _values.put( key, data );
+    }
+}
@@ -0,0 +1,46 @@
+package javax.microedition.io;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A desktop stand-in for the Java ME Connector, which opens "file:///" names
+ * as files in the working directory.
+ */
+public class Connector
+{
+    //What comes before the file name.
+    private static final String _FILE = "file:///";
+
+    public static InputStream openInputStream( String name ) throws IOException
+    {
+        return new FileInputStream( toPath( name ) );
+    }
+
+    public static OutputStream openOutputStream( String name ) throws IOException
+    {
+        return new FileOutputStream( toPath( name ) );
+    }
+
+    /**
+     * Turns a connector name into the path of a file.
+     *
+     * @param name The connector name.
+     *
+     * @return The path of the file.
+     *
+     * @throws IOException If the name is not a file.
+     */
+    private static String toPath( String name ) throws IOException
+    {
+        if( !name.startsWith( _FILE ) )
+        {
+            throw new IOException( "Only files can be opened: " + name );
+        }
+
+        return name.substring( _FILE.length() );
+    }
+}
@@ -1,85 +1,93 @@
 package com.cc.arm;
 
+import com.cc.commands.Command;
+import com.cc.config.Parameters;
 import com.cc.systems.Mechanism;
 
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-
 /**
  * Sets the arm to the given state, either the bottom extreme, the upper extreme,
- * or in the middle.
+ * or in the middle. The mechanism holds the arm at the position with its PID
+ * loop, and the command is done once the arm has settled there.
  */
-public class ArmSet extends Thread
+public class ArmSet extends Command
 {
-    //The mechanism object in the the thread.
+    //The mechanism object in the the command.
     private Mechanism _mechanism;
-    
+
+    //The tunable parameters used by the command.
+    private Parameters _parameters;
+
     //The state that the arm will be set to.
     //0 = bottom ; 1 = top ; 2 = middle.
     private int _state;
-    
+
     /**
-     * Creates the thread that sets the mechanism to the given arm.
-     * 
-     * @param state 
+     * Creates the command that sets the mechanism to the given arm.
+     *
+     * @param mechanism The mechanism whose arm will be set.
      */
-    public ArmSet( int state )
+    public ArmSet( Mechanism mechanism )
+    {
+        //Sets the mechanism to the given mechanism.
+        _mechanism = mechanism;
+
+        //Gets the singleton of the parameters.
+        _parameters = Parameters.getInstance();
+
+        //The command uses the arm of the mechanism.
+        requires( _mechanism );
+    }
+
+    /**
+     * Sets the state the arm will be set to the next time the command runs.
+     *
+     * @param state The given place of the arm.
+     */
+    public void setState( int state )
     {
         //Sets the state to the given state.
         _state = state;
-        
-        //Gets the singleton version of the Mechanism.
-        _mechanism = Mechanism.getInstance();
     }
-    
+
     /**
-     * Sets the arm to the given state.
+     * Starts holding the arm at the position of the given state.
      */
-    public void run()
+    protected void initialize()
     {
-        //Change the operation of the thread based off the given state.
+        //Change the position based off the given state.
         switch( _state )
         {
             case 0://The state to set the arm to the bottom extreme.
-                
-                //Lowers the arm until the potentiometer reads the lowest state.
-                while( _mechanism.getPotent() <= SmartDashboard.getNumber( " Arm Minimum Extreme: " ) )
-                {
-                    _mechanism.lowerArm( SmartDashboard.getNumber( " Arm Down-Speed: " ) );
-                }
-                
+                _mechanism.setArmPosition( _parameters.get( Parameters.ARM_BOTTOM_POSITION ) );
                 break;
-                
+
             case 1://The state to set the arm to the top extreme.
-                
-                //Raises the arm until the potentimenter reades the highest state.
-                while( _mechanism.getPotent() >= SmartDashboard.getNumber( " Arm Maximum Extreme: " ) )
-                {
-                    _mechanism.raiseArm( -SmartDashboard.getNumber( " Arm Up-Speed: " ) );
-                }
-                
+                _mechanism.setArmPosition( _parameters.get( Parameters.ARM_TOP_POSITION ) );
                 break;
-                
+
             case 2://The state to set the arm to the middle.
-                
-                //If the arm is currently above the middle position...
-                if( _mechanism.getPotent() < SmartDashboard.getNumber( " Arm Middle Up Position: " ) )
-                {
-                    //Lower the arm until in reaches the middle position.
-                    while( _mechanism.getPotent() < SmartDashboard.getNumber( " Arm Middle Down Position: " ) )
-                    {
-                        _mechanism.lowerArm( -SmartDashboard.getNumber( " Arm Middle Down Speed: " ) );
-                    }
-                }
-                else//Else if the arm is lower than the middle position.
-                {
-                    //Raise the are until in reaches the middle position.
-                    while( _mechanism.getPotent() > SmartDashboard.getNumber( " Arm Middle Up Position: " ) )
-                    {
-                        _mechanism.raiseArm( -SmartDashboard.getNumber( " Arm Middle Up Speed: " ) );
-                    }
-                }
-                
-                break;           
+                _mechanism.setArmPosition( _parameters.get( Parameters.ARM_MIDDLE_UP_POSITION ) );
+                break;
         }
     }
+
+    /**
+     * Nothing to do while the mechanism moves the arm.
+     */
+    protected void execute()
+    {
+        //The mechanism holds the arm at the position every loop.
+    }
+
+    /**
+     * Returns whether the arm has reached the given state.
+     *
+     * @return Whether the arm has settled at the position, or is no longer being held.
+     */
+    protected boolean isFinished()
+    {
+        //Done once the arm settles, or if the driver took the arm over by hand.
+        boolean done = _mechanism.isArmOnTarget() || !_mechanism.isHoldingArm();
+        return done;
+    }
 }
@@ -6,45 +6,71 @@
 
 package com.cc.arm;
 
+import com.cc.commands.Command;
 import com.cc.systems.Mechanism;
-import edu.wpi.first.wpilibj.Timer;
 
 /**
+ * The command which runs the shooter and the intake until the shooter is cocked.
  *
  * @author Ursa
  */
-public class CockShooter extends Thread
+public class CockShooter extends Command
 {
-    //The shooter object in the thread.
+    //The shooter object in the command.
     private Shooter _shooter;
     private Mechanism _mechanism;
-    
+
     /**
-     * Creates the thread which shoots the shooter and then resets the shooter.
-     * 
-     * @param shooter The object which the thread will shoot and reset.
+     * Creates the command which cocks the shooter.
+     *
+     * @param shooter The object which the command will cock.
+     * @param mechanism The mechanism which runs the intake.
      */
-    public CockShooter()
+    public CockShooter( Shooter shooter, Mechanism mechanism )
     {
         //Initializes the shooter and mechanism object in the class.
-        _shooter = Shooter.getInstance();
-        _mechanism = Mechanism.getInstance();
+        _shooter = shooter;
+        _mechanism = mechanism;
+
+        //The command uses the shooter.
+        requires( _shooter );
     }
-    
-    public void run()
-    {      
+
+    /**
+     * Starts running the shooter and the intake.
+     */
+    protected void initialize()
+    {
         //Run the shooter until limit switch is released
         _shooter.turnOn();
         _mechanism.intake();
-        
+    }
+
+    /**
+     * Nothing to do while waiting for the limit switch.
+     */
+    protected void execute()
+    {
         //Run motor until limit switch is pressed
-        while ( _shooter.getLimit() == false )
-        {
-            //Do nothing and wait 1/20 of a second.
-            ShooterReset.yield();
-            Timer.delay( 0.05 );
-        }
-        
+    }
+
+    /**
+     * Returns whether the shooter is cocked.
+     *
+     * @return Whether the limit switch is pressed.
+     */
+    protected boolean isFinished()
+    {
+        //Done once the limit switch is pressed.
+        boolean done = _shooter.getLimit();
+        return done;
+    }
+
+    /**
+     * Turns off the shooter and the intake.
+     */
+    protected void end()
+    {
         //Turn off the shooter when the limit switch is pressed.
         _shooter.turnOff();
         _mechanism.stopIntake();
@@ -1,7 +1,10 @@
 package com.cc.arm;
 
-import edu.wpi.first.wpilibj.DigitalInput;
-import edu.wpi.first.wpilibj.Relay;
+import com.cc.hal.DigitalSwitch;
+import com.cc.hal.Hardware;
+import com.cc.hal.RelayOutput;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.outputs.frame.OutputFrame;
 
 /**
  * Represents the shooter part of the mechanism.
@@ -12,19 +15,18 @@ public class Shooter
     private static Shooter _instance = null;
     
     //The relay which controlls the shooter piston.
-    Relay _shooterRelay = null;
+    RelayOutput _shooterRelay = null;
     
     //Represents the limit switch for the shooter.
-    DigitalInput _limitSwitch = null;
+    DigitalSwitch _limitSwitch = null;
 
     private Shooter()
     {
         //Sets the shooter relay to channel 1 on the Digital IO.
-        _shooterRelay = new Relay( 1 );
-        _shooterRelay.setDirection( Relay.Direction.kForward );
+        _shooterRelay = OutputFrame.getInstance().relay( Hardware.getInstance().getRelay( 1 ) );
         
         //Sets the limit switch to channel 8.
-        _limitSwitch = new DigitalInput( 8 );
+        _limitSwitch = InputFrame.getInstance().digital( Hardware.getInstance().getDigitalInput( 8 ) );
     }
     
     /**
@@ -51,7 +53,7 @@ public class Shooter
     public void turnOn()
     {
         //Set the relay to go forward.
-        _shooterRelay.set( Relay.Value.kForward );
+        _shooterRelay.set( true );
     }
 
     /**
@@ -60,7 +62,7 @@ public class Shooter
     public void turnOff()
     {
         //Set the relay to turn off.
-        _shooterRelay.set( Relay.Value.kOff );
+        _shooterRelay.set( false );
     }
     
     /**
@@ -1,64 +1,148 @@
 package com.cc.arm;
 
+import com.cc.commands.Command;
+import com.cc.hal.Clock;
+import com.cc.inputs.frame.InputFrame;
 import com.cc.systems.Mechanism;
 
-import edu.wpi.first.wpilibj.Timer;
-
 /**
- * The class which is a thread that shoots the shooter then resets the shooter.
+ * The class which is a command that shoots the shooter then resets the shooter.
  */
-public class ShooterReset extends Thread
+public class ShooterReset extends Command
 {
-    //The shooter object in the thread.
+    //The steps of shooting and resetting.
+    private static final int _EJECTING = 0;
+    private static final int _CLEARING = 1;
+    private static final int _COCKING = 2;
+
+    //The time to wait so the shooter can clear the switch before monitoring the limit switch again.
+    private final double _CLEAR_TIME = 1.0;
+
+    //The shooter object in the command.
     private Shooter _shooter;
-    
-    //The mechanism object in the thread.
+
+    //The mechanism object in the command.
     private Mechanism _mechanism;
-    
+
+    //The clock the steps are timed by.
+    private Clock _clock;
+
     //The delay between running the intake and shooting.
     private double _delay;
-    
+
+    //The step the command is on and the time that step started.
+    private int _step;
+    private double _stepStartTime;
+
     /**
-     * Creates the thread which shoots the shooter and then resets the shooter.
-     * 
-     * @param shooter The object which the thread will shoot and reset.
+     * Creates the command which shoots the shooter and then resets the shooter.
+     *
+     * @param shooter The object which the command will shoot and reset.
+     * @param mechanism The mechanism which ejects the ball.
      */
-    public ShooterReset( Shooter shooter, double delay )
+    public ShooterReset( Shooter shooter, Mechanism mechanism )
     {
         //Initializes the shooter and mechanism object in the class.
         _shooter = shooter;
-        _mechanism = Mechanism.getInstance();
-        
+        _mechanism = mechanism;
+
+        //Gets the clock of the robot.
+        _clock = InputFrame.getInstance().getClock();
+
+        //The command uses the shooter.
+        requires( _shooter );
+    }
+
+    /**
+     * Sets the delay between the ejection and the shooting.
+     *
+     * @param delay The delay in seconds.
+     */
+    public void setDelay( double delay )
+    {
         //Sets the delay between the ejection and the shooting.
         _delay = delay;
     }
-    
-    public void run()
+
+    /**
+     * Starts ejecting the ball.
+     */
+    protected void initialize()
     {
-        //Start ejecting the ball and wait one second to shoot the ball.
+        //Start ejecting the ball and wait to shoot the ball.
         _mechanism.eject();
-        
-        //Wait 0.1 seconds to shoot the mechanism.
-        Timer.delay( _delay );
-        
-        //Run the shooter until limit switch is released
-        _shooter.turnOn();
-
-        //Wait one second so it can clear the switch before monitoring the limit switch again.
-        Timer.delay( 1.0 );
-        
-        //Turn off the ejection.
-        _mechanism.stopIntake();
-        
-        //Run motor until limit switch is pressed
-        while ( _shooter.getLimit() == false )
+
+        _step = _EJECTING;
+        _stepStartTime = _clock.getTime();
+    }
+
+    /**
+     * Moves through ejecting, shooting, and cocking the shooter.
+     */
+    protected void execute()
+    {
+        //Finds how long the current step has been running.
+        double stepTime = _clock.getTime() - _stepStartTime;
+
+        switch( _step )
         {
-            //Do nothing and wait 1/20 of a second.
-            ShooterReset.yield();
-            Timer.delay( 0.05 );
+            case _EJECTING://Wait for the delay to shoot the mechanism.
+
+                if( stepTime >= _delay )
+                {
+                    //Run the shooter until limit switch is released
+                    _shooter.turnOn();
+
+                    _step = _CLEARING;
+                    _stepStartTime = _clock.getTime();
+                }
+                break;
+
+            case _CLEARING://Wait so it can clear the switch before monitoring the limit switch again.
+
+                if( stepTime >= _CLEAR_TIME )
+                {
+                    //Turn off the ejection.
+                    _mechanism.stopIntake();
+
+                    _step = _COCKING;
+                    _stepStartTime = _clock.getTime();
+                }
+                break;
+
+            default://Run motor until limit switch is pressed.
+                break;
         }
-        
+    }
+
+    /**
+     * Returns whether the shooter has been cocked again.
+     *
+     * @return Whether the limit switch is pressed after shooting.
+     */
+    protected boolean isFinished()
+    {
+        //Done once the limit switch is pressed while cocking.
+        boolean done = _step == _COCKING && _shooter.getLimit();
+        return done;
+    }
+
+    /**
+     * Turns off the shooter.
+     */
+    protected void end()
+    {
         //Turn off the shooter when the limit switch is pressed.
         _shooter.turnOff();
     }
-}
\ No newline at end of file
+
+    /**
+     * Turns off the shooter and the intake if the command is stopped early.
+     */
+    protected void interrupted()
+    {
+        //Turn off the shooter and the ejection.
+        _shooter.turnOff();
+        _mechanism.stopIntake();
+    }
+}
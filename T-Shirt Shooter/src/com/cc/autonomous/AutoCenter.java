@@ -1,15 +1,22 @@
 package com.cc.autonomous;
 
-import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import com.cc.config.Parameters;
+import com.cc.utility.Trajectory;
 
 /**
  * The class which represents the AutoCommand which starts in the center position
- * figures out which goal is the hot goal, moves forward into position, turns towards
- * the hot goal, and then shoots the ball.
+ * figures out which goal is the hot goal, moves forward into position while turning
+ * towards the hot goal and raising the arm, and then shoots the ball.
  */
 public class AutoCenter extends AutoCommand
 {
+    //The number of blobs the camera saw at the start of autonomous.
+    private double _blobs;
+
+    //The trajectories forward into position, turning right or left to the hot goal on the way.
+    private Trajectory _right;
+    private Trajectory _left;
+
     /**
      * Calls the constructor from AutoCommand.
      */
@@ -17,66 +24,75 @@ public class AutoCenter extends AutoCommand
     {
         super();
     }
-    
+
     /**
-     * Runs this particular AutoCommand which starts in the center position
-     * figures out which goal is the hot goal, moves forward into position, turns towards
-     * the hot goal, and then shoots the ball.
+     * Generates the trajectories forward into position, one turning towards each goal.
      */
-    public void runAutoCommand()
+    protected void generateTrajectories()
     {
-        //Creates and starts the timer that counts to when the hotgoal is active.
-        Timer timer = new Timer();
-        timer.start();
-        
-        //Counts the number of blobs from the camera.
-        double blobs = getNumBlobs();
-        
-        //Moves 12 feet forward at 0.55 speed. Equivalent is 2.7 seconds at same speed.
-        _chassis.move( SmartDashboard.getNumber( " Auto-Center Forward Distance: " ), SmartDashboard.getNumber( " Auto-Center Forward Speed: " ) );
-//        _chassis.holoDrive( SmartDashboard.getNumber( " Auto-Center Forward Speed: " ) , 0.0, 0.0 );
-//        Timer.delay( SmartDashboard.getNumber( " Auto-Center Forward Time: " ) );
-//        _chassis.stop();
-        
-        //Stops the robot.
-        _chassis.stop();
-        
-        //If the left side was hot, turn right to the hot goal
-        if( blobs < 2 )
+        //Turns by the center turn angle towards the goal, while going forward by the center distance.
+        double distance = _parameters.get( Parameters.AUTO_CENTER_FORWARD_DISTANCE );
+        double angle = _parameters.get( Parameters.AUTO_CENTER_TURN_ANGLE );
+        double[][] right =
         {
-            //Turn right at 0.3 speed for 0.3 seconds
-            _chassis.holoDrive( 0.0, 0.0, SmartDashboard.getNumber( " Auto-Center Turn Speed: " ) );
-            Timer.delay( SmartDashboard.getNumber( " Auto-Center Turn Time: " ) );
-            _chassis.stop();
-        }
-        else//Else turn left to the hot goal
+            { 0.0, 0.0, 0.0, 0.0 },
+            { distance, 0.0, 0.0, angle }
+        };
+        double[][] left =
         {
-            //Turn left at 0.3 speed for 0.3 seconds.
-            _chassis.holoDrive( 0.0, 0.0, -SmartDashboard.getNumber( " Auto-Center Turn Speed: " ) );
-            Timer.delay( SmartDashboard.getNumber( " Auto-Center Turn Time: " ) );
-            _chassis.stop();
-        }
-        
-//        //Wait until a least 6 seconds have passed in Auto
-//        while( timer.get() < 6.00 )
-//        {
-//            //Do Nothing.
-//            ;
-//        }
-        
-        //Sets the arm to the top position.
-        _mechanism.setArm( 1 );
-        
-        //Waits until arm is done setting.
-        while( _mechanism.isSettingArm() )
+            { 0.0, 0.0, 0.0, 0.0 },
+            { distance, 0.0, 0.0, -angle }
+        };
+
+        //Both go as fast as the forward speed allows, and are only kept once both have been generated.
+        double speed = _parameters.get( Parameters.AUTO_CENTER_FORWARD_SPEED );
+        Trajectory rightTrajectory = createGenerator( speed ).generate( right );
+        Trajectory leftTrajectory = createGenerator( speed ).generate( left );
+        _right = rightTrajectory;
+        _left = leftTrajectory;
+    }
+
+    /**
+     * Runs the current step of this particular AutoCommand which starts in the center position
+     * figures out which goal is the hot goal, moves forward into position while turning
+     * towards the hot goal and raising the arm, and then shoots the ball.
+     */
+    public void runAutoCommand()
+    {
+        switch( _step )
         {
-            ;
+            case 0://Counts the blobs and starts moving forward towards the hot goal.
+
+                //Counts the number of blobs from the camera.
+                _blobs = getNumBlobs();
+
+                //If the left side was hot, turn right to the hot goal, else turn left to the hot goal.
+                if( _blobs < 2 )
+                {
+                    _motion.startTrajectory( _right );
+                }
+                else
+                {
+                    _motion.startTrajectory( _left );
+                }
+
+                //Sets the arm to the top position while moving.
+                _mechanism.setArm( 1 );
+                nextStep();
+                break;
+
+            case 1://Waits until the robot is in position and the arm is done setting and then shoots.
+
+                if( _motion.isDone() && !_mechanism.isSettingArm() )
+                {
+                    //Then shoot the mechanism.
+                    _mechanism.shoot();
+                    nextStep();
+                }
+                break;
+
+            default://Done.
+                break;
         }
-        
-        //Then shoot the mechanism.
-        _mechanism.shoot();
-        
-        //Stops the timer.
-        timer.stop();
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,19 @@
 package com.cc.autonomous;
 
+import com.cc.config.Parameters;
+import com.cc.hal.Clock;
+import com.cc.inputs.frame.InputFrame;
 import com.cc.systems.Chassis;
 import com.cc.systems.Mechanism;
+import com.cc.systems.MotionController;
+import com.cc.utility.TrajectoryGenerator;
 
 import edu.wpi.first.wpilibj.networktables.NetworkTable;
 
 /**
  * The abstract class which represents any command that is called for Autonomous
- * but does not define any particular auto command.
+ * but does not define any particular auto command. An AutoCommand is run once
+ * every loop and moves through its steps without ever waiting inside a loop.
  */
 public abstract class AutoCommand 
 {
@@ -17,9 +23,25 @@ public abstract class AutoCommand
     //The mechanism that is used in autonomous.
     protected Mechanism _mechanism;
     
+    //The motion controller which moves the chassis in autonomous.
+    protected MotionController _motion;
+    
+    //The tunable parameters used in autonomous.
+    protected Parameters _parameters;
+    
+    //The clock the steps are timed by.
+    private Clock _clock;
+    
     //The network table to get the number of blobs from the camera.
     protected NetworkTable _table;
     
+    //The step the AutoCommand is currently on and the time that step started.
+    protected int _step = 0;
+    private double _stepStartTime = 0.0;
+    
+    //The version of the parameters the trajectories were last generated with.
+    private int _preparedVersion = -1;
+    
     /**
      * Default constructor for an AutoCommand that will get the singleton objects
      * of the chassis and the mechanism.
@@ -29,16 +51,109 @@ public abstract class AutoCommand
         //Gets the singleton of the chassis and the mechanism.
         _chassis = Chassis.getInstance();
         _mechanism = Mechanism.getInstance();
+        _motion = MotionController.getInstance();
+        
+        //Gets the singleton of the parameters.
+        _parameters = Parameters.getInstance();
+        
+        //Gets the clock of the robot.
+        _clock = InputFrame.getInstance().getClock();
         
         //Sets the network table to the one from RoboRealm.
         _table = NetworkTable.getTable( "" );
     }
     
     /**
-     * The method which runs the given AutoCommand.
+     * The method which runs the current step of the given AutoCommand. This is
+     * called once every loop in autonomous.
      */
     public abstract void runAutoCommand();
     
+    /**
+     * Gets the AutoCommand ready before autonomous starts by generating its
+     * trajectories, which takes too long to do in autonomous. Called when the
+     * robot starts and every loop while it is disabled, and only generates them
+     * again when the parameters have changed. If the parameters cannot make a
+     * trajectory, says so once and keeps the trajectories from before.
+     */
+    public void prepare()
+    {
+        //Only generates again when the parameters have changed.
+        if( _parameters.getVersion() == _preparedVersion )
+        {
+            return;
+        }
+        _preparedVersion = _parameters.getVersion();
+        
+        try
+        {
+            generateTrajectories();
+        }
+        catch( IllegalArgumentException e )
+        {
+            System.out.println( "Could not generate the trajectories of " + getClass().getName() + ", keeping the last ones: " + e.getMessage() );
+        }
+    }
+    
+    /**
+     * Generates the trajectories of the AutoCommand from the parameters. Should
+     * only replace the trajectories once all of them have been generated, so
+     * that they are all kept if one cannot be.
+     *
+     * @throws IllegalArgumentException If the parameters cannot make a trajectory.
+     */
+    protected void generateTrajectories()
+    {
+        //Most AutoCommands have no trajectories.
+    }
+    
+    /**
+     * Creates a trajectory generator from the parameters.
+     * 
+     * @param speed The fraction of the top speed and the top turn rate that the trajectory can use.
+     * 
+     * @return The trajectory generator.
+     *
+     * @throws IllegalArgumentException If the top speed, acceleration or turn rate is not above zero.
+     */
+    protected TrajectoryGenerator createGenerator( double speed )
+    {
+        //Limits the speed and the turn rate, but always uses the whole acceleration.
+        return new TrajectoryGenerator( _parameters.get( Parameters.MAX_VELOCITY ) * speed, _parameters.get( Parameters.MAX_ACCELERATION ), _parameters.get( Parameters.MAX_TURN_RATE ) * speed );
+    }
+    
+    /**
+     * Sets the AutoCommand back to its first step so it can be run again.
+     */
+    public void reset()
+    {
+        //Goes back to the first step.
+        _step = 0;
+        _stepStartTime = _clock.getTime();
+    }
+    
+    /**
+     * Moves the AutoCommand on to its next step.
+     */
+    protected void nextStep()
+    {
+        //Goes to the next step and remembers when it started.
+        _step++;
+        _stepStartTime = _clock.getTime();
+    }
+    
+    /**
+     * Finds how long the AutoCommand has been on its current step.
+     * 
+     * @return The time in seconds since the current step started.
+     */
+    protected double getStepTime()
+    {
+        //Finds the time since the step started and returns it.
+        double time = _clock.getTime() - _stepStartTime;
+        return time;
+    }
+    
     /**
      * Finds the number of blobs from the camera.
      * 
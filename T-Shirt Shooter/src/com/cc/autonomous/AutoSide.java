@@ -1,8 +1,7 @@
 package com.cc.autonomous;
 
-import com.cc.arm.CockShooter;
-import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import com.cc.config.Parameters;
+import com.cc.utility.Trajectory;
 
 /**
  * The class which represents the AutoCommand which goes forward and then shoots
@@ -10,6 +9,15 @@ import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
  */
 public class AutoSide extends AutoCommand
 {
+    //The time to wait after moving before shooting.
+    private final double _SHOOT_WAIT = 0.33;
+
+    //The number of blobs the camera saw at the start of autonomous.
+    private double _blobs;
+
+    //The trajectory forward to the shooting position.
+    private Trajectory _forward;
+
     /**
      * Calls the constructor from AutoCommand.
      */
@@ -17,71 +25,73 @@ public class AutoSide extends AutoCommand
     {
         super();
     }
-    
+
     /**
-     * Runs this particular AutoCommand which goes forward, then either shoots if
+     * Generates the trajectory straight forward to the shooting position.
+     */
+    protected void generateTrajectories()
+    {
+        //Goes straight forward by the side distance, facing the same way the whole time.
+        double distance = _parameters.get( Parameters.AUTO_SIDE_FORWARD_DISTANCE );
+        double[][] waypoints =
+        {
+            { 0.0, 0.0, 0.0, 0.0 },
+            { distance, 0.0, 0.0, 0.0 }
+        };
+        _forward = createGenerator( _parameters.get( Parameters.AUTO_SIDE_FORWARD_SPEED ) ).generate( waypoints );
+    }
+
+    /**
+     * Runs the current step of this particular AutoCommand which goes forward, then either shoots if
      * the hot goal is active or waits until it is active to shoot.
      */
     public void runAutoCommand()
     {
-        //Creates and starts the timer that counts to when the hotgoal is active.
-        Timer timer = new Timer();
-        timer.start();
-        
-        //Counts the number of blobs from the camera.
-        double blobs = getNumBlobs();
-        
-        CockShooter _object = new CockShooter();
-        
-        _object.start();
-        
-        //Moves 12 feet forward at 0.75 speed. Equivalent is 1.8 seconds at same speed.
-        _chassis.move( SmartDashboard.getNumber( " Auto-Side Forward Distance: " ), SmartDashboard.getNumber( " Auto-Side Forward Speed: " ) );
-       
-//        _chassis.holoDrive( SmartDashboard.getNumber( " Auto-Side Forward Speed: " ) , 0.0, 0.0 );
-//        Timer.delay( SmartDashboard.getNumber( " Auto-Side Forward Time: " ) );
-//        _chassis.stop();
-        
-        Timer.delay( 0.33 );
-        
-        //If the goal is not hot.
-        if( blobs < 2 )
+        switch( _step )
         {
-//            //Wait until the goal is a hot goal.
-//            while( timer.get() < 6.0 )
-//            {
-//                //Do nothing.
-//                ;
-//            }
-            
-//            //Sets the arm to the top position.
-//            _mechanism.setArm( 1 );
-//            
-//            //Waits until arm is done setting.
-//            while( _mechanism.isSettingArm() )
-//            {
-//                ;
-//            }
-            
-            //Shoots the mechanism.
-            _mechanism.shoot();
-        }
-        else//Else shoot immeadiatly.
-        {
-//            //Sets the arm to the top position.
-//            _mechanism.setArm( 1 );
-//            
-//            //Waits until arm is done setting.
-//            while( _mechanism.isSettingArm() )
-//            {
-//                ;
-//            }
-            
-            //Shoots the mechanism.
-            _mechanism.shoot();
+            case 0://Counts the blobs, cocks the shooter and starts moving forward.
+
+                //Counts the number of blobs from the camera.
+                _blobs = getNumBlobs();
+
+                //Cocks the shooter while moving.
+                _mechanism.cock();
+
+                //Follows the trajectory forward, which goes as fast as the forward speed allows.
+                _motion.startTrajectory( _forward );
+                nextStep();
+                break;
+
+            case 1://Waits for the move to finish.
+
+                if( _motion.isDone() )
+                {
+                    nextStep();
+                }
+                break;
+
+            case 2://Waits a moment after the move and then shoots.
+
+                if( getStepTime() >= _SHOOT_WAIT )
+                {
+                    //If the goal is not hot.
+                    if( _blobs < 2 )
+                    {
+                        //Shoots the mechanism.
+                        _mechanism.shoot();
+                    }
+                    else//Else shoot immeadiatly.
+                    {
+                        //Shoots the mechanism.
+                        _mechanism.shoot();
+                    }
+
+                    nextStep();
+                }
+                break;
+
+            default://Done.
+                break;
         }
-        
-        //Stops the timer.
-        timer.stop();
     }
-}
\ No newline at end of file
+}
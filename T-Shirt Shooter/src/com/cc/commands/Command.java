@@ -0,0 +1,123 @@
+package com.cc.commands;
+
+/**
+ * The abstract class which represents an action that runs over many loops.
+ * A command is run by the CommandScheduler, which calls execute() once every
+ * loop until isFinished() returns true. Each command lists the subsystems it
+ * requires, and starting a command interrupts any other command that requires
+ * the same subsystem.
+ */
+public abstract class Command
+{
+    //The most subsystems a single command can require.
+    private static final int _MAX_REQUIREMENTS = 4;
+
+    //The subsystems which this command requires.
+    private Object[] _requirements = new Object[ _MAX_REQUIREMENTS ];
+    private int _requirementCount = 0;
+
+    /**
+     * A default constructor that does nothing but makes it protected.
+     */
+    protected Command()
+    {
+        //Just here to make the constructor protected.
+    }
+
+    /**
+     * Marks that this command uses the given subsystem. Should be called from
+     * the constructor of the command.
+     *
+     * @param subsystem The subsystem which this command uses.
+     */
+    protected void requires( Object subsystem )
+    {
+        //If the subsystem is not already required and there is room, add it.
+        if( !doesRequire( subsystem ) && _requirementCount < _MAX_REQUIREMENTS )
+        {
+            _requirements[ _requirementCount ] = subsystem;
+            _requirementCount++;
+        }
+    }
+
+    /**
+     * Returns whether this command uses the given subsystem.
+     *
+     * @param subsystem The subsystem to check.
+     *
+     * @return Whether this command uses the subsystem.
+     */
+    public boolean doesRequire( Object subsystem )
+    {
+        //Looks through every required subsystem for the given one.
+        for( int i = 0; i < _requirementCount; i++ )
+        {
+            if( _requirements[ i ] == subsystem )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns whether this command uses any of the same subsystems as the given command.
+     *
+     * @param other The command to check against.
+     *
+     * @return Whether the two commands share a subsystem.
+     */
+    boolean sharesRequirement( Command other )
+    {
+        //Looks through every required subsystem to see if the other command also uses it.
+        for( int i = 0; i < _requirementCount; i++ )
+        {
+            if( other.doesRequire( _requirements[ i ] ) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Called once when the command is started.
+     */
+    protected void initialize()
+    {
+        //Nothing to do by default.
+    }
+
+    /**
+     * Called once every loop while the command is running.
+     */
+    protected abstract void execute();
+
+    /**
+     * Returns whether the command is done. Checked once every loop after execute().
+     *
+     * @return Whether the command is done.
+     */
+    protected abstract boolean isFinished();
+
+    /**
+     * Called once when the command finishes on its own.
+     */
+    protected void end()
+    {
+        //Nothing to do by default.
+    }
+
+    /**
+     * Called once when the command is stopped before it finishes, either because
+     * it was cancelled or because another command needed its subsystem. By
+     * default this does the same thing as end().
+     */
+    protected void interrupted()
+    {
+        //Cleans up the same way as finishing.
+        end();
+    }
+}
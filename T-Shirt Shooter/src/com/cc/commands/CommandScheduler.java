@@ -0,0 +1,210 @@
+package com.cc.commands;
+
+/**
+ * This class runs every command on the robot thread. It is run once every loop
+ * from the periodic functions and steps each running command once, so nothing
+ * needs its own thread and nothing is ever waiting inside a loop.
+ */
+public class CommandScheduler
+{
+    //The singleton object of the command scheduler.
+    private static CommandScheduler _instance = null;
+
+    //The most commands that can run at the same time.
+    private static final int _MAX_COMMANDS = 8;
+
+    //The commands which are currently running.
+    private Command[] _commands = new Command[ _MAX_COMMANDS ];
+    private int _count = 0;
+
+    //The commands being stepped this loop, copied so commands started or stopped while stepping do not shift the ones left.
+    private Command[] _running = new Command[ _MAX_COMMANDS ];
+
+    private CommandScheduler()
+    {
+        //Just here to make the constructor private.
+    }
+
+    /**
+     * Returns the singleton object of the command scheduler.
+     *
+     * @return The singleton object of the command scheduler.
+     */
+    public static CommandScheduler getInstance()
+    {
+        //If no scheduler has been previously constructed.
+        if( _instance == null )
+        {
+            //Create the singleton CommandScheduler object.
+            _instance = new CommandScheduler();
+        }
+
+        //Return the singleton object.
+        return _instance;
+    }
+
+    /**
+     * Starts running the given command. Any running command which uses the same
+     * subsystems is interrupted first. Does nothing if the command is already running.
+     *
+     * @param command The command to start.
+     */
+    public void schedule( Command command )
+    {
+        //If the command is already running, leave it alone.
+        if( isScheduled( command ) )
+        {
+            return;
+        }
+
+        //Interrupts every running command which shares a subsystem with the new one.
+        for( int i = _count - 1; i >= 0; i-- )
+        {
+            if( _commands[ i ].sharesRequirement( command ) )
+            {
+                Command old = _commands[ i ];
+                remove( i );
+                old.interrupted();
+            }
+        }
+
+        //If there is no room left, the command can not run.
+        if( _count >= _MAX_COMMANDS )
+        {
+            System.out.println( "Command Scheduler is full" );
+            return;
+        }
+
+        //Adds the command and starts it.
+        _commands[ _count ] = command;
+        _count++;
+        command.initialize();
+    }
+
+    /**
+     * Stops the given command if it is running.
+     *
+     * @param command The command to stop.
+     */
+    public void cancel( Command command )
+    {
+        //Finds the command and interrupts it.
+        for( int i = 0; i < _count; i++ )
+        {
+            if( _commands[ i ] == command )
+            {
+                remove( i );
+                command.interrupted();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops every running command.
+     */
+    public void cancelAll()
+    {
+        //Interrupts the commands from the last to the first.
+        while( _count > 0 )
+        {
+            Command command = _commands[ _count - 1 ];
+            remove( _count - 1 );
+            command.interrupted();
+        }
+    }
+
+    /**
+     * Returns whether the given command is running.
+     *
+     * @param command The command to check.
+     *
+     * @return Whether the command is running.
+     */
+    public boolean isScheduled( Command command )
+    {
+        //Looks through the running commands for the given one.
+        return indexOf( command ) >= 0;
+    }
+
+    /**
+     * Steps every running command once and removes the ones which are done.
+     * Commands started while stepping are first stepped on the next loop, and
+     * commands stopped while stepping are not stepped again.
+     * Should be called once every loop.
+     */
+    public void run()
+    {
+        //Copies the running commands, since stepping one can start or stop others.
+        int count = _count;
+        for( int i = 0; i < count; i++ )
+        {
+            _running[ i ] = _commands[ i ];
+        }
+
+        //Goes through every command which was running at the start of the loop.
+        for( int i = 0; i < count; i++ )
+        {
+            Command command = _running[ i ];
+            _running[ i ] = null;
+
+            //If an earlier command stopped this one, skip it.
+            int index = indexOf( command );
+            if( index < 0 )
+            {
+                continue;
+            }
+
+            //Runs the command for this loop.
+            command.execute();
+
+            //If the command is done, remove it and end it, finding it again in case stepping it moved it.
+            if( command.isFinished() )
+            {
+                index = indexOf( command );
+                if( index >= 0 )
+                {
+                    remove( index );
+                    command.end();
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the place of a running command.
+     *
+     * @param command The command to find.
+     *
+     * @return The place of the command, or -1 if it is not running.
+     */
+    private int indexOf( Command command )
+    {
+        for( int i = 0; i < _count; i++ )
+        {
+            if( _commands[ i ] == command )
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Removes the command at the given place, keeping the others in order.
+     *
+     * @param index The place of the command to remove.
+     */
+    private void remove( int index )
+    {
+        //Shifts every later command down by one.
+        for( int i = index; i < _count - 1; i++ )
+        {
+            _commands[ i ] = _commands[ i + 1 ];
+        }
+
+        _count--;
+        _commands[ _count ] = null;
+    }
+}
@@ -0,0 +1,287 @@
+package com.cc.config;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/**
+ * This class holds every tunable number that the robot puts into the Smart
+ * Dashboard. The values are read from the Smart Dashboard a few at a time each
+ * loop into a primitive array, so the rest of the robot reads them by index
+ * instead of doing a string lookup in the network table every time, and the
+ * lookups that are left are spread out so no loop pays for all of them.
+ */
+public class Parameters
+{
+    //The indexes of the PID constants for the chassis.
+    public static final int P_CONSTANT = 0;
+    public static final int I_CONSTANT = 1;
+    public static final int D_CONSTANT = 2;
+
+    //The indexes of the maximum arm up and down speeds.
+    public static final int ARM_UP_SPEED = 3;
+    public static final int ARM_DOWN_SPEED = 4;
+
+    //The indexes of the minimum and maximum arm extremes.
+    public static final int ARM_MAXIMUM_EXTREME = 5;
+    public static final int ARM_MINIMUM_EXTREME = 6;
+
+    //The index of the middle arm position.
+    public static final int ARM_MIDDLE_UP_POSITION = 7;
+
+    //The index of the arm shooting delay.
+    public static final int ARM_SHOOTING_DELAY = 8;
+
+    //The indexes of the driver constants.
+    public static final int DRIVER_EXPO = 9;
+    public static final int ROT_DEAD_ZONE = 10;
+
+    //The index of the encoder ticks per inch.
+    public static final int ENCODER_TICKS = 11;
+
+    //The indexes of the autonomous constants.
+    public static final int AUTO_CENTER_TURN_ANGLE = 12;
+    public static final int AUTO_CENTER_FORWARD_SPEED = 13;
+    public static final int AUTO_CENTER_FORWARD_TIME = 14;
+    public static final int AUTO_CENTER_FORWARD_DISTANCE = 15;
+    public static final int AUTO_SIDE_FORWARD_SPEED = 16;
+    public static final int AUTO_SIDE_FORWARD_TIME = 17;
+    public static final int AUTO_SIDE_FORWARD_DISTANCE = 18;
+
+    //The index of the child mode flag.
+    public static final int CHILD_MODE = 19;
+
+    //The indexes of the PID constants for the arm.
+    public static final int ARM_P_CONSTANT = 20;
+    public static final int ARM_I_CONSTANT = 21;
+    public static final int ARM_D_CONSTANT = 22;
+
+    //The indexes of the bottom and top arm positions.
+    public static final int ARM_BOTTOM_POSITION = 23;
+    public static final int ARM_TOP_POSITION = 24;
+
+    //The indexes of the chassis top speed and the velocity loop constant.
+    public static final int MAX_VELOCITY = 25;
+    public static final int VELOCITY_P_CONSTANT = 26;
+
+    //The index of the driver dead-band.
+    public static final int DRIVER_DEAD_BAND = 27;
+
+    //The indexes of how much the chassis keeps its rotation when the wheels are too fast, and the wheel speed loop constant.
+    public static final int ROTATION_PRIORITY = 28;
+    public static final int WHEEL_P_CONSTANT = 29;
+
+    //The index of the loop profiler switch, which is on when it is not 0.
+    public static final int PROFILER = 30;
+
+    //The indexes of the trajectory limits: the top acceleration, and the top turn rate at full rotation.
+    public static final int MAX_ACCELERATION = 31;
+    public static final int MAX_TURN_RATE = 32;
+
+    //The indexes of the trajectory follower constants for position and heading.
+    public static final int TRAJECTORY_P_CONSTANT = 33;
+    public static final int TRAJECTORY_HEADING_P_CONSTANT = 34;
+
+    //The index of the arm axis dead-band.
+    public static final int ARM_DEAD_BAND = 35;
+
+    //The index of the time the chassis takes to get most of the way to a new speed.
+    public static final int DRIVE_LAG = 36;
+
+    //The number of parameters read back from the Smart Dashboard each loop, so every one is read about every 0.2 seconds.
+    private static final int _KEYS_PER_REFRESH = 4;
+
+    //The Smart Dashboard key of each parameter, in the same order as the indexes above.
+    private static final String[] _KEYS =
+    {
+        " P-Constant: ",
+        " I-Constant: ",
+        " D-Constant: ",
+        " Arm Up-Speed: ",
+        " Arm Down-Speed: ",
+        " Arm Maximum Extreme: ",
+        " Arm Minimum Extreme: ",
+        " Arm Middle Up Position: ",
+        " Arm Shooting Delay: ",
+        " Driver Expo: ",
+        " Rot Dead-Zone: ",
+        " Encoder Ticks: ",
+        " Auto-Center Turn Angle: ",
+        " Auto-Center Forward Speed: ",
+        " Auto-Center Forward Time: ",
+        " Auto-Center Forward Distance: ",
+        " Auto-Side Forward Speed: ",
+        " Auto-Side Forward Time: ",
+        " Auto-Side Forward Distance: ",
+        " Child Mode: ",
+        " Arm P-Constant: ",
+        " Arm I-Constant: ",
+        " Arm D-Constant: ",
+        " Arm Bottom Position: ",
+        " Arm Top Position: ",
+        " Max Velocity: ",
+        " Velocity P-Constant: ",
+        " Driver Dead-Band: ",
+        " Rotation Priority: ",
+        " Wheel P-Constant: ",
+        " Profiler: ",
+        " Max Acceleration: ",
+        " Max Turn Rate: ",
+        " Trajectory P-Constant: ",
+        " Trajectory Heading P-Constant: ",
+        " Arm Dead-Band: ",
+        " Drive Lag: "
+    };
+
+    //The singleton object of the parameters.
+    private static Parameters _instance = null;
+
+    //The current value of each parameter.
+    private double[] _values;
+
+    //Counts up every time any parameter changes.
+    private int _version = 0;
+
+    //The index of the next parameter to read back from the Smart Dashboard.
+    private int _nextKey = 0;
+
+    //Whether the Smart Dashboard is left out, such as when running in the simulation.
+    private boolean _offline = false;
+
+    private Parameters()
+    {
+        //Creates the array which holds a value for every key.
+        _values = new double[ _KEYS.length ];
+    }
+
+    /**
+     * Returns the singleton object of the parameters.
+     *
+     * @return The singleton object of the parameters.
+     */
+    public static Parameters getInstance()
+    {
+        //If the parameters have not been created yet...
+        if( _instance == null )
+        {
+            //Create the singleton Parameters object.
+            _instance = new Parameters();
+        }
+
+        //Return the singleton object.
+        return _instance;
+    }
+
+    /**
+     * Sets whether the parameters are kept only in memory. When offline, the
+     * Smart Dashboard is never touched and the published values are used as they are.
+     *
+     * @param offline Whether to leave out the Smart Dashboard.
+     */
+    public void setOffline( boolean offline )
+    {
+        _offline = offline;
+    }
+
+    /**
+     * Returns whether the parameters are kept only in memory, in which case
+     * nothing else should touch the Smart Dashboard either.
+     *
+     * @return Whether the Smart Dashboard is left out.
+     */
+    public boolean isOffline()
+    {
+        return _offline;
+    }
+
+    /**
+     * Sets the value of a parameter and puts it into the Smart Dashboard so it
+     * is dynamically changable.
+     *
+     * @param index The index of the parameter.
+     * @param value The starting value of the parameter.
+     */
+    public void publish( int index, double value )
+    {
+        //Stores the value and puts it into the Smart Dashboard.
+        _values[ index ] = value;
+        if( !_offline )
+        {
+            SmartDashboard.putNumber( _KEYS[ index ], value );
+        }
+
+        //Marks that the parameters have changed.
+        _version++;
+    }
+
+    /**
+     * Reads the next few parameters back from the Smart Dashboard, going around
+     * all of them in turn. This should be called once at the start of every loop.
+     */
+    public void refresh()
+    {
+        //Without the Smart Dashboard there is nothing to read.
+        if( _offline )
+        {
+            return;
+        }
+
+        //Whether any of the parameters were changed in the Smart Dashboard.
+        boolean changed = false;
+
+        //Goes through the next few keys and reads their values, keeping the old value if the key is missing.
+        for( int n = 0; n < _KEYS_PER_REFRESH; n++ )
+        {
+            int i = _nextKey;
+            _nextKey = ( _nextKey + 1 ) % _KEYS.length;
+            double value = SmartDashboard.getNumber( _KEYS[ i ], _values[ i ] );
+
+            //If the value is different, store it.
+            if( value != _values[ i ] )
+            {
+                _values[ i ] = value;
+                changed = true;
+            }
+        }
+
+        //If anything changed, mark that the parameters have changed.
+        if( changed )
+        {
+            _version++;
+        }
+    }
+
+    /**
+     * Gets the current value of a parameter.
+     *
+     * @param index The index of the parameter.
+     *
+     * @return The current value of the parameter.
+     */
+    public double get( int index )
+    {
+        //Returns the stored value.
+        return _values[ index ];
+    }
+
+    /**
+     * Gets the number of parameters.
+     *
+     * @return The number of parameters.
+     */
+    public int getCount()
+    {
+        return _KEYS.length;
+    }
+
+    /**
+     * Gets the version of the parameters, which changes every time any
+     * parameter changes. Used to find out if something computed from the
+     * parameters needs to be computed again.
+     *
+     * @return The version of the parameters.
+     */
+    public int getVersion()
+    {
+        //Returns the version.
+        return _version;
+    }
+}
@@ -0,0 +1,14 @@
+package com.cc.hal;
+
+/**
+ * An interface for a three axis accelerometer.
+ */
+public interface Accelerometer
+{
+    /**
+     * Reads all three axes at once.
+     * 
+     * @param axes The array the x, y, and z accelerations are written into, in Gs.
+     */
+    public void read( double[] axes );
+}
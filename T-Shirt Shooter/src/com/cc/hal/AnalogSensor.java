@@ -0,0 +1,14 @@
+package com.cc.hal;
+
+/**
+ * An interface for anything which gives a raw analog value, such as a sonar.
+ */
+public interface AnalogSensor
+{
+    /**
+     * Gets the current value, averaged over the samples the hardware took since the last read.
+     * 
+     * @return The current raw value.
+     */
+    public double getValue();
+}
@@ -0,0 +1,27 @@
+package com.cc.hal;
+
+/**
+ * An interface for anything which measures an angle, such as a gyro or the
+ * potentiometer on the arm.
+ */
+public interface AngleSensor
+{
+    /**
+     * Gets the current angle. Gyros give degrees, potentiometers give their raw value.
+     * 
+     * @return The current angle.
+     */
+    public double getAngle();
+    
+    /**
+     * Gets how fast the angle is changing, in angle units per second.
+     * 
+     * @return The rate of the angle.
+     */
+    public double getRate();
+    
+    /**
+     * Resets the angle to zero, if the sensor can be reset.
+     */
+    public void reset();
+}
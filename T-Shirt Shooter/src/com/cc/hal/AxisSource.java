@@ -0,0 +1,25 @@
+package com.cc.hal;
+
+/**
+ * An interface for a controller plugged into the driver station which has axes and buttons.
+ */
+public interface AxisSource
+{
+    /**
+     * Gets the raw value of an axis.
+     * 
+     * @param axis The number of the axis.
+     * 
+     * @return The raw value of the axis, between 1.0 and -1.0.
+     */
+    public double getRawAxis( int axis );
+    
+    /**
+     * Gets the state of a button.
+     * 
+     * @param button The number of the button.
+     * 
+     * @return Whether the button is pressed.
+     */
+    public boolean getRawButton( int button );
+}
@@ -0,0 +1,26 @@
+package com.cc.hal;
+
+/**
+ * An interface for the clock of the robot, which everything that times how
+ * long something has taken reads instead of the FPGA timer, so the time can be
+ * simulated or replayed. It also has a microsecond count for timing how long
+ * the code itself takes, which is never simulated or replayed since it measures
+ * the computer the code is running on.
+ */
+public interface Clock
+{
+    /**
+     * Gets the current time.
+     * 
+     * @return The time in seconds since the robot started.
+     */
+    public double getTime();
+
+    /**
+     * Gets a count of microseconds for timing how long code takes. Only the
+     * difference between two counts means anything.
+     *
+     * @return The count in microseconds.
+     */
+    public long getMicros();
+}
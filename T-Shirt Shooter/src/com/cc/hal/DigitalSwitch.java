@@ -0,0 +1,14 @@
+package com.cc.hal;
+
+/**
+ * An interface for anything which is either on or off, such as a limit switch.
+ */
+public interface DigitalSwitch
+{
+    /**
+     * Gets the state of the switch.
+     * 
+     * @return The state of the switch.
+     */
+    public boolean get();
+}
@@ -0,0 +1,36 @@
+package com.cc.hal;
+
+/**
+ * An interface for anything which counts distance, such as an encoder.
+ */
+public interface DistanceSensor
+{
+    /**
+     * Gets the current count of the sensor.
+     * 
+     * @return The current count.
+     */
+    public double get();
+    
+    /**
+     * Gets how fast the count is changing, in counts per second.
+     * 
+     * @return The rate of the count.
+     */
+    public double getRate();
+    
+    /**
+     * Starts counting.
+     */
+    public void start();
+    
+    /**
+     * Stops counting.
+     */
+    public void stop();
+    
+    /**
+     * Resets the count to zero.
+     */
+    public void reset();
+}
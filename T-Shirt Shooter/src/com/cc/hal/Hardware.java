@@ -0,0 +1,193 @@
+package com.cc.hal;
+
+import com.cc.hal.wpi.WpiHardware;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The abstract class which creates every piece of hardware on the robot. The
+ * rest of the robot asks this class for its motors, sensors, relays, and
+ * controllers, so the same code can run against the real robot or against a
+ * simulation. The real robot is used unless a different backend is set before
+ * any subsystem is created.
+ */
+public abstract class Hardware
+{
+    //The singleton object of the hardware backend.
+    private static Hardware _instance = null;
+
+    /**
+     * Returns the hardware backend, creating the real robot backend if none has been set.
+     *
+     * @return The hardware backend.
+     */
+    public static Hardware getInstance()
+    {
+        //If no backend has been set, use the real robot.
+        if( _instance == null )
+        {
+            _instance = new WpiHardware();
+        }
+
+        //Return the singleton object.
+        return _instance;
+    }
+
+    /**
+     * Sets the hardware backend. Must be called before any subsystem is created.
+     *
+     * @param hardware The hardware backend to use.
+     */
+    public static void setInstance( Hardware hardware )
+    {
+        _instance = hardware;
+    }
+
+    /**
+     * Returns whether the backend is a simulation rather than the real robot.
+     *
+     * @return Whether the backend is a simulation.
+     */
+    public abstract boolean isSimulated();
+
+    /**
+     * Gets the talon plugged into the given PWM port.
+     *
+     * @param port The PWM port of the talon.
+     *
+     * @return The motor output of the talon.
+     */
+    public abstract MotorOutput getTalon( int port );
+
+    /**
+     * Gets the victor plugged into the given PWM port.
+     *
+     * @param port The PWM port of the victor.
+     *
+     * @return The motor output of the victor.
+     */
+    public abstract MotorOutput getVictor( int port );
+
+    /**
+     * Gets the gyro plugged into the given analog channel.
+     *
+     * @param channel The analog channel of the gyro.
+     *
+     * @return The gyro, in degrees.
+     */
+    public abstract AngleSensor getGyro( int channel );
+
+    /**
+     * Gets the potentiometer plugged into the given analog channel.
+     *
+     * @param channel The analog channel of the potentiometer.
+     *
+     * @return The potentiometer, in raw analog values.
+     */
+    public abstract AngleSensor getPotentiometer( int channel );
+
+    /**
+     * Gets a raw analog sensor plugged into the given analog channel.
+     *
+     * @param channel The analog channel of the sensor.
+     * @param oversampleBits The analog module adds up 2 to the power of this many samples.
+     * @param averageBits The analog module averages 2 to the power of this many of those sums.
+     *
+     * @return The sensor, in raw analog values.
+     */
+    public abstract AnalogSensor getAnalogInput( int channel, int oversampleBits, int averageBits );
+
+    /**
+     * Gets the encoder plugged into the given digital channels.
+     *
+     * @param aChannel The digital channel of the A signal.
+     * @param bChannel The digital channel of the B signal.
+     *
+     * @return The encoder, in ticks.
+     */
+    public abstract DistanceSensor getEncoder( int aChannel, int bChannel );
+
+    /**
+     * Gets the switch plugged into the given digital channel.
+     *
+     * @param channel The digital channel of the switch.
+     *
+     * @return The switch.
+     */
+    public abstract DigitalSwitch getDigitalInput( int channel );
+
+    /**
+     * Gets the spike relay plugged into the given relay channel.
+     *
+     * @param channel The relay channel of the spike.
+     *
+     * @return The relay.
+     */
+    public abstract RelayOutput getRelay( int channel );
+
+    /**
+     * Gets the controller plugged into the given driver station port.
+     *
+     * @param port The driver station port of the controller.
+     *
+     * @return The controller.
+     */
+    public abstract AxisSource getJoystick( int port );
+
+    /**
+     * Gets the input a Smart Dashboard chooser is read through.
+     *
+     * @param name The name the chooser is shown with.
+     * @param chooser The chooser, read as the number of the picked option.
+     *
+     * @return The input for the chooser.
+     */
+    public abstract AnalogSensor getChooser( String name, AnalogSensor chooser );
+
+    /**
+     * Gets the accelerometer plugged into the I2C port of the given digital module.
+     *
+     * @param module The digital module of the accelerometer.
+     *
+     * @return The accelerometer, in Gs.
+     */
+    public abstract Accelerometer getAccelerometer( int module );
+
+    /**
+     * Gets the battery.
+     *
+     * @return The battery voltage sensor, in volts.
+     */
+    public abstract VoltageSensor getBattery();
+
+    /**
+     * Gets the clock of the robot.
+     *
+     * @return The clock, in seconds since the robot started.
+     */
+    public abstract Clock getClock();
+
+    /**
+     * Opens a log file for writing, replacing any log of the same name.
+     *
+     * @param name The name of the log file.
+     *
+     * @return The stream the log is written to.
+     *
+     * @throws IOException If the log could not be opened.
+     */
+    public abstract OutputStream openLog( String name ) throws IOException;
+
+    /**
+     * Opens a log file for reading.
+     *
+     * @param name The name of the log file.
+     *
+     * @return The stream the log is read from.
+     *
+     * @throws IOException If there is no log of that name or it could not be opened.
+     */
+    public abstract InputStream openLogInput( String name ) throws IOException;
+}
@@ -0,0 +1,26 @@
+package com.cc.hal;
+
+/**
+ * An interface for anything which drives a motor with a value between 1.0 and -1.0.
+ */
+public interface MotorOutput
+{
+    /**
+     * Sets the value of the motor.
+     * 
+     * @param speed The value that the motor is set to, between 1.0 and -1.0.
+     */
+    public void set( double speed );
+    
+    /**
+     * Gets the value the motor was last set to.
+     * 
+     * @return The value of the motor.
+     */
+    public double get();
+    
+    /**
+     * Stops the motor.
+     */
+    public void stopMotor();
+}
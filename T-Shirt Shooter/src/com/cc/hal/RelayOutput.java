@@ -0,0 +1,21 @@
+package com.cc.hal;
+
+/**
+ * An interface for a spike relay which is either driven forward or off.
+ */
+public interface RelayOutput
+{
+    /**
+     * Turns the relay forward or off.
+     * 
+     * @param on Whether the relay is driven forward.
+     */
+    public void set( boolean on );
+    
+    /**
+     * Gets whether the relay is driven forward.
+     * 
+     * @return Whether the relay is on.
+     */
+    public boolean get();
+}
@@ -0,0 +1,14 @@
+package com.cc.hal;
+
+/**
+ * An interface for anything which measures a voltage, such as the battery.
+ */
+public interface VoltageSensor
+{
+    /**
+     * Gets the current voltage.
+     * 
+     * @return The voltage in volts.
+     */
+    public double getVoltage();
+}
@@ -0,0 +1,33 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.Accelerometer;
+
+import edu.wpi.first.wpilibj.ADXL345_I2C;
+
+/**
+ * An accelerometer which reads a WPILib ADXL345 over I2C, with a range of -4 to 4 Gs.
+ */
+public class WpiAccelerometer implements Accelerometer
+{
+    //The accelerometer on the I2C port of the digital module.
+    private ADXL345_I2C _accelerometer;
+
+    /**
+     * Creates the accelerometer on the given digital module.
+     *
+     * @param module The digital module the accelerometer is plugged into.
+     */
+    public WpiAccelerometer( int module )
+    {
+        _accelerometer = new ADXL345_I2C( module, ADXL345_I2C.DataFormat_Range.k4G );
+    }
+
+    public void read( double[] axes )
+    {
+        //Reads all three axes in one I2C transfer.
+        ADXL345_I2C.AllAxes all = _accelerometer.getAccelerations();
+        axes[ 0 ] = all.XAxis;
+        axes[ 1 ] = all.YAxis;
+        axes[ 2 ] = all.ZAxis;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.AnalogSensor;
+
+import edu.wpi.first.wpilibj.AnalogChannel;
+
+/**
+ * An analog sensor which reads a WPILib analog channel with oversampling and
+ * averaging done by the analog module.
+ */
+public class WpiAnalogInput implements AnalogSensor
+{
+    //The analog channel the sensor is plugged into.
+    private AnalogChannel _channel;
+
+    //The number the oversampled value is divided by to bring it back to the raw scale.
+    private double _scale;
+
+    /**
+     * Creates the sensor on the given analog channel.
+     *
+     * @param channel The analog channel of the sensor.
+     * @param oversampleBits The module adds up 2 to the power of this many samples.
+     * @param averageBits The module averages 2 to the power of this many of those sums.
+     */
+    public WpiAnalogInput( int channel, int oversampleBits, int averageBits )
+    {
+        _channel = new AnalogChannel( channel );
+        _channel.setOversampleBits( oversampleBits );
+        _channel.setAverageBits( averageBits );
+        _scale = 1 << oversampleBits;
+    }
+
+    public double getValue()
+    {
+        //The averaged value is still scaled up by the oversampling.
+        return _channel.getAverageValue() / _scale;
+    }
+}
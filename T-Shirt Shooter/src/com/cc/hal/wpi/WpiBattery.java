@@ -0,0 +1,27 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.VoltageSensor;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * The battery voltage, as measured by the analog module and sent to the driver station.
+ */
+public class WpiBattery implements VoltageSensor
+{
+    //The driver station, which has the battery voltage.
+    private DriverStation _driverStation;
+
+    /**
+     * Creates the battery.
+     */
+    public WpiBattery()
+    {
+        _driverStation = DriverStation.getInstance();
+    }
+
+    public double getVoltage()
+    {
+        return _driverStation.getBatteryVoltage();
+    }
+}
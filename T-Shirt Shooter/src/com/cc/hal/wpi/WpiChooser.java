@@ -0,0 +1,42 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.AnalogSensor;
+
+import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+
+/**
+ * Reads the option picked in a Smart Dashboard chooser as a number, so it can
+ * be read through the input frame like any other input. Every option of the
+ * chooser must be an Integer.
+ */
+public class WpiChooser implements AnalogSensor
+{
+    //The chooser.
+    private SendableChooser _chooser;
+
+    /**
+     * Creates the input for a chooser.
+     *
+     * @param chooser The chooser, whose options are all Integers.
+     */
+    public WpiChooser( SendableChooser chooser )
+    {
+        _chooser = chooser;
+    }
+
+    /**
+     * Gets the option picked in the chooser.
+     *
+     * @return The Integer of the picked option, or 0 if nothing is picked.
+     */
+    public double getValue()
+    {
+        Object selected = _chooser.getSelected();
+        if( selected == null )
+        {
+            return 0;
+        }
+
+        return ( (Integer) selected ).intValue();
+    }
+}
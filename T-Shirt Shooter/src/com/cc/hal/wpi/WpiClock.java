@@ -0,0 +1,21 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.Clock;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * The FPGA timer of the cRIO, which counts from when the robot started.
+ */
+public class WpiClock implements Clock
+{
+    public double getTime()
+    {
+        return Timer.getFPGATimestamp();
+    }
+
+    public long getMicros()
+    {
+        return Timer.getUsClock();
+    }
+}
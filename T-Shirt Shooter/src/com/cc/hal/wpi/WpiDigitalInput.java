@@ -0,0 +1,29 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.DigitalSwitch;
+
+import edu.wpi.first.wpilibj.DigitalInput;
+
+/**
+ * A switch which reads a WPILib digital input.
+ */
+public class WpiDigitalInput implements DigitalSwitch
+{
+    //The digital input the switch is plugged into.
+    private DigitalInput _input;
+
+    /**
+     * Creates the switch on the given digital channel.
+     *
+     * @param channel The digital channel of the switch.
+     */
+    public WpiDigitalInput( int channel )
+    {
+        _input = new DigitalInput( channel );
+    }
+
+    public boolean get()
+    {
+        return _input.get();
+    }
+}
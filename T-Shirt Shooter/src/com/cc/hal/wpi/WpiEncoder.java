@@ -0,0 +1,50 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.DistanceSensor;
+
+import edu.wpi.first.wpilibj.Encoder;
+
+/**
+ * A distance sensor which counts the ticks of a WPILib encoder.
+ */
+public class WpiEncoder implements DistanceSensor
+{
+    //The encoder which counts the ticks.
+    private Encoder _encoder;
+
+    /**
+     * Creates the encoder on the given digital channels.
+     *
+     * @param aChannel The digital channel of the A signal.
+     * @param bChannel The digital channel of the B signal.
+     */
+    public WpiEncoder( int aChannel, int bChannel )
+    {
+        _encoder = new Encoder( aChannel, bChannel );
+    }
+
+    public double get()
+    {
+        return _encoder.get();
+    }
+
+    public double getRate()
+    {
+        return _encoder.getRate();
+    }
+
+    public void start()
+    {
+        _encoder.start();
+    }
+
+    public void stop()
+    {
+        _encoder.stop();
+    }
+
+    public void reset()
+    {
+        _encoder.reset();
+    }
+}
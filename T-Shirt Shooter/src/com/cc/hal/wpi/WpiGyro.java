@@ -0,0 +1,39 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.AngleSensor;
+
+import edu.wpi.first.wpilibj.Gyro;
+
+/**
+ * An angle sensor which reads a WPILib gyro in degrees.
+ */
+public class WpiGyro implements AngleSensor
+{
+    //The gyro which gives the angle of the robot.
+    private Gyro _gyro;
+
+    /**
+     * Creates the gyro on the given analog channel.
+     *
+     * @param channel The analog channel of the gyro.
+     */
+    public WpiGyro( int channel )
+    {
+        _gyro = new Gyro( channel );
+    }
+
+    public double getAngle()
+    {
+        return _gyro.getAngle();
+    }
+
+    public double getRate()
+    {
+        return _gyro.getRate();
+    }
+
+    public void reset()
+    {
+        _gyro.reset();
+    }
+}
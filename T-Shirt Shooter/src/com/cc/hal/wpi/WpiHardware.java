@@ -0,0 +1,113 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.Accelerometer;
+import com.cc.hal.AnalogSensor;
+import com.cc.hal.AngleSensor;
+import com.cc.hal.AxisSource;
+import com.cc.hal.Clock;
+import com.cc.hal.DigitalSwitch;
+import com.cc.hal.DistanceSensor;
+import com.cc.hal.Hardware;
+import com.cc.hal.MotorOutput;
+import com.cc.hal.RelayOutput;
+import com.cc.hal.VoltageSensor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.microedition.io.Connector;
+
+import edu.wpi.first.wpilibj.Talon;
+import edu.wpi.first.wpilibj.Victor;
+
+/**
+ * The hardware backend for the real robot, which creates WPILib objects.
+ */
+public class WpiHardware extends Hardware
+{
+    /**
+     * Returns false because this is the real robot.
+     *
+     * @return Whether the backend is a simulation.
+     */
+    public boolean isSimulated()
+    {
+        return false;
+    }
+
+    public MotorOutput getTalon( int port )
+    {
+        return new WpiMotor( new Talon( port ) );
+    }
+
+    public MotorOutput getVictor( int port )
+    {
+        return new WpiMotor( new Victor( port ) );
+    }
+
+    public AngleSensor getGyro( int channel )
+    {
+        return new WpiGyro( channel );
+    }
+
+    public AngleSensor getPotentiometer( int channel )
+    {
+        return new WpiPotentiometer( channel );
+    }
+
+    public AnalogSensor getAnalogInput( int channel, int oversampleBits, int averageBits )
+    {
+        return new WpiAnalogInput( channel, oversampleBits, averageBits );
+    }
+
+    public DistanceSensor getEncoder( int aChannel, int bChannel )
+    {
+        return new WpiEncoder( aChannel, bChannel );
+    }
+
+    public DigitalSwitch getDigitalInput( int channel )
+    {
+        return new WpiDigitalInput( channel );
+    }
+
+    public RelayOutput getRelay( int channel )
+    {
+        return new WpiRelay( channel );
+    }
+
+    public AxisSource getJoystick( int port )
+    {
+        return new WpiJoystick( port );
+    }
+
+    public AnalogSensor getChooser( String name, AnalogSensor chooser )
+    {
+        return chooser;
+    }
+
+    public Accelerometer getAccelerometer( int module )
+    {
+        return new WpiAccelerometer( module );
+    }
+
+    public VoltageSensor getBattery()
+    {
+        return new WpiBattery();
+    }
+
+    public Clock getClock()
+    {
+        return new WpiClock();
+    }
+
+    public OutputStream openLog( String name ) throws IOException
+    {
+        return Connector.openOutputStream( "file:///" + name );
+    }
+
+    public InputStream openLogInput( String name ) throws IOException
+    {
+        return Connector.openInputStream( "file:///" + name );
+    }
+}
@@ -0,0 +1,34 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.AxisSource;
+
+import edu.wpi.first.wpilibj.Joystick;
+
+/**
+ * A controller which reads a WPILib joystick.
+ */
+public class WpiJoystick implements AxisSource
+{
+    //The joystick plugged into the driver station.
+    private Joystick _joy;
+
+    /**
+     * Creates the controller on the given driver station port.
+     *
+     * @param port The driver station port of the controller.
+     */
+    public WpiJoystick( int port )
+    {
+        _joy = new Joystick( port );
+    }
+
+    public double getRawAxis( int axis )
+    {
+        return _joy.getRawAxis( axis );
+    }
+
+    public boolean getRawButton( int button )
+    {
+        return _joy.getRawButton( button );
+    }
+}
@@ -0,0 +1,40 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.MotorOutput;
+
+import edu.wpi.first.wpilibj.SpeedController;
+
+/**
+ * A motor output which drives a WPILib speed controller, either a talon or a victor.
+ */
+public class WpiMotor implements MotorOutput
+{
+    //The speed controller which drives the motor.
+    private SpeedController _controller;
+
+    /**
+     * Creates the motor output for the given speed controller.
+     *
+     * @param controller The speed controller which drives the motor.
+     */
+    public WpiMotor( SpeedController controller )
+    {
+        _controller = controller;
+    }
+
+    public void set( double speed )
+    {
+        _controller.set( speed );
+    }
+
+    public double get()
+    {
+        return _controller.get();
+    }
+
+    public void stopMotor()
+    {
+        //Disabling the speed controller stops the motor.
+        _controller.disable();
+    }
+}
@@ -0,0 +1,47 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.AngleSensor;
+
+import edu.wpi.first.wpilibj.AnalogChannel;
+
+/**
+ * An angle sensor which reads the raw value of a potentiometer on an analog channel.
+ */
+public class WpiPotentiometer implements AngleSensor
+{
+    //The analog channel the potentiometer is plugged into.
+    private AnalogChannel _potent;
+
+    /**
+     * Creates the potentiometer on the given analog channel.
+     *
+     * @param channel The analog channel of the potentiometer.
+     */
+    public WpiPotentiometer( int channel )
+    {
+        _potent = new AnalogChannel( channel );
+    }
+
+    public double getAngle()
+    {
+        return _potent.getValue();
+    }
+
+    /**
+     * The potentiometer does not measure its rate, so this is always zero.
+     *
+     * @return Zero.
+     */
+    public double getRate()
+    {
+        return 0.0;
+    }
+
+    /**
+     * A potentiometer can not be reset, so this does nothing.
+     */
+    public void reset()
+    {
+        //Nothing to reset.
+    }
+}
@@ -0,0 +1,40 @@
+package com.cc.hal.wpi;
+
+import com.cc.hal.RelayOutput;
+
+import edu.wpi.first.wpilibj.Relay;
+
+/**
+ * A relay output which drives a WPILib spike relay forward or off.
+ */
+public class WpiRelay implements RelayOutput
+{
+    //The spike relay.
+    private Relay _relay;
+
+    //Whether the relay is driven forward.
+    private boolean _on = false;
+
+    /**
+     * Creates the relay on the given relay channel.
+     *
+     * @param channel The relay channel of the spike.
+     */
+    public WpiRelay( int channel )
+    {
+        _relay = new Relay( channel );
+        _relay.setDirection( Relay.Direction.kForward );
+    }
+
+    public void set( boolean on )
+    {
+        //Drives the relay forward if on, otherwise turns it off.
+        _relay.set( on ? Relay.Value.kForward : Relay.Value.kOff );
+        _on = on;
+    }
+
+    public boolean get()
+    {
+        return _on;
+    }
+}
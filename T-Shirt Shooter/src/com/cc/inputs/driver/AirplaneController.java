@@ -1,10 +1,11 @@
 package com.cc.inputs.driver;
 
+import com.cc.config.Parameters;
+import com.cc.hal.AxisSource;
+import com.cc.hal.Hardware;
+import com.cc.inputs.frame.InputFrame;
 import com.cc.utility.Utility;
 
-import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-
 /**
  * The class which represents the driver type for the Airplane Controller.
  */
@@ -45,9 +46,15 @@ public class AirplaneController extends Driver
     private final double _ARMMIN = 1.0;
     private final double _ARMCENTER = 0.0;
     
+    //The lookup tables of the axes of the controller.
+    private AxisTable _xAxis;
+    private AxisTable _yAxis;
+    private AxisTable _rotAxis;
+    private AxisTable _armAxis;
+    
     //The joysticks of the controller.
-    private Joystick _joyOne;
-    private Joystick _joyTwo;
+    private AxisSource _joyOne;
+    private AxisSource _joyTwo;
     
     /**
      * Creates the airplane controller driver object.
@@ -58,8 +65,14 @@ public class AirplaneController extends Driver
         super();
         
         //Initializes the joysticks on channel 1 and 2.
-        _joyOne = new Joystick( 2 );
-        _joyTwo = new Joystick( 1 );
+        _joyOne = InputFrame.getInstance().joystick( Hardware.getInstance().getJoystick( 2 ) );
+        _joyTwo = InputFrame.getInstance().joystick( Hardware.getInstance().getJoystick( 1 ) );
+        
+        //Creates the lookup tables from the calibration of each axis. The arm is not given the expo.
+        _xAxis = addAxis( _XMIN, _XMAX, _XCENTER, true );
+        _yAxis = addAxis( _YMIN, _YMAX, _YCENTER, true );
+        _rotAxis = addAxis( _ROTMIN, _ROTMAX, _ROTCENTER, true );
+        _armAxis = addAxis( _ARMMIN, _ARMMAX, _ARMCENTER, false );
     }
     
     /**
@@ -118,9 +131,8 @@ public class AirplaneController extends Driver
      */
     public  double getX()
     {
-        //Finds the normalized x value of the controller, and then expos it.
-        double xValue = normalize( _joyOne.getRawAxis( 1 ), _XMIN, _XMAX, _XCENTER );
-        xValue = Utility.expo( xValue, SmartDashboard.getNumber( " Driver Expo: " ) );
+        //Finds the shaped x value of the controller from its table.
+        double xValue = readAxis( _xAxis, _joyOne.getRawAxis( 1 ) );
         
         //Returns the x value.
         return xValue;
@@ -133,9 +145,8 @@ public class AirplaneController extends Driver
      */
     public double getY()
     {
-        //Finds the normalized y value of the controller, and then expos it.
-        double yValue = -1 * normalize( _joyOne.getRawAxis( 2 ), _YMIN, _YMAX, _YCENTER );//Multiplies by -1 because the y-axis is inverted.
-        yValue = Utility.expo( yValue, SmartDashboard.getNumber( " Driver Expo: " ) );
+        //Finds the shaped y value of the controller from its table.
+        double yValue = -1 * readAxis( _yAxis, _joyOne.getRawAxis( 2 ) );//Multiplies by -1 because the y-axis is inverted.
         
         //Returns the y value.
         return yValue;
@@ -148,9 +159,8 @@ public class AirplaneController extends Driver
      */
     public double getRot()
     {
-        //Finds the normalized rotation value of the controller, and then expos it.
-        double rValue = normalize( _joyOne.getRawAxis( 5 ), _ROTMIN, _ROTMAX, _ROTCENTER );
-        rValue = Utility.expo( rValue, SmartDashboard.getNumber( " Driver Expo: " ) );
+        //Finds the shaped rotation value of the controller from its table.
+        double rValue = readAxis( _rotAxis, _joyOne.getRawAxis( 5 ) );
         
         
         //If going backwards...
@@ -172,8 +182,8 @@ public class AirplaneController extends Driver
     public double getArm()
     {
         //Finds the normalized arm value of the controller and limit range between 0.5 and -0.4.
-        double aValue = normalize( _joyTwo.getRawAxis( 3 ), _ARMMIN, _ARMMAX, _ARMCENTER );
-        aValue = Utility.limitRange( aValue, SmartDashboard.getNumber( " Arm Up-Speed: ") , SmartDashboard.getNumber( " Arm Down-Speed: " ) );
+        double aValue = readAxis( _armAxis, _joyTwo.getRawAxis( 3 ) );
+        aValue = Utility.limitRange( aValue, _parameters.get( Parameters.ARM_UP_SPEED ) , _parameters.get( Parameters.ARM_DOWN_SPEED ) );
         
         //Returns the arm value.
         return aValue;
@@ -1,10 +1,11 @@
 package com.cc.inputs.driver;
 
+import com.cc.config.Parameters;
+import com.cc.hal.AxisSource;
+import com.cc.hal.Hardware;
+import com.cc.inputs.frame.InputFrame;
 import com.cc.utility.Utility;
 
-import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-
 /**
  * The class which represents the driver type for the XBox Controller.
  */
@@ -30,9 +31,15 @@ public class AttackThree extends Driver
     private final double _ARMMIN = -1.0;
     private final double _ARMCENTER = 0.0;
 
+    //The lookup tables of the axes of the controller.
+    private AxisTable _xAxis;
+    private AxisTable _yAxis;
+    private AxisTable _rotAxis;
+    private AxisTable _armAxis;
+    
     //The joysticks of the controller.
-    private Joystick _attackOne; 
-    private Joystick _attackTwo;
+    private AxisSource _attackOne; 
+    private AxisSource _attackTwo;
     
     /**
      * Creates the joystick driver object.
@@ -43,8 +50,14 @@ public class AttackThree extends Driver
         super();
         
         //Initializes the joystick on channel 1 and channel 2.
-        _attackOne = new Joystick( 1 );
-        _attackTwo = new Joystick( 2 );
+        _attackOne = InputFrame.getInstance().joystick( Hardware.getInstance().getJoystick( 1 ) );
+        _attackTwo = InputFrame.getInstance().joystick( Hardware.getInstance().getJoystick( 2 ) );
+        
+        //Creates the lookup tables from the calibration of each axis. The arm is not given the expo.
+        _xAxis = addAxis( _XMIN, _XMAX, _XCENTER, true );
+        _yAxis = addAxis( _YMIN, _YMAX, _YCENTER, true );
+        _rotAxis = addAxis( _ROTMIN, _ROTMAX, _ROTCENTER, true );
+        _armAxis = addAxis( _ARMMIN, _ARMMAX, _ARMCENTER, false );
     }
     
     /**
@@ -103,9 +116,8 @@ public class AttackThree extends Driver
      */
     public  double getX()
     {
-        //Finds the normalized x value of the controller, and then expos it.
-        double xValue = normalize( _attackOne.getRawAxis( 1 ), _XMIN, _XMAX, _XCENTER );
-        xValue = Utility.expo( xValue, SmartDashboard.getNumber( " Driver Expo: " ) );
+        //Finds the shaped x value of the controller from its table.
+        double xValue = readAxis( _xAxis, _attackOne.getRawAxis( 1 ) );
         
         //Returns the x value.
         return xValue;
@@ -118,9 +130,8 @@ public class AttackThree extends Driver
      */
     public double getY()
     {
-        //Finds the normalized y value of the controller, and then expos it.
-        double yValue = -1 * normalize( _attackOne.getRawAxis( 2 ), _YMIN, _YMAX, _YCENTER );//Multiplies by -1 because the y-axis is inverted.
-        yValue = Utility.expo( yValue, SmartDashboard.getNumber( " Driver Expo: " ) );
+        //Finds the shaped y value of the controller from its table.
+        double yValue = -1 * readAxis( _yAxis, _attackOne.getRawAxis( 2 ) );//Multiplies by -1 because the y-axis is inverted.
         
         //Returns the y value.
         return yValue;
@@ -133,12 +144,11 @@ public class AttackThree extends Driver
      */
     public double getRot()
     {
-        //Finds the normalized rotation value of the controller, and then expos it.
-        double rValue = normalize( _attackTwo.getRawAxis( 1 ), _ROTMIN, _ROTMAX, _ROTCENTER );
-        rValue = Utility.expo( rValue, SmartDashboard.getNumber( " Driver Expo: " ) );
+        //Finds the shaped rotation value of the controller from its table.
+        double rValue = readAxis( _rotAxis, _attackTwo.getRawAxis( 1 ) );
         
         //If going backwards...
-        if( getY() < -SmartDashboard.getNumber( " Rot Dead-Zone: " ) )
+        if( getY() < -_parameters.get( Parameters.ROT_DEAD_ZONE ) )
         {
             //Then reverse the rotation value.
             rValue *= -1;
@@ -156,8 +166,8 @@ public class AttackThree extends Driver
     public double getArm()
     {
         //Finds the normalized arm value of the controller and limit the range between 0.5 and -0.4.
-        double aValue = normalize( _attackTwo.getRawAxis( 2 ), _ARMMIN, _ARMMAX, _ARMCENTER );
-        aValue = Utility.limitRange( aValue, SmartDashboard.getNumber( " Arm Up-Speed: " ) , SmartDashboard.getNumber( " Arm Dowm-Speed: " ) );
+        double aValue = readAxis( _armAxis, _attackTwo.getRawAxis( 2 ) );
+        aValue = Utility.limitRange( aValue, _parameters.get( Parameters.ARM_UP_SPEED ) , _parameters.get( Parameters.ARM_DOWN_SPEED ) );
         
         //Returns the arm value.
         return aValue;
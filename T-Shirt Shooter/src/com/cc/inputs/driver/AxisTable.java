@@ -0,0 +1,169 @@
+package com.cc.inputs.driver;
+
+import com.cc.utility.Utility;
+
+/**
+ * A lookup table which turns the raw value of one controller axis into its
+ * shaped value. The calibration of the axis, the dead-band, and the expo are
+ * all worked out ahead of time for evenly spaced raw values, so reading the axis
+ * only finds the two nearest entries and interpolates between them. The table is
+ * only rebuilt when the expo or the dead-band change.
+ */
+public class AxisTable
+{
+    //The number of entries across the raw range from -1 to 1. One more than a power of two so the center is an entry.
+    private static final int _SIZE = 1025;
+
+    //The number of entries per unit of raw value.
+    private static final double _SCALE = ( _SIZE - 1 ) / 2.0;
+
+    //The calibration of the axis.
+    private double _min;
+    private double _max;
+    private double _center;
+
+    //Whether the expo is used, which it is not for axes such as the arm.
+    private boolean _shaped;
+
+    //The shaped value at each entry.
+    private double[] _table = new double[ _SIZE ];
+
+    //The expo and the dead-band the table was last built with.
+    private double _expo = Double.NaN;
+    private double _deadBand = Double.NaN;
+
+    /**
+     * Creates the table for an axis with the given calibration.
+     *
+     * @param min The raw value at the minimum of the axis.
+     * @param max The raw value at the maximum of the axis.
+     * @param center The raw value at the center of the axis.
+     * @param shaped Whether the expo is used.
+     */
+    public AxisTable( double min, double max, double center, boolean shaped )
+    {
+        _min = min;
+        _max = max;
+        _center = center;
+        _shaped = shaped;
+
+        //Builds the table straight away so it can be read before any expo is given.
+        build( 1.0, 0.0 );
+    }
+
+    /**
+     * Rebuilds the table if the expo or the dead-band have changed.
+     *
+     * @param expo The exponent of the expo curve.
+     * @param deadBand The part of the axis around the center which reads zero.
+     */
+    public void update( double expo, double deadBand )
+    {
+        if( expo != _expo || deadBand != _deadBand )
+        {
+            build( expo, deadBand );
+        }
+    }
+
+    /**
+     * Works out the shaped value at every entry.
+     *
+     * @param expo The exponent of the expo curve.
+     * @param deadBand The part of the axis around the center which reads zero.
+     */
+    private void build( double expo, double deadBand )
+    {
+        _expo = expo;
+        _deadBand = deadBand;
+
+        for( int i = 0; i < _SIZE; i++ )
+        {
+            //Finds the calibrated value at the raw value of the entry.
+            double value = normalize( i / _SCALE - 1.0, _min, _max, _center );
+
+            //Zeroes the dead-band and stretches the rest of the axis back out to the full range.
+            double magnitude = Math.abs( value );
+            if( magnitude <= deadBand )
+            {
+                value = 0.0;
+            }
+            else if( deadBand > 0.0 )
+            {
+                value = ( value / magnitude ) * ( magnitude - deadBand ) / ( 1.0 - deadBand );
+            }
+
+            if( _shaped )
+            {
+                value = Utility.expo( value, expo );
+            }
+
+            _table[ i ] = value;
+        }
+    }
+
+    /**
+     * Gets whether the expo is used on the axis.
+     *
+     * @return Whether the expo is used.
+     */
+    public boolean isShaped()
+    {
+        return _shaped;
+    }
+
+    /**
+     * Gets the shaped value of the axis.
+     *
+     * @param raw The raw value of the axis, from -1 to 1.
+     *
+     * @return The shaped value of the axis.
+     */
+    public double get( double raw )
+    {
+        //Finds the position of the raw value in the table, keeping it inside the table.
+        double position = ( raw + 1.0 ) * _SCALE;
+        if( position <= 0.0 )
+        {
+            return _table[ 0 ];
+        }
+        else if( position >= _SIZE - 1 )
+        {
+            return _table[ _SIZE - 1 ];
+        }
+
+        //Interpolates between the two nearest entries.
+        int index = (int) position;
+        double fraction = position - index;
+        return _table[ index ] + ( _table[ index + 1 ] - _table[ index ] ) * fraction;
+    }
+
+    /**
+     * Normalizes a axis value based on its constants.
+     *
+     * @param inValue  The raw value given.
+     * @param minValue Minimum value of joystick.
+     * @param maxValue Maximum value of joystick.
+     * @param cValue   Center value of joystick.
+     *
+     * @return Returns the normalized value.
+     */
+    public static double normalize( double inValue, double minValue, double maxValue, double cValue )
+    {
+        //Subtracts the center constant from the given value.
+        inValue -= cValue;
+
+        if( inValue < 0.0 )//If the value is negative...
+        {
+            //Divide the value by the minimum constant.
+            inValue /= -minValue;
+        }
+        else//If the value is positive...
+        {
+            //Divide the value by the maximum constant.
+            inValue /= maxValue;
+        }
+
+        //Limit the value between 1.0 and -1.0.
+        return Utility.limitRange( inValue );
+    }
+}
@@ -1,6 +1,6 @@
 package com.cc.inputs.driver;
 
-import com.cc.utility.Utility;
+import com.cc.config.Parameters;
 
 /** 
  * Driver provides an interface for the three controller types to implement.
@@ -11,13 +11,32 @@ public abstract class Driver
 {
     //The object where the singleton is stored.
     protected static Driver _instance = null;
+    
+    //The tunable parameters used by the driver.
+    protected Parameters _parameters;
+    
+    //The most axes a controller can have tables for.
+    private static final int _MAX_AXES = 8;
+    
+    //The lookup table of each axis of the controller.
+    private AxisTable[] _axes = new AxisTable[ _MAX_AXES ];
+    private int _axisCount = 0;
+    
+    //The version of the parameters the tables were last checked against.
+    private int _axisVersion = -1;
+    
+    //The two states the driver is polled into, taking turns, and the one from the latest poll.
+    private DriverState _stateOne = new DriverState();
+    private DriverState _stateTwo = new DriverState();
+    private DriverState _state = _stateOne;
    
     /**
-     * A default constructor that does nothing but makes it protected.
+     * A protected constructor that gets the singleton of the parameters.
      */
     protected Driver()
     {                            
-        //Just here to make the constructor protected.
+        //Gets the singleton of the parameters.
+        _parameters = Parameters.getInstance();
     }
     
     /**
@@ -107,6 +126,57 @@ public abstract class Driver
      */
     public abstract boolean getSeventhButton();
     
+    /**
+     * Reads every axis and button of the controller once into a new state.
+     * Should be called once at the start of every loop.
+     * 
+     * @return Returns the state of the driver for this loop.
+     */
+    public DriverState poll()
+    {
+        //Fills the state that is not in use, so the latest state does not change while it is read.
+        DriverState last = _state;
+        DriverState next = ( last == _stateOne ) ? _stateTwo : _stateOne;
+        
+        //Reads the axes.
+        next.setAxes( getX(), getY(), getRot(), getArm() );
+        
+        //Reads the buttons and finds which were pressed or released since the last poll.
+        next.setButton( DriverState.PRIMARY, getPriButton(), last );
+        next.setButton( DriverState.SECONDARY, getSecButton(), last );
+        next.setButton( DriverState.THIRD, getThirdButton(), last );
+        next.setButton( DriverState.FOURTH, getFourthButton(), last );
+        next.setButton( DriverState.FIFTH, getFifthButton(), last );
+        next.setButton( DriverState.SIXTH, getSixthButton(), last );
+        next.setButton( DriverState.SEVENTH, getSeventhButton(), last );
+        
+        //The new state is now the latest.
+        _state = next;
+        return _state;
+    }
+    
+    /**
+     * Gets the state of the driver from the latest poll.
+     * 
+     * @return Returns the state of the driver.
+     */
+    public DriverState getState()
+    {
+        return _state;
+    }
+    
+    /**
+     * Starts the driver over from a fresh poll with no presses or releases, so
+     * buttons already held when this is called do not count as pressed on the
+     * next poll. They only count once they are let go and pressed again.
+     */
+    public void seedState()
+    {
+        //Reads what is held right now, then forgets that it was just pressed.
+        poll();
+        _state.clearEdges();
+    }
+    
     /**
      * Prints the x, y, rotation, primary button, and secondary button values.
      */
@@ -115,6 +185,57 @@ public abstract class Driver
         System.out.println( "X: " + getX() + " Y: " + getY() + " ROT: " + getRot() + " ARM: " + getArm() + " Pri: " + getPriButton() + " Sec: " + getSecButton() + " 5: " + getFifthButton() + " 6: " + getSixthButton() );
     }
     
+    /**
+     * Creates the lookup table for one axis of the controller.
+     * 
+     * @param minValue Minimum value of joystick.
+     * @param maxValue Maximum value of joystick.
+     * @param cValue   Center value of joystick.
+     * @param shaped   Whether the driver expo and dead-band are used on the axis. Otherwise only the arm dead-band is used.
+     * 
+     * @return Returns the lookup table of the axis.
+     */
+    protected AxisTable addAxis( double minValue, double maxValue, double cValue, boolean shaped )
+    {
+        //Creates the table and keeps it so it is rebuilt when the expo changes.
+        AxisTable table = new AxisTable( minValue, maxValue, cValue, shaped );
+        _axes[ _axisCount ] = table;
+        _axisCount++;
+        
+        //Makes sure the new table is checked against the parameters on its first read.
+        _axisVersion = -1;
+        
+        return table;
+    }
+    
+    /**
+     * Reads one axis through its lookup table.
+     * 
+     * @param table The lookup table of the axis.
+     * @param inValue The raw value of the axis.
+     * 
+     * @return Returns the shaped value of the axis.
+     */
+    protected double readAxis( AxisTable table, double inValue )
+    {
+        //If any parameter has changed, lets the tables rebuild if the expo or dead-bands were what changed.
+        int version = _parameters.getVersion();
+        if( version != _axisVersion )
+        {
+            double expo = _parameters.get( Parameters.DRIVER_EXPO );
+            double deadBand = _parameters.get( Parameters.DRIVER_DEAD_BAND );
+            double armDeadBand = _parameters.get( Parameters.ARM_DEAD_BAND );
+            for( int i = 0; i < _axisCount; i++ )
+            {
+                _axes[ i ].update( expo, _axes[ i ].isShaped() ? deadBand : armDeadBand );
+            }
+            _axisVersion = version;
+        }
+        
+        //Returns the shaped value from the table.
+        return table.get( inValue );
+    }
+    
     /**
      * Normalizes a axis value based on its constants.
      * 
@@ -127,25 +248,8 @@ public abstract class Driver
      */
     public double normalize( double inValue, double minValue, double maxValue, double cValue )
     {  
-        //Subtracts the center constant from the given value.
-        inValue -= cValue;
-        
-        if( inValue < 0.0 )//If the value is negative...
-        {
-            //Divide the value by the minimum constant.
-            inValue /= -minValue;
-        }
-        else//If the value is positive... 
-        {
-            //Divide the value by the maximum constant.
-            inValue /= maxValue;
-        }
-        
-        //Limit the value between 1.0 and -1.0.
-        inValue = Utility.limitRange( inValue );
-        
         //Returns the normalized value.
-        return inValue;       
+        return AxisTable.normalize( inValue, minValue, maxValue, cValue );
     }
     
 }
\ No newline at end of file
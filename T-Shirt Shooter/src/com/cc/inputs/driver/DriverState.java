@@ -0,0 +1,160 @@
+package com.cc.inputs.driver;
+
+/**
+ * Everything the driver is doing on one loop: the shaped axes and every button,
+ * plus which buttons were pressed or released since the loop before. A driver
+ * fills one of these in a single pass over the controller when it is polled, and
+ * the rest of the loop reads from it, so every part of the loop sees the same
+ * values. The driver keeps two of these and swaps between them, so the values
+ * read from a state do not change for the rest of the loop.
+ */
+public class DriverState
+{
+    //The indexes of the buttons, in the same order as the button getters of the driver.
+    public static final int PRIMARY = 0;
+    public static final int SECONDARY = 1;
+    public static final int THIRD = 2;
+    public static final int FOURTH = 3;
+    public static final int FIFTH = 4;
+    public static final int SIXTH = 5;
+    public static final int SEVENTH = 6;
+
+    //The number of buttons.
+    static final int BUTTONS = 7;
+
+    //The shaped axes.
+    private double _x = 0.0;
+    private double _y = 0.0;
+    private double _rot = 0.0;
+    private double _arm = 0.0;
+
+    //Whether each button is held, was pressed this loop, and was released this loop.
+    private boolean[] _held = new boolean[ BUTTONS ];
+    private boolean[] _pressed = new boolean[ BUTTONS ];
+    private boolean[] _released = new boolean[ BUTTONS ];
+
+    /**
+     * Only drivers create states.
+     */
+    DriverState()
+    {
+    }
+
+    /**
+     * Fills the axes of the state.
+     *
+     * @param x The x value.
+     * @param y The y value.
+     * @param rot The rotation value.
+     * @param arm The arm value.
+     */
+    void setAxes( double x, double y, double rot, double arm )
+    {
+        _x = x;
+        _y = y;
+        _rot = rot;
+        _arm = arm;
+    }
+
+    /**
+     * Fills one button of the state, finding its edges from the state of the loop before.
+     *
+     * @param button The index of the button.
+     * @param held Whether the button is held.
+     * @param last The state of the loop before.
+     */
+    void setButton( int button, boolean held, DriverState last )
+    {
+        _held[ button ] = held;
+        _pressed[ button ] = held && !last._held[ button ];
+        _released[ button ] = !held && last._held[ button ];
+    }
+
+    /**
+     * Clears the presses and releases, keeping what is held.
+     */
+    void clearEdges()
+    {
+        for( int i = 0; i < BUTTONS; i++ )
+        {
+            _pressed[ i ] = false;
+            _released[ i ] = false;
+        }
+    }
+
+    /**
+     * Gets the x value of the controller.
+     *
+     * @return Returns the x value.
+     */
+    public double getX()
+    {
+        return _x;
+    }
+
+    /**
+     * Gets the y value of the controller.
+     *
+     * @return Returns the y value.
+     */
+    public double getY()
+    {
+        return _y;
+    }
+
+    /**
+     * Gets the rotation value of the controller.
+     *
+     * @return Returns the rotation value.
+     */
+    public double getRot()
+    {
+        return _rot;
+    }
+
+    /**
+     * Gets the arm value of the controller.
+     *
+     * @return Returns the arm value.
+     */
+    public double getArm()
+    {
+        return _arm;
+    }
+
+    /**
+     * Returns whether a button is held.
+     *
+     * @param button The index of the button.
+     *
+     * @return Whether the button is held.
+     */
+    public boolean isHeld( int button )
+    {
+        return _held[ button ];
+    }
+
+    /**
+     * Returns whether a button was pressed this loop.
+     *
+     * @param button The index of the button.
+     *
+     * @return Whether the button is held now but was not on the loop before.
+     */
+    public boolean wasPressed( int button )
+    {
+        return _pressed[ button ];
+    }
+
+    /**
+     * Returns whether a button was released this loop.
+     *
+     * @param button The index of the button.
+     *
+     * @return Whether the button was held on the loop before but is not now.
+     */
+    public boolean wasReleased( int button )
+    {
+        return _released[ button ];
+    }
+}
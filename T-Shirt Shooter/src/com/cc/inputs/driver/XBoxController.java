@@ -1,10 +1,11 @@
 package com.cc.inputs.driver;
 
+import com.cc.config.Parameters;
+import com.cc.hal.AxisSource;
+import com.cc.hal.Hardware;
+import com.cc.inputs.frame.InputFrame;
 import com.cc.utility.Utility;
 
-import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-
 /**                                                                                                                               
  * Class representing XBox Controller.
  */
@@ -30,8 +31,14 @@ public class XBoxController extends Driver
     private final double _ARMMIN = 1.0;
     private final double _ARMCENTER = 0.0;
     
+    //The lookup tables of the axes of the controller.
+    private AxisTable _xAxis;
+    private AxisTable _yAxis;
+    private AxisTable _rotAxis;
+    private AxisTable _armAxis;
+    
     //The joystick of the controller.
-    private Joystick _joy;
+    private AxisSource _joy;
     
     /**
      * Creates the XBox Controller driver object.
@@ -42,7 +49,13 @@ public class XBoxController extends Driver
         super();
         
         //Initializes the joysticks on channel 1 and 2.
-        _joy = new Joystick( 1 );
+        _joy = InputFrame.getInstance().joystick( Hardware.getInstance().getJoystick( 1 ) );
+        
+        //Creates the lookup tables from the calibration of each axis. The arm is not given the expo.
+        _xAxis = addAxis( _XMIN, _XMAX, _XCENTER, true );
+        _yAxis = addAxis( _YMIN, _YMAX, _YCENTER, true );
+        _rotAxis = addAxis( _ROTMIN, _ROTMAX, _ROTCENTER, true );
+        _armAxis = addAxis( _ARMMIN, _ARMMAX, _ARMCENTER, false );
     }
     
     /**
@@ -99,9 +112,8 @@ public class XBoxController extends Driver
      */
     public  double getX()
     {
-        //Finds the normalized x value of the controller, and then expos it.
-        double xValue = normalize( _joy.getRawAxis( 4 ), _XMIN, _XMAX, _XCENTER );
-        xValue = Utility.expo( xValue, SmartDashboard.getNumber( " Driver Expo: " ) );
+        //Finds the shaped x value of the controller from its table.
+        double xValue = readAxis( _xAxis, _joy.getRawAxis( 4 ) );
         
         //Returns the x value.
         return xValue;
@@ -114,9 +126,8 @@ public class XBoxController extends Driver
      */
     public double getY()
     {
-        //Finds the normalized y value of the controller, and then expos it.
-        double yValue = -1 * normalize( _joy.getRawAxis( 5 ), _YMIN, _YMAX, _YCENTER );//Multiplies by -1 because the y-axis is inverted.
-        yValue = Utility.expo( yValue, SmartDashboard.getNumber( " Driver Expo: " ) );
+        //Finds the shaped y value of the controller from its table.
+        double yValue = -1 * readAxis( _yAxis, _joy.getRawAxis( 5 ) );//Multiplies by -1 because the y-axis is inverted.
         
         //Returns the y value.
         return yValue;
@@ -129,9 +140,8 @@ public class XBoxController extends Driver
      */
     public double getRot()
     {
-        //Finds the normalized rotation value of the controller, and then expos it.
-        double rValue = normalize( _joy.getRawAxis( 1 ), _ROTMIN, _ROTMAX, _ROTCENTER );
-        rValue = Utility.expo( rValue, SmartDashboard.getNumber( " Driver Expo: " ) );
+        //Finds the shaped rotation value of the controller from its table.
+        double rValue = readAxis( _rotAxis, _joy.getRawAxis( 1 ) );
         
 //        //If going backwards...
 //        if( getY() < -SmartDashboard.getNumber( " Rot Dead-Zone: " ) )
@@ -152,8 +162,8 @@ public class XBoxController extends Driver
     public double getArm()
     {
         //Finds the normalized arm value of the controller and limit range between 0.5 and -0.4.
-        double aValue = normalize( _joy.getRawAxis( 3 ), _ARMMIN, _ARMMAX, _ARMCENTER );
-        aValue = Utility.limitRange( aValue, SmartDashboard.getNumber( " Arm Up-Speed: " ), SmartDashboard.getNumber( " Arm Down-Speed: " ) );
+        double aValue = readAxis( _armAxis, _joy.getRawAxis( 3 ) );
+        aValue = Utility.limitRange( aValue, _parameters.get( Parameters.ARM_UP_SPEED ), _parameters.get( Parameters.ARM_DOWN_SPEED ) );
         
         //Returns the arm value.
         return aValue;
@@ -0,0 +1,49 @@
+package com.cc.inputs.frame;
+
+import com.cc.hal.Accelerometer;
+
+/**
+ * An accelerometer which reads its three axes through the input frame.
+ */
+public class FramedAccelerometer implements Accelerometer
+{
+    //The frame the axes are read into, the accelerometer they come from, and the slot of the x-axis, followed by the y and z-axes.
+    private InputFrame _frame;
+    private Accelerometer _accelerometer;
+    private int _slot;
+
+    //The array the axes are read into from the accelerometer.
+    private double[] _reading = new double[ 3 ];
+
+    /**
+     * Creates the accelerometer for slots of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param accelerometer The accelerometer from the hardware.
+     * @param slot The slot of the x-axis, followed by the y and z-axes.
+     */
+    FramedAccelerometer( InputFrame frame, Accelerometer accelerometer, int slot )
+    {
+        _frame = frame;
+        _accelerometer = accelerometer;
+        _slot = slot;
+    }
+
+    public void read( double[] axes )
+    {
+        //Reads all three axes in one go the first time they are asked for this loop.
+        if( _frame.isValueStale( _slot ) )
+        {
+            _accelerometer.read( _reading );
+            for( int i = 0; i < 3; i++ )
+            {
+                _frame.setValue( _slot + i, _reading[ i ] );
+            }
+        }
+
+        for( int i = 0; i < 3; i++ )
+        {
+            axes[ i ] = _frame.getValue( _slot + i );
+        }
+    }
+}
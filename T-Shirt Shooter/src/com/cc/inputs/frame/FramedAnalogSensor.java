@@ -0,0 +1,39 @@
+package com.cc.inputs.frame;
+
+import com.cc.hal.AnalogSensor;
+
+/**
+ * A raw analog sensor which reads its value through the input frame.
+ */
+public class FramedAnalogSensor implements AnalogSensor
+{
+    //The frame the value is read into, the sensor it comes from, and the slot of the value.
+    private InputFrame _frame;
+    private AnalogSensor _sensor;
+    private int _slot;
+
+    /**
+     * Creates the sensor for a slot of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param sensor The sensor from the hardware.
+     * @param slot The slot of the value.
+     */
+    FramedAnalogSensor( InputFrame frame, AnalogSensor sensor, int slot )
+    {
+        _frame = frame;
+        _sensor = sensor;
+        _slot = slot;
+    }
+
+    public double getValue()
+    {
+        //Reads the value the first time it is asked for this loop.
+        if( _frame.isValueStale( _slot ) )
+        {
+            _frame.setValue( _slot, _sensor.getValue() );
+        }
+
+        return _frame.getValue( _slot );
+    }
+}
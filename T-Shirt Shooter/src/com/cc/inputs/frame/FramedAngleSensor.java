@@ -0,0 +1,73 @@
+package com.cc.inputs.frame;
+
+import com.cc.hal.AngleSensor;
+
+/**
+ * A gyro or potentiometer which reads its angle and rate through the input
+ * frame. Resetting it zeroes the angle in software from the angle of this
+ * loop, so a replay resets it the same way without any hardware.
+ */
+public class FramedAngleSensor implements AngleSensor
+{
+    //The frame the values are read into, the sensor they come from, and the slot of the angle, followed by the rate.
+    private InputFrame _frame;
+    private AngleSensor _sensor;
+    private int _slot;
+
+    //The raw angle taken as zero.
+    private double _offset = 0.0;
+
+    /**
+     * Creates the sensor for slots of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param sensor The sensor from the hardware.
+     * @param slot The slot of the angle, followed by the rate.
+     */
+    FramedAngleSensor( InputFrame frame, AngleSensor sensor, int slot )
+    {
+        _frame = frame;
+        _sensor = sensor;
+        _slot = slot;
+    }
+
+    public double getAngle()
+    {
+        return getRawAngle() - _offset;
+    }
+
+    public double getRate()
+    {
+        //Reads the rate the first time it is asked for this loop.
+        if( _frame.isValueStale( _slot + 1 ) )
+        {
+            _frame.setValue( _slot + 1, _sensor.getRate() );
+        }
+
+        return _frame.getValue( _slot + 1 );
+    }
+
+    /**
+     * Makes the angle of this loop the new zero.
+     */
+    public void reset()
+    {
+        _offset = getRawAngle();
+    }
+
+    /**
+     * Gets the angle of this loop before it is zeroed.
+     *
+     * @return The raw angle.
+     */
+    private double getRawAngle()
+    {
+        //Reads the angle the first time it is asked for this loop.
+        if( _frame.isValueStale( _slot ) )
+        {
+            _frame.setValue( _slot, _sensor.getAngle() );
+        }
+
+        return _frame.getValue( _slot );
+    }
+}
@@ -0,0 +1,71 @@
+package com.cc.inputs.frame;
+
+import com.cc.hal.AxisSource;
+
+/**
+ * A controller which reads its axes and buttons through the input frame. Only
+ * the first few axes and buttons are held, which is every one the drivers use,
+ * and the rest read as zero and off.
+ */
+public class FramedAxisSource implements AxisSource
+{
+    //The number of axes and buttons held, counted from 1 like the driver station does.
+    static final int AXES = 6;
+    static final int BUTTONS = 10;
+
+    //The frame the values are read into, the controller they come from, and the slots of the first axis and first button.
+    private InputFrame _frame;
+    private AxisSource _source;
+    private int _axisSlot;
+    private int _buttonSlot;
+
+    /**
+     * Creates the controller for slots of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param source The controller from the hardware.
+     * @param axisSlot The slot of the first axis.
+     * @param buttonSlot The slot of the first button.
+     */
+    FramedAxisSource( InputFrame frame, AxisSource source, int axisSlot, int buttonSlot )
+    {
+        _frame = frame;
+        _source = source;
+        _axisSlot = axisSlot;
+        _buttonSlot = buttonSlot;
+    }
+
+    public double getRawAxis( int axis )
+    {
+        if( axis < 1 || axis > AXES )
+        {
+            return 0.0;
+        }
+
+        //Reads the axis the first time it is asked for this loop.
+        int slot = _axisSlot + axis - 1;
+        if( _frame.isValueStale( slot ) )
+        {
+            _frame.setValue( slot, _source.getRawAxis( axis ) );
+        }
+
+        return _frame.getValue( slot );
+    }
+
+    public boolean getRawButton( int button )
+    {
+        if( button < 1 || button > BUTTONS )
+        {
+            return false;
+        }
+
+        //Reads the button the first time it is asked for this loop.
+        int slot = _buttonSlot + button - 1;
+        if( _frame.isStateStale( slot ) )
+        {
+            _frame.setState( slot, _source.getRawButton( button ) );
+        }
+
+        return _frame.getState( slot );
+    }
+}
@@ -0,0 +1,47 @@
+package com.cc.inputs.frame;
+
+import com.cc.hal.Clock;
+
+/**
+ * A clock which reads the time through the input frame, so every part of a
+ * loop sees the same time and a replayed loop sees the time it first ran at.
+ * The microsecond count is read straight from the clock, since it times the
+ * code rather than being something the loop reads.
+ */
+public class FramedClock implements Clock
+{
+    //The frame the time is read into, the clock it comes from, and the slot of the time.
+    private InputFrame _frame;
+    private Clock _clock;
+    private int _slot;
+
+    /**
+     * Creates the clock for a slot of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param clock The clock from the hardware.
+     * @param slot The slot of the time.
+     */
+    FramedClock( InputFrame frame, Clock clock, int slot )
+    {
+        _frame = frame;
+        _clock = clock;
+        _slot = slot;
+    }
+
+    public double getTime()
+    {
+        //Reads the time the first time it is asked for this loop.
+        if( _frame.isValueStale( _slot ) )
+        {
+            _frame.setValue( _slot, _clock.getTime() );
+        }
+
+        return _frame.getValue( _slot );
+    }
+
+    public long getMicros()
+    {
+        return _clock.getMicros();
+    }
+}
@@ -0,0 +1,39 @@
+package com.cc.inputs.frame;
+
+import com.cc.hal.DigitalSwitch;
+
+/**
+ * A switch which reads its state through the input frame.
+ */
+public class FramedDigitalSwitch implements DigitalSwitch
+{
+    //The frame the state is read into, the switch it comes from, and the slot of the state.
+    private InputFrame _frame;
+    private DigitalSwitch _input;
+    private int _slot;
+
+    /**
+     * Creates the switch for a slot of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param input The switch from the hardware.
+     * @param slot The slot of the state.
+     */
+    FramedDigitalSwitch( InputFrame frame, DigitalSwitch input, int slot )
+    {
+        _frame = frame;
+        _input = input;
+        _slot = slot;
+    }
+
+    public boolean get()
+    {
+        //Reads the state the first time it is asked for this loop.
+        if( _frame.isStateStale( _slot ) )
+        {
+            _frame.setState( _slot, _input.get() );
+        }
+
+        return _frame.getState( _slot );
+    }
+}
@@ -0,0 +1,84 @@
+package com.cc.inputs.frame;
+
+import com.cc.hal.DistanceSensor;
+
+/**
+ * An encoder which reads its count and rate through the input frame. Starting
+ * and stopping go straight to the encoder, but resetting zeroes the count in
+ * software from the count of this loop, so a replay resets it the same way
+ * without any hardware.
+ */
+public class FramedDistanceSensor implements DistanceSensor
+{
+    //The frame the values are read into, the encoder they come from, and the slot of the count, followed by the rate.
+    private InputFrame _frame;
+    private DistanceSensor _sensor;
+    private int _slot;
+
+    //The raw count taken as zero.
+    private double _offset = 0.0;
+
+    /**
+     * Creates the encoder for slots of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param sensor The encoder from the hardware.
+     * @param slot The slot of the count, followed by the rate.
+     */
+    FramedDistanceSensor( InputFrame frame, DistanceSensor sensor, int slot )
+    {
+        _frame = frame;
+        _sensor = sensor;
+        _slot = slot;
+    }
+
+    public double get()
+    {
+        return getRaw() - _offset;
+    }
+
+    public double getRate()
+    {
+        //Reads the rate the first time it is asked for this loop.
+        if( _frame.isValueStale( _slot + 1 ) )
+        {
+            _frame.setValue( _slot + 1, _sensor.getRate() );
+        }
+
+        return _frame.getValue( _slot + 1 );
+    }
+
+    public void start()
+    {
+        _sensor.start();
+    }
+
+    public void stop()
+    {
+        _sensor.stop();
+    }
+
+    /**
+     * Makes the count of this loop the new zero.
+     */
+    public void reset()
+    {
+        _offset = getRaw();
+    }
+
+    /**
+     * Gets the count of this loop before it is zeroed.
+     *
+     * @return The raw count.
+     */
+    private double getRaw()
+    {
+        //Reads the count the first time it is asked for this loop.
+        if( _frame.isValueStale( _slot ) )
+        {
+            _frame.setValue( _slot, _sensor.get() );
+        }
+
+        return _frame.getValue( _slot );
+    }
+}
@@ -0,0 +1,39 @@
+package com.cc.inputs.frame;
+
+import com.cc.hal.VoltageSensor;
+
+/**
+ * A battery which reads its voltage through the input frame.
+ */
+public class FramedVoltageSensor implements VoltageSensor
+{
+    //The frame the voltage is read into, the battery it comes from, and the slot of the voltage.
+    private InputFrame _frame;
+    private VoltageSensor _sensor;
+    private int _slot;
+
+    /**
+     * Creates the battery for a slot of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param sensor The battery from the hardware.
+     * @param slot The slot of the voltage.
+     */
+    FramedVoltageSensor( InputFrame frame, VoltageSensor sensor, int slot )
+    {
+        _frame = frame;
+        _sensor = sensor;
+        _slot = slot;
+    }
+
+    public double getVoltage()
+    {
+        //Reads the voltage the first time it is asked for this loop.
+        if( _frame.isValueStale( _slot ) )
+        {
+            _frame.setValue( _slot, _sensor.getVoltage() );
+        }
+
+        return _frame.getValue( _slot );
+    }
+}
@@ -0,0 +1,342 @@
+package com.cc.inputs.frame;
+
+import com.cc.hal.Accelerometer;
+import com.cc.hal.AnalogSensor;
+import com.cc.hal.AngleSensor;
+import com.cc.hal.AxisSource;
+import com.cc.hal.Clock;
+import com.cc.hal.DigitalSwitch;
+import com.cc.hal.DistanceSensor;
+import com.cc.hal.Hardware;
+import com.cc.hal.VoltageSensor;
+
+/**
+ * Holds every value the robot read from its sensors and controllers on the
+ * current loop. The subsystems read through the frame instead of straight from
+ * the hardware, and each value is read from the hardware the first time it is
+ * asked for in a loop and kept for the rest of that loop, so every part of the
+ * loop sees the same value. Since the frame holds everything the loop read, it
+ * can be recorded, and when replaying it is filled from the recording instead
+ * of the hardware, which makes the loop do exactly what it did before.
+ */
+public class InputFrame
+{
+    //The singleton object of the input frame.
+    private static InputFrame _instance = null;
+
+    //The most numbers and on or off values the frame can hold.
+    public static final int MAX_VALUES = 64;
+    public static final int MAX_STATES = 64;
+
+    //The numbers and on or off values of this loop.
+    private double[] _values = new double[ MAX_VALUES ];
+    private boolean[] _states = new boolean[ MAX_STATES ];
+
+    //The loop each value was last read from the hardware on.
+    private int[] _valueTicks = new int[ MAX_VALUES ];
+    private int[] _stateTicks = new int[ MAX_STATES ];
+
+    //The number of slots handed out so far.
+    private int _valueCount = 0;
+    private int _stateCount = 0;
+
+    //The number of the current loop.
+    private int _tick = 0;
+
+    //Whether the frame is filled from a recording instead of the hardware.
+    private boolean _replaying = false;
+
+    //The clock of the robot read through the frame, which is made the first time it is asked for.
+    private Clock _clock = null;
+
+    /**
+     * Private constructor for the singleton.
+     */
+    private InputFrame()
+    {
+        //Just here to make the constructor private.
+    }
+
+    /**
+     * Returns the singleton object of the input frame.
+     *
+     * @return The singleton object of the input frame.
+     */
+    public static InputFrame getInstance()
+    {
+        //If the frame has not been created yet, create it.
+        if( _instance == null )
+        {
+            _instance = new InputFrame();
+        }
+
+        return _instance;
+    }
+
+    /**
+     * Adds a gyro or potentiometer to the frame.
+     *
+     * @param sensor The sensor from the hardware.
+     *
+     * @return The sensor to use in its place, which reads through the frame.
+     */
+    public AngleSensor angle( AngleSensor sensor )
+    {
+        return new FramedAngleSensor( this, sensor, addValues( 2 ) );
+    }
+
+    /**
+     * Adds an encoder to the frame.
+     *
+     * @param sensor The encoder from the hardware.
+     *
+     * @return The encoder to use in its place, which reads through the frame.
+     */
+    public DistanceSensor distance( DistanceSensor sensor )
+    {
+        return new FramedDistanceSensor( this, sensor, addValues( 2 ) );
+    }
+
+    /**
+     * Adds a raw analog sensor, or anything else that gives a number, to the frame.
+     *
+     * @param sensor The sensor from the hardware.
+     *
+     * @return The sensor to use in its place, which reads through the frame.
+     */
+    public AnalogSensor analog( AnalogSensor sensor )
+    {
+        return new FramedAnalogSensor( this, sensor, addValues( 1 ) );
+    }
+
+    /**
+     * Adds a switch to the frame.
+     *
+     * @param input The switch from the hardware.
+     *
+     * @return The switch to use in its place, which reads through the frame.
+     */
+    public DigitalSwitch digital( DigitalSwitch input )
+    {
+        return new FramedDigitalSwitch( this, input, addStates( 1 ) );
+    }
+
+    /**
+     * Adds the battery to the frame.
+     *
+     * @param sensor The battery from the hardware.
+     *
+     * @return The battery to use in its place, which reads through the frame.
+     */
+    public VoltageSensor voltage( VoltageSensor sensor )
+    {
+        return new FramedVoltageSensor( this, sensor, addValues( 1 ) );
+    }
+
+    /**
+     * Adds an accelerometer to the frame.
+     *
+     * @param accelerometer The accelerometer from the hardware.
+     *
+     * @return The accelerometer to use in its place, which reads through the frame.
+     */
+    public Accelerometer accelerometer( Accelerometer accelerometer )
+    {
+        return new FramedAccelerometer( this, accelerometer, addValues( 3 ) );
+    }
+
+    /**
+     * Adds a controller to the frame. Only the first few axes and buttons are held.
+     *
+     * @param source The controller from the hardware.
+     *
+     * @return The controller to use in its place, which reads through the frame.
+     */
+    public AxisSource joystick( AxisSource source )
+    {
+        return new FramedAxisSource( this, source, addValues( FramedAxisSource.AXES ), addStates( FramedAxisSource.BUTTONS ) );
+    }
+
+    /**
+     * Gets the clock of the robot, read through the frame. There is only one,
+     * which everything that needs the time shares, so the whole loop sees the
+     * same time.
+     *
+     * @return The clock, in seconds since the robot started.
+     */
+    public Clock getClock()
+    {
+        //If the clock has not been added yet, add the clock from the hardware.
+        if( _clock == null )
+        {
+            _clock = new FramedClock( this, Hardware.getInstance().getClock(), addValues( 1 ) );
+        }
+
+        return _clock;
+    }
+
+    /**
+     * Hands out slots for numbers.
+     *
+     * @param count The number of slots.
+     *
+     * @return The first slot.
+     */
+    private int addValues( int count )
+    {
+        if( _valueCount + count > MAX_VALUES )
+        {
+            throw new RuntimeException( "The input frame has no room for another sensor" );
+        }
+
+        //Starts the slots as never read, so the first time they are asked for they are read.
+        int slot = _valueCount;
+        for( int i = slot; i < slot + count; i++ )
+        {
+            _valueTicks[ i ] = _tick - 1;
+        }
+        _valueCount += count;
+
+        return slot;
+    }
+
+    /**
+     * Hands out slots for on or off values.
+     *
+     * @param count The number of slots.
+     *
+     * @return The first slot.
+     */
+    private int addStates( int count )
+    {
+        if( _stateCount + count > MAX_STATES )
+        {
+            throw new RuntimeException( "The input frame has no room for another switch" );
+        }
+
+        //Starts the slots as never read, so the first time they are asked for they are read.
+        int slot = _stateCount;
+        for( int i = slot; i < slot + count; i++ )
+        {
+            _stateTicks[ i ] = _tick - 1;
+        }
+        _stateCount += count;
+
+        return slot;
+    }
+
+    /**
+     * Starts a new loop, so each value is read from the hardware again the
+     * next time it is asked for. Should be called first thing in every loop.
+     */
+    public void startTick()
+    {
+        _tick++;
+    }
+
+    /**
+     * Returns whether a number has to be read from the hardware for this loop.
+     * When replaying, it never does.
+     *
+     * @param slot The slot of the number.
+     *
+     * @return Whether the number has to be read.
+     */
+    boolean isValueStale( int slot )
+    {
+        return !_replaying && _valueTicks[ slot ] != _tick;
+    }
+
+    /**
+     * Returns whether an on or off value has to be read from the hardware for this loop.
+     * When replaying, it never does.
+     *
+     * @param slot The slot of the value.
+     *
+     * @return Whether the value has to be read.
+     */
+    boolean isStateStale( int slot )
+    {
+        return !_replaying && _stateTicks[ slot ] != _tick;
+    }
+
+    /**
+     * Sets a number, such as when it has been read from the hardware or from a recording.
+     *
+     * @param slot The slot of the number.
+     * @param value The number.
+     */
+    public void setValue( int slot, double value )
+    {
+        _values[ slot ] = value;
+        _valueTicks[ slot ] = _tick;
+    }
+
+    /**
+     * Gets a number of this loop.
+     *
+     * @param slot The slot of the number.
+     *
+     * @return The number.
+     */
+    public double getValue( int slot )
+    {
+        return _values[ slot ];
+    }
+
+    /**
+     * Sets an on or off value, such as when it has been read from the hardware or from a recording.
+     *
+     * @param slot The slot of the value.
+     * @param on The value.
+     */
+    public void setState( int slot, boolean on )
+    {
+        _states[ slot ] = on;
+        _stateTicks[ slot ] = _tick;
+    }
+
+    /**
+     * Gets an on or off value of this loop.
+     *
+     * @param slot The slot of the value.
+     *
+     * @return The value.
+     */
+    public boolean getState( int slot )
+    {
+        return _states[ slot ];
+    }
+
+    /**
+     * Sets whether the frame is filled from a recording. While replaying,
+     * nothing is read from the hardware, and every value has to be set for
+     * each loop before the loop runs.
+     *
+     * @param replaying Whether the frame is filled from a recording.
+     */
+    public void setReplaying( boolean replaying )
+    {
+        _replaying = replaying;
+    }
+
+    /**
+     * Gets the number of slots for numbers handed out so far.
+     *
+     * @return The number of slots.
+     */
+    public int getValueCount()
+    {
+        return _valueCount;
+    }
+
+    /**
+     * Gets the number of slots for on or off values handed out so far.
+     *
+     * @return The number of slots.
+     */
+    public int getStateCount()
+    {
+        return _stateCount;
+    }
+}
@@ -0,0 +1,144 @@
+package com.cc.inputs.sensors;
+
+import com.cc.hal.Accelerometer;
+import com.cc.utility.SampleRing;
+
+/**
+ * Reads the accelerometer on its own thread at a fixed rate, so the I2C
+ * transfers never hold up the robot loop. Each reading has all three axes from
+ * one transfer and goes into a ring buffer that the loop reads from. The
+ * sampler is an accelerometer itself, whose reading is the average of the
+ * readings taken since it was last read.
+ */
+public class AccelerometerSampler implements Runnable, Accelerometer
+{
+    //The time between readings in milliseconds, which is 200 readings a second.
+    private static final long _PERIOD = 5;
+
+    //The number of readings the ring buffer holds.
+    private static final int _CAPACITY = 64;
+
+    //The accelerometer being read.
+    private Accelerometer _accelerometer;
+
+    //The readings, written by the sampling thread and read by the robot loop.
+    private SampleRing _ring;
+
+    //The array each reading is read into before it is written into the ring. Only used by the sampling thread.
+    private double[] _reading = new double[ 3 ];
+
+    //The thread doing the reading.
+    private Thread _thread;
+
+    //Whether the thread should keep reading.
+    private volatile boolean _running = false;
+
+    //The number of readings that had been taken when the robot loop last read the sampler.
+    private int _lastCount = 0;
+
+    /**
+     * Creates a sampler for the given accelerometer. It does not read until started.
+     *
+     * @param accelerometer The accelerometer to read.
+     */
+    public AccelerometerSampler( Accelerometer accelerometer )
+    {
+        _accelerometer = accelerometer;
+        _ring = new SampleRing( _CAPACITY, 3 );
+    }
+
+    /**
+     * Starts reading on a new thread, if not already reading.
+     */
+    public void start()
+    {
+        if( !_running )
+        {
+            _running = true;
+            _thread = new Thread( this );
+            _thread.start();
+        }
+    }
+
+    /**
+     * Stops reading. The thread finishes after its current reading.
+     */
+    public void stop()
+    {
+        _running = false;
+    }
+
+    /**
+     * Reads the accelerometer until stopped. Runs on the sampling thread.
+     */
+    public void run()
+    {
+        //Keeps to a fixed rate by waiting for each reading's time rather than a fixed sleep.
+        long next = System.currentTimeMillis();
+        while( _running )
+        {
+            _accelerometer.read( _reading );
+            _ring.write( _reading );
+
+            next += _PERIOD;
+            long wait = next - System.currentTimeMillis();
+            if( wait > 0 )
+            {
+                try
+                {
+                    Thread.sleep( wait );
+                }
+                catch( InterruptedException e )
+                {
+                    //Nothing to do; the next reading is just early.
+                }
+            }
+            else
+            {
+                //If the readings have fallen behind, start the timing over instead of rushing to catch up.
+                next = System.currentTimeMillis();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of readings taken so far.
+     *
+     * @return The number of readings taken.
+     */
+    public int getCount()
+    {
+        return _ring.getCount();
+    }
+
+    /**
+     * Averages the readings taken since the last time this was called. If there
+     * are none, or the sampler kept overwriting them while they were read, the
+     * axes are left as they are. Must only be called from the robot loop.
+     *
+     * @param axes The array the average x, y, and z accelerations are written into, in Gs.
+     */
+    public void read( double[] axes )
+    {
+        int count = getCount();
+        int readings = count - _lastCount;
+        if( readings > 0 )
+        {
+            readAverage( axes, readings );
+        }
+        _lastCount = count;
+    }
+
+    /**
+     * Averages the latest readings. Must only be called from the robot loop.
+     *
+     * @param axes The array the average x, y, and z accelerations are written into, in Gs.
+     * @param readings The number of latest readings to average.
+     *
+     * @return The number of readings averaged, which is zero if there are none yet.
+     */
+    public int readAverage( double[] axes, int readings )
+    {
+        return _ring.readAverage( axes, readings );
+    }
+}
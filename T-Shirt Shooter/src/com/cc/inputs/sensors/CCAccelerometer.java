@@ -1,15 +1,28 @@
 package com.cc.inputs.sensors;
 
-import edu.wpi.first.wpilibj.ADXL345_I2C;
+import com.cc.hal.Accelerometer;
+import com.cc.hal.Hardware;
+import com.cc.inputs.frame.InputFrame;
 
 /**
  * The class which represents the acceleration of the robot in any given axis X, Y, or Z.
- * Gives the acceleration of the axis in units of Gs.
+ * Gives the acceleration of the axis in units of Gs. On the robot the accelerometer
+ * is read on its own thread, and update() averages the readings taken since the
+ * last update. In the simulation it is read directly by update() instead, so
+ * runs come out the same every time. Either way it is read through the input
+ * frame, so the values of each update are recorded and can be replayed. The
+ * getters return the values from the last update.
  */
 public class CCAccelerometer 
 {
     //The accelerometer of the robot which gives us acceleration in either the X, Y, or Z axis.
-    private ADXL345_I2C _accelerometer;
+    private Accelerometer _accelerometer;
+    
+    //Reads the accelerometer on its own thread, or null when it is read directly.
+    private AccelerometerSampler _sampler = null;
+    
+    //The raw x, y, and z accelerations from the last update.
+    private double[] _axes = new double[ 3 ];
     
     private final double X_ZERO = 0.0;
     private final double Y_ZERO = 0.0;
@@ -21,7 +34,27 @@ public class CCAccelerometer
     public CCAccelerometer()
     {
         //Initializes the accelerometer for digital module on 1 and for a range of -4 to 4 Gs.
-        _accelerometer = new ADXL345_I2C( 1, ADXL345_I2C.DataFormat_Range.k4G );
+        Accelerometer accelerometer = Hardware.getInstance().getAccelerometer( 1 );
+        
+        //On the robot, moves the I2C reads off the robot loop and reads the average of the sampler instead.
+        if( !Hardware.getInstance().isSimulated() )
+        {
+            _sampler = new AccelerometerSampler( accelerometer );
+            _sampler.start();
+            accelerometer = _sampler;
+        }
+        
+        //Reads through the input frame.
+        _accelerometer = InputFrame.getInstance().accelerometer( accelerometer );
+    }
+    
+    /**
+     * Updates the accelerations to the average of the readings since the last update.
+     */
+    public void update()
+    {
+        //Reads the three axes in one go so they all come from the same moment. The sampler keeps the last values if it has no new readings.
+        _accelerometer.read( _axes );
     }
     
     /**
@@ -32,7 +65,7 @@ public class CCAccelerometer
     public double getXAcceleration()
     {
         //Finds the x-axis acceleration in Gs.
-        double xAccel = _accelerometer.getAcceleration( ADXL345_I2C.Axes.kY );
+        double xAccel = _axes[ 1 ];
         
         //Corrects for the inital error of the x-axis.
         xAccel -= X_ZERO;
@@ -49,7 +82,7 @@ public class CCAccelerometer
     public double getYAcceleration()
     {
         //Finds the x-axis acceleration in Gs and inverts the axis to be relative to the robot.
-        double yAccel = _accelerometer.getAcceleration( ADXL345_I2C.Axes.kX );
+        double yAccel = _axes[ 0 ];
         yAccel *= -1;
         
         //Corrects for the inital error of the y-axis.
@@ -67,7 +100,7 @@ public class CCAccelerometer
     public double getZAcceleration()
     {
         //Finds the z-axis acceleration in Gs.
-        double zAccel = _accelerometer.getAcceleration( ADXL345_I2C.Axes.kZ );
+        double zAccel = _axes[ 2 ];
         
         //Corrects for the intial error of the z-axis.
         zAccel -= Z_ZERO;
@@ -0,0 +1,117 @@
+package com.cc.inputs.sensors;
+
+import com.cc.hal.AngleSensor;
+
+/**
+ * Keeps track of which way the robot is facing from the gyro. The gyro is read
+ * once per loop by update(), and everything else reads the stored values, so
+ * the whole loop sees the same heading. The angle is never reset on the gyro
+ * itself; it is wrapped into one turn with math instead.
+ */
+public class HeadingTracker
+{
+    //The gyro the heading is read from.
+    private AngleSensor _gyro;
+
+    //The gyro angle that counts as facing forward, in degrees.
+    private double _offset = 0.0;
+
+    //The angle turned since the last reset in degrees, which keeps counting past a full turn.
+    private double _angle = 0.0;
+
+    //The heading wrapped into one turn, in radians from -pi up to pi.
+    private double _heading = 0.0;
+
+    //The number of full turns made, so that the angle is the heading plus this many turns.
+    private int _rotations = 0;
+
+    //How fast the robot is turning in degrees per second.
+    private double _rate = 0.0;
+
+    /**
+     * Creates a heading tracker for the given gyro.
+     *
+     * @param gyro The gyro, in degrees.
+     */
+    public HeadingTracker( AngleSensor gyro )
+    {
+        _gyro = gyro;
+    }
+
+    /**
+     * Reads the gyro and works out the heading. Should be called once at the start of every loop.
+     */
+    public void update()
+    {
+        //Reads the gyro once.
+        _angle = _gyro.getAngle() - _offset;
+        _rate = _gyro.getRate();
+
+        //Finds how many full turns have been made, counting from -180 degrees.
+        double radians = Math.toRadians( _angle );
+        double turns = Math.floor( ( radians + Math.PI ) / ( 2 * Math.PI ) );
+        _rotations = (int) turns;
+
+        //Takes the full turns off to leave the heading.
+        _heading = radians - turns * 2 * Math.PI;
+
+        //Rounding can leave the heading right on pi, which belongs to the next turn.
+        if( _heading >= Math.PI )
+        {
+            _heading -= 2 * Math.PI;
+            _rotations++;
+        }
+    }
+
+    /**
+     * Makes the way the robot is facing now count as forward.
+     */
+    public void reset()
+    {
+        //Keeps the current gyro angle as the new zero without touching the gyro.
+        _offset = _gyro.getAngle();
+        _angle = 0.0;
+        _heading = 0.0;
+        _rotations = 0;
+    }
+
+    /**
+     * Gets the heading wrapped into one turn.
+     *
+     * @return The heading in radians, from -pi up to pi.
+     */
+    public double getHeading()
+    {
+        return _heading;
+    }
+
+    /**
+     * Gets the angle turned since the last reset, without wrapping.
+     *
+     * @return The angle in degrees.
+     */
+    public double getAngle()
+    {
+        return _angle;
+    }
+
+    /**
+     * Gets the number of full turns made since the last reset.
+     *
+     * @return The number of full turns, negative when turning the other way.
+     */
+    public int getRotations()
+    {
+        return _rotations;
+    }
+
+    /**
+     * Gets how fast the robot is turning.
+     *
+     * @return The turn rate in degrees per second.
+     */
+    public double getRate()
+    {
+        return _rate;
+    }
+}
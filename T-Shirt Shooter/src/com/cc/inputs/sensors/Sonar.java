@@ -1,41 +1,241 @@
 package com.cc.inputs.sensors;
 
-import edu.wpi.first.wpilibj.AnalogChannel;
+import com.cc.hal.AnalogSensor;
+import com.cc.hal.Hardware;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.utility.AlphaBetaFilter;
+import com.cc.utility.MedianFilter;
+import com.cc.utility.MovingAverage;
 
 /**
- * A class which represents a sonar sensor.
+ * A class which represents a sonar sensor. The analog module oversamples and
+ * averages the sonar, and each loop update() passes the reading through a
+ * filter. Readings outside the range of the sonar or too far from the last
+ * distance are thrown away, and the age of the last good reading is kept so
+ * the distance is not trusted once it goes stale.
  */
 public class Sonar
 {
+    //The kinds of filter the readings can be passed through.
+    public static final int FILTER_NONE = 0;
+    public static final int FILTER_AVERAGE = 1;
+    public static final int FILTER_MEDIAN = 2;
+    public static final int FILTER_ALPHA_BETA = 3;
+    
     //The raw analog input.
-    private AnalogChannel _sonar;
+    private AnalogSensor _sonar;
     
     //The constant which represents how many ticks are in an inch for the sensor.
     private final double _TICKSPERINCH = 4.840;
     
+    //The analog module adds up 4 samples and averages 16 of those sums for each reading.
+    private final int _OVERSAMPLE_BITS = 2;
+    private final int _AVERAGE_BITS = 4;
+    
+    //The closest and farthest distances in inches the sonar can read.
+    private final double _MIN_RANGE = 6.0;
+    private final double _MAX_RANGE = 254.0;
+    
+    //How far in inches a reading can be from the last distance before it is thrown away.
+    private final double _GATE_DISTANCE = 12.0;
+    
+    //How many readings in a row can be thrown away before the sonar starts over from the next one.
+    private final int _MAX_REJECTS = 5;
+    
+    //How old in seconds the last good reading can be before the distance is stale.
+    private final double _MAX_AGE = 0.2;
+    
+    //The number of readings the average and the median are taken over.
+    private final int _FILTER_SIZE = 5;
+    
+    //The constants of the alpha-beta tracker.
+    private final double _ALPHA = 0.5;
+    private final double _BETA = 0.1;
+    
+    //The kind of filter used.
+    private int _filterType;
+    
+    //The filters. Only the one for the kind of filter used is created.
+    private MovingAverage _average = null;
+    private MedianFilter _median = null;
+    private AlphaBetaFilter _alphaBeta = null;
+    
+    //The time in seconds between each update.
+    private double _dt;
+    
+    //The filtered distance in inches.
+    private double _distance = 0.0;
+    
+    //Whether there has been a good reading since the sonar started over.
+    private boolean _hasDistance = false;
+    
+    //How many readings in a row have been thrown away.
+    private int _rejects = 0;
+    
+    //How long in seconds since the last good reading.
+    private double _age = 0.0;
+    
     /**
-     * A constructor which creates the sonar object. 
+     * A constructor which creates the sonar object with a median filter, updated once every robot loop.
      * 
      * @param channel The channel the sonar is plugged into on the analog module.
      */
     public Sonar( int channel )
     {
-        //Gets the analog input from the given channel.
-        _sonar = new AnalogChannel( channel ); 
+        this( channel, FILTER_MEDIAN, 0.02 );
     }
     
     /**
-     * Gets the distance from an object in front of the sensor in inches.
+     * A constructor which creates the sonar object. 
      * 
-     * @return Returns the distance from an object in inches.
+     * @param channel The channel the sonar is plugged into on the analog module.
+     * @param filterType The kind of filter to pass the readings through.
+     * @param dt The time in seconds between each update.
      */
-    public double getDistance()
+    public Sonar( int channel, int filterType, double dt )
+    {
+        //Gets the analog input from the given channel, oversampled and averaged by the analog module.
+        _sonar = InputFrame.getInstance().analog( Hardware.getInstance().getAnalogInput( channel, _OVERSAMPLE_BITS, _AVERAGE_BITS ) );
+        
+        _filterType = filterType;
+        _dt = dt;
+        
+        //Creates the filter once so nothing is created while updating.
+        switch( _filterType )
+        {
+            case FILTER_AVERAGE:
+                _average = new MovingAverage( _FILTER_SIZE );
+                break;
+                
+            case FILTER_MEDIAN:
+                _median = new MedianFilter( _FILTER_SIZE );
+                break;
+                
+            case FILTER_ALPHA_BETA:
+                _alphaBeta = new AlphaBetaFilter( _ALPHA, _BETA, _dt );
+                break;
+                
+            default://No filter.
+                break;
+        }
+        
+        //Nothing has been read yet, so the distance starts stale.
+        _age = _MAX_AGE;
+    }
+    
+    /**
+     * Takes a reading from the sonar. Should be called once every loop.
+     */
+    public void update()
     {
         //Finds the raw sonar value and converts it into inches.
-        double distance = _sonar.getValue();
-        distance /= _TICKSPERINCH;
+        double reading = _sonar.getValue() / _TICKSPERINCH;
+        
+        //The last good reading is another loop older.
+        _age += _dt;
+        
+        //Readings outside the range of the sonar are thrown away.
+        if( reading < _MIN_RANGE || reading > _MAX_RANGE )
+        {
+            return;
+        }
+        
+        //Readings too far from the last distance are thrown away, unless there have been too many in a row.
+        if( _hasDistance && Math.abs( reading - _distance ) > _GATE_DISTANCE )
+        {
+            _rejects++;
+            if( _rejects <= _MAX_REJECTS )
+            {
+                return;
+            }
+            
+            //The distance really has changed, such as something moving in front of the sonar, so start over.
+            resetFilter();
+        }
+        
+        //Passes the good reading through the filter.
+        _distance = filter( reading );
+        _hasDistance = true;
+        _rejects = 0;
+        _age = 0.0;
+    }
+    
+    /**
+     * Passes a reading through the filter.
+     * 
+     * @param reading The reading in inches.
+     * 
+     * @return The filtered distance in inches.
+     */
+    private double filter( double reading )
+    {
+        switch( _filterType )
+        {
+            case FILTER_AVERAGE:
+                return _average.calculate( reading );
+                
+            case FILTER_MEDIAN:
+                return _median.calculate( reading );
+                
+            case FILTER_ALPHA_BETA:
+                return _alphaBeta.calculate( reading );
+                
+            default://No filter.
+                return reading;
+        }
+    }
+    
+    /**
+     * Forgets the filtered distance so the next good reading starts over.
+     */
+    private void resetFilter()
+    {
+        if( _average != null )
+        {
+            _average.reset();
+        }
+        
+        if( _median != null )
+        {
+            _median.reset();
+        }
+        
+        if( _alphaBeta != null )
+        {
+            _alphaBeta.reset();
+        }
         
+        _hasDistance = false;
+    }
+    
+    /**
+     * Gets the distance from an object in front of the sensor in inches, as of the last update.
+     * 
+     * @return Returns the distance from an object in inches.
+     */
+    public double getDistance()
+    {
         //Returns the inches from an object.
-        return distance;
+        return _distance;
+    }
+    
+    /**
+     * Gets how long it has been since the last good reading.
+     * 
+     * @return The age of the distance in seconds.
+     */
+    public double getAge()
+    {
+        return _age;
+    }
+    
+    /**
+     * Returns whether the distance is recent enough to be trusted.
+     * 
+     * @return Whether there is a good reading that is not stale.
+     */
+    public boolean isFresh()
+    {
+        return _hasDistance && _age < _MAX_AGE;
     }
 }
\ No newline at end of file
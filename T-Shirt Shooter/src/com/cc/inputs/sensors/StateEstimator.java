@@ -0,0 +1,253 @@
+package com.cc.inputs.sensors;
+
+import com.cc.config.Parameters;
+import com.cc.hal.DistanceSensor;
+
+/**
+ * Works out how the robot is moving by combining the gyro, the drive encoder,
+ * and the accelerometer with complementary filters. The accelerometer follows
+ * quick changes in speed and the encoder keeps it from drifting. When the two
+ * disagree for too long, the wheels are slipping and the encoder is ignored
+ * until they agree again, or for half a second at most, since the accelerometer
+ * on its own drifts. When the slip ends the velocity starts again from the wheels.
+ */
+public class StateEstimator
+{
+    //One G in inches per second squared.
+    private static final double _G = 386.09;
+
+    //How long the velocity filter trusts the accelerometer before the encoder takes over, in seconds.
+    private final double _VELOCITY_TIME_CONSTANT = 0.1;
+
+    //How much of the heading rate comes from the gyro rate rather than the change in heading.
+    private final double _RATE_BLEND = 0.7;
+
+    //How far apart the wheel speed and the filtered speed can be, and for how long, before it counts as slipping.
+    private final double _SLIP_SPEED = 12.0;
+    private final double _SLIP_TIME = 0.1;
+
+    //The longest the encoder is ignored while slipping, in seconds.
+    private final double _MAX_SLIP_TIME = 0.5;
+
+    //The time in seconds between each update.
+    private double _dt;
+
+    //How much of the velocity comes from the accelerometer each update.
+    private double _velocityBlend;
+
+    //The sensors the estimate comes from.
+    private HeadingTracker _heading;
+    private DistanceSensor _encoder;
+    private CCAccelerometer _accelerometer;
+
+    //The tunable parameters, for the encoder ticks per inch.
+    private Parameters _parameters;
+
+    //The heading angle and encoder ticks at the last update.
+    private double _lastAngle;
+    private double _lastTicks;
+
+    //The filtered heading rate in degrees per second.
+    private double _headingRate = 0.0;
+
+    //How hard the robot is speeding up or slowing down in any direction, in inches per second squared.
+    private double _acceleration = 0.0;
+
+    //The filtered forward velocity and the velocity from the wheels alone, in inches per second.
+    private double _velocity = 0.0;
+    private double _wheelVelocity = 0.0;
+
+    //The filtered velocity from the last update the wheels were trusted, in inches per second.
+    private double _trustedVelocity = 0.0;
+
+    //How long the wheels have disagreed with the filter, and whether that counts as slipping.
+    private double _slipTime = 0.0;
+    private boolean _slipping = false;
+
+    /**
+     * Creates the estimator.
+     *
+     * @param heading The heading tracker, which must be updated before this each loop.
+     * @param encoder The drive encoder, which must be running.
+     * @param accelerometer The accelerometer.
+     * @param dt The time in seconds between each update.
+     */
+    public StateEstimator( HeadingTracker heading, DistanceSensor encoder, CCAccelerometer accelerometer, double dt )
+    {
+        _heading = heading;
+        _encoder = encoder;
+        _accelerometer = accelerometer;
+        _dt = dt;
+        _parameters = Parameters.getInstance();
+
+        //Works out the filter blend from the time constant.
+        _velocityBlend = _VELOCITY_TIME_CONSTANT / ( _VELOCITY_TIME_CONSTANT + _dt );
+
+        reset();
+    }
+
+    /**
+     * Updates the estimate from the sensors. Should be called once every loop,
+     * after the heading tracker has been updated.
+     */
+    public void update()
+    {
+        //Reads all three accelerometer axes at once.
+        _accelerometer.update();
+        double forward = _accelerometer.getYAcceleration();
+        double side = _accelerometer.getXAcceleration();
+        _acceleration = Math.sqrt( forward * forward + side * side ) * _G;
+
+        //Blends the gyro rate with the change in heading, which is smoother but lags behind.
+        double angle = _heading.getAngle();
+        double angleRate = ( angle - _lastAngle ) / _dt;
+        _headingRate = _RATE_BLEND * _heading.getRate() + ( 1 - _RATE_BLEND ) * angleRate;
+        _lastAngle = angle;
+
+        //Finds the speed of the wheels from the change in encoder ticks.
+        double ticks = _encoder.get();
+        double ticksPerInch = _parameters.get( Parameters.ENCODER_TICKS );
+        if( ticksPerInch != 0.0 )
+        {
+            _wheelVelocity = ( ticks - _lastTicks ) / _dt / ticksPerInch;
+        }
+        _lastTicks = ticks;
+
+        //Predicts the velocity from the forward acceleration.
+        double predicted = _velocity + forward * _G * _dt;
+
+        //If the wheels disagree for long enough, they are slipping. While slipping they are judged against the last trusted velocity, so drift in the prediction can not keep them disagreeing.
+        double reference = _slipping ? _trustedVelocity : predicted;
+        if( Math.abs( _wheelVelocity - reference ) > _SLIP_SPEED )
+        {
+            _slipTime += _dt;
+        }
+        else
+        {
+            _slipTime = 0.0;
+        }
+        boolean slipping = _slipTime >= _SLIP_TIME;
+
+        //Stops ignoring the wheels after too long, since the prediction drifts on its own.
+        if( _slipTime >= _SLIP_TIME + _MAX_SLIP_TIME )
+        {
+            slipping = false;
+            _slipTime = 0.0;
+        }
+
+        if( slipping )//If the wheels are slipping, use the prediction alone.
+        {
+            _velocity = predicted;
+        }
+        else if( _slipping )//Else if the slip just ended, start again from the wheels.
+        {
+            _velocity = _wheelVelocity;
+        }
+        else//Else pull the prediction towards the wheels.
+        {
+            _velocity = _velocityBlend * predicted + ( 1 - _velocityBlend ) * _wheelVelocity;
+        }
+        _slipping = slipping;
+
+        //Keeps the velocity while the wheels are trusted.
+        if( !_slipping )
+        {
+            _trustedVelocity = _velocity;
+        }
+    }
+
+    /**
+     * Starts the estimate over with the robot standing still.
+     */
+    public void reset()
+    {
+        _lastAngle = _heading.getAngle();
+        _lastTicks = _encoder.get();
+        _headingRate = 0.0;
+        _acceleration = 0.0;
+        _velocity = 0.0;
+        _wheelVelocity = 0.0;
+        _trustedVelocity = 0.0;
+        _slipTime = 0.0;
+        _slipping = false;
+    }
+
+    /**
+     * Picks the encoder up from where it is now, such as after it has been reset,
+     * so the jump in ticks is not taken as movement.
+     */
+    public void syncEncoder()
+    {
+        _lastTicks = _encoder.get();
+    }
+
+    /**
+     * Picks the heading up from where it is now, such as after the gyro has been
+     * reset, so the jump in angle is not taken as turning.
+     */
+    public void syncHeading()
+    {
+        _lastAngle = _heading.getAngle();
+    }
+
+    /**
+     * Gets the heading of the robot.
+     *
+     * @return The heading in radians, from -pi up to pi.
+     */
+    public double getHeading()
+    {
+        return _heading.getHeading();
+    }
+
+    /**
+     * Gets how fast the robot is turning.
+     *
+     * @return The heading rate in degrees per second.
+     */
+    public double getHeadingRate()
+    {
+        return _headingRate;
+    }
+
+    /**
+     * Gets how fast the robot is moving forward.
+     *
+     * @return The forward velocity in inches per second.
+     */
+    public double getVelocity()
+    {
+        return _velocity;
+    }
+
+    /**
+     * Gets how hard the robot is speeding up or slowing down, in any direction
+     * across the floor.
+     *
+     * @return The acceleration in inches per second squared.
+     */
+    public double getAcceleration()
+    {
+        return _acceleration;
+    }
+
+    /**
+     * Gets how fast the drive wheels say the robot is moving forward.
+     *
+     * @return The wheel velocity in inches per second.
+     */
+    public double getWheelVelocity()
+    {
+        return _wheelVelocity;
+    }
+
+    /**
+     * Returns whether the wheels are slipping.
+     *
+     * @return Whether the wheels have disagreed with the accelerometer for too long.
+     */
+    public boolean isSlipping()
+    {
+        return _slipping;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cc.outputs.frame;
+
+import com.cc.hal.MotorOutput;
+
+/**
+ * A motor output which writes its value into the output frame instead of to
+ * the speed controller. The value reaches the speed controller when the frame
+ * is committed at the end of the loop.
+ */
+public class FramedMotor implements MotorOutput
+{
+    //The frame the value is written into and the slot of this motor in it.
+    private OutputFrame _frame;
+    private int _slot;
+
+    /**
+     * Creates the motor output for a slot of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param slot The slot of the motor.
+     */
+    FramedMotor( OutputFrame frame, int slot )
+    {
+        _frame = frame;
+        _slot = slot;
+    }
+
+    public void set( double value )
+    {
+        _frame.setMotor( _slot, value );
+    }
+
+    /**
+     * Gets the value wanted for this loop, even if it has not been committed yet.
+     *
+     * @return The value of the motor.
+     */
+    public double get()
+    {
+        return _frame.getMotor( _slot );
+    }
+
+    /**
+     * Sets the motor to zero, which is committed like any other value.
+     */
+    public void stopMotor()
+    {
+        _frame.setMotor( _slot, 0.0 );
+    }
+}
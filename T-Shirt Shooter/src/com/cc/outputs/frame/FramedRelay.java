@@ -0,0 +1,42 @@
+package com.cc.outputs.frame;
+
+import com.cc.hal.RelayOutput;
+
+/**
+ * A relay output which writes its state into the output frame instead of to
+ * the spike. The state reaches the spike when the frame is committed at the end
+ * of the loop.
+ */
+public class FramedRelay implements RelayOutput
+{
+    //The frame the state is written into and the slot of this relay in it.
+    private OutputFrame _frame;
+    private int _slot;
+
+    /**
+     * Creates the relay output for a slot of the frame. Only the frame creates these.
+     *
+     * @param frame The frame.
+     * @param slot The slot of the relay.
+     */
+    FramedRelay( OutputFrame frame, int slot )
+    {
+        _frame = frame;
+        _slot = slot;
+    }
+
+    public void set( boolean on )
+    {
+        _frame.setRelay( _slot, on );
+    }
+
+    /**
+     * Gets the state wanted for this loop, even if it has not been committed yet.
+     *
+     * @return Whether the relay is on.
+     */
+    public boolean get()
+    {
+        return _frame.getRelay( _slot );
+    }
+}
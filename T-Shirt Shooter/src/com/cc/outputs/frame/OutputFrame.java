@@ -0,0 +1,252 @@
+package com.cc.outputs.frame;
+
+import com.cc.hal.Clock;
+import com.cc.hal.Hardware;
+import com.cc.hal.MotorOutput;
+import com.cc.hal.RelayOutput;
+
+/**
+ * Holds every motor value and relay state the robot wants for the current loop.
+ * The subsystems write into the frame instead of straight to the hardware, and
+ * at the end of the loop commit() writes only the values which are different
+ * from the ones last written. Every output reaches the hardware at the same
+ * point in the loop, and that point is timed here.
+ */
+public class OutputFrame
+{
+    //The singleton object of the output frame.
+    private static OutputFrame _instance = null;
+
+    //The most motors and relays the frame can hold.
+    public static final int MAX_MOTORS = 16;
+    public static final int MAX_RELAYS = 8;
+
+    //The hardware each slot is written to.
+    private MotorOutput[] _motors = new MotorOutput[ MAX_MOTORS ];
+    private RelayOutput[] _relays = new RelayOutput[ MAX_RELAYS ];
+    private int _motorCount = 0;
+    private int _relayCount = 0;
+
+    //The values wanted for this loop, and the values last written to the hardware.
+    private double[] _motorValues = new double[ MAX_MOTORS ];
+    private double[] _motorWritten = new double[ MAX_MOTORS ];
+    private boolean[] _relayStates = new boolean[ MAX_RELAYS ];
+    private boolean[] _relayWritten = new boolean[ MAX_RELAYS ];
+
+    //Whether each relay has been written at all yet.
+    private boolean[] _relayKnown = new boolean[ MAX_RELAYS ];
+
+    //The writes done by the last commit, the writes skipped by every commit, and how long the last commit took in microseconds.
+    private int _lastWrites = 0;
+    private long _skipped = 0;
+    private long _commitTime = 0;
+
+    //The clock the commit is timed by.
+    private Clock _clock;
+
+    /**
+     * Private constructor for the singleton.
+     */
+    private OutputFrame()
+    {
+        //Gets the clock of the hardware.
+        _clock = Hardware.getInstance().getClock();
+    }
+
+    /**
+     * Returns the singleton object of the output frame.
+     *
+     * @return The singleton object of the output frame.
+     */
+    public static OutputFrame getInstance()
+    {
+        //If the frame has not been created yet, create it.
+        if( _instance == null )
+        {
+            _instance = new OutputFrame();
+        }
+
+        return _instance;
+    }
+
+    /**
+     * Adds a speed controller to the frame.
+     *
+     * @param output The speed controller from the hardware.
+     *
+     * @return The motor output to use in its place, which writes into the frame.
+     */
+    public MotorOutput motor( MotorOutput output )
+    {
+        if( _motorCount == MAX_MOTORS )
+        {
+            throw new RuntimeException( "The output frame has no room for another motor" );
+        }
+
+        //Starts the slot from nothing written, so the first commit always writes it.
+        int slot = _motorCount;
+        _motors[ slot ] = output;
+        _motorValues[ slot ] = 0.0;
+        _motorWritten[ slot ] = Double.NaN;
+        _motorCount++;
+
+        return new FramedMotor( this, slot );
+    }
+
+    /**
+     * Adds a spike relay to the frame.
+     *
+     * @param output The relay from the hardware.
+     *
+     * @return The relay output to use in its place, which writes into the frame.
+     */
+    public RelayOutput relay( RelayOutput output )
+    {
+        if( _relayCount == MAX_RELAYS )
+        {
+            throw new RuntimeException( "The output frame has no room for another relay" );
+        }
+
+        //Starts the slot from the state of the relay, so the first commit always writes it.
+        int slot = _relayCount;
+        _relays[ slot ] = output;
+        _relayStates[ slot ] = output.get();
+        _relayKnown[ slot ] = false;
+        _relayCount++;
+
+        return new FramedRelay( this, slot );
+    }
+
+    /**
+     * Sets the value wanted for a motor this loop.
+     *
+     * @param slot The slot of the motor.
+     * @param value The value of the motor.
+     */
+    void setMotor( int slot, double value )
+    {
+        _motorValues[ slot ] = value;
+    }
+
+    /**
+     * Gets the value wanted for a motor this loop, which after a commit is the value written.
+     *
+     * @param slot The slot of the motor.
+     *
+     * @return The value of the motor.
+     */
+    public double getMotor( int slot )
+    {
+        return _motorValues[ slot ];
+    }
+
+    /**
+     * Sets the state wanted for a relay this loop.
+     *
+     * @param slot The slot of the relay.
+     * @param on Whether the relay is on.
+     */
+    void setRelay( int slot, boolean on )
+    {
+        _relayStates[ slot ] = on;
+    }
+
+    /**
+     * Gets the state wanted for a relay this loop, which after a commit is the state written.
+     *
+     * @param slot The slot of the relay.
+     *
+     * @return Whether the relay is on.
+     */
+    public boolean getRelay( int slot )
+    {
+        return _relayStates[ slot ];
+    }
+
+    /**
+     * Writes every value which has changed since the last commit to the
+     * hardware. Should be called once at the end of every loop.
+     */
+    public void commit()
+    {
+        long start = _clock.getMicros();
+        int writes = 0;
+
+        //Writes each motor whose value has changed.
+        for( int i = 0; i < _motorCount; i++ )
+        {
+            if( _motorValues[ i ] != _motorWritten[ i ] )
+            {
+                _motors[ i ].set( _motorValues[ i ] );
+                _motorWritten[ i ] = _motorValues[ i ];
+                writes++;
+            }
+        }
+
+        //Writes each relay whose state has changed.
+        for( int i = 0; i < _relayCount; i++ )
+        {
+            if( !_relayKnown[ i ] || _relayStates[ i ] != _relayWritten[ i ] )
+            {
+                _relays[ i ].set( _relayStates[ i ] );
+                _relayWritten[ i ] = _relayStates[ i ];
+                _relayKnown[ i ] = true;
+                writes++;
+            }
+        }
+
+        _lastWrites = writes;
+        _skipped += _motorCount + _relayCount - writes;
+        _commitTime = _clock.getMicros() - start;
+    }
+
+    /**
+     * Gets the number of motors in the frame.
+     *
+     * @return The number of motors.
+     */
+    public int getMotorCount()
+    {
+        return _motorCount;
+    }
+
+    /**
+     * Gets the number of relays in the frame.
+     *
+     * @return The number of relays.
+     */
+    public int getRelayCount()
+    {
+        return _relayCount;
+    }
+
+    /**
+     * Gets the number of writes done by the last commit.
+     *
+     * @return The number of writes.
+     */
+    public int getLastWrites()
+    {
+        return _lastWrites;
+    }
+
+    /**
+     * Gets the number of writes skipped by every commit so far because the value had not changed.
+     *
+     * @return The number of skipped writes.
+     */
+    public long getSkippedWrites()
+    {
+        return _skipped;
+    }
+
+    /**
+     * Gets how long the last commit took to write to the hardware.
+     *
+     * @return The time in microseconds.
+     */
+    public long getCommitTime()
+    {
+        return _commitTime;
+    }
+}
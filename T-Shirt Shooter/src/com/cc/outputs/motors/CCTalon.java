@@ -1,16 +1,28 @@
 package com.cc.outputs.motors;
 
-import edu.wpi.first.wpilibj.Talon;
+import com.cc.hal.Hardware;
+import com.cc.hal.MotorOutput;
+import com.cc.outputs.frame.OutputFrame;
 
 /**
  * A convenience for the talon speed controller which stores the orientation of
- * the motor on the chassis.
+ * the motor on the chassis. Values go through an output stage, which can slew
+ * limit and ramp them.
  */
-public class CCTalon extends Talon
+public class CCTalon implements MotorOutput
 {
     //A flag which represents the orientation of the motor.
     private boolean _isReversed;
     
+    //The motor output of the talon from the hardware.
+    private MotorOutput _output;
+    
+    //Shapes the values before they are written to the talon.
+    private OutputStage _stage;
+    
+    //The time in seconds between each loop of the robot.
+    private final double _DT = 0.02;
+    
     /**
      * The constructor for the CCTalon object.
      * 
@@ -19,15 +31,40 @@ public class CCTalon extends Talon
      */
     public CCTalon( int port, boolean isReversed )
     {
-        //Creates a normal talon plugged into the correct port.
-        super( port );
+        //Gets the talon plugged into the correct port from the hardware, written through the output frame.
+        _output = OutputFrame.getInstance().motor( Hardware.getInstance().getTalon( port ) );
         
         //Sets the flag which represents the orientation of the robot.
         _isReversed  = isReversed;
+        
+        //Creates the output stage, which passes values straight through until it is set up.
+        _stage = new OutputStage( _output, _DT );
     }
     
     /**
-     * Sets the value of the motor.
+     * Sets how fast the value of the motor can change, so it does not jump
+     * straight from one value to another.
+     * 
+     * @param slewRate The most the value can change per second, or 0 for no limit.
+     */
+    public void setSlewRate( double slewRate )
+    {
+        _stage.setSlewRate( slewRate );
+    }
+    
+    /**
+     * Sets how fast the rate of change of the motor can change, so it speeds up
+     * and slows down along a trapezoid. The slew rate is the top rate.
+     * 
+     * @param rampAcceleration The most the rate can change per second squared, or 0 for no ramp.
+     */
+    public void setRamp( double rampAcceleration )
+    {
+        _stage.setRamp( rampAcceleration );
+    }
+    
+    /**
+     * Sets the value of the motor. Should be called at most once every loop.
      * 
      * @param speed The value that the motor is set too.
      */
@@ -40,7 +77,34 @@ public class CCTalon extends Talon
             speed *= -1;
         }
         
-        //Set the speed of the motor through the talon class.
-        super.set( speed );
+        //Set the speed of the motor through the output stage, which writes it to the talon.
+        _stage.set( speed );
+    }
+    
+    /**
+     * Gets the value the motor was last set to, in the same direction it was set.
+     * 
+     * @return The value of the motor.
+     */
+    public double get()
+    {
+        //Gets the value of the talon and inverses it back if the motor is reversed.
+        double speed = _output.get();
+        
+        if( _isReversed )
+        {
+            speed *= -1;
+        }
+        
+        return speed;
+    }
+    
+    /**
+     * Stops the motor.
+     */
+    public void stopMotor()
+    {
+        //Stops the talon straight away.
+        _stage.stop();
     }
 }
\ No newline at end of file
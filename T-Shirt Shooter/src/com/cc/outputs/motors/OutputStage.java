@@ -0,0 +1,139 @@
+package com.cc.outputs.motors;
+
+import com.cc.hal.MotorOutput;
+import com.cc.utility.Utility;
+
+/**
+ * Shapes the values given to a speed controller before they are written. The
+ * value can be slew limited, so it changes by at most a set amount each second,
+ * and can also be ramped, so the rate it changes at speeds up and slows down
+ * too, which moves it to each new value along a trapezoid. Both are off until
+ * they are set, so by default values go straight through. Every value is
+ * written to the output, which is expected to be a motor of the output frame,
+ * and the frame is what leaves out a value that has not changed.
+ */
+public class OutputStage
+{
+    //The speed controller the values are written to.
+    private MotorOutput _output;
+
+    //The time in seconds between each value, which is one loop of the robot.
+    private double _dt;
+
+    //The most the value can change per second, or 0 for no limit.
+    private double _slewRate = 0.0;
+
+    //The most the rate of change can change per second squared, or 0 for no ramp.
+    private double _rampAcceleration = 0.0;
+
+    //The shaped value, and how fast it is changing per second when ramping.
+    private double _value = 0.0;
+    private double _rate = 0.0;
+
+    /**
+     * Creates an output stage which passes values straight through.
+     *
+     * @param output The speed controller to write to.
+     * @param dt The time in seconds between each value.
+     */
+    public OutputStage( MotorOutput output, double dt )
+    {
+        _output = output;
+        _dt = dt;
+    }
+
+    /**
+     * Sets how fast the value can change.
+     *
+     * @param slewRate The most the value can change per second, or 0 for no limit.
+     */
+    public void setSlewRate( double slewRate )
+    {
+        _slewRate = slewRate;
+    }
+
+    /**
+     * Sets how fast the rate of change can change, which ramps the value along a trapezoid.
+     *
+     * @param rampAcceleration The most the rate can change per second squared, or 0 for no ramp.
+     */
+    public void setRamp( double rampAcceleration )
+    {
+        _rampAcceleration = rampAcceleration;
+        _rate = 0.0;
+    }
+
+    /**
+     * Moves towards the given value and writes it. Should be called at most
+     * once every loop.
+     *
+     * @param target The value wanted, from -1 to 1.
+     */
+    public void set( double target )
+    {
+        double error = target - _value;
+
+        if( _rampAcceleration > 0.0 )
+        {
+            //Finds the fastest rate that can still slow down in time to stop at the target, no faster than the slew rate.
+            double desired = Math.sqrt( 2.0 * _rampAcceleration * Math.abs( error ) );
+            if( _slewRate > 0.0 )
+            {
+                desired = Math.min( desired, _slewRate );
+            }
+            if( error < 0.0 )
+            {
+                desired = -desired;
+            }
+
+            //Changes the rate towards it, by no more than the ramp allows.
+            double rampStep = _rampAcceleration * _dt;
+            _rate += Utility.limitRange( desired - _rate, rampStep, -rampStep );
+
+            //Takes the step, stopping at the target if the step would reach it.
+            double step = _rate * _dt;
+            if( step * error >= 0.0 && Math.abs( step ) >= Math.abs( error ) )
+            {
+                _value = target;
+                _rate = 0.0;
+            }
+            else
+            {
+                _value += step;
+            }
+        }
+        else if( _slewRate > 0.0 )
+        {
+            //Moves at most one step towards the target.
+            double slewStep = _slewRate * _dt;
+            _value += Utility.limitRange( error, slewStep, -slewStep );
+        }
+        else
+        {
+            _value = target;
+        }
+
+        //Writes the value, which the output frame leaves out if it has not changed.
+        _output.set( _value );
+    }
+
+    /**
+     * Gets the shaped value, which is the value last written.
+     *
+     * @return The shaped value.
+     */
+    public double get()
+    {
+        return _value;
+    }
+
+    /**
+     * Stops the speed controller straight away, without any slew or ramp.
+     */
+    public void stop()
+    {
+        _output.stopMotor();
+        _value = 0.0;
+        _rate = 0.0;
+    }
+}
@@ -0,0 +1,198 @@
+package com.cc.recorder;
+
+/**
+ * Reads a flight log written by the flight recorder. The log is held whole in
+ * memory and each number is read straight out of it at the offsets the flight
+ * recorder writes, so it works the same on the robot and on a desktop computer.
+ */
+public class FlightLog
+{
+    //The bytes of the log.
+    private byte[] _log;
+
+    /**
+     * Creates a reader over a whole log.
+     *
+     * @param log The bytes of the log. Any part of a record at the end is left out.
+     */
+    public FlightLog( byte[] log )
+    {
+        _log = log;
+    }
+
+    /**
+     * Gets the number of whole records in the log.
+     *
+     * @return The number of records.
+     */
+    public int getRecordCount()
+    {
+        return _log.length / FlightRecorder.RECORD_SIZE;
+    }
+
+    /**
+     * Gets the type of a record.
+     *
+     * @param record The index of the record.
+     *
+     * @return FlightRecorder.LOOP_RECORD or FlightRecorder.PARAMETER_RECORD.
+     */
+    public int getType( int record )
+    {
+        return getInt( record, FlightRecorder.TYPE );
+    }
+
+    /**
+     * Gets the mode of a loop record, without the INIT bit.
+     *
+     * @param record The index of the record.
+     *
+     * @return The mode.
+     */
+    public int getMode( int record )
+    {
+        return _log[ record * FlightRecorder.RECORD_SIZE + FlightRecorder.MODE ] & ~FlightRecorder.INIT;
+    }
+
+    /**
+     * Gets whether a loop record is the one which started its mode.
+     *
+     * @param record The index of the record.
+     *
+     * @return Whether the loop started the mode.
+     */
+    public boolean isInit( int record )
+    {
+        return ( _log[ record * FlightRecorder.RECORD_SIZE + FlightRecorder.MODE ] & FlightRecorder.INIT ) != 0;
+    }
+
+    /**
+     * Reads an int from a record.
+     *
+     * @param record The index of the record.
+     * @param offset The offset in the record, such as FlightRecorder.TICK.
+     *
+     * @return The int.
+     */
+    public int getInt( int record, int offset )
+    {
+        int i = record * FlightRecorder.RECORD_SIZE + offset;
+        return ( ( _log[ i ] & 0xFF ) << 24 ) | ( ( _log[ i + 1 ] & 0xFF ) << 16 ) | ( ( _log[ i + 2 ] & 0xFF ) << 8 ) | ( _log[ i + 3 ] & 0xFF );
+    }
+
+    /**
+     * Reads a long from a record.
+     *
+     * @param record The index of the record.
+     * @param offset The offset in the record.
+     *
+     * @return The long.
+     */
+    public long getLong( int record, int offset )
+    {
+        return ( (long) getInt( record, offset ) << 32 ) | ( getInt( record, offset + 4 ) & 0xFFFFFFFFL );
+    }
+
+    /**
+     * Reads a float from a record.
+     *
+     * @param record The index of the record.
+     * @param offset The offset in the record, such as FlightRecorder.GYRO.
+     *
+     * @return The float.
+     */
+    public float getFloat( int record, int offset )
+    {
+        return Float.intBitsToFloat( getInt( record, offset ) );
+    }
+
+    /**
+     * Reads a double from a record.
+     *
+     * @param record The index of the record.
+     * @param offset The offset in the record, such as FlightRecorder.TIME.
+     *
+     * @return The double.
+     */
+    public double getDouble( int record, int offset )
+    {
+        return Double.longBitsToDouble( getLong( record, offset ) );
+    }
+
+    /**
+     * Gets a number of the input frame from a loop record.
+     *
+     * @param record The index of the record.
+     * @param slot The slot of the number in the input frame.
+     *
+     * @return The number.
+     */
+    public double getInputValue( int record, int slot )
+    {
+        return getDouble( record, FlightRecorder.INPUT_VALUES + 8 * slot );
+    }
+
+    /**
+     * Gets an on or off value of the input frame from a loop record.
+     *
+     * @param record The index of the record.
+     * @param slot The slot of the value in the input frame.
+     *
+     * @return The value.
+     */
+    public boolean getInputState( int record, int slot )
+    {
+        return ( getLong( record, FlightRecorder.INPUT_STATES ) & ( 1L << slot ) ) != 0;
+    }
+
+    /**
+     * Gets a motor value of the output frame from a loop record.
+     *
+     * @param record The index of the record.
+     * @param motor The index of the motor in the output frame.
+     *
+     * @return The motor value.
+     */
+    public float getMotor( int record, int motor )
+    {
+        return getFloat( record, FlightRecorder.MOTORS + 4 * motor );
+    }
+
+    /**
+     * Gets a relay of the output frame from a loop record.
+     *
+     * @param record The index of the record.
+     * @param relay The index of the relay in the output frame.
+     *
+     * @return Whether the relay is on.
+     */
+    public boolean getRelay( int record, int relay )
+    {
+        return ( getInt( record, FlightRecorder.RELAYS ) & ( 1 << relay ) ) != 0;
+    }
+
+    /**
+     * Gets the number of parameters in a parameter record.
+     *
+     * @param record The index of the record.
+     *
+     * @return The number of parameters.
+     */
+    public int getParameterCount( int record )
+    {
+        return getInt( record, FlightRecorder.PARAMETER_COUNT );
+    }
+
+    /**
+     * Gets a parameter from a parameter record.
+     *
+     * @param record The index of the record.
+     * @param index The index of the parameter.
+     *
+     * @return The value of the parameter.
+     */
+    public double getParameter( int record, int index )
+    {
+        return getDouble( record, FlightRecorder.PARAMETERS + 8 * index );
+    }
+}
@@ -0,0 +1,606 @@
+package com.cc.recorder;
+
+import com.cc.config.Parameters;
+import com.cc.hal.Clock;
+import com.cc.hal.Hardware;
+import com.cc.inputs.driver.DriverState;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.outputs.frame.OutputFrame;
+import com.cc.shooter.Shooter;
+import com.cc.shooter.ShooterCompressor;
+import com.cc.systems.Chassis;
+import com.cc.systems.Mechanism;
+import com.cc.systems.PowerBudget;
+import com.cc.utility.MecanumKinematics;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records what the robot saw and did on every loop, so problems in a match can
+ * be found afterwards. Each loop is one record of a fixed size, laid out at the
+ * offsets below with every number big-endian, the same as a DataInputStream
+ * reads them. The first part of a record is a summary to read by eye, and the
+ * rest holds the whole input frame and output frame, which is everything the
+ * loop read and wrote, so the loop can be replayed. Whenever the parameters
+ * change, a parameter record holding all of them comes before the loop's
+ * record. The records are written into a ring buffer made when the robot
+ * starts, so recording never creates an object, and a thread of the lowest
+ * priority writes them to the log file a few times a second. If the file falls
+ * so far behind that the ring is full, the newest records are dropped rather
+ * than holding up the loop. Each boot writes the next of four log files in
+ * turn, so restarting the robot after a match does not overwrite that match,
+ * and each file stops at five minutes of loops. While disabled, only the first
+ * five seconds are recorded, so the flash does not fill up between matches.
+ */
+public class FlightRecorder implements Runnable
+{
+    //The singleton object of the flight recorder.
+    private static FlightRecorder _instance = null;
+
+    //The size of each record in bytes.
+    public static final int RECORD_SIZE = 672;
+
+    //The offsets of each value in a record. The number of the loop, and how long the loop took in microseconds.
+    public static final int TICK = 0;
+    public static final int LOOP_TIME = 4;
+
+    //The mode of the robot, and the bits of the compressor, the shooter limit switch, and the shooter valve.
+    public static final int MODE = 8;
+    public static final int FLAGS = 9;
+
+    //The bits of the driver buttons which are held, by their index in DriverState.
+    public static final int BUTTONS = 10;
+
+    //The driver axes.
+    public static final int DRIVER_X = 12;
+    public static final int DRIVER_Y = 16;
+    public static final int DRIVER_ROT = 20;
+    public static final int DRIVER_ARM = 24;
+
+    //The four wheel values, in the order of MecanumKinematics.
+    public static final int WHEELS = 28;
+
+    //The gyro, the chassis encoder, and the arm potentiometer.
+    public static final int GYRO = 44;
+    public static final int ENCODER = 48;
+    public static final int POTENT = 52;
+
+    //The battery voltage and the tank pressure estimate.
+    public static final int VOLTAGE = 56;
+    public static final int PRESSURE = 60;
+
+    //The time of the robot clock in the loop in seconds, the type of the record, and the version of the parameters.
+    public static final int TIME = 64;
+    public static final int TYPE = 72;
+    public static final int VERSION = 76;
+
+    //The numbers of the input frame, and the bits of its on or off values.
+    public static final int INPUT_VALUES = 80;
+    public static final int INPUT_STATES = INPUT_VALUES + 8 * InputFrame.MAX_VALUES;
+
+    //The motor values of the output frame, and the bits of its relays.
+    public static final int MOTORS = INPUT_STATES + 8;
+    public static final int RELAYS = MOTORS + 4 * OutputFrame.MAX_MOTORS;
+
+    //In a parameter record, the number of parameters and the value of each.
+    public static final int PARAMETER_COUNT = VERSION;
+    public static final int PARAMETERS = INPUT_VALUES;
+
+    //The types of record.
+    public static final int LOOP_RECORD = 0;
+    public static final int PARAMETER_RECORD = 1;
+
+    //The modes of the robot, where the robot mode is only used when the robot starts.
+    public static final int DISABLED = 0;
+    public static final int AUTONOMOUS = 1;
+    public static final int TELEOP = 2;
+    public static final int TEST = 3;
+    public static final int ROBOT = 4;
+
+    //Added to a mode when the loop is the one which starts the mode.
+    public static final int INIT = 16;
+
+    //The bits of the flags.
+    public static final int COMPRESSOR_BIT = 1;
+    public static final int LIMIT_BIT = 2;
+    public static final int VALVE_BIT = 4;
+
+    //The number of records the ring holds, which is ten seconds of loops.
+    private static final int _RECORDS = 512;
+
+    //The number of log files written in turn, one each boot.
+    private static final int _LOGS = 4;
+
+    //The most records in one log file, which is five minutes of loops and about 10 MB.
+    private static final int _MAX_LOG_RECORDS = 15000;
+
+    //The most loops recorded each time the robot is disabled, which is five seconds.
+    private static final int _MAX_DISABLED_RECORDS = 250;
+
+    //The version of the parameters in the last parameter record, which starts as none.
+    private int _recordedVersion = -1;
+
+    //The time between writes to the log file in milliseconds.
+    private static final long _FLUSH_PERIOD = 250;
+
+    //The records. The loop writes at the head and the thread writes the file from the tail.
+    private byte[] _ring = new byte[ _RECORDS * RECORD_SIZE ];
+
+    //The number of records put in the ring and taken out of it. Only the loop changes the head and only the thread changes the tail.
+    private volatile int _head = 0;
+    private volatile int _tail = 0;
+
+    //The number of records dropped because the ring was full or the log file had reached its size.
+    private int _dropped = 0;
+
+    //The number of loops recorded since the robot was last disabled.
+    private int _disabledRecords = 0;
+
+    //The number of loops recorded, and the time the current loop started in microseconds.
+    private int _tick = 0;
+    private long _loopStart = 0;
+
+    //The log file and its name.
+    private OutputStream _log = null;
+    private String _logName = null;
+
+    //The thread writing the log file.
+    private Thread _thread;
+
+    //Whether the thread should keep writing.
+    private volatile boolean _running = false;
+
+    //What is recorded.
+    private Chassis _chassis;
+    private Mechanism _mechanism;
+    private ShooterCompressor _compressor;
+    private Shooter _shooter;
+    private PowerBudget _power;
+    private InputFrame _input;
+    private Clock _clock;
+    private OutputFrame _output;
+    private Parameters _parameters;
+
+    /**
+     * Private constructor for the singleton.
+     */
+    private FlightRecorder()
+    {
+        //Gets the subsystems that are recorded.
+        _chassis = Chassis.getInstance();
+        _mechanism = Mechanism.getInstance();
+        _compressor = ShooterCompressor.getInstance();
+        _shooter = Shooter.getInstance();
+        _power = PowerBudget.getInstance();
+        _input = InputFrame.getInstance();
+        _clock = _input.getClock();
+        _output = OutputFrame.getInstance();
+        _parameters = Parameters.getInstance();
+    }
+
+    /**
+     * Returns the singleton object of the flight recorder.
+     *
+     * @return The singleton object of the flight recorder.
+     */
+    public static FlightRecorder getInstance()
+    {
+        //If the recorder has not been created yet, create it.
+        if( _instance == null )
+        {
+            _instance = new FlightRecorder();
+        }
+
+        return _instance;
+    }
+
+    /**
+     * Opens the next log file and starts writing records to it on a new thread,
+     * if not already writing. The log files are the name followed by 0 up to 3
+     * and ".bin", and the one to write next is kept in the name followed by
+     * ".boot". If the file cannot be opened, nothing is recorded.
+     *
+     * @param name The name of the log files, without the number.
+     */
+    public void start( String name )
+    {
+        if( _running )
+        {
+            return;
+        }
+
+        //Finds which log file this boot writes, and counts the boot so the next one writes the one after.
+        int boot = readBoot( name + ".boot" );
+        _logName = name + ( boot % _LOGS ) + ".bin";
+        try
+        {
+            DataOutputStream out = new DataOutputStream( Hardware.getInstance().openLog( name + ".boot" ) );
+            out.writeInt( boot + 1 );
+            out.close();
+
+            _log = Hardware.getInstance().openLog( _logName );
+        }
+        catch( IOException e )
+        {
+            System.out.println( "Flight recorder could not open " + _logName + ": " + e.getMessage() );
+            return;
+        }
+
+        //Starts the thread at the lowest priority, so it only runs when the loop is waiting.
+        _running = true;
+        _thread = new Thread( this );
+        _thread.setPriority( Thread.MIN_PRIORITY );
+        _thread.start();
+    }
+
+    /**
+     * Reads the number of boots from its file.
+     *
+     * @param name The name of the file.
+     *
+     * @return The number of boots, or 0 if the file is missing or cannot be read.
+     */
+    private static int readBoot( String name )
+    {
+        try
+        {
+            DataInputStream in = new DataInputStream( Hardware.getInstance().openLogInput( name ) );
+            int boot = in.readInt();
+            in.close();
+            return Math.max( boot, 0 );
+        }
+        catch( IOException e )
+        {
+            return 0;
+        }
+    }
+
+    /**
+     * Stops recording, waits for every record in the ring to be written, and closes the log file.
+     */
+    public void stop()
+    {
+        if( !_running )
+        {
+            return;
+        }
+
+        _running = false;
+        try
+        {
+            _thread.join();
+        }
+        catch( InterruptedException e )
+        {
+            //Nothing to do; the thread closes the file when it finishes.
+        }
+    }
+
+    /**
+     * Marks the start of a loop, so the time the loop took can be recorded.
+     * Should be called first thing in every loop.
+     */
+    public void startLoop()
+    {
+        _loopStart = _clock.getMicros();
+    }
+
+    /**
+     * Records this loop. Should be called last thing in every loop, after the outputs are written.
+     *
+     * @param mode The mode of the robot, plus INIT if the loop started the mode.
+     * @param input The state of the driver this loop, or null if the driver is not read in this mode.
+     */
+    public void record( int mode, DriverState input )
+    {
+        int tick = _tick;
+        _tick++;
+
+        //Does nothing if recording has not started.
+        if( !_running )
+        {
+            return;
+        }
+
+        boolean parametersChanged = _parameters.getVersion() != _recordedVersion;
+
+        //Only records the first few seconds of being disabled, or a loop the parameters changed in.
+        if( ( mode & ~INIT ) == DISABLED )
+        {
+            if( ( mode & INIT ) != 0 )
+            {
+                _disabledRecords = 0;
+            }
+            else if( _disabledRecords >= _MAX_DISABLED_RECORDS && !parametersChanged )
+            {
+                return;
+            }
+            _disabledRecords++;
+        }
+
+        //Drops the records if the file has fallen too far behind or is full.
+        int records = parametersChanged ? 2 : 1;
+        if( _head - _tail + records > _RECORDS || _head + records > _MAX_LOG_RECORDS )
+        {
+            _dropped += records;
+            return;
+        }
+
+        //Records the parameters before the loop that first used them.
+        if( parametersChanged )
+        {
+            recordParameters( tick );
+        }
+
+        int offset = ( _head % _RECORDS ) * RECORD_SIZE;
+
+        putInt( offset + TICK, tick );
+        putInt( offset + LOOP_TIME, (int) ( _clock.getMicros() - _loopStart ) );
+
+        //Packs the mode and the on or off values.
+        int flags = 0;
+        if( _compressor.isRunning() )
+        {
+            flags |= COMPRESSOR_BIT;
+        }
+        if( _mechanism.getShooterLimit() )
+        {
+            flags |= LIMIT_BIT;
+        }
+        if( _shooter.isOpen() )
+        {
+            flags |= VALVE_BIT;
+        }
+        _ring[ offset + MODE ] = (byte) mode;
+        _ring[ offset + FLAGS ] = (byte) flags;
+
+        //Packs the driver, which is all zero when there is no driver.
+        int buttons = 0;
+        if( input != null )
+        {
+            for( int i = 0; i <= DriverState.SEVENTH; i++ )
+            {
+                if( input.isHeld( i ) )
+                {
+                    buttons |= 1 << i;
+                }
+            }
+            putFloat( offset + DRIVER_X, input.getX() );
+            putFloat( offset + DRIVER_Y, input.getY() );
+            putFloat( offset + DRIVER_ROT, input.getRot() );
+            putFloat( offset + DRIVER_ARM, input.getArm() );
+        }
+        else
+        {
+            putFloat( offset + DRIVER_X, 0.0 );
+            putFloat( offset + DRIVER_Y, 0.0 );
+            putFloat( offset + DRIVER_ROT, 0.0 );
+            putFloat( offset + DRIVER_ARM, 0.0 );
+        }
+        _ring[ offset + BUTTONS ] = (byte) ( buttons >> 8 );
+        _ring[ offset + BUTTONS + 1 ] = (byte) buttons;
+
+        for( int i = 0; i < MecanumKinematics.WHEELS; i++ )
+        {
+            putFloat( offset + WHEELS + 4 * i, _chassis.getWheel( i ) );
+        }
+
+        putFloat( offset + GYRO, _chassis.getGyro() );
+        putFloat( offset + ENCODER, _chassis.getEncoder() );
+        putFloat( offset + POTENT, _mechanism.getPotent() );
+        putFloat( offset + VOLTAGE, _power.getVoltage() );
+        putFloat( offset + PRESSURE, _compressor.getModel().getPressure() );
+
+        putDouble( offset + TIME, _clock.getTime() );
+        putInt( offset + TYPE, LOOP_RECORD );
+        putInt( offset + VERSION, _recordedVersion );
+
+        //Copies the input frame, after the summary since reading the summary may have read more inputs.
+        long states = 0;
+        for( int i = 0; i < InputFrame.MAX_VALUES; i++ )
+        {
+            putDouble( offset + INPUT_VALUES + 8 * i, i < _input.getValueCount() ? _input.getValue( i ) : 0.0 );
+        }
+        for( int i = 0; i < _input.getStateCount(); i++ )
+        {
+            if( _input.getState( i ) )
+            {
+                states |= 1L << i;
+            }
+        }
+        putLong( offset + INPUT_STATES, states );
+
+        //Copies the output frame.
+        int relays = 0;
+        for( int i = 0; i < OutputFrame.MAX_MOTORS; i++ )
+        {
+            putFloat( offset + MOTORS + 4 * i, i < _output.getMotorCount() ? _output.getMotor( i ) : 0.0 );
+        }
+        for( int i = 0; i < _output.getRelayCount(); i++ )
+        {
+            if( _output.getRelay( i ) )
+            {
+                relays |= 1 << i;
+            }
+        }
+        putInt( offset + RELAYS, relays );
+        putInt( offset + RELAYS + 4, 0 );
+
+        //Only hands the record to the thread once it is whole.
+        _head++;
+    }
+
+    /**
+     * Records every parameter. Only called when there is room in the ring.
+     *
+     * @param tick The number of the loop which first used the parameters.
+     */
+    private void recordParameters( int tick )
+    {
+        int offset = ( _head % _RECORDS ) * RECORD_SIZE;
+
+        //Clears the record, since only part of it is used.
+        for( int i = 0; i < RECORD_SIZE; i++ )
+        {
+            _ring[ offset + i ] = 0;
+        }
+
+        putInt( offset + TICK, tick );
+        putDouble( offset + TIME, _clock.getTime() );
+        putInt( offset + TYPE, PARAMETER_RECORD );
+
+        //Records the version first, so the loop record that follows shows which parameters it used.
+        _recordedVersion = _parameters.getVersion();
+        int count = Math.min( _parameters.getCount(), InputFrame.MAX_VALUES );
+        putInt( offset + PARAMETER_COUNT, count );
+        for( int i = 0; i < count; i++ )
+        {
+            putDouble( offset + PARAMETERS + 8 * i, _parameters.get( i ) );
+        }
+
+        _head++;
+    }
+
+    /**
+     * Writes records to the log file until stopped, then writes whatever is
+     * left and closes the file. Runs on the recorder thread.
+     */
+    public void run()
+    {
+        try
+        {
+            while( _running )
+            {
+                flush();
+
+                try
+                {
+                    Thread.sleep( _FLUSH_PERIOD );
+                }
+                catch( InterruptedException e )
+                {
+                    //Nothing to do; the records are just written early.
+                }
+            }
+
+            flush();
+            _log.close();
+        }
+        catch( IOException e )
+        {
+            //Stops recording for good, since the loop must never wait on the file.
+            System.out.println( "Flight recorder stopped: " + e.getMessage() );
+            _running = false;
+        }
+    }
+
+    /**
+     * Writes every record waiting in the ring to the log file. Runs on the recorder thread.
+     *
+     * @throws IOException If the log file could not be written.
+     */
+    private void flush() throws IOException
+    {
+        int head = _head;
+        int tail = _tail;
+        if( head == tail )
+        {
+            return;
+        }
+
+        //Writes the records up to the end of the ring, then any that wrapped around to the start.
+        int start = tail % _RECORDS;
+        int count = head - tail;
+        int first = Math.min( count, _RECORDS - start );
+        _log.write( _ring, start * RECORD_SIZE, first * RECORD_SIZE );
+        if( count > first )
+        {
+            _log.write( _ring, 0, ( count - first ) * RECORD_SIZE );
+        }
+        _log.flush();
+
+        //Only gives the space back to the loop once the records are written.
+        _tail = head;
+    }
+
+    /**
+     * Writes an int into the ring.
+     *
+     * @param offset The offset in the ring.
+     * @param value The value.
+     */
+    private void putInt( int offset, int value )
+    {
+        _ring[ offset ] = (byte) ( value >> 24 );
+        _ring[ offset + 1 ] = (byte) ( value >> 16 );
+        _ring[ offset + 2 ] = (byte) ( value >> 8 );
+        _ring[ offset + 3 ] = (byte) value;
+    }
+
+    /**
+     * Writes a long into the ring.
+     *
+     * @param offset The offset in the ring.
+     * @param value The value.
+     */
+    private void putLong( int offset, long value )
+    {
+        putInt( offset, (int) ( value >> 32 ) );
+        putInt( offset + 4, (int) value );
+    }
+
+    /**
+     * Writes a double into the ring.
+     *
+     * @param offset The offset in the ring.
+     * @param value The value.
+     */
+    private void putDouble( int offset, double value )
+    {
+        putLong( offset, Double.doubleToLongBits( value ) );
+    }
+
+    /**
+     * Writes a float into the ring.
+     *
+     * @param offset The offset in the ring.
+     * @param value The value, which is rounded to a float.
+     */
+    private void putFloat( int offset, double value )
+    {
+        putInt( offset, Float.floatToIntBits( (float) value ) );
+    }
+
+    /**
+     * Gets the name of the log file being written.
+     *
+     * @return The name of the log file, or null if recording has not started.
+     */
+    public String getLogName()
+    {
+        return _logName;
+    }
+
+    /**
+     * Gets the number of records written to the ring so far.
+     *
+     * @return The number of records.
+     */
+    public int getRecords()
+    {
+        return _head;
+    }
+
+    /**
+     * Gets the number of records dropped because the log file fell too far behind or was full.
+     *
+     * @return The number of dropped records.
+     */
+    public int getDropped()
+    {
+        return _dropped;
+    }
+}
@@ -0,0 +1,257 @@
+package com.cc.recorder;
+
+import com.cc.config.Parameters;
+import com.cc.hal.Clock;
+import com.cc.hal.Hardware;
+import com.cc.utility.LogHistogram;
+import com.cc.utility.PublishCounter;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/**
+ * Times the sections of the robot loop. Each section is marked with begin()
+ * and end(), and how long it took goes into a histogram of its own, along with
+ * a count of the times it went over its share of the 20 millisecond loop. The
+ * 50th and 99th percentiles, the longest time, and the overruns of one section
+ * are put on the SmartDashboard every few loops, so every section is shown
+ * about once a second without the loop paying for all of them at once, unless
+ * the parameters are offline, such as in the simulation. The profiler is
+ * switched by the profiler parameter, and when it is off, marking a section
+ * only checks one field.
+ */
+public class Profiler
+{
+    //The singleton object of the profiler.
+    private static Profiler _instance = null;
+
+    //The indexes of the sections. The whole loop, reading the parameters, and reading the sensors.
+    public static final int LOOP = 0;
+    public static final int PARAMETERS = 1;
+    public static final int SENSORS = 2;
+
+    //Reading the driver, driving the chassis, and running the arm.
+    public static final int DRIVER = 3;
+    public static final int DRIVE = 4;
+    public static final int ARM = 5;
+
+    //Running the compressor and the shooter.
+    public static final int COMPRESSOR = 6;
+    public static final int SHOOTER = 7;
+
+    //Putting values on the SmartDashboard, writing the outputs, and recording the loop.
+    public static final int DASHBOARD = 8;
+    public static final int OUTPUTS = 9;
+    public static final int RECORDER = 10;
+
+    //The name of each section, in the same order as the indexes above.
+    private static final String[] _NAMES =
+    {
+        "Loop",
+        "Parameters",
+        "Sensors",
+        "Driver",
+        "Drive",
+        "Arm",
+        "Compressor",
+        "Shooter",
+        "Dashboard",
+        "Outputs",
+        "Recorder"
+    };
+
+    //The longest each section should take in microseconds, in the same order as the indexes above. Together they leave room in the loop.
+    private static final long[] _BUDGETS =
+    {
+        20000,
+        2000,
+        2000,
+        1000,
+        2000,
+        2000,
+        1000,
+        1000,
+        2000,
+        2000,
+        500
+    };
+
+    //The number of loops between putting a section on the SmartDashboard.
+    private static final int _PUBLISH_LOOPS = 5;
+
+    //The tunable parameters, for whether the profiler is on.
+    private Parameters _parameters;
+
+    //The clock the sections are timed by.
+    private Clock _clock;
+
+    //Whether the profiler is on.
+    private boolean _enabled = false;
+
+    //The time each section began in microseconds, and the histogram of each section.
+    private long[] _starts = new long[ _NAMES.length ];
+    private LogHistogram[] _histograms = new LogHistogram[ _NAMES.length ];
+
+    //The SmartDashboard keys of each section, made once so publishing does not build strings.
+    private String[] _medianKeys = new String[ _NAMES.length ];
+    private String[] _tailKeys = new String[ _NAMES.length ];
+    private String[] _maxKeys = new String[ _NAMES.length ];
+    private String[] _overrunKeys = new String[ _NAMES.length ];
+
+    //Takes turns publishing the sections.
+    private PublishCounter _publisher = new PublishCounter( _PUBLISH_LOOPS, _NAMES.length );
+
+    /**
+     * Private constructor for the singleton.
+     */
+    private Profiler()
+    {
+        _parameters = Parameters.getInstance();
+        _clock = Hardware.getInstance().getClock();
+
+        //Creates the histogram and the keys of each section.
+        for( int i = 0; i < _NAMES.length; i++ )
+        {
+            _histograms[ i ] = new LogHistogram( _BUDGETS[ i ] );
+            _medianKeys[ i ] = " " + _NAMES[ i ] + " p50 (us): ";
+            _tailKeys[ i ] = " " + _NAMES[ i ] + " p99 (us): ";
+            _maxKeys[ i ] = " " + _NAMES[ i ] + " Max (us): ";
+            _overrunKeys[ i ] = " " + _NAMES[ i ] + " Overruns: ";
+        }
+    }
+
+    /**
+     * Returns the singleton object of the profiler.
+     *
+     * @return The singleton object of the profiler.
+     */
+    public static Profiler getInstance()
+    {
+        //If the profiler has not been created yet, create it.
+        if( _instance == null )
+        {
+            _instance = new Profiler();
+        }
+
+        return _instance;
+    }
+
+    /**
+     * Checks whether the profiler is on and begins timing the loop. Should be
+     * called first thing in every loop.
+     */
+    public void startLoop()
+    {
+        _enabled = _parameters.get( Parameters.PROFILER ) != 0.0;
+        begin( LOOP );
+    }
+
+    /**
+     * Ends timing the loop and puts the next section on the SmartDashboard
+     * when it is time to. Should be called last thing in every loop.
+     */
+    public void endLoop()
+    {
+        if( !_enabled )
+        {
+            return;
+        }
+
+        end( LOOP );
+
+        //Publishes one section every few loops, unless the Smart Dashboard is left out.
+        int section = _publisher.next();
+        if( section >= 0 )
+        {
+            publish( section );
+        }
+    }
+
+    /**
+     * Begins timing a section.
+     *
+     * @param section The index of the section.
+     */
+    public void begin( int section )
+    {
+        if( !_enabled )
+        {
+            return;
+        }
+
+        _starts[ section ] = _clock.getMicros();
+    }
+
+    /**
+     * Ends timing a section and counts how long it took.
+     *
+     * @param section The index of the section.
+     */
+    public void end( int section )
+    {
+        if( !_enabled )
+        {
+            return;
+        }
+
+        _histograms[ section ].add( _clock.getMicros() - _starts[ section ] );
+    }
+
+    /**
+     * Puts the times of a section on the SmartDashboard.
+     *
+     * @param section The index of the section.
+     */
+    private void publish( int section )
+    {
+        LogHistogram histogram = _histograms[ section ];
+        SmartDashboard.putNumber( _medianKeys[ section ], histogram.getPercentile( 0.5 ) );
+        SmartDashboard.putNumber( _tailKeys[ section ], histogram.getPercentile( 0.99 ) );
+        SmartDashboard.putNumber( _maxKeys[ section ], histogram.getMax() );
+        SmartDashboard.putNumber( _overrunKeys[ section ], histogram.getOverruns() );
+    }
+
+    /**
+     * Gets the histogram of a section.
+     *
+     * @param section The index of the section.
+     *
+     * @return The histogram of the section, in microseconds.
+     */
+    public LogHistogram getHistogram( int section )
+    {
+        return _histograms[ section ];
+    }
+
+    /**
+     * Gets the name of a section.
+     *
+     * @param section The index of the section.
+     *
+     * @return The name of the section.
+     */
+    public String getName( int section )
+    {
+        return _NAMES[ section ];
+    }
+
+    /**
+     * Gets the number of sections.
+     *
+     * @return The number of sections.
+     */
+    public int getSections()
+    {
+        return _NAMES.length;
+    }
+
+    /**
+     * Empties the histogram of every section, such as when a new mode starts.
+     */
+    public void reset()
+    {
+        for( int i = 0; i < _histograms.length; i++ )
+        {
+            _histograms[ i ].reset();
+        }
+    }
+}
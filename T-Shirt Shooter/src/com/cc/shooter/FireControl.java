@@ -0,0 +1,192 @@
+package com.cc.shooter;
+
+import com.cc.hal.Clock;
+import com.cc.inputs.frame.InputFrame;
+
+/**
+ * Runs the shots of the t-shirt shooter without ever stopping the robot loop.
+ * Each shot asked for goes into a small queue, and runFireControl(), called
+ * once every loop, opens the valve for the next shot and closes it again once
+ * its time is up by checking the time rather than waiting. Shots are kept a
+ * minimum time apart and wait until the tank estimate says there is enough air,
+ * and a shot asked for too soon after the last one is taken as a bounce of the
+ * button and dropped. A shot is never fired long after it was asked for: it is
+ * refused if the tank is already too low, and dropped if it has waited too long,
+ * so the cannon does not go off on its own once the tank fills back up.
+ */
+public class FireControl
+{
+    //The valve open times of each length of shot, in seconds.
+    public static final double SHORT_SHOT = 0.05;
+    public static final double MEDIUM_SHOT = 0.1;
+    public static final double LONG_SHOT = 0.15;
+    public static final double EMPTY_TANK_SHOT = 0.5;
+
+    //The singleton object of the fire control.
+    private static FireControl _instance = null;
+
+    //The most shots that can be waiting at once.
+    private static final int _CAPACITY = 4;
+
+    //The least time between the starts of two shots, in seconds. The tank estimate decides the rest.
+    private final double _MIN_REFIRE_TIME = 0.25;
+
+    //Shots asked for closer together than this are a bounce of the button, in seconds.
+    private final double _DEBOUNCE_TIME = 0.1;
+
+    //The longest the valve can be held open for one shot, in seconds.
+    private final double _MAX_OPEN_TIME = 0.5;
+
+    //The longest a shot can wait to be fired before it is dropped, in seconds.
+    private final double _MAX_WAIT_TIME = 1.0;
+
+    //The valve of the shooter.
+    private Shooter _shooter;
+
+    //The estimate of the air tank.
+    private PneumaticModel _tank;
+
+    //The clock the shots are timed by.
+    private Clock _clock;
+
+    //The valve open time of each waiting shot and when it was asked for, in a ring.
+    private double[] _queue = new double[ _CAPACITY ];
+    private double[] _queuedAt = new double[ _CAPACITY ];
+    private int _head = 0;
+    private int _size = 0;
+
+    //The valve open time of the shot being fired.
+    private double _openTime = 0.0;
+
+    //When the valve last opened and when the last shot was asked for.
+    private double _openedAt = Double.NEGATIVE_INFINITY;
+    private double _requestedAt = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Private constructor for singleton that gets the shooter valve.
+     */
+    private FireControl()
+    {
+        //Gets the shooter valve, which is closed until the first shot, and the tank estimate.
+        _shooter = Shooter.getInstance();
+        _tank = ShooterCompressor.getInstance().getModel();
+
+        //Gets the clock of the robot.
+        _clock = InputFrame.getInstance().getClock();
+    }
+
+    /**
+     * Returns the singleton object of the fire control.
+     *
+     * @return The singleton object of the fire control.
+     */
+    public static FireControl getInstance()
+    {
+        //Makes a new fire control if there is none, then returns it.
+        if( _instance == null )
+        {
+            _instance = new FireControl();
+        }
+        return _instance;
+    }
+
+    /**
+     * Asks for a shot. The shot is fired by runFireControl() as soon as the
+     * shots before it are done, the minimum time between shots has passed, and
+     * there is enough air in the tank, or dropped if that takes too long.
+     *
+     * @param openTime The time in seconds that the valve is open for the shot.
+     *
+     * @return Whether the shot was queued, which it is not if it came too soon after the last one, the queue is full, or the tank is too low to shoot.
+     */
+    public boolean request( double openTime )
+    {
+        //Drops the shot if it is a bounce of the button or there is no room for it.
+        double now = _clock.getTime();
+        if( now - _requestedAt < _DEBOUNCE_TIME || _size == _CAPACITY )
+        {
+            return false;
+        }
+        _requestedAt = now;
+
+        //Refuses the shot if the tank is too low, rather than firing it whenever the tank fills back up.
+        if( !_tank.hasAirForShot() )
+        {
+            return false;
+        }
+
+        //Adds the shot to the end of the queue, keeping its open time within the limit.
+        int slot = ( _head + _size ) % _CAPACITY;
+        _queue[ slot ] = Math.min( Math.max( openTime, 0.0 ), _MAX_OPEN_TIME );
+        _queuedAt[ slot ] = now;
+        _size++;
+        return true;
+    }
+
+    /**
+     * Closes the valve once the shot's time is up, and starts the next waiting
+     * shot once the valve is closed, enough time has passed since the last one,
+     * and the tank has enough air. Shots which have waited too long are dropped.
+     * Should be called once every loop, after the compressor is run.
+     */
+    public void runFireControl()
+    {
+        double now = _clock.getTime();
+
+        //Drops the shots which have waited too long, so nothing fires long after the button was pressed.
+        while( _size > 0 && now - _queuedAt[ _head ] > _MAX_WAIT_TIME )
+        {
+            _head = ( _head + 1 ) % _CAPACITY;
+            _size--;
+        }
+
+        //If a shot is being fired, close the valve once it has been open long enough.
+        if( _shooter.isOpen() )
+        {
+            if( now - _openedAt >= _openTime )
+            {
+                _shooter.closeValve();
+            }
+        }
+        //Else if a shot is waiting, the last one was long enough ago, and there is air for it, take it off the queue and fire it.
+        else if( _size > 0 && now - _openedAt >= _MIN_REFIRE_TIME && _tank.hasAirForShot() )
+        {
+            _openTime = _queue[ _head ];
+            _head = ( _head + 1 ) % _CAPACITY;
+            _size--;
+
+            _openedAt = now;
+            _shooter.openValve();
+        }
+    }
+
+    /**
+     * Drops every waiting shot and closes the valve.
+     */
+    public void cancel()
+    {
+        _head = 0;
+        _size = 0;
+        _shooter.closeValve();
+    }
+
+    /**
+     * Returns whether a shot is being fired.
+     *
+     * @return Whether the valve is open.
+     */
+    public boolean isFiring()
+    {
+        return _shooter.isOpen();
+    }
+
+    /**
+     * Gets the number of shots waiting to be fired.
+     *
+     * @return The number of waiting shots, not counting one being fired.
+     */
+    public int getQueued()
+    {
+        return _size;
+    }
+}
@@ -0,0 +1,182 @@
+package com.cc.shooter;
+
+import com.sun.squawk.util.MathUtils;
+
+/**
+ * Estimates the pressure in the shooter's air tank from how long the compressor
+ * has run and how long the valve has been open. The compressor adds air at a
+ * steady rate and the valve lets it out faster the more pressure there is, so
+ * each shot takes away the same fraction of what is left. The pressure switch
+ * only says whether the tank is above or below its two set points, so each time
+ * it changes the estimate is checked against that set point, which keeps it from
+ * drifting.
+ */
+public class PneumaticModel
+{
+    //The pressures where the pressure switch turns the compressor on and off, in psi.
+    private final double _SWITCH_ON_PRESSURE = 95.0;
+    private final double _SWITCH_OFF_PRESSURE = 120.0;
+
+    //The pressure where the relief valve opens, which the tank can never go over, in psi.
+    private final double _RELIEF_PRESSURE = 130.0;
+
+    //How fast the compressor fills the tank, in psi per second.
+    private final double _FILL_RATE = 1.5;
+
+    //How fast the open valve empties the full tank, in psi per second. It empties slower as the pressure drops.
+    private final double _DRAIN_RATE = 400.0;
+
+    //The least pressure a shot still clears the robot with, in psi.
+    private final double _MIN_SHOT_PRESSURE = 40.0;
+
+    //The time in seconds between each update.
+    private double _dt;
+
+    //The estimated pressure in psi.
+    private double _pressure;
+
+    //The state of the pressure switch at the last update.
+    private boolean _lastSwitch;
+
+    //The total time the compressor has run and the valve has been open, in seconds.
+    private double _compressorTime = 0.0;
+    private double _valveTime = 0.0;
+
+    /**
+     * Creates the model, starting from what the pressure switch says.
+     *
+     * @param dt The time in seconds between each update.
+     * @param needsAir Whether the pressure switch is on, which it is while the tank needs air.
+     */
+    public PneumaticModel( double dt, boolean needsAir )
+    {
+        _dt = dt;
+        _lastSwitch = needsAir;
+
+        //Only the range of the pressure is known, so it starts at the top of it so shots are never held back for nothing.
+        _pressure = needsAir ? _SWITCH_ON_PRESSURE : _SWITCH_OFF_PRESSURE;
+    }
+
+    /**
+     * Moves the estimate forward by one loop. Should be called once every loop.
+     *
+     * @param compressorOn Whether the compressor ran this loop.
+     * @param valveOpen Whether the shooter valve was open this loop.
+     * @param needsAir Whether the pressure switch is on.
+     */
+    public void update( boolean compressorOn, boolean valveOpen, boolean needsAir )
+    {
+        //The compressor adds air at a steady rate.
+        if( compressorOn )
+        {
+            _pressure += _FILL_RATE * _dt;
+            _compressorTime += _dt;
+        }
+
+        //The valve lets out air faster the more pressure there is.
+        if( valveOpen )
+        {
+            _pressure -= _DRAIN_RATE * ( _pressure / _SWITCH_OFF_PRESSURE ) * _dt;
+            _valveTime += _dt;
+        }
+
+        //When the switch changes, the tank has just crossed one of its set points. A shot can take it well past the lower one within a loop.
+        if( needsAir && !_lastSwitch )
+        {
+            _pressure = Math.min( _pressure, _SWITCH_ON_PRESSURE );
+        }
+        else if( !needsAir && _lastSwitch )
+        {
+            _pressure = _SWITCH_OFF_PRESSURE;
+        }
+        _lastSwitch = needsAir;
+
+        //Keeps the estimate inside what the switch says. While it is on, the tank has not filled since it went under the lower set point.
+        if( needsAir )
+        {
+            _pressure = Math.max( Math.min( _pressure, _SWITCH_OFF_PRESSURE ), 0.0 );
+        }
+        else
+        {
+            _pressure = Math.min( Math.max( _pressure, _SWITCH_ON_PRESSURE ), _RELIEF_PRESSURE );
+        }
+    }
+
+    /**
+     * Gets the estimated pressure in the tank.
+     *
+     * @return The pressure in psi.
+     */
+    public double getPressure()
+    {
+        return _pressure;
+    }
+
+    /**
+     * Returns whether there is enough air for a shot to clear the robot.
+     *
+     * @return Whether the pressure is at least the least shot pressure.
+     */
+    public boolean hasAirForShot()
+    {
+        return _pressure >= _MIN_SHOT_PRESSURE;
+    }
+
+    /**
+     * Finds how many shots of the given length the tank has left without the compressor.
+     * Each shot leaves the same fraction of the pressure, so this is how many
+     * times that fraction can be taken before the pressure is too low to shoot.
+     *
+     * @param openTime The time in seconds that the valve is open for each shot.
+     *
+     * @return The number of shots left.
+     */
+    public int getShotsRemaining( double openTime )
+    {
+        //There are no shots if the tank is already too low.
+        if( _pressure < _MIN_SHOT_PRESSURE )
+        {
+            return 0;
+        }
+        else if( openTime <= 0.0 )
+        {
+            return Integer.MAX_VALUE;
+        }
+
+        //Each shot drops the log of the pressure by the same amount, and the first shot only needs enough pressure to start.
+        double perShot = _DRAIN_RATE / _SWITCH_OFF_PRESSURE * openTime;
+        return (int) ( MathUtils.log( _pressure / _MIN_SHOT_PRESSURE ) / perShot ) + 1;
+    }
+
+    /**
+     * Finds how long the compressor needs to run to get back to a pressure.
+     *
+     * @param pressure The pressure to get to, in psi.
+     *
+     * @return The time in seconds, which is zero if the tank is already there.
+     */
+    public double getRechargeTime( double pressure )
+    {
+        return Math.max( pressure - _pressure, 0.0 ) / _FILL_RATE;
+    }
+
+    /**
+     * Gets the total time the compressor has run.
+     *
+     * @return The time in seconds.
+     */
+    public double getCompressorTime()
+    {
+        return _compressorTime;
+    }
+
+    /**
+     * Gets the total time the shooter valve has been open.
+     *
+     * @return The time in seconds.
+     */
+    public double getValveTime()
+    {
+        return _valveTime;
+    }
+}
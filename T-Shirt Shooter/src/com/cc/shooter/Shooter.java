@@ -6,27 +6,26 @@
 
 package com.cc.shooter;
 
-import edu.wpi.first.wpilibj.Talon;
-import edu.wpi.first.wpilibj.Timer;
+import com.cc.hal.Hardware;
+import com.cc.hal.MotorOutput;
+import com.cc.outputs.frame.OutputFrame;
 
 /**
- *The shooter Class that shoots a TShirt
+ *The shooter Class that opens and closes the valve that shoots a TShirt. The
+ * timing of each shot is done by FireControl
  * @author Ursa
  */
 public class Shooter
 {
    
     //The talon that conrtols the shooting
-      private Talon _shooter;
+      private MotorOutput _shooter;
       
       //The shooter on the robot
       private static Shooter _instance;
       
-      //Whether or not we are firing
-      private boolean firing = false;
-      
-      //The Timer that controls when to fire
-      private Timer _timer;
+      //Whether or not the valve is open
+      private boolean _open = false;
       
       /**
        * Private constructor for singleton that creates a new talon for the shooter
@@ -35,7 +34,7 @@ public class Shooter
       private Shooter( int talonLocation )
       {
           //Creates a new talon that will control the shooter at the specified port
-          _shooter = new Talon( talonLocation );
+          _shooter = OutputFrame.getInstance().motor( Hardware.getInstance().getTalon( talonLocation ) );
       }
       
       /**
@@ -52,26 +51,32 @@ public class Shooter
           return _instance;
       }
       /**
-       * Shoots the tShirt
-       * @param delay The time that the valve is open for the shot to occur
+       * Opens the valve to start a shot. The valve stays open until closeValve is called
        */
-      public void shoot( double delay )
+      public void openValve( )
       {
-          //Checks to see if we are already firing, if so, don't fire
-          if( !firing && ( _timer == null || _timer.get( ) > 0.5 ) )
-          {
-            //Creates a timer to make sure we aren't firing to quickly
-            _timer = new Timer( );
-            _timer.reset( );
-            _timer.start( );
-            
-            //Starts the firing process and fires using the delay provided
-            firing = true;
-            _shooter.set( 1.0 );
-            Timer.delay( delay );
-            _shooter.set( 0.0 );
-            firing = false;
-          }
+          //Opens the valve
+          _shooter.set( 1.0 );
+          _open = true;
+      }
+      
+      /**
+       * Closes the valve to end a shot
+       */
+      public void closeValve( )
+      {
+          //Closes the valve
+          _shooter.set( 0.0 );
+          _open = false;
+      }
+      
+      /**
+       * Returns whether the valve is open
+       * @return Whether the valve is open
+       */
+      public boolean isOpen( )
+      {
+          return _open;
       }
       
 }
@@ -6,11 +6,21 @@
 
 package com.cc.shooter;
 
-import edu.wpi.first.wpilibj.Compressor;
-import edu.wpi.first.wpilibj.Relay;
+import com.cc.hal.DigitalSwitch;
+import com.cc.hal.Hardware;
+import com.cc.hal.RelayOutput;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.outputs.frame.OutputFrame;
+import com.cc.systems.Chassis;
+import com.cc.systems.PowerBudget;
+import com.cc.utility.PublishCounter;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
 /**
- *The Compressor class
+ *The Compressor class. Keeps an estimate of the tank pressure, and holds the
+ * compressor off for a moment while the robot is speeding up or the battery is
+ * low so the compressor never adds to the peak current of the drive
  * @author Ursa
  */
 public class ShooterCompressor
@@ -19,19 +29,66 @@ public class ShooterCompressor
     //The Compressor Instance
     private static ShooterCompressor _instance = null;
     
-    //The FRC Compressor represented by this class
-     private Compressor _compressor;
+    //The pressure switch, which is on while the tank needs air
+    private DigitalSwitch _pressureSwitch;
+    
+    //The spike relay that powers the compressor
+    private RelayOutput _relay;
     
     //Whether the compressor is running or not
     private boolean _isRunning = false;
     
+    //The time in seconds between each loop of the robot
+    private final double _DT = 0.02;
+    
+    //The acceleration that counts as the drive drawing a lot of current, in inches per second squared
+    private final double _BUSY_ACCELERATION = 60.0;
+    
+    //How long the drive has to be calm before the compressor is let back on, in seconds
+    private final double _QUIET_TIME = 0.2;
+    
+    //The longest the compressor is held off in one go, in seconds
+    private final double _MAX_HOLD_OFF = 2.0;
+    
+    //Below this pressure the compressor is never held off, in psi
+    private final double _RESERVE_PRESSURE = 70.0;
+    
+    //The estimate of the tank
+    private PneumaticModel _model;
+    
+    //The chassis, for how hard the robot is speeding up, and the shooter, for whether the valve is open
+    private Chassis _chassis;
+    private Shooter _shooter;
+    
+    //The power budget, for whether the battery has power to spare
+    private PowerBudget _power;
+    
+    //How long the drive has been calm, and how long the compressor has been held off
+    private double _quietTime = 0.0;
+    private double _holdOffTime = 0.0;
+    
+    //The number of loops between putting a value on the SmartDashboard, and the number of values
+    private static final int _PUBLISH_LOOPS = 2;
+    private static final int _VALUES = 5;
+    
+    //Takes turns putting the values on the SmartDashboard
+    private PublishCounter _publisher = new PublishCounter( _PUBLISH_LOOPS, _VALUES );
+    
     /**
      * Constructs a new Compressor with specified pressureSwitchChannel and relayChannel
      */
     private ShooterCompressor( int pressureSwitchChannel, int relayChannel )
     {
-        _compressor = new Compressor( pressureSwitchChannel, relayChannel );  
-        _compressor.start();
+        //Gets the pressure switch and the relay. The compressor is only switched by runCompressor
+        _pressureSwitch = InputFrame.getInstance().digital( Hardware.getInstance().getDigitalInput( pressureSwitchChannel ) );
+        _relay = OutputFrame.getInstance().relay( Hardware.getInstance().getRelay( relayChannel ) );
+        _relay.set( false );
+        
+        //Gets what the tank estimate is worked out from and starts it from the pressure switch
+        _chassis = Chassis.getInstance();
+        _shooter = Shooter.getInstance();
+        _power = PowerBudget.getInstance();
+        _model = new PneumaticModel( _DT, _pressureSwitch.get() );
     }
     
     /**
@@ -49,22 +106,103 @@ public class ShooterCompressor
     }
     
     /**
-     * Runs the Compressor
+     * Runs the Compressor. Should be called once every loop
      */
     public void runCompressor( )
     {
+        //Moves the tank estimate forward with what the compressor and the valve did since the last loop
+        boolean needsAir = _pressureSwitch.get();
+        _model.update( _isRunning, _shooter.isOpen(), needsAir );
+        
+        //Keeps track of how long the drive has been calm and the battery has had power to spare
+        if( _chassis.getAcceleration() > _BUSY_ACCELERATION || !_power.hasSparePower() )
+        {
+            _quietTime = 0.0;
+        }
+        else
+        {
+            _quietTime += _DT;
+        }
+        boolean driveBusy = _quietTime < _QUIET_TIME;
+        
+        //Holds the compressor off while the drive is busy or the battery is low, unless the tank is low or it has been held off too long already
+        boolean shouldRun = needsAir;
+        if( !driveBusy )
+        {
+            _holdOffTime = 0.0;
+        }
+        else if( needsAir && _model.getPressure() > _RESERVE_PRESSURE && _holdOffTime < _MAX_HOLD_OFF )
+        {
+            shouldRun = false;
+            _holdOffTime += _DT;
+        }
+        
         //If the Compressor is running and it shouldn't be, turn it off
-       if( !_compressor.getPressureSwitchValue() && _isRunning )
+        if( !shouldRun && _isRunning )
         {
-            _compressor.setRelayValue( Relay.Value.kOff );
+            _relay.set( false );
             _isRunning = false;
         }
         //Else if it should be running and it isn't, turn it on
-        else if( _compressor.getPressureSwitchValue() && !_isRunning )
+        else if( shouldRun && !_isRunning )
         {
-            _compressor.setRelayValue( Relay.Value.kForward );
+            _relay.set( true );
             _isRunning = true;
         }
     }
     
+    /**
+     * Returns whether the compressor is running
+     * @return Whether the compressor is running
+     */
+    public boolean isRunning( )
+    {
+        return _isRunning;
+    }
+    
+    /**
+     * Gets the estimate of the tank
+     * @return The tank estimate
+     */
+    public PneumaticModel getModel( )
+    {
+        return _model;
+    }
+    
+    /**
+     * Puts the tank pressure or the shots left of one length on the SmartDashboard,
+     * taking turns every few loops so each is shown about every 0.2 seconds without
+     * the loop paying for all of them at once. Nothing is put up while the
+     * parameters are offline. Should be called once every loop
+     */
+    public void printTank( )
+    {
+        //Finds the value to put up this loop, if any
+        int value = _publisher.next();
+        if( value < 0 )
+        {
+            return;
+        }
+        
+        //Puts up the value, working out only that one
+        switch( value )
+        {
+            case 0:
+                SmartDashboard.putNumber( " Tank Pressure: ", _model.getPressure() );
+                break;
+            case 1:
+                SmartDashboard.putNumber( " Short Shots Left: ", _model.getShotsRemaining( FireControl.SHORT_SHOT ) );
+                break;
+            case 2:
+                SmartDashboard.putNumber( " Medium Shots Left: ", _model.getShotsRemaining( FireControl.MEDIUM_SHOT ) );
+                break;
+            case 3:
+                SmartDashboard.putNumber( " Long Shots Left: ", _model.getShotsRemaining( FireControl.LONG_SHOT ) );
+                break;
+            default:
+                SmartDashboard.putNumber( " Empty Tank Shots Left: ", _model.getShotsRemaining( FireControl.EMPTY_TANK_SHOT ) );
+                break;
+        }
+    }
+    
 }
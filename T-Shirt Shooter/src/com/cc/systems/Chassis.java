@@ -1,16 +1,23 @@
 package com.cc.systems;
 
+import com.cc.config.Parameters;
+import com.cc.hal.AngleSensor;
+import com.cc.hal.DistanceSensor;
+import com.cc.hal.Hardware;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.inputs.sensors.CCAccelerometer;
+import com.cc.inputs.sensors.HeadingTracker;
+import com.cc.inputs.sensors.Sonar;
+import com.cc.inputs.sensors.StateEstimator;
 import com.cc.outputs.motors.CCTalon;
+import com.cc.utility.MecanumKinematics;
+import com.cc.utility.TrigTable;
 import com.cc.utility.Utility;
 
-import edu.wpi.first.wpilibj.Encoder;
-import edu.wpi.first.wpilibj.Gyro;
-import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-
 /**
  * This class represents the chassis of the robot and is responsible for moving
- * the robot.
+ * the robot. It also keeps track of where the robot is on the field, from the
+ * heading and from how fast the robot is moving forward and sideways.
  */
 public class Chassis 
 {
@@ -24,10 +31,53 @@ public class Chassis
     private CCTalon _rightRear;
     
     //The gyro which gives the angle of the robot.
-    private Gyro _gyro;
+    private AngleSensor _gyro;
+    
+    //Keeps track of the heading from the gyro once per loop.
+    private HeadingTracker _heading;
     
     //The encoder which determines the distance traveled by the robot.
-    private Encoder _encoder;
+    private DistanceSensor _encoder;
+    
+    //Combines the gyro, the encoder, and the accelerometer into how the robot is moving.
+    private StateEstimator _estimator;
+    
+    //The sonar on the front of the robot, which measures the distance to the wall.
+    private Sonar _sonar;
+    
+    //The time in seconds between each loop of the robot.
+    private final double _DT = 0.02;
+    
+    //Scales the drive down when the battery is low.
+    private PowerBudget _power;
+    
+    //How fast each drive motor can change per second, so a full reversal takes 0.4 seconds instead of one loop.
+    private final double _DRIVE_SLEW_RATE = 5.0;
+    
+    //Turns the drive values into wheel values and wheel speeds back into the motion of the robot.
+    private MecanumKinematics _kinematics;
+    
+    //The wheel values being driven, the wheel speeds in inches per second, and the forward, slide, and rotation speeds they add up to.
+    private double[] _wheels = new double[ MecanumKinematics.WHEELS ];
+    private double[] _wheelSpeeds = new double[ MecanumKinematics.WHEELS ];
+    private double[] _motion = new double[ 3 ];
+    
+    //The wheel values last written to the talons, after they were shaped and scaled.
+    private double[] _written = new double[ MecanumKinematics.WHEELS ];
+    
+    //The slide speed guessed from the written wheel values when the wheels have no encoders, in inches per second.
+    private double _guessedSlide = 0.0;
+    
+    //The encoder on each wheel, in the order of the kinematics, or null when the wheels have no encoders, and their ticks at the last loop.
+    private DistanceSensor[] _wheelEncoders = null;
+    private double[] _wheelTicks = new double[ MecanumKinematics.WHEELS ];
+    
+    //Where the robot is on the field in inches, with x forward from where it started.
+    private double _x = 0.0;
+    private double _y = 0.0;
+    
+    //The tunable parameters, for the rotation priority, the top speed, and the wheel speed loop.
+    private Parameters _parameters;
     
     private Chassis()
     {
@@ -37,13 +87,34 @@ public class Chassis
         _leftRear = new CCTalon( 2, false );
         _rightRear = new CCTalon( 4, true );
         
+        //Limits how fast the drive motors change, which keeps the wheels from slipping and the current from spiking.
+        _leftFront.setSlewRate( _DRIVE_SLEW_RATE );
+        _rightFront.setSlewRate( _DRIVE_SLEW_RATE );
+        _leftRear.setSlewRate( _DRIVE_SLEW_RATE );
+        _rightRear.setSlewRate( _DRIVE_SLEW_RATE );
+        
         //Initializes the gyro of the robot.
-        _gyro = new Gyro( 2 );
+        _gyro = InputFrame.getInstance().angle( Hardware.getInstance().getGyro( 2 ) );
         _gyro.reset();
+        _heading = new HeadingTracker( _gyro );
         
         //Initializes the encoder of the robot.
-        _encoder = new Encoder( 1, 2 );
+        _encoder = InputFrame.getInstance().distance( Hardware.getInstance().getEncoder( 1, 2 ) );
         _encoder.reset();
+        
+        //Keeps the encoder running all the time so the robot's speed is always known.
+        _encoder.start();
+        _estimator = new StateEstimator( _heading, _encoder, new CCAccelerometer(), _DT );
+        
+        //Initializes the sonar, tracked with an alpha-beta filter since the distance changes steadily while driving.
+        _sonar = new Sonar( 3, Sonar.FILTER_ALPHA_BETA, _DT );
+        
+        //Gets the power budget.
+        _power = PowerBudget.getInstance();
+        
+        //Creates the kinematics and gets the parameters.
+        _kinematics = new MecanumKinematics();
+        _parameters = Parameters.getInstance();
     }
     
     /**
@@ -74,46 +145,29 @@ public class Chassis
      */
     public void holoDrive( double fwd, double sld, double rot )
     {
-        //Calcuates the vector for each motor given the forward, slide, and rotation values.
-        double lf = fwd + sld + rot;
-        double rf = fwd - sld - rot;
-        double lr = fwd - sld + rot;
-        double rr = fwd + sld - rot;
+        //Calcuates the value for each motor, keeping the rotation as much as the rotation priority asks when a wheel would be too fast.
+        _kinematics.setRotationPriority( _parameters.get( Parameters.ROTATION_PRIORITY ) );
+        _kinematics.inverse( fwd, sld, rot, _wheels );
         
-        //Makes the max value equal to the left motor.
-        double maxVal = Math.abs( lf );
-        
-        //If any motor value is greater than the max value, make the max value equal to that motor value.
-        if ( Math.abs( rf ) > maxVal )
-        {
-            maxVal = Math.abs( rf );
-        }
-        
-        if ( Math.abs( lr ) > maxVal )
-        {
-            maxVal = Math.abs( lr );
-        }
-        
-        if ( Math.abs( rr ) > maxVal )
+        //If the wheels have encoders, corrects each wheel towards the speed it should be going.
+        double kP = _parameters.get( Parameters.WHEEL_P_CONSTANT );
+        if( _wheelEncoders != null && kP != 0.0 )
         {
-            maxVal = Math.abs( rr );
+            double maxVelocity = _parameters.get( Parameters.MAX_VELOCITY );
+            for( int i = 0; i < MecanumKinematics.WHEELS; i++ )
+            {
+                _wheels[ i ] = Utility.limitRange( _wheels[ i ] + kP * ( _wheels[ i ] * maxVelocity - _wheelSpeeds[ i ] ) );
+            }
         }
         
-        //If the max value was greater than one or less than negative one...
-        if( maxVal > 1.0 )
-        {
-            //Limit that motor value and scale the other motor values appropriatly.
-            lf /= maxVal;
-            rf /= maxVal;
-            lr /= maxVal;
-            rr /= maxVal;
-        }
+        //Scales the motors down together if the battery is low, so the robot still drives the same direction.
+        double scale = _power.getDriveScale();
          
         //Set each motor to its corresponding value.
-        _leftFront.set( lf );
-        _rightFront.set( rf );
-        _leftRear.set( lr );
-        _rightRear.set( rr );
+        _leftFront.set( _wheels[ MecanumKinematics.LEFT_FRONT ] * scale );
+        _rightFront.set( _wheels[ MecanumKinematics.RIGHT_FRONT ] * scale );
+        _leftRear.set( _wheels[ MecanumKinematics.LEFT_REAR ] * scale );
+        _rightRear.set( _wheels[ MecanumKinematics.RIGHT_REAR ] * scale );
     }
     
     /**
@@ -126,37 +180,206 @@ public class Chassis
      */
     public void relativeHoloDrive( double fwd, double sld, double rot )
     {
+        //Uses the heading read at the start of the loop so both values are turned by the same angle.
+        double heading = getGyro();
+        double cos = TrigTable.cos( heading );
+        double sin = TrigTable.sin( heading );
+        
         //Calculates the relative forward and slide values.
-        double fwdTemp = fwd * Math.cos( getGyro() ) + sld * Math.sin( getGyro() );
-        double sldTemp = sld * Math.cos( getGyro() ) - fwd * Math.sin( getGyro() );
+        double fwdTemp = fwd * cos + sld * sin;
+        double sldTemp = sld * cos - fwd * sin;
         
         //Inputs the calculated values into the normal holoDrive function.
         holoDrive( fwdTemp, sldTemp, rot );     
     }
         
     /**
-     * Returns the angle of the gyro in radians on the chassis.
-     * 
-     * @return The angle of the gyro in radians.
+     * Reads the sensors of the chassis for this loop. Should be called once at
+     * the start of every loop, before anything drives the chassis.
      */
-    public double getGyro()
+    public void updateSensors()
     {
-        //Gets the raw angle from the gyro
-        double gyroValue = _gyro.getAngle();
+        //Reads the gyro once for the whole loop, then the rest of the sensors.
+        _heading.update();
+        _estimator.update();
+        _sonar.update();
         
-        //If the angle is greater than 360 or less than -360...
-        if ( Math.abs( gyroValue ) >= 360)
+        //Works out the forward and slide speeds and moves the robot on the field by them.
+        updateOdometry();
+    }
+    
+    /**
+     * Finds how fast the robot is moving forward and sideways and moves its
+     * position on the field. With wheel encoders both come from the wheels.
+     * Without them the forward speed comes from the estimator and the slide
+     * speed is only a guess from the wheel values written to the talons, since
+     * the one drive encoder cannot see sliding.
+     */
+    private void updateOdometry()
+    {
+        double ticksPerInch = _parameters.get( Parameters.ENCODER_TICKS );
+        double fwd;
+        double sld;
+        
+        if( _wheelEncoders != null && ticksPerInch != 0.0 )
+        {
+            //Finds the speed of each wheel from its change in ticks and adds them up into the motion of the robot.
+            for( int i = 0; i < MecanumKinematics.WHEELS; i++ )
+            {
+                double ticks = _wheelEncoders[ i ].get();
+                _wheelSpeeds[ i ] = ( ticks - _wheelTicks[ i ] ) / _DT / ticksPerInch;
+                _wheelTicks[ i ] = ticks;
+            }
+            MecanumKinematics.forward( _wheelSpeeds, _motion );
+            fwd = _motion[ 0 ];
+            sld = _motion[ 1 ];
+        }
+        else
         {
-            //Reset the gyro to zero degrees.
-            _gyro.reset();
-            gyroValue = _gyro.getAngle();
+            //Guesses the slide from the wheel values written last loop at the top speed, which are zero once the chassis
+            //is stopped. The chassis takes the drive lag to get most of the way to a new speed, so the guess does too.
+            for( int i = 0; i < MecanumKinematics.WHEELS; i++ )
+            {
+                _written[ i ] = getWheel( i );
+            }
+            MecanumKinematics.forward( _written, _motion );
+            double lag = _parameters.get( Parameters.DRIVE_LAG );
+            double target = _motion[ 1 ] * _parameters.get( Parameters.MAX_VELOCITY );
+            _guessedSlide += ( target - _guessedSlide ) * ( lag > _DT ? _DT / lag : 1.0 );
+            fwd = _estimator.getVelocity();
+            sld = _guessedSlide;
         }
         
-        //Converts the angle of the gyro from degrees to radians.
-        gyroValue = Math.toRadians( gyroValue );
+        //Turns the motion onto the field by the heading and moves the robot by one loop of it.
+        double heading = getGyro();
+        double cos = TrigTable.cos( heading );
+        double sin = TrigTable.sin( heading );
+        _x += ( fwd * cos - sld * sin ) * _DT;
+        _y += ( fwd * sin + sld * cos ) * _DT;
+    }
+    
+    /**
+     * Gives the chassis an encoder on each wheel, which turns on the wheel speed
+     * loop and lets the position on the field come from the wheels. Each encoder
+     * must be running and have the same ticks per inch as the drive encoder, in
+     * the direction its wheel is driven.
+     * 
+     * @param encoders The encoders on the left front, right front, left rear, and right rear wheels.
+     */
+    public void setWheelEncoders( DistanceSensor[] encoders )
+    {
+        _wheelEncoders = new DistanceSensor[ MecanumKinematics.WHEELS ];
         
-        //Returns the gyro angle.
-        return gyroValue;
+        //Reads each encoder through the input frame and starts counting from where it is now.
+        for( int i = 0; i < MecanumKinematics.WHEELS; i++ )
+        {
+            _wheelEncoders[ i ] = InputFrame.getInstance().distance( encoders[ i ] );
+            _wheelTicks[ i ] = _wheelEncoders[ i ].get();
+        }
+    }
+    
+    /**
+     * Gets how far forward the robot is on the field from where it started.
+     * 
+     * @return The x position in inches.
+     */
+    public double getX()
+    {
+        return _x;
+    }
+    
+    /**
+     * Gets how far to the side the robot is on the field from where it started.
+     * 
+     * @return The y position in inches.
+     */
+    public double getY()
+    {
+        return _y;
+    }
+    
+    /**
+     * Sets where the robot is on the field.
+     * 
+     * @param x The x position in inches.
+     * @param y The y position in inches.
+     */
+    public void setPosition( double x, double y )
+    {
+        _x = x;
+        _y = y;
+    }
+    
+    /**
+     * Returns the heading of the robot from the start of this loop.
+     * 
+     * @return The heading in radians, from -pi up to pi.
+     */
+    public double getGyro()
+    {
+        //Returns the heading the tracker read this loop.
+        return _heading.getHeading();
+    }
+    
+    /**
+     * Returns the angle the robot has turned since the gyro was reset, without
+     * wrapping around at a full turn.
+     * 
+     * @return The angle in degrees.
+     */
+    public double getHeadingAngle()
+    {
+        return _heading.getAngle();
+    }
+    
+    /**
+     * Returns how fast the robot is turning.
+     * 
+     * @return The turn rate in degrees per second.
+     */
+    public double getTurnRate()
+    {
+        return _estimator.getHeadingRate();
+    }
+    
+    /**
+     * Returns how fast the robot is moving forward.
+     * 
+     * @return The forward velocity in inches per second.
+     */
+    public double getVelocity()
+    {
+        return _estimator.getVelocity();
+    }
+    
+    /**
+     * Gets how hard the robot is speeding up or slowing down across the floor.
+     * 
+     * @return The acceleration in inches per second squared.
+     */
+    public double getAcceleration()
+    {
+        return _estimator.getAcceleration();
+    }
+    
+    /**
+     * Returns whether the drive wheels are slipping.
+     * 
+     * @return Whether the wheels are slipping.
+     */
+    public boolean isSlipping()
+    {
+        return _estimator.isSlipping();
+    }
+    
+    /**
+     * Returns the sonar on the front of the robot.
+     * 
+     * @return The sonar, updated this loop.
+     */
+    public Sonar getSonar()
+    {
+        return _sonar;
     }
     
     /**
@@ -164,8 +387,10 @@ public class Chassis
      */
     public void resetGyro()
     {
-        //Resets the gyro on the robot to 0 degrees.
+        //Resets the gyro on the robot to 0 degrees and starts the heading from there, without the estimator seeing the jump as turning.
         _gyro.reset();
+        _heading.reset();
+        _estimator.syncHeading();
     }
     
     /**
@@ -203,138 +428,32 @@ public class Chassis
      */
     public void resetEncoder()
     {
-        //Resets the encoder.
+        //Resets the encoder without the estimator seeing the jump as movement.
         _encoder.reset();
+        _estimator.syncEncoder();
     }
     
     /**
-     * Moves the robot a given distance at a given speed autonomously.
+     * Gets the value a wheel was last set to, after it was shaped and scaled.
      * 
-     * @param distance The distance in inches for the robot to travel.
-     * @param speed The speed the robot will travel.
-     */
-    public void move( double distance , double speed )
-    {
-        //Finds the amount of ticks the robot encoder needs to read before the robot stops.
-        distance *= SmartDashboard.getNumber( " Encoder Ticks: " );
-        
-        //Starts the encoder reading.
-        _encoder.start();
-        
-        //Tells the robot to move forward at the given speed.
-        holoDrive( speed, 0.0, 0.0 );
-        
-        //While the encoder reading is less than the calculated distance...
-        while( _encoder.get() > distance )
-        {    
-            //Waits until the encoder reads the appropriate distance.
-        }
-        
-        //After the robot has moved the appropriate distance, stop the robot.
-        stop();
-        
-        //Finally, stop and reset the encoder reading.
-        _encoder.stop();
-        _encoder.reset();
-    }
-    
-    /**
-     * Turns the robot at a given angle.
-     * 
-     * @param angle The angle that the robot will turn in degrees.
-     */
-    public void turn( double angle, double speed )
-    {
-        //The flag which represents if the turn is done.
-        boolean done = false;
-        
-        //Finds the angle that the robot needs to turn to.
-        angle += Math.toDegrees( getGyro() );
-        
-        //Gets the three constants for the PID loop from the Smart Dashboard.
-        final double KP = SmartDashboard.getNumber( " P-Constant: " );
-        final double KI = SmartDashboard.getNumber( " I-Constant: " );
-        final double KD = SmartDashboard.getNumber( " D-Constant: " );
-        
-        //The error, the previous error, the sum of all errors, and the sum's limit that are used in the PID loop.
-        double error = 0.0;
-        double preError = 0.0;
-        double errorSum = 0.0;
-        final double sumLimit = 20.0;
-        
-        //The variables which represents the separate parts to the PID loop.
-        double p = 0.0;
-        double i = 0.0;
-        double d = 0.0;
-        
-        //The sum of the p, i, and d parts which is inputed into the motors.
-        double output = 0.0;
-        
-        //Create and start a timer for the time limit.
-        Timer timer = new Timer();
-        timer.start();
-        
-        //While the turn is not done...
-        while( !done )
-        {
-            //Sets the previous error to the error of the last interation of the loop.
-            preError = error;
-            
-            //Finds the current error between the given angle and the current angle of the robot.
-            error = ( angle - Math.toDegrees( getGyro() ) ) / 100;
-            error = Utility.limitRange( error );
-            
-            //Adds the new error to the error sum of the robot.
-            errorSum += error;
-            errorSum = Utility.limitRange( errorSum, sumLimit, -sumLimit );
-            
-            //Calculates the p, i, and d parts of the PID loop.
-            p = error * KP;
-            i = errorSum * KI;
-            d = ( preError - error ) * KD;
-            
-            //Adds the p, i, and d parts of the loop together, limits it between 1 and -1, then gives it to output.
-            output = Utility.limitRange( p + i + d, speed, -speed );
-            
-            //Turns the robot based on the output of the PID loop.
-            holoDrive( 0, 0, output );
-            
-            //If the error is below 5 percent or if it has been over 4 seconds, then end the loop.
-            if( Math.abs( error ) < 0.01 || timer.get() > 4.0 )
-            {
-                //Raise the flag to end the loop.
-                done = true;       
-            }
-        }
-        
-        //Stop the motors.
-        stop();
-    }
-        
-    /**
-     * Line the Robot up with the wall.
+     * @param wheel The index of the wheel from MecanumKinematics.
      * 
-     * @param speed The speed at which to square the robot.
+     * @return The value of the wheel.
      */
-    public void square( double speed )
+    public double getWheel( int wheel )
     {
-        //Finds the original angle of the robot (which is the negative of the angle needed to turn).
-        double angle = Math.toDegrees( getGyro() );
-        
-        //If the angle is above 180...
-        if( angle >= 180 )
-        {
-            //Then change the angle to turn to turn more efficently.
-            angle = -( 360 - angle );
-        }
-        else if ( angle <= -180 )//Else if the angle is below -180...
+        //Finds the talon of the wheel.
+        switch( wheel )
         {
-            //Then change the angle to turn to turn more efficently.
-            angle += 360;     
+            case MecanumKinematics.LEFT_FRONT:
+                return _leftFront.get();
+            case MecanumKinematics.RIGHT_FRONT:
+                return _rightFront.get();
+            case MecanumKinematics.LEFT_REAR:
+                return _leftRear.get();
+            default:
+                return _rightRear.get();
         }
-        
-        //Turn the angle found to square the robot back to 0 degrees.
-        turn( -angle , speed ); 
     }
     
     /**
@@ -347,5 +466,11 @@ public class Chassis
         _leftRear.stopMotor();
         _rightFront.stopMotor();
         _rightRear.stopMotor();    
+        
+        //Forgets the wheel values that were being driven.
+        for( int i = 0; i < MecanumKinematics.WHEELS; i++ )
+        {
+            _wheels[ i ] = 0.0;
+        }
     }
 }
\ No newline at end of file
@@ -2,17 +2,28 @@ package com.cc.systems;
 
 import com.cc.arm.Shooter;
 import com.cc.arm.ArmSet;
+import com.cc.commands.CommandScheduler;
+import com.cc.config.Parameters;
+import com.cc.hal.AngleSensor;
+import com.cc.hal.Hardware;
+import com.cc.hal.RelayOutput;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.outputs.frame.OutputFrame;
 import com.cc.outputs.motors.CCTalon;
 import com.cc.outputs.motors.CCVictor;
+import com.cc.utility.LowPassFilter;
+import com.cc.utility.MedianFilter;
+import com.cc.utility.PIDController;
+import com.cc.utility.RateLimiter;
+import com.cc.utility.Utility;
 import com.cc.arm.*;
 
-import edu.wpi.first.wpilibj.AnalogChannel;
-import edu.wpi.first.wpilibj.Relay;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
 /**
  * This class represents the Mechanism on the robot and is responsible for
- * operating the shooter and the pick-up mechanism of the robot.
+ * operating the shooter and the pick-up mechanism of the robot. The arm can be
+ * driven by hand or held at a position by a PID loop on the filtered
+ * potentiometer reading, which is stepped by runArm() every loop.
  */
 public class Mechanism 
 {
@@ -28,17 +39,45 @@ public class Mechanism
     private CCVictor _intakeTwo;
     
     //The spike that controls the light of the camera.
-    private Relay _cameraLight;
+    private RelayOutput _cameraLight;
 
-    //The actual shooter mechanism and the thread which cocks the shooter.
+    //The actual shooter mechanism and the commands which shoot and cock the shooter.
     private Shooter _shooter;
     private ShooterReset _shooterReset;
+    private CockShooter _cockShooter;
     
-    //The thread that sets the state of the arm.
+    //The command that sets the state of the arm.
     private ArmSet _armSet;
     
+    //The scheduler which runs the commands of the mechanism.
+    private CommandScheduler _scheduler;
+    
     //The potentiometer object of the mechanism. 
-    private AnalogChannel _potent;
+    private AngleSensor _potent;
+    
+    //The tunable parameters used by the mechanism.
+    private Parameters _parameters;
+    
+    //The time in seconds between each loop of the robot.
+    private final double _DT = 0.02;
+    
+    //How close the arm has to get to its position, and for how long, before it is there.
+    private final double _ARM_TOLERANCE = 5.0;
+    private final double _ARM_SETTLE_TIME = 0.1;
+    
+    //The filters which clean up the potentiometer reading, first a median and then a low pass.
+    private MedianFilter _potentMedian;
+    private LowPassFilter _potentLowPass;
+    
+    //The PID loop which holds the arm at its position.
+    private PIDController _armPID;
+    
+    //Whether the arm is being held at a position by the PID loop.
+    private boolean _holdingArm = false;
+    
+    //Shares the battery, and limits how fast the pivot output can grow so it does not pull the battery down.
+    private PowerBudget _power;
+    private RateLimiter _pivotLimiter;
 
     private Mechanism() 
     {
@@ -51,14 +90,32 @@ public class Mechanism
         _intakeTwo = new CCVictor( 7, false );
         
         //Initializes the spike for the camera.
-        _cameraLight = new Relay( 2 );
-        _cameraLight.setDirection( Relay.Direction.kBoth );
+        _cameraLight = OutputFrame.getInstance().relay( Hardware.getInstance().getRelay( 2 ) );
         
         //Gets singleton of the shooter obejct.
         _shooter = Shooter.getInstance();
         
         //Initializes the potentiometer on channel 1.
-        _potent = new AnalogChannel( 1 );
+        _potent = InputFrame.getInstance().angle( Hardware.getInstance().getPotentiometer( 1 ) );
+        
+        //Gets the singleton of the parameters.
+        _parameters = Parameters.getInstance();
+        
+        //Creates the filters for the potentiometer and the PID loop for the arm.
+        _potentMedian = new MedianFilter( 5 );
+        _potentLowPass = new LowPassFilter( 0.5 );
+        _armPID = new PIDController( _DT );
+        _armPID.setTolerance( _ARM_TOLERANCE, _ARM_SETTLE_TIME );
+        
+        //Gets the power budget, which sets how fast the pivot output can grow.
+        _power = PowerBudget.getInstance();
+        _pivotLimiter = new RateLimiter( _power.getArmRate(), _DT );
+        
+        //Creates the commands of the mechanism once, so they are reused every time.
+        _scheduler = CommandScheduler.getInstance();
+        _shooterReset = new ShooterReset( _shooter, this );
+        _cockShooter = new CockShooter( _shooter, this );
+        _armSet = new ArmSet( this );
     }
 
     /**
@@ -84,19 +141,25 @@ public class Mechanism
      */
     public void shoot() 
     {
-        //If the thread has not been created...
-        if( _shooterReset == null )
+        //If we are not already shooting...
+        if( !isShooting() ) 
         {
-            //Create a new thread.
-            _shooterReset = new ShooterReset( _shooter, SmartDashboard.getNumber(  " Arm Shooting Delay: " ) );
+            //Set the delay and then run the command.
+            _shooterReset.setDelay( _parameters.get( Parameters.ARM_SHOOTING_DELAY ) );
+            _scheduler.schedule( _shooterReset );
         }
-        
-        //If we are not already shooting...
-        if( !_shooterReset.isAlive() ) 
+    }
+    
+    /**
+     * Runs the shooter and the intake until the shooter is cocked.
+     */
+    public void cock()
+    {
+        //If we are not already shooting or cocking...
+        if( !isShooting() && !_scheduler.isScheduled( _cockShooter ) )
         {
-            //Create a new thread and then run that thread.
-            _shooterReset = new ShooterReset( _shooter, SmartDashboard.getNumber( " Arm Shooting Delay: " ) );
-            _shooterReset.start();
+            //Run the command.
+            _scheduler.schedule( _cockShooter );
         }
     }
     
@@ -105,9 +168,9 @@ public class Mechanism
      */
     public void intake()
     {
-        //Sets both motors to full forward to intake the ball.
-        _intakeOne.set( 1.0 );
-        _intakeTwo.set( 1.0 );       
+        //Sets both motors to full forward to intake the ball, or less if the battery is low.
+        _intakeOne.set( _power.getIntakeScale() );
+        _intakeTwo.set( _power.getIntakeScale() );       
     }
     
     /**
@@ -115,9 +178,9 @@ public class Mechanism
      */
     public void eject()
     {
-        //Set both motors to full reverse to eject the ball.
-        _intakeOne.set( -1.0 );
-        _intakeTwo.set( -1.0 );      
+        //Set both motors to full reverse to eject the ball, or less if the battery is low.
+        _intakeOne.set( -_power.getIntakeScale() );
+        _intakeTwo.set( -_power.getIntakeScale() );      
     }
     
     /**
@@ -137,8 +200,11 @@ public class Mechanism
      */
     public void lowerArm( double speed )
     {
+        //Stops holding the arm at a position.
+        _holdingArm = false;
+        
         //Raises the arm at the given speed.
-        _pivot.set( speed );
+        setPivot( speed );
     }
     
     /**
@@ -148,8 +214,11 @@ public class Mechanism
      */
     public void raiseArm( double speed )
     {
+        //Stops holding the arm at a position.
+        _holdingArm = false;
+        
         //Lowers the arm at the given speed.
-        _pivot.set( -speed );
+        setPivot( -speed );
     }
     
     /**
@@ -157,7 +226,108 @@ public class Mechanism
      */
     public void stopArm()
     {
-        _pivot.set( 0.0 );
+        //Stops holding the arm at a position.
+        _holdingArm = false;
+        
+        setPivot( 0.0 );
+    }
+    
+    /**
+     * Starts holding the arm at the given potentiometer position.
+     * 
+     * @param position The potentiometer value to hold the arm at.
+     */
+    public void setArmPosition( double position )
+    {
+        //Keeps the position between the arm extremes.
+        position = Utility.limitRange( position, _parameters.get( Parameters.ARM_MINIMUM_EXTREME ), _parameters.get( Parameters.ARM_MAXIMUM_EXTREME ) );
+        
+        //If the arm was not already being held, start the PID loop fresh.
+        if( !_holdingArm )
+        {
+            _armPID.reset();
+        }
+        
+        _armPID.setSetpoint( position );
+        _holdingArm = true;
+    }
+    
+    /**
+     * Stops holding the arm and stops it where it is.
+     */
+    public void releaseArm()
+    {
+        //Stops the arm, which also stops holding it.
+        stopArm();
+    }
+    
+    /**
+     * Returns whether the arm is being held at a position.
+     * 
+     * @return Whether the arm is being held at a position.
+     */
+    public boolean isHoldingArm()
+    {
+        return _holdingArm;
+    }
+    
+    /**
+     * Returns whether the arm has settled at the position it is being held at.
+     * 
+     * @return Whether the arm is at its position.
+     */
+    public boolean isArmOnTarget()
+    {
+        //The arm is only on target if it is being held and the PID loop has settled.
+        boolean onTarget = _holdingArm && _armPID.onTarget();
+        return onTarget;
+    }
+    
+    /**
+     * Filters the potentiometer and, if the arm is being held at a position,
+     * steps the PID loop which holds it there. Should be called once every loop.
+     */
+    public void runArm()
+    {
+        //Filters the potentiometer reading every loop so the filters stay current.
+        double position = _potentLowPass.calculate( _potentMedian.calculate( getPotent() ) );
+        
+        //If the arm is not being held, there is nothing else to do.
+        if( !_holdingArm )
+        {
+            return;
+        }
+        
+        //Gets the arm PID constants from the Smart Dashboard and limits the output to the arm speeds.
+        _armPID.setGains( _parameters.get( Parameters.ARM_P_CONSTANT ), _parameters.get( Parameters.ARM_I_CONSTANT ), _parameters.get( Parameters.ARM_D_CONSTANT ) );
+        _armPID.setOutputRange( -_parameters.get( Parameters.ARM_UP_SPEED ), -_parameters.get( Parameters.ARM_DOWN_SPEED ) );
+        
+        //The potentiometer value goes up as the pivot runs backwards, so the output is reversed.
+        double output = _armPID.calculate( position );
+        setPivot( -output );
+    }
+    
+    /**
+     * Sets the pivot, letting its output grow only as fast as the power budget allows.
+     * 
+     * @param speed The value to set the pivot to.
+     */
+    private void setPivot( double speed )
+    {
+        //Gets how fast the output can grow this loop and moves towards the speed.
+        _pivotLimiter.setRate( _power.getArmRate() );
+        _pivot.set( _pivotLimiter.calculate( speed ) );
+    }
+    
+    /**
+     * Gets the filtered value of the potentiometer on the arm.
+     * 
+     * @return The filtered value of the potentiometer.
+     */
+    public double getArmPosition()
+    {
+        //Returns the last filtered value.
+        return _potentLowPass.get();
     }
     
     /**
@@ -168,20 +338,20 @@ public class Mechanism
     public boolean isShooting()
     {
         //Gets whether the mechanism is shooting and returns it.
-        boolean isAlive = _shooterReset != null && _shooterReset.isAlive();
-        return isAlive;
+        boolean isShooting = _scheduler.isScheduled( _shooterReset );
+        return isShooting;
     }
     
     /**
-     * Returns whether the mechanism is shooting.
+     * Returns whether the arm is being set.
      * 
-     * @return Whether the arm is shooting or not.
+     * @return Whether the arm is being set or not.
      */
     public boolean isSettingArm()
     {
-        //Gets whether the mechanism is shooting and returns it.
-        boolean isAlive = _armSet != null && _armSet.isAlive();
-        return isAlive;
+        //Gets whether the arm is being set and returns it.
+        boolean isSetting = _scheduler.isScheduled( _armSet );
+        return isSetting;
     }
     
     /**
@@ -192,10 +362,20 @@ public class Mechanism
     public double getPotent()
     {
         //Finds the potentiometer value and returns it.
-        double value = _potent.getValue();
+        double value = _potent.getAngle();
         return value;
     }
     
+    /**
+     * Finds the state of the limit switch on the shooter.
+     * 
+     * @return The state of the limit switch.
+     */
+    public boolean getShooterLimit()
+    {
+        return _shooter.getLimit();
+    }
+    
     /**
      * Sets the state of the arm to the given place.
      * 
@@ -203,19 +383,12 @@ public class Mechanism
      */
     public void setArm( int state )
     {
-        //If the thread has not been created...
-        if( _armSet == null )
-        {
-            //Create a new thread.
-            _armSet = new ArmSet( state );
-        }
-        
-        //If we are not already shooting...
-        if( !_armSet.isAlive() ) 
+        //If we are not already setting the arm...
+        if( !isSettingArm() ) 
         {
-            //Create a new thread and then run that thread.
-            _armSet = new ArmSet( state );
-            _armSet.start();
+            //Set the state and then run the command.
+            _armSet.setState( state );
+            _scheduler.schedule( _armSet );
         }
     }
     
@@ -225,7 +398,7 @@ public class Mechanism
     public void lightOn()
     {
         //Turns the camera light on.
-        _cameraLight.set( Relay.Value.kForward );
+        _cameraLight.set( true );
     }
     
     /**
@@ -234,6 +407,6 @@ public class Mechanism
     public void lightOff()
     {
         //Turns the camera light off.
-        _cameraLight.set( Relay.Value.kOff );
+        _cameraLight.set( false );
     }
 }
\ No newline at end of file
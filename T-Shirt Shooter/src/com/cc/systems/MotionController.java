@@ -0,0 +1,524 @@
+package com.cc.systems;
+
+import com.cc.config.Parameters;
+import com.cc.hal.Clock;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.inputs.sensors.Sonar;
+import com.cc.utility.PIDController;
+import com.cc.utility.Trajectory;
+import com.cc.utility.TrigTable;
+import com.cc.utility.Utility;
+
+/**
+ * This class moves the chassis autonomously without blocking the robot loop.
+ * A move or a turn is started once and then advanced one step every loop. Moves
+ * ramp the speed up at the start and down as the encoder gets close to the
+ * distance, and hold that speed with a velocity loop on the estimated speed of
+ * the robot. Wall moves do the same with the sonar distance instead of the
+ * encoder. Turns run a PID loop on the gyro. Trajectories look up where the
+ * robot should be for the time since they started, and drive there from the
+ * odometry of the chassis, moving and turning at once.
+ */
+public class MotionController
+{
+    //The singleton object of the motion controller.
+    private static MotionController _instance = null;
+
+    //The states of the motion controller.
+    private static final int _IDLE = 0;
+    private static final int _MOVING = 1;
+    private static final int _TURNING = 2;
+    private static final int _DONE = 3;
+    private static final int _WALL_MOVING = 4;
+    private static final int _FOLLOWING = 5;
+
+    //The time in seconds between each loop of the robot.
+    private final double _DT = 0.02;
+
+    //How much the speed can increase each loop while ramping in.
+    private final double _RAMP_IN_STEP = 0.05;
+
+    //The distance in inches before the end of a move where the robot starts slowing down.
+    private final double _RAMP_OUT_DISTANCE = 18.0;
+
+    //The slowest speed the robot will ramp down to before it reaches the distance.
+    private final double _MIN_SPEED = 0.15;
+
+    //How close in degrees a turn has to get, and for how long, before it is done.
+    private final double _TURN_TOLERANCE = 1.0;
+    private final double _TURN_SETTLE_TIME = 0.1;
+
+    //The longest a turn is allowed to take in seconds.
+    private final double _TURN_TIME_LIMIT = 4.0;
+
+    //How old in seconds the sonar distance can get before a wall move gives up.
+    private final double _WALL_STALE_LIMIT = 0.5;
+
+    //How close the robot has to be to the end of a trajectory to finish it, in inches and degrees, and how long past the end it can take to get there.
+    private final double _TRAJECTORY_TOLERANCE = 2.0;
+    private final double _TRAJECTORY_HEADING_TOLERANCE = 2.0;
+    private final double _TRAJECTORY_SETTLE_LIMIT = 0.5;
+
+    //The chassis which is being moved.
+    private Chassis _chassis;
+
+    //The tunable parameters used by the motion controller.
+    private Parameters _parameters;
+
+    //The current state of the motion controller.
+    private int _state = _IDLE;
+
+    //The encoder reading at the start of the current move.
+    private double _startTicks;
+
+    //The number of encoder ticks the current move has to travel.
+    private double _targetTicks;
+
+    //The number of encoder ticks in the ramp out distance.
+    private double _rampOutTicks;
+
+    //The distance from the wall in inches that the current wall move stops at.
+    private double _stopDistance;
+
+    //The speed given for the current move and the speed it has ramped up to so far.
+    private double _speed;
+    private double _rampSpeed;
+
+    //The PID loop which turns the robot.
+    private PIDController _turnPID;
+
+    //The clock the turn time limit is timed by, and the time the current turn started.
+    private Clock _clock;
+    private double _turnStartTime;
+
+    //The trajectory being followed and the time it started.
+    private Trajectory _trajectory;
+    private double _trajectoryStartTime;
+
+    //Where the robot was on the field when the trajectory started, which the trajectory is measured from.
+    private double _originX;
+    private double _originY;
+    private double _originHeading;
+
+    //The forward, slide and turn speeds of the trajectory over the last loop and the next loop.
+    private double[] _nowSpeeds = new double[ 3 ];
+    private double[] _nextSpeeds = new double[ 3 ];
+
+    private MotionController()
+    {
+        //Gets the singletons of the chassis and the parameters.
+        _chassis = Chassis.getInstance();
+        _parameters = Parameters.getInstance();
+
+        //Gets the clock of the robot.
+        _clock = InputFrame.getInstance().getClock();
+
+        //Creates the PID loop for turning, stepped once every loop.
+        _turnPID = new PIDController( _DT );
+        _turnPID.setTolerance( _TURN_TOLERANCE, _TURN_SETTLE_TIME );
+    }
+
+    /**
+     * Returns the singleton object of the motion controller.
+     *
+     * @return The singleton object of the motion controller.
+     */
+    public static MotionController getInstance()
+    {
+        //If no motion controller has been previously constructed.
+        if( _instance == null )
+        {
+            //Create the singleton MotionController object.
+            _instance = new MotionController();
+        }
+
+        //Return the singleton object.
+        return _instance;
+    }
+
+    /**
+     * Starts moving the robot a given distance at a given speed. The move is
+     * carried out by calling step() once every loop.
+     *
+     * @param distance The distance in inches for the robot to travel.
+     * @param speed The speed the robot will travel.
+     */
+    public void startMove( double distance , double speed )
+    {
+        //Finds the amount of ticks the robot encoder needs to read before the robot stops.
+        double ticksPerInch = Math.abs( _parameters.get( Parameters.ENCODER_TICKS ) );
+        _targetTicks = Math.abs( distance ) * ticksPerInch;
+        _rampOutTicks = _RAMP_OUT_DISTANCE * ticksPerInch;
+
+        //Stores the speed and starts ramping in from a stop.
+        _speed = speed;
+        _rampSpeed = 0.0;
+
+        //Measures the move from where the encoder is now. The encoder is always running.
+        _startTicks = _chassis.getEncoder();
+
+        //Starts moving.
+        _state = _MOVING;
+    }
+
+    /**
+     * Starts driving the robot towards the wall in front of it until the sonar
+     * reads the given distance. The move is carried out by calling step() once
+     * every loop. If the sonar stops giving good readings, the robot waits for
+     * them, and gives up if they do not come back.
+     *
+     * @param stopDistance The distance from the wall in inches to stop at.
+     * @param speed The speed the robot will travel.
+     */
+    public void startWallMove( double stopDistance, double speed )
+    {
+        //Stores the distance and the speed and starts ramping in from a stop.
+        _stopDistance = stopDistance;
+        _speed = Math.abs( speed );
+        _rampSpeed = 0.0;
+
+        //Starts moving.
+        _state = _WALL_MOVING;
+    }
+
+    /**
+     * Starts turning the robot by a given angle. The turn is carried out by
+     * calling step() once every loop.
+     *
+     * @param angle The angle that the robot will turn in degrees.
+     * @param speed The fastest speed the robot will turn at.
+     */
+    public void startTurn( double angle, double speed )
+    {
+        //Gets the three constants for the PID loop from the Smart Dashboard. The error used to be
+        //in hundreds of degrees and summed once a loop, so the constants are scaled to match.
+        double kP = _parameters.get( Parameters.P_CONSTANT ) / 100;
+        double kI = _parameters.get( Parameters.I_CONSTANT ) / 100 / _DT;
+        double kD = _parameters.get( Parameters.D_CONSTANT ) / 100 * _DT;
+
+        //Sets up the PID loop to turn to the given angle from the current angle of the robot.
+        _turnPID.setGains( kP, kI, kD );
+        _turnPID.setOutputRange( -speed, speed );
+        _turnPID.reset();
+        _turnPID.setSetpoint( angle + _chassis.getHeadingAngle() );
+
+        //Remembers when the turn started for the time limit.
+        _turnStartTime = _clock.getTime();
+
+        //Starts turning.
+        _state = _TURNING;
+    }
+
+    /**
+     * Starts lining the robot up with the wall.
+     *
+     * @param speed The speed at which to square the robot.
+     */
+    public void startSquare( double speed )
+    {
+        //Finds the original angle of the robot (which is the negative of the angle needed to turn).
+        //The heading is already wrapped between -180 and 180, so this is the shortest way around.
+        double angle = Math.toDegrees( _chassis.getGyro() );
+
+        //Turn the angle found to square the robot back to 0 degrees.
+        startTurn( -angle , speed );
+    }
+
+    /**
+     * Starts following a trajectory from where the robot is now, so the start
+     * of the trajectory is wherever the robot is and whichever way it faces.
+     * The trajectory is followed by calling step() once every loop.
+     *
+     * @param trajectory The trajectory to follow, or null if it could not be generated, which stops the robot straight away.
+     */
+    public void startTrajectory( Trajectory trajectory )
+    {
+        //Stops if there is nothing to follow.
+        if( trajectory == null )
+        {
+            finish();
+            return;
+        }
+
+        _trajectory = trajectory;
+        _trajectoryStartTime = _clock.getTime();
+
+        //Measures the trajectory from where the robot is now.
+        _originX = _chassis.getX();
+        _originY = _chassis.getY();
+        _originHeading = _chassis.getHeadingAngle();
+
+        //Starts following.
+        _state = _FOLLOWING;
+    }
+
+    /**
+     * Advances the current move or turn by one loop. Should be called once every loop.
+     */
+    public void step()
+    {
+        //Advances whichever motion is happening.
+        switch( _state )
+        {
+            case _MOVING:
+                stepMove();
+                break;
+
+            case _TURNING:
+                stepTurn();
+                break;
+
+            case _WALL_MOVING:
+                stepWallMove();
+                break;
+
+            case _FOLLOWING:
+                stepTrajectory();
+                break;
+
+            default://Nothing to do.
+                break;
+        }
+    }
+
+    /**
+     * Advances the current move by one loop.
+     */
+    private void stepMove()
+    {
+        //Finds how many ticks are left until the robot reaches the distance.
+        double remaining = _targetTicks - Math.abs( _chassis.getEncoder() - _startTicks );
+
+        //If the robot has moved the distance...
+        if( remaining <= 0.0 )
+        {
+            //Stop the robot and finish the move.
+            finish();
+            return;
+        }
+
+        driveRamped( remaining, _rampOutTicks );
+    }
+
+    /**
+     * Advances the current wall move by one loop.
+     */
+    private void stepWallMove()
+    {
+        Sonar sonar = _chassis.getSonar();
+
+        //If the sonar has no good reading, wait for one without driving blind, or give up if it has been too long.
+        if( !sonar.isFresh() )
+        {
+            if( sonar.getAge() > _WALL_STALE_LIMIT )
+            {
+                finish();
+            }
+            else
+            {
+                _chassis.holoDrive( 0.0, 0.0, 0.0 );
+            }
+            return;
+        }
+
+        //Finds how many inches are left until the robot reaches the stop distance.
+        double remaining = sonar.getDistance() - _stopDistance;
+
+        //If the robot is close enough to the wall...
+        if( remaining <= 0.0 )
+        {
+            //Stop the robot and finish the move.
+            finish();
+            return;
+        }
+
+        driveRamped( remaining, _RAMP_OUT_DISTANCE );
+    }
+
+    /**
+     * Drives the robot for one loop at the ramped speed of the current move.
+     *
+     * @param remaining How far is left to go.
+     * @param rampOut How far from the end to start slowing down, in the same units.
+     */
+    private void driveRamped( double remaining, double rampOut )
+    {
+        //Ramps the speed up towards the given speed.
+        double maxSpeed = Math.abs( _speed );
+        _rampSpeed = Math.min( _rampSpeed + _RAMP_IN_STEP, maxSpeed );
+        double output = _rampSpeed;
+
+        //If the robot is close to the distance, ramp the speed down based on how far is left.
+        if( remaining < rampOut )
+        {
+            output = Math.min( output, Math.max( maxSpeed * remaining / rampOut, _MIN_SPEED ) );
+        }
+
+        //Drives forward or backward depending on the sign of the speed.
+        double direction = 1.0;
+        if( _speed < 0.0 )
+        {
+            direction = -1.0;
+        }
+
+        //Corrects the speed by how far the robot is from the speed it should be going. While the
+        //wheels are slipping, pushing harder would only spin them more, so the correction is left out.
+        double maxVelocity = _parameters.get( Parameters.MAX_VELOCITY );
+        if( maxVelocity > 0.0 && !_chassis.isSlipping() )
+        {
+            double error = output * maxVelocity - direction * _chassis.getVelocity();
+            output = Utility.limitRange( output + _parameters.get( Parameters.VELOCITY_P_CONSTANT ) * error, 1.0, 0.0 );
+        }
+
+        output *= direction;
+
+        _chassis.holoDrive( output, 0.0, 0.0 );
+    }
+
+    /**
+     * Advances the current trajectory by one loop. The sample for the time
+     * since the trajectory started says where the robot should be, and the
+     * samples either side of it how fast it should be going there. The chassis
+     * takes the drive lag to get most of the way to a new speed, so the speed
+     * it is given leads the speed it should reach, and the robot is pushed back
+     * towards the sample by how far it is from it.
+     */
+    private void stepTrajectory()
+    {
+        //Stops if the top speeds cannot turn speeds into drive values.
+        double maxVelocity = _parameters.get( Parameters.MAX_VELOCITY );
+        double maxTurnRate = _parameters.get( Parameters.MAX_TURN_RATE );
+        if( maxVelocity <= 0.0 || maxTurnRate <= 0.0 )
+        {
+            finish();
+            return;
+        }
+
+        //Finds the sample for this loop and the ones either side of it, which all stay on the last sample once the trajectory is over.
+        double elapsed = _clock.getTime() - _trajectoryStartTime;
+        int last = _trajectory.getLength() - 1;
+        int sample = Math.min( (int) ( elapsed / Trajectory.DT + 0.5 ), last );
+        int previous = Math.max( sample - 1, 0 );
+        int next = Math.min( sample + 1, last );
+
+        //Finds how fast the robot should be going now, which is how fast the trajectory moved over the last loop,
+        //and how fast over the next loop, which is when the drive values written now move the robot.
+        findSpeeds( previous, sample, _nowSpeeds );
+        findSpeeds( sample, next, _nextSpeeds );
+
+        //Each loop the chassis only gets a loop over the drive lag of the way to the speed it is given, so it is
+        //given the speed it has now plus the change to the next speed stretched over the drive lag.
+        double stretch = _parameters.get( Parameters.DRIVE_LAG ) / Trajectory.DT;
+        double fwd = _nowSpeeds[ 0 ] + ( _nextSpeeds[ 0 ] - _nowSpeeds[ 0 ] ) * stretch;
+        double sld = _nowSpeeds[ 1 ] + ( _nextSpeeds[ 1 ] - _nowSpeeds[ 1 ] ) * stretch;
+        double turnRate = _nowSpeeds[ 2 ] + ( _nextSpeeds[ 2 ] - _nowSpeeds[ 2 ] ) * stretch;
+
+        //Finds how far the robot is from the sample on the field.
+        double originCos = TrigTable.cos( Math.toRadians( _originHeading ) );
+        double originSin = TrigTable.sin( Math.toRadians( _originHeading ) );
+        double tx = _trajectory.getX( sample );
+        double ty = _trajectory.getY( sample );
+        double errorX = _originX + tx * originCos - ty * originSin - _chassis.getX();
+        double errorY = _originY + tx * originSin + ty * originCos - _chassis.getY();
+        double errorHeading = _originHeading + _trajectory.getHeading( sample ) - _chassis.getHeadingAngle();
+
+        //Once the trajectory is over, finishes when the robot is there or has taken too long to get there.
+        if( sample == last )
+        {
+            boolean there = Math.abs( errorX ) < _TRAJECTORY_TOLERANCE && Math.abs( errorY ) < _TRAJECTORY_TOLERANCE && Math.abs( errorHeading ) < _TRAJECTORY_HEADING_TOLERANCE;
+            if( there || elapsed - _trajectory.getDuration() > _TRAJECTORY_SETTLE_LIMIT )
+            {
+                finish();
+                return;
+            }
+        }
+
+        //Adds the correction, turned from the field into forward and slide by the heading.
+        double heading = _chassis.getGyro();
+        double cos = TrigTable.cos( heading );
+        double sin = TrigTable.sin( heading );
+        double kP = _parameters.get( Parameters.TRAJECTORY_P_CONSTANT );
+        fwd += kP * ( errorX * cos + errorY * sin );
+        sld += kP * ( errorY * cos - errorX * sin );
+        turnRate += _parameters.get( Parameters.TRAJECTORY_HEADING_P_CONSTANT ) * errorHeading;
+
+        //Turns the speeds into drive values by the top speeds.
+        _chassis.holoDrive( Utility.limitRange( fwd / maxVelocity ), Utility.limitRange( sld / maxVelocity ), Utility.limitRange( turnRate / maxTurnRate ) );
+    }
+
+    /**
+     * Finds how fast the trajectory moves from one sample to the next, forward
+     * and sideways from the way the robot faces halfway between them, and how
+     * fast it turns.
+     *
+     * @param from The first sample.
+     * @param to The next sample, or the same sample to find no speed.
+     * @param speeds Set to the forward and slide speeds in inches per second and the turn rate in degrees per second.
+     */
+    private void findSpeeds( int from, int to, double[] speeds )
+    {
+        double dx = ( _trajectory.getX( to ) - _trajectory.getX( from ) ) / Trajectory.DT;
+        double dy = ( _trajectory.getY( to ) - _trajectory.getY( from ) ) / Trajectory.DT;
+        double heading = Math.toRadians( ( _trajectory.getHeading( from ) + _trajectory.getHeading( to ) ) / 2 );
+        double cos = TrigTable.cos( heading );
+        double sin = TrigTable.sin( heading );
+        speeds[ 0 ] = dx * cos + dy * sin;
+        speeds[ 1 ] = dy * cos - dx * sin;
+        speeds[ 2 ] = ( _trajectory.getHeading( to ) - _trajectory.getHeading( from ) ) / Trajectory.DT;
+    }
+
+    /**
+     * Advances the current turn by one loop.
+     */
+    private void stepTurn()
+    {
+        //Steps the PID loop with the current angle of the robot and turns by its output.
+        //The unwrapped angle is used so a turn can cross a full turn without jumping.
+        double output = _turnPID.calculate( _chassis.getHeadingAngle() );
+        _chassis.holoDrive( 0.0, 0.0, output );
+
+        //If the robot has settled on the angle or if it has been over 4 seconds, then end the turn.
+        if( _turnPID.onTarget() || _clock.getTime() - _turnStartTime > _TURN_TIME_LIMIT )
+        {
+            finish();
+        }
+    }
+
+    /**
+     * Stops the current move or turn where it is.
+     */
+    public void cancel()
+    {
+        //If there is a move or turn happening, stop it.
+        if( !isDone() )
+        {
+            finish();
+        }
+
+        //Goes back to doing nothing.
+        _state = _IDLE;
+    }
+
+    /**
+     * Returns whether the last move or turn has finished.
+     *
+     * @return Whether the last move or turn has finished.
+     */
+    public boolean isDone()
+    {
+        //The motion is done if it is not still moving or turning.
+        boolean done = _state != _MOVING && _state != _TURNING && _state != _WALL_MOVING && _state != _FOLLOWING;
+        return done;
+    }
+
+    /**
+     * Stops the robot at the end of a move or turn.
+     */
+    private void finish()
+    {
+        //Stop the robot.
+        _chassis.stop();
+
+        _state = _DONE;
+    }
+}
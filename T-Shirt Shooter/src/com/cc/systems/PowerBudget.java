@@ -0,0 +1,231 @@
+package com.cc.systems;
+
+import com.cc.hal.Hardware;
+import com.cc.hal.VoltageSensor;
+import com.cc.inputs.frame.InputFrame;
+import com.cc.utility.PublishCounter;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/**
+ * This class shares the battery between the subsystems of the robot so the
+ * voltage never sags far enough to reset the robot. It reads the battery once
+ * every loop and, as the voltage drops between a warning level and a critical
+ * level, takes power away from the loads in order of priority: the compressor
+ * is held off first, then the intake is scaled down and the arm is made to
+ * speed up more slowly, and the drive is only scaled down a little, last. The
+ * voltage it works from drops straight away but recovers slowly, so the loads
+ * do not all come back at once and pull it down again. It also keeps track of
+ * how low the battery has gone and how often.
+ */
+public class PowerBudget
+{
+    //The singleton object of the power budget.
+    private static PowerBudget _instance = null;
+
+    //The time in seconds between each loop of the robot.
+    private final double _DT = 0.02;
+
+    //The voltage where loads start being shed, and the voltage where everything but the drive is shed.
+    private final double _WARN_VOLTAGE = 9.0;
+    private final double _CRITICAL_VOLTAGE = 7.5;
+
+    //How much of the way back up the voltage recovers each loop.
+    private final double _RECOVERY_BLEND = 0.05;
+
+    //The least the drive is scaled down to at the critical voltage.
+    private final double _MIN_DRIVE_SCALE = 0.6;
+
+    //How fast the arm output can grow per second when the battery is fine.
+    private final double _ARM_RATE = 5.0;
+
+    //The battery.
+    private VoltageSensor _battery;
+
+    //The voltage the budget works from, which drops straight away and recovers slowly.
+    private double _voltage;
+
+    //How much power is left for the loads, from 0 at the critical voltage to 1 at the warning voltage.
+    private double _share = 1.0;
+
+    //The lowest voltage read, the time spent under the warning voltage, and the number of drops under the critical voltage.
+    private double _lowestVoltage;
+    private double _lowTime = 0.0;
+    private int _brownouts = 0;
+
+    //Whether the battery was under the critical voltage on the last loop.
+    private boolean _wasCritical = false;
+
+    //The number of loops between putting a value on the SmartDashboard, and the number of values.
+    private static final int _PUBLISH_LOOPS = 2;
+    private static final int _VALUES = 5;
+
+    //Takes turns putting the values on the SmartDashboard.
+    private PublishCounter _publisher = new PublishCounter( _PUBLISH_LOOPS, _VALUES );
+
+    private PowerBudget()
+    {
+        //Gets the battery and starts from what it reads.
+        _battery = InputFrame.getInstance().voltage( Hardware.getInstance().getBattery() );
+        _voltage = _battery.getVoltage();
+        _lowestVoltage = _voltage;
+    }
+
+    /**
+     * Returns the singleton object of the power budget.
+     *
+     * @return The singleton object of the power budget.
+     */
+    public static PowerBudget getInstance()
+    {
+        //If the power budget has not been created yet, create it.
+        if( _instance == null )
+        {
+            _instance = new PowerBudget();
+        }
+
+        return _instance;
+    }
+
+    /**
+     * Reads the battery and works out how much power each load gets this loop.
+     * Should be called once at the start of every loop, before anything is driven.
+     */
+    public void update()
+    {
+        double voltage = _battery.getVoltage();
+
+        //Drops to a lower voltage straight away, but only recovers part of the way each loop.
+        if( voltage < _voltage )
+        {
+            _voltage = voltage;
+        }
+        else
+        {
+            _voltage += _RECOVERY_BLEND * ( voltage - _voltage );
+        }
+
+        //Finds how much power is left for the loads.
+        _share = ( _voltage - _CRITICAL_VOLTAGE ) / ( _WARN_VOLTAGE - _CRITICAL_VOLTAGE );
+        _share = Math.max( Math.min( _share, 1.0 ), 0.0 );
+
+        //Keeps track of how low the battery goes, and counts each drop under the critical voltage once.
+        _lowestVoltage = Math.min( _lowestVoltage, voltage );
+        if( voltage < _WARN_VOLTAGE )
+        {
+            _lowTime += _DT;
+        }
+        boolean critical = voltage < _CRITICAL_VOLTAGE;
+        if( critical && !_wasCritical )
+        {
+            _brownouts++;
+        }
+        _wasCritical = critical;
+    }
+
+    /**
+     * Gets how much the drive outputs are scaled by. The drive has the highest
+     * priority, so it is only scaled down a little.
+     *
+     * @return The scale of the drive outputs, from the least drive scale up to 1.
+     */
+    public double getDriveScale()
+    {
+        return _MIN_DRIVE_SCALE + ( 1.0 - _MIN_DRIVE_SCALE ) * _share;
+    }
+
+    /**
+     * Gets how much the intake outputs are scaled by.
+     *
+     * @return The scale of the intake outputs, from 0 up to 1.
+     */
+    public double getIntakeScale()
+    {
+        return _share;
+    }
+
+    /**
+     * Gets how fast the arm output is allowed to grow, which is halved at the critical voltage.
+     *
+     * @return The most the arm output can grow by per second.
+     */
+    public double getArmRate()
+    {
+        return _ARM_RATE * ( 0.5 + 0.5 * _share );
+    }
+
+    /**
+     * Returns whether there is power to spare for loads that can wait, such as the compressor.
+     *
+     * @return Whether the voltage is at or above the warning voltage.
+     */
+    public boolean hasSparePower()
+    {
+        return _share >= 1.0;
+    }
+
+    /**
+     * Gets the voltage the budget is working from.
+     *
+     * @return The voltage in volts.
+     */
+    public double getVoltage()
+    {
+        return _voltage;
+    }
+
+    /**
+     * Gets the lowest voltage read.
+     *
+     * @return The lowest voltage in volts.
+     */
+    public double getLowestVoltage()
+    {
+        return _lowestVoltage;
+    }
+
+    /**
+     * Gets the number of times the battery dropped under the critical voltage.
+     *
+     * @return The number of drops.
+     */
+    public int getBrownouts()
+    {
+        return _brownouts;
+    }
+
+    /**
+     * Puts one value of the battery or the budget on the SmartDashboard, taking
+     * turns every few loops so each is shown about every 0.2 seconds. Nothing is
+     * put up while the parameters are offline. Should be called once every loop.
+     */
+    public void printPower()
+    {
+        //Finds the value to put up this loop, if any.
+        int value = _publisher.next();
+        if( value < 0 )
+        {
+            return;
+        }
+
+        //Puts up the value.
+        switch( value )
+        {
+            case 0:
+                SmartDashboard.putNumber( " Battery Voltage: ", _voltage );
+                break;
+            case 1:
+                SmartDashboard.putNumber( " Lowest Voltage: ", _lowestVoltage );
+                break;
+            case 2:
+                SmartDashboard.putNumber( " Low Voltage Time: ", _lowTime );
+                break;
+            case 3:
+                SmartDashboard.putNumber( " Brownouts: ", _brownouts );
+                break;
+            default:
+                SmartDashboard.putNumber( " Drive Scale: ", getDriveScale() );
+                break;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.cc.utility;
+
+/**
+ * An alpha-beta tracker, which follows a value and how fast it is changing.
+ * Each step predicts the value from the last speed, then moves the value and
+ * the speed part of the way towards what was measured. It lags less than an
+ * average when the value is changing steadily, such as the distance to a wall
+ * while driving towards it.
+ */
+public class AlphaBetaFilter
+{
+    //How much of the error is taken into the value and into the speed, between 0 and 1.
+    private double _alpha;
+    private double _beta;
+
+    //The time in seconds between each value.
+    private double _dt;
+
+    //The tracked value and its speed in units per second.
+    private double _value = 0.0;
+    private double _rate = 0.0;
+
+    //Whether a value has been given since the filter was reset.
+    private boolean _started = false;
+
+    /**
+     * Creates an alpha-beta tracker.
+     *
+     * @param alpha How much of the error is taken into the value.
+     * @param beta How much of the error is taken into the speed.
+     * @param dt The time in seconds between each value.
+     */
+    public AlphaBetaFilter( double alpha, double beta, double dt )
+    {
+        _alpha = alpha;
+        _beta = beta;
+        _dt = dt;
+    }
+
+    /**
+     * Adds a new measured value and returns the tracked value.
+     *
+     * @param value The measured value.
+     *
+     * @return The tracked value.
+     */
+    public double calculate( double value )
+    {
+        //The first value is taken as it is, standing still.
+        if( !_started )
+        {
+            _value = value;
+            _rate = 0.0;
+            _started = true;
+            return _value;
+        }
+
+        //Predicts where the value should be, then corrects the value and the speed by the error.
+        double predicted = _value + _rate * _dt;
+        double error = value - predicted;
+        _value = predicted + _alpha * error;
+        _rate += _beta * error / _dt;
+
+        return _value;
+    }
+
+    /**
+     * Gets how fast the tracked value is changing.
+     *
+     * @return The speed in units per second.
+     */
+    public double getRate()
+    {
+        return _rate;
+    }
+
+    /**
+     * Forgets the tracked value so the next value is taken as it is.
+     */
+    public void reset()
+    {
+        _started = false;
+        _rate = 0.0;
+    }
+}
@@ -0,0 +1,198 @@
+package com.cc.utility;
+
+/**
+ * Counts durations into fixed buckets whose width grows with the duration, so
+ * one small array covers everything from a microsecond to a quarter of a
+ * second. Each doubling of the duration is split into four buckets, so a
+ * percentile read back from the buckets is never more than a quarter too high,
+ * which is in the first bucket of each doubling. Adding a duration only counts
+ * it, and never creates an object.
+ */
+public class LogHistogram
+{
+    //The number of doublings covered, from 1 microsecond up to 2 to the power of this.
+    private static final int _OCTAVES = 18;
+
+    //The number of buckets each doubling is split into, as a power of two.
+    private static final int _STEPS = 4;
+    private static final int _STEP_BITS = 2;
+
+    //The count of durations in each bucket. The last bucket also holds everything longer.
+    private int[] _counts = new int[ _OCTAVES * _STEPS ];
+
+    //The number of durations, the longest one, and the number over the budget.
+    private int _count = 0;
+    private long _max = 0;
+    private int _overruns = 0;
+
+    //The duration counted as an overrun.
+    private long _budget;
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param budget The longest a duration can be before it counts as an overrun, in microseconds.
+     */
+    public LogHistogram( long budget )
+    {
+        _budget = budget;
+    }
+
+    /**
+     * Counts a duration.
+     *
+     * @param duration The duration in microseconds.
+     */
+    public void add( long duration )
+    {
+        _counts[ bucket( duration ) ]++;
+        _count++;
+        if( duration > _max )
+        {
+            _max = duration;
+        }
+        if( duration > _budget )
+        {
+            _overruns++;
+        }
+    }
+
+    /**
+     * Finds the bucket of a duration.
+     *
+     * @param duration The duration in microseconds.
+     *
+     * @return The index of the bucket.
+     */
+    private static int bucket( long duration )
+    {
+        //Durations under 2 microseconds all go in the first bucket.
+        if( duration < 2 )
+        {
+            return 0;
+        }
+
+        //Finds the highest bit, which is the doubling.
+        int octave = 0;
+        long value = duration;
+        while( value > 1 )
+        {
+            value >>= 1;
+            octave++;
+        }
+        if( octave >= _OCTAVES )
+        {
+            return _OCTAVES * _STEPS - 1;
+        }
+
+        //Finds the step within the doubling from the bits just under the highest.
+        int step;
+        if( octave >= _STEP_BITS )
+        {
+            step = (int) ( duration >> ( octave - _STEP_BITS ) ) & ( _STEPS - 1 );
+        }
+        else
+        {
+            step = (int) ( duration << ( _STEP_BITS - octave ) ) & ( _STEPS - 1 );
+        }
+
+        return octave * _STEPS + step;
+    }
+
+    /**
+     * Finds the longest duration a bucket can hold.
+     *
+     * @param bucket The index of the bucket.
+     *
+     * @return The duration in microseconds.
+     */
+    private static long upperBound( int bucket )
+    {
+        int octave = bucket / _STEPS;
+        int step = bucket % _STEPS;
+
+        //The bucket starts at the doubling plus its steps, and ends where the next one starts.
+        long start = ( (long) ( _STEPS + step ) << octave ) >> _STEP_BITS;
+        long next = ( (long) ( _STEPS + step + 1 ) << octave ) >> _STEP_BITS;
+        return Math.max( next - 1, start );
+    }
+
+    /**
+     * Finds the duration that the given fraction of the durations are at or under.
+     *
+     * @param fraction The fraction, from 0 to 1, such as 0.99 for the 99th percentile.
+     *
+     * @return The top of the bucket holding that duration in microseconds, no more than the longest duration, or 0 if there are none.
+     */
+    public long getPercentile( double fraction )
+    {
+        if( _count == 0 )
+        {
+            return 0;
+        }
+
+        //Finds the bucket where the running count reaches the rank.
+        int rank = (int) Math.ceil( fraction * _count );
+        int seen = 0;
+        int i;
+        for( i = 0; i < _counts.length; i++ )
+        {
+            seen += _counts[ i ];
+            if( seen >= rank && seen > 0 )
+            {
+                break;
+            }
+        }
+
+        //The last bucket has no top, so it is the longest duration.
+        if( i >= _counts.length - 1 )
+        {
+            return _max;
+        }
+        return Math.min( upperBound( i ), _max );
+    }
+
+    /**
+     * Gets the number of durations counted.
+     *
+     * @return The number of durations.
+     */
+    public int getCount()
+    {
+        return _count;
+    }
+
+    /**
+     * Gets the longest duration counted.
+     *
+     * @return The duration in microseconds.
+     */
+    public long getMax()
+    {
+        return _max;
+    }
+
+    /**
+     * Gets the number of durations over the budget.
+     *
+     * @return The number of overruns.
+     */
+    public int getOverruns()
+    {
+        return _overruns;
+    }
+
+    /**
+     * Empties the histogram.
+     */
+    public void reset()
+    {
+        for( int i = 0; i < _counts.length; i++ )
+        {
+            _counts[ i ] = 0;
+        }
+        _count = 0;
+        _max = 0;
+        _overruns = 0;
+    }
+}
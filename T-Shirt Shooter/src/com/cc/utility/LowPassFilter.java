@@ -0,0 +1,68 @@
+package com.cc.utility;
+
+/**
+ * A first order low pass filter which smooths a noisy value by moving part of
+ * the way towards each new value.
+ */
+public class LowPassFilter
+{
+    //How much of the way to move towards each new value, between 0 and 1.
+    private double _alpha;
+
+    //The current filtered value.
+    private double _value = 0.0;
+
+    //Whether a value has been given since the filter was reset.
+    private boolean _started = false;
+
+    /**
+     * Creates a low pass filter.
+     *
+     * @param alpha How much of the way to move towards each new value, between 0 and 1.
+     */
+    public LowPassFilter( double alpha )
+    {
+        _alpha = alpha;
+    }
+
+    /**
+     * Adds a new value and returns the filtered value.
+     *
+     * @param value The new value.
+     *
+     * @return The filtered value.
+     */
+    public double calculate( double value )
+    {
+        //The first value is taken as it is so the filter does not start from zero.
+        if( !_started )
+        {
+            _value = value;
+            _started = true;
+        }
+        else
+        {
+            _value += _alpha * ( value - _value );
+        }
+
+        return _value;
+    }
+
+    /**
+     * Gets the current filtered value.
+     *
+     * @return The current filtered value.
+     */
+    public double get()
+    {
+        return _value;
+    }
+
+    /**
+     * Forgets the filtered value so the next value is taken as it is.
+     */
+    public void reset()
+    {
+        _started = false;
+    }
+}
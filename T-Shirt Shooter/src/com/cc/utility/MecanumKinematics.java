@@ -0,0 +1,125 @@
+package com.cc.utility;
+
+/**
+ * The kinematics of a mecanum chassis, with the wheels always in the order
+ * left front, right front, left rear, right rear. The inverse kinematics turn a
+ * forward, slide, and rotation value into the four wheel values, and keep them
+ * within -1 to 1 either by scaling everything down together or by giving the
+ * rotation what it asked for first and scaling the translation down to fit,
+ * or anywhere in between. The forward kinematics turn four wheel speeds back
+ * into how the chassis is moving, for odometry.
+ */
+public class MecanumKinematics
+{
+    //The indexes of the wheels.
+    public static final int LEFT_FRONT = 0;
+    public static final int RIGHT_FRONT = 1;
+    public static final int LEFT_REAR = 2;
+    public static final int RIGHT_REAR = 3;
+
+    //The number of wheels.
+    public static final int WHEELS = 4;
+
+    //How much the rotation is kept whole when the wheels are too fast, from 0 for scaling everything to 1 for the rotation first.
+    private double _rotationPriority = 0.0;
+
+    /**
+     * Sets how much the rotation is kept whole when the wheels would be too fast.
+     *
+     * @param rotationPriority From 0, which scales every wheel down together, to 1, which gives the rotation everything it asks for first.
+     */
+    public void setRotationPriority( double rotationPriority )
+    {
+        _rotationPriority = Utility.limitRange( rotationPriority, 1.0, 0.0 );
+    }
+
+    /**
+     * Finds the wheel values for a forward, slide, and rotation value, kept
+     * within -1 to 1.
+     *
+     * @param fwd The forward value.
+     * @param sld The slide value.
+     * @param rot The rotation value.
+     * @param wheels The array the four wheel values are written into.
+     */
+    public void inverse( double fwd, double sld, double rot, double[] wheels )
+    {
+        //Finds the translation and rotation parts of each wheel.
+        double lf = fwd + sld;
+        double rf = fwd - sld;
+        double lr = fwd - sld;
+        double rr = fwd + sld;
+
+        //Finds the largest wheel value before any scaling.
+        double maxVal = Math.max( Math.max( Math.abs( lf + rot ), Math.abs( rf - rot ) ), Math.max( Math.abs( lr + rot ), Math.abs( rr - rot ) ) );
+
+        //If no wheel is too fast, there is nothing to fix.
+        if( maxVal <= 1.0 )
+        {
+            wheels[ LEFT_FRONT ] = lf + rot;
+            wheels[ RIGHT_FRONT ] = rf - rot;
+            wheels[ LEFT_REAR ] = lr + rot;
+            wheels[ RIGHT_REAR ] = rr - rot;
+            return;
+        }
+
+        //Scaling everything down together keeps the direction but takes rotation away.
+        double scale = 1.0 / maxVal;
+
+        //Keeping the rotation first means finding how much of the translation still fits around it.
+        double priorityRot = Utility.limitRange( rot );
+        double fit = 1.0;
+        fit = Math.min( fit, fitTranslation( lf, priorityRot ) );
+        fit = Math.min( fit, fitTranslation( rf, -priorityRot ) );
+        fit = Math.min( fit, fitTranslation( lr, priorityRot ) );
+        fit = Math.min( fit, fitTranslation( rr, -priorityRot ) );
+
+        //Blends the two. Both keep every wheel within -1 to 1, so anything between them does too.
+        double translation = scale + ( fit - scale ) * _rotationPriority;
+        double rotation = rot * scale + ( priorityRot - rot * scale ) * _rotationPriority;
+
+        wheels[ LEFT_FRONT ] = lf * translation + rotation;
+        wheels[ RIGHT_FRONT ] = rf * translation - rotation;
+        wheels[ LEFT_REAR ] = lr * translation + rotation;
+        wheels[ RIGHT_REAR ] = rr * translation - rotation;
+    }
+
+    /**
+     * Finds how much of a wheel's translation fits with its rotation before the wheel goes past 1.
+     *
+     * @param translation The translation part of the wheel.
+     * @param rotation The rotation part of the wheel, from -1 to 1.
+     *
+     * @return The most the translation can be scaled by, from 0 to 1.
+     */
+    private static double fitTranslation( double translation, double rotation )
+    {
+        //Without translation, the rotation alone always fits.
+        if( translation == 0.0 )
+        {
+            return 1.0;
+        }
+
+        //Finds how far the wheel can go in the direction of the translation.
+        double room = translation > 0.0 ? 1.0 - rotation : 1.0 + rotation;
+        return Utility.limitRange( room / Math.abs( translation ), 1.0, 0.0 );
+    }
+
+    /**
+     * Finds how the chassis is moving from the speeds of its four wheels.
+     *
+     * @param wheels The four wheel speeds.
+     * @param motion The array the forward, slide, and rotation speeds are written into, in the same units as the wheels.
+     */
+    public static void forward( double[] wheels, double[] motion )
+    {
+        double lf = wheels[ LEFT_FRONT ];
+        double rf = wheels[ RIGHT_FRONT ];
+        double lr = wheels[ LEFT_REAR ];
+        double rr = wheels[ RIGHT_REAR ];
+
+        motion[ 0 ] = ( lf + rf + lr + rr ) / 4;
+        motion[ 1 ] = ( lf - rf - lr + rr ) / 4;
+        motion[ 2 ] = ( lf - rf + lr - rr ) / 4;
+    }
+}
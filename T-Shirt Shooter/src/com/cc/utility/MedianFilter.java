@@ -0,0 +1,77 @@
+package com.cc.utility;
+
+/**
+ * A filter which returns the median of the last few values given to it. This
+ * throws away single bad readings from a noisy sensor without lagging as much
+ * as an average would.
+ */
+public class MedianFilter
+{
+    //The last few values, stored in a circle.
+    private double[] _values;
+
+    //A copy of the values which is sorted to find the median.
+    private double[] _sorted;
+
+    //The place the next value will be stored and how many values have been stored.
+    private int _next = 0;
+    private int _count = 0;
+
+    /**
+     * Creates a median filter over the given number of values.
+     *
+     * @param size The number of values to find the median of.
+     */
+    public MedianFilter( int size )
+    {
+        //Creates the arrays once so nothing is created while filtering.
+        _values = new double[ size ];
+        _sorted = new double[ size ];
+    }
+
+    /**
+     * Adds a new value and returns the median of the last few values.
+     *
+     * @param value The new value.
+     *
+     * @return The median of the last few values.
+     */
+    public double calculate( double value )
+    {
+        //Stores the new value over the oldest one.
+        _values[ _next ] = value;
+        _next = ( _next + 1 ) % _values.length;
+
+        if( _count < _values.length )
+        {
+            _count++;
+        }
+
+        //Copies the stored values and sorts them with an insertion sort, which is fast for a few values.
+        for( int i = 0; i < _count; i++ )
+        {
+            double current = _values[ i ];
+            int j = i - 1;
+
+            while( j >= 0 && _sorted[ j ] > current )
+            {
+                _sorted[ j + 1 ] = _sorted[ j ];
+                j--;
+            }
+
+            _sorted[ j + 1 ] = current;
+        }
+
+        //Returns the middle value.
+        return _sorted[ _count / 2 ];
+    }
+
+    /**
+     * Forgets all the stored values.
+     */
+    public void reset()
+    {
+        _next = 0;
+        _count = 0;
+    }
+}
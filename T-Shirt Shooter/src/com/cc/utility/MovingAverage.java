@@ -0,0 +1,63 @@
+package com.cc.utility;
+
+/**
+ * A filter which returns the average of the last few values given to it.
+ */
+public class MovingAverage
+{
+    //The last few values, stored in a circle.
+    private double[] _values;
+
+    //The sum of the stored values.
+    private double _sum = 0.0;
+
+    //The place the next value will be stored and how many values have been stored.
+    private int _next = 0;
+    private int _count = 0;
+
+    /**
+     * Creates a moving average over the given number of values.
+     *
+     * @param size The number of values to average.
+     */
+    public MovingAverage( int size )
+    {
+        _values = new double[ size ];
+    }
+
+    /**
+     * Adds a new value and returns the average of the last few values.
+     *
+     * @param value The new value.
+     *
+     * @return The average of the last few values.
+     */
+    public double calculate( double value )
+    {
+        //Takes the oldest value out of the sum once the circle is full, and puts the new one in.
+        if( _count == _values.length )
+        {
+            _sum -= _values[ _next ];
+        }
+        else
+        {
+            _count++;
+        }
+
+        _values[ _next ] = value;
+        _sum += value;
+        _next = ( _next + 1 ) % _values.length;
+
+        return _sum / _count;
+    }
+
+    /**
+     * Forgets all the stored values.
+     */
+    public void reset()
+    {
+        _sum = 0.0;
+        _next = 0;
+        _count = 0;
+    }
+}
@@ -0,0 +1,215 @@
+package com.cc.utility;
+
+/**
+ * A PID loop which is stepped once every loop at a fixed time step. The
+ * derivative is taken on the measurement so changing the setpoint does not kick
+ * the output, the integral stops building while the output is saturated, and
+ * the loop is only on target once the error has stayed inside the tolerance
+ * for the settle time.
+ */
+public class PIDController
+{
+    //The time in seconds between each step of the loop.
+    private final double _dt;
+
+    //The proportional, integral, and derivative gains.
+    private double _kP = 0.0;
+    private double _kI = 0.0;
+    private double _kD = 0.0;
+
+    //The minimum and maximum output of the loop.
+    private double _minOutput = -1.0;
+    private double _maxOutput = 1.0;
+
+    //The value the loop is trying to reach.
+    private double _setpoint = 0.0;
+
+    //The sum of the error over time.
+    private double _integral = 0.0;
+
+    //The measurement from the last step, used for the derivative.
+    private double _lastMeasurement = 0.0;
+
+    //Whether the loop has been stepped since it was reset.
+    private boolean _started = false;
+
+    //The largest error which still counts as on target.
+    private double _tolerance = 0.0;
+
+    //The number of steps the error must stay inside the tolerance, and how many it has so far.
+    private int _settleSteps = 1;
+    private int _stepsInTolerance = 0;
+
+    //The error and output from the last step.
+    private double _error = 0.0;
+    private double _output = 0.0;
+
+    /**
+     * Creates a PID loop that is stepped at the given rate.
+     *
+     * @param dt The time in seconds between each step of the loop.
+     */
+    public PIDController( double dt )
+    {
+        //Sets the time step.
+        _dt = dt;
+    }
+
+    /**
+     * Sets the gains of the loop. The gains are per second, so they do not
+     * depend on how fast the loop is stepped.
+     *
+     * @param kP The proportional gain.
+     * @param kI The integral gain.
+     * @param kD The derivative gain.
+     */
+    public void setGains( double kP, double kI, double kD )
+    {
+        _kP = kP;
+        _kI = kI;
+        _kD = kD;
+    }
+
+    /**
+     * Sets the range that the output of the loop is limited to.
+     *
+     * @param min The minimum output.
+     * @param max The maximum output.
+     */
+    public void setOutputRange( double min, double max )
+    {
+        _minOutput = min;
+        _maxOutput = max;
+    }
+
+    /**
+     * Sets how close the measurement has to be, and for how long, to be on target.
+     *
+     * @param tolerance The largest error which still counts as on target.
+     * @param settleTime The time in seconds the error must stay inside the tolerance.
+     */
+    public void setTolerance( double tolerance, double settleTime )
+    {
+        _tolerance = tolerance;
+
+        //Finds how many steps fit in the settle time, always at least one.
+        _settleSteps = Math.max( 1, (int) Math.ceil( settleTime / _dt ) );
+    }
+
+    /**
+     * Sets the value the loop is trying to reach.
+     *
+     * @param setpoint The value the loop is trying to reach.
+     */
+    public void setSetpoint( double setpoint )
+    {
+        //If the setpoint moved, the loop has to settle again.
+        if( setpoint != _setpoint )
+        {
+            _stepsInTolerance = 0;
+        }
+
+        _setpoint = setpoint;
+    }
+
+    /**
+     * Gets the value the loop is trying to reach.
+     *
+     * @return The setpoint of the loop.
+     */
+    public double getSetpoint()
+    {
+        return _setpoint;
+    }
+
+    /**
+     * Clears the integral, derivative, and settle state of the loop.
+     */
+    public void reset()
+    {
+        _integral = 0.0;
+        _started = false;
+        _stepsInTolerance = 0;
+        _error = 0.0;
+        _output = 0.0;
+    }
+
+    /**
+     * Steps the loop once with a new measurement and returns the output.
+     *
+     * @param measurement The current measurement of whatever is being controlled.
+     *
+     * @return The output of the loop, limited to the output range.
+     */
+    public double calculate( double measurement )
+    {
+        //Finds the error between the setpoint and the measurement.
+        _error = _setpoint - measurement;
+
+        //The derivative is taken on the measurement and is zero on the first step.
+        double derivative = 0.0;
+        if( _started )
+        {
+            derivative = -( measurement - _lastMeasurement ) / _dt;
+        }
+        _lastMeasurement = measurement;
+        _started = true;
+
+        //Calculates the output with the error added to the integral.
+        double integral = _integral + _error * _dt;
+        double output = _kP * _error + _kI * integral + _kD * derivative;
+
+        //Only keep the new integral if it does not push a saturated output further out.
+        if( !( output > _maxOutput && _error > 0.0 ) && !( output < _minOutput && _error < 0.0 ) )
+        {
+            _integral = integral;
+        }
+
+        //Limits the output between the minimum and maximum.
+        _output = Utility.limitRange( output, _maxOutput, _minOutput );
+
+        //Counts how many steps in a row the error has been inside the tolerance.
+        if( Math.abs( _error ) <= _tolerance )
+        {
+            _stepsInTolerance++;
+        }
+        else
+        {
+            _stepsInTolerance = 0;
+        }
+
+        //Returns the output.
+        return _output;
+    }
+
+    /**
+     * Returns whether the error has stayed inside the tolerance for the settle time.
+     *
+     * @return Whether the loop is on target.
+     */
+    public boolean onTarget()
+    {
+        boolean onTarget = _stepsInTolerance >= _settleSteps;
+        return onTarget;
+    }
+
+    /**
+     * Gets the error from the last step.
+     *
+     * @return The error from the last step.
+     */
+    public double getError()
+    {
+        return _error;
+    }
+
+    /**
+     * Gets the output from the last step.
+     *
+     * @return The output from the last step.
+     */
+    public double getOutput()
+    {
+        return _output;
+    }
+}
@@ -0,0 +1,60 @@
+package com.cc.utility;
+
+import com.cc.config.Parameters;
+
+/**
+ * Takes turns putting a set of values on the SmartDashboard, one every few
+ * loops, so each value is kept up to date without the loop paying for all of
+ * them at once. Says which value to put up this loop, if any, and says none
+ * while the parameters are offline, such as in the simulation.
+ */
+public class PublishCounter
+{
+    //The number of loops between putting a value up, and the number of values.
+    private int _loops;
+    private int _values;
+
+    //The loops since a value was last put up, and the value put up next.
+    private int _count = 0;
+    private int _nextValue = 0;
+
+    /**
+     * Creates a publish counter.
+     *
+     * @param loops The number of loops between putting a value up.
+     * @param values The number of values to take turns between.
+     */
+    public PublishCounter( int loops, int values )
+    {
+        _loops = loops;
+        _values = values;
+    }
+
+    /**
+     * Counts a loop and finds which value to put up in it. Should be called
+     * once every loop.
+     *
+     * @return The index of the value to put up this loop, or -1 to put nothing up.
+     */
+    public int next()
+    {
+        //Leaves the SmartDashboard out while the parameters are offline.
+        if( Parameters.getInstance().isOffline() )
+        {
+            return -1;
+        }
+
+        //Only puts a value up every few loops.
+        _count++;
+        if( _count < _loops )
+        {
+            return -1;
+        }
+        _count = 0;
+
+        //Moves on to the value after this one.
+        int value = _nextValue;
+        _nextValue = ( _nextValue + 1 ) % _values;
+        return value;
+    }
+}
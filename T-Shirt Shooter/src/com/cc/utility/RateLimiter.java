@@ -0,0 +1,84 @@
+package com.cc.utility;
+
+/**
+ * Limits how quickly a value can grow, so a motor is brought up to speed over
+ * a few loops instead of all at once. The value can always drop back towards
+ * zero straight away, so stopping is never slowed down.
+ */
+public class RateLimiter
+{
+    //The time in seconds between each call.
+    private double _dt;
+
+    //The most the value can grow by per second.
+    private double _rate;
+
+    //The value given out last.
+    private double _value = 0.0;
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param rate The most the value can grow by per second.
+     * @param dt The time in seconds between each call.
+     */
+    public RateLimiter( double rate, double dt )
+    {
+        _rate = rate;
+        _dt = dt;
+    }
+
+    /**
+     * Sets how quickly the value can grow.
+     *
+     * @param rate The most the value can grow by per second.
+     */
+    public void setRate( double rate )
+    {
+        _rate = rate;
+    }
+
+    /**
+     * Moves towards a new value and returns the limited value.
+     *
+     * @param value The new value.
+     *
+     * @return The limited value.
+     */
+    public double calculate( double value )
+    {
+        //If the value is shrinking towards zero on the same side, it is taken as it is.
+        if( Math.abs( value ) <= Math.abs( _value ) && value * _value >= 0.0 )
+        {
+            _value = value;
+        }
+        else
+        {
+            //Otherwise it moves at most one step towards the new value.
+            double step = _rate * _dt;
+            _value += Utility.limitRange( value - _value, step, -step );
+        }
+
+        return _value;
+    }
+
+    /**
+     * Gets the value given out last.
+     *
+     * @return The limited value.
+     */
+    public double get()
+    {
+        return _value;
+    }
+
+    /**
+     * Sets the value straight away, such as when the motor is stopped.
+     *
+     * @param value The value to start from.
+     */
+    public void reset( double value )
+    {
+        _value = value;
+    }
+}
@@ -0,0 +1,139 @@
+package com.cc.utility;
+
+/**
+ * A ring buffer of samples for one thread to write and one other thread to
+ * read, without any locks. Each sample is a fixed number of doubles stored in
+ * one flat array. The writer fills a slot and then counts it, so the reader
+ * only ever looks at slots that are finished. If the writer laps the reader
+ * in the middle of a read, the read is simply done again, and the sums are
+ * only given out once a read gets through without being lapped.
+ */
+public class SampleRing
+{
+    //The most times a read is tried again after being lapped by the writer.
+    private static final int _MAX_RETRIES = 3;
+
+    //The number of samples the ring holds, which is a power of two.
+    private int _capacity;
+
+    //The number of doubles in each sample.
+    private int _width;
+
+    //Every sample, one after another.
+    private double[] _samples;
+
+    //The sums of a read in progress. Only the reader uses it.
+    private double[] _sums;
+
+    //The number of samples written so far. Only the writer changes it.
+    private volatile int _count = 0;
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param capacity The number of samples to hold, rounded up to a power of two.
+     * @param width The number of doubles in each sample.
+     */
+    public SampleRing( int capacity, int width )
+    {
+        //Rounds the capacity up so the slot can be found with a mask.
+        _capacity = 1;
+        while( _capacity < capacity )
+        {
+            _capacity *= 2;
+        }
+
+        _width = width;
+        _samples = new double[ _capacity * _width ];
+        _sums = new double[ _width ];
+    }
+
+    /**
+     * Adds a sample. Must only be called from the writing thread.
+     *
+     * @param values The values of the sample.
+     */
+    public void write( double[] values )
+    {
+        //Fills the next slot first, and only then counts it so the reader can see it.
+        int start = ( _count & ( _capacity - 1 ) ) * _width;
+        for( int i = 0; i < _width; i++ )
+        {
+            _samples[ start + i ] = values[ i ];
+        }
+        _count++;
+    }
+
+    /**
+     * Gets the number of samples written so far.
+     *
+     * @return The number of samples written.
+     */
+    public int getCount()
+    {
+        return _count;
+    }
+
+    /**
+     * Gets the capacity of the ring.
+     *
+     * @return The number of samples the ring holds.
+     */
+    public int getCapacity()
+    {
+        return _capacity;
+    }
+
+    /**
+     * Averages the latest samples. Must only be called from the reading thread.
+     *
+     * @param out The array the average of each value is written into. It is left as it is if nothing is averaged.
+     * @param samples The number of latest samples to average, up to half the capacity.
+     *
+     * @return The number of samples averaged, which is zero if nothing has been written or the writer kept lapping the read.
+     */
+    public int readAverage( double[] out, int samples )
+    {
+        //Keeps well away from the slot the writer is filling.
+        samples = Math.min( samples, _capacity / 2 );
+
+        for( int attempt = 0; attempt <= _MAX_RETRIES; attempt++ )
+        {
+            //Only looks at samples that were finished when the read started.
+            int count = _count;
+            int n = Math.min( samples, count );
+            if( n <= 0 )
+            {
+                return 0;
+            }
+
+            for( int i = 0; i < _width; i++ )
+            {
+                _sums[ i ] = 0.0;
+            }
+
+            //Adds up the samples from oldest to newest.
+            for( int s = count - n; s < count; s++ )
+            {
+                int start = ( s & ( _capacity - 1 ) ) * _width;
+                for( int i = 0; i < _width; i++ )
+                {
+                    _sums[ i ] += _samples[ start + i ];
+                }
+            }
+
+            //If the writer has not come round to the oldest sample read, the read is good.
+            if( _count - ( count - n ) < _capacity )
+            {
+                for( int i = 0; i < _width; i++ )
+                {
+                    out[ i ] = _sums[ i ] / n;
+                }
+                return n;
+            }
+        }
+
+        //The writer kept lapping the read, so nothing is given and the output is left alone.
+        return 0;
+    }
+}
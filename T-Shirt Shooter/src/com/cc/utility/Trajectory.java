@@ -0,0 +1,90 @@
+package com.cc.utility;
+
+/**
+ * A path for the mecanum chassis sampled once every loop, so following it is
+ * only looking up the sample for the time since it started. Each sample is
+ * where the robot should be on the field and which way it should face, in
+ * plain arrays made once when the trajectory is generated.
+ */
+public class Trajectory
+{
+    //The time between samples in seconds, which is one loop of the robot.
+    public static final double DT = 0.02;
+
+    //Where the robot should be at each sample in inches, with x forward and y to the right of where it started.
+    private double[] _x;
+    private double[] _y;
+
+    //Which way the robot should face at each sample in degrees, turning right from where it started.
+    private double[] _heading;
+
+    /**
+     * Creates a trajectory from its samples. Only the generator creates these.
+     *
+     * @param x The x position of each sample.
+     * @param y The y position of each sample.
+     * @param heading The heading of each sample.
+     */
+    Trajectory( double[] x, double[] y, double[] heading )
+    {
+        _x = x;
+        _y = y;
+        _heading = heading;
+    }
+
+    /**
+     * Gets the number of samples, which is at least one.
+     *
+     * @return The number of samples.
+     */
+    public int getLength()
+    {
+        return _x.length;
+    }
+
+    /**
+     * Gets how long the trajectory takes.
+     *
+     * @return The time in seconds from the first sample to the last.
+     */
+    public double getDuration()
+    {
+        return ( _x.length - 1 ) * DT;
+    }
+
+    /**
+     * Gets the x position of a sample.
+     *
+     * @param sample The index of the sample.
+     *
+     * @return The x position in inches.
+     */
+    public double getX( int sample )
+    {
+        return _x[ sample ];
+    }
+
+    /**
+     * Gets the y position of a sample.
+     *
+     * @param sample The index of the sample.
+     *
+     * @return The y position in inches.
+     */
+    public double getY( int sample )
+    {
+        return _y[ sample ];
+    }
+
+    /**
+     * Gets the heading of a sample.
+     *
+     * @param sample The index of the sample.
+     *
+     * @return The heading in degrees.
+     */
+    public double getHeading( int sample )
+    {
+        return _heading[ sample ];
+    }
+}
@@ -0,0 +1,290 @@
+package com.cc.utility;
+
+/**
+ * Generates trajectories for the mecanum chassis through a list of waypoints.
+ * Each pair of waypoints is joined by a quintic spline, which starts and ends
+ * with no sideways acceleration, so the path and its curvature are smooth
+ * through every waypoint. The heading is turned separately from the path,
+ * since the mecanum chassis can face any way while it moves. The speed along
+ * the path is then limited by the top speed, by how fast the robot can turn on
+ * the curves and turn its heading, and by the top acceleration both speeding
+ * up and slowing down, and the path is sampled once every loop. A waypoint at
+ * the same place as the one before it turns the robot in place, stopping
+ * before and after the turn. This takes a lot of work, so it is done before
+ * autonomous, never during it.
+ */
+public class TrajectoryGenerator
+{
+    //The number of points each spline is measured at when finding its length and curvature.
+    private static final int _SAMPLES_PER_SEGMENT = 100;
+
+    //The shortest distance between two waypoints in inches, below which the robot turns in place between them.
+    private static final double _MIN_SEGMENT = 0.01;
+
+    //The top speed along the path in inches per second, the top acceleration in inches per second per second, and the top turn rate in degrees per second.
+    private double _maxVelocity;
+    private double _maxAcceleration;
+    private double _maxTurnRate;
+
+    /**
+     * Creates a generator with the given limits.
+     *
+     * @param maxVelocity The top speed along the path in inches per second.
+     * @param maxAcceleration The top acceleration in inches per second per second, which is also used for turning on curves.
+     * @param maxTurnRate The top turn rate in degrees per second. Turning uses the wheels as well, so a turn slows the path down.
+     *
+     * @throws IllegalArgumentException If any of the limits is not above zero.
+     */
+    public TrajectoryGenerator( double maxVelocity, double maxAcceleration, double maxTurnRate )
+    {
+        if( !( maxVelocity > 0.0 && maxAcceleration > 0.0 && maxTurnRate > 0.0 ) )
+        {
+            throw new IllegalArgumentException( "Trajectory limits must be above zero" );
+        }
+
+        _maxVelocity = maxVelocity;
+        _maxAcceleration = maxAcceleration;
+        _maxTurnRate = maxTurnRate;
+    }
+
+    /**
+     * Generates a trajectory through the given waypoints which starts and ends stopped.
+     *
+     * @param waypoints Each waypoint as { x in inches, y in inches, direction of travel in degrees, heading in degrees }. There must be at least two.
+     *
+     * @return The trajectory.
+     */
+    public Trajectory generate( double[][] waypoints )
+    {
+        int segments = waypoints.length - 1;
+        if( segments < 1 )
+        {
+            throw new IllegalArgumentException( "A trajectory needs at least two waypoints" );
+        }
+
+        //The points along the path, shared between the end of one spline and the start of the next.
+        int points = segments * _SAMPLES_PER_SEGMENT + 1;
+        double[] x = new double[ points ];
+        double[] y = new double[ points ];
+        double[] heading = new double[ points ];
+        double[] distance = new double[ points ];
+        double[] limit = new double[ points ];
+
+        //Measures each spline and finds the fastest the robot can go at each point of it.
+        for( int segment = 0; segment < segments; segment++ )
+        {
+            measureSegment( waypoints[ segment ], waypoints[ segment + 1 ], segment * _SAMPLES_PER_SEGMENT, x, y, heading, distance, limit );
+        }
+
+        //Starts and ends stopped.
+        double[] velocity = new double[ points ];
+        velocity[ 0 ] = 0.0;
+        velocity[ points - 1 ] = 0.0;
+
+        //Speeds up no faster than the top acceleration.
+        for( int i = 1; i < points - 1; i++ )
+        {
+            double ds = distance[ i ] - distance[ i - 1 ];
+            velocity[ i ] = Math.min( limit[ i ], Math.sqrt( velocity[ i - 1 ] * velocity[ i - 1 ] + 2.0 * _maxAcceleration * ds ) );
+        }
+
+        //Slows down no faster than the top acceleration, working back from the end.
+        for( int i = points - 2; i > 0; i-- )
+        {
+            double ds = distance[ i + 1 ] - distance[ i ];
+            velocity[ i ] = Math.min( velocity[ i ], Math.sqrt( velocity[ i + 1 ] * velocity[ i + 1 ] + 2.0 * _maxAcceleration * ds ) );
+        }
+
+        //Finds when the robot reaches each point, going at the average speed between points.
+        double[] time = new double[ points ];
+        for( int i = 1; i < points; i++ )
+        {
+            double ds = distance[ i ] - distance[ i - 1 ];
+            double speed = velocity[ i ] + velocity[ i - 1 ];
+            time[ i ] = time[ i - 1 ] + ( speed > 0.0 ? 2.0 * ds / speed : 0.0 );
+        }
+
+        return sample( x, y, heading, velocity, time );
+    }
+
+    /**
+     * Measures one spline between two waypoints into the arrays of points.
+     * The first point of the spline is the last point of the one before it.
+     *
+     * @param start The waypoint the spline starts at.
+     * @param end The waypoint the spline ends at.
+     * @param first The index of the first point of the spline.
+     * @param x The x position of each point.
+     * @param y The y position of each point.
+     * @param heading The heading of each point.
+     * @param distance The distance along the path to each point.
+     * @param limit The fastest the robot can go at each point.
+     */
+    private void measureSegment( double[] start, double[] end, int first, double[] x, double[] y, double[] heading, double[] distance, double[] limit )
+    {
+        //Turns in place if the waypoints are at the same place.
+        double chord = Math.sqrt( ( end[ 0 ] - start[ 0 ] ) * ( end[ 0 ] - start[ 0 ] ) + ( end[ 1 ] - start[ 1 ] ) * ( end[ 1 ] - start[ 1 ] ) );
+        if( chord < _MIN_SEGMENT )
+        {
+            measureTurn( start, end, first, x, y, heading, distance, limit );
+            return;
+        }
+
+        //The tangents are as long as the straight line between the waypoints, which keeps the spline from looping.
+        double startDx = chord * Math.cos( Math.toRadians( start[ 2 ] ) );
+        double startDy = chord * Math.sin( Math.toRadians( start[ 2 ] ) );
+        double endDx = chord * Math.cos( Math.toRadians( end[ 2 ] ) );
+        double endDy = chord * Math.sin( Math.toRadians( end[ 2 ] ) );
+
+        //Finds the position and the curvature at each point of the spline.
+        double[] curvature = new double[ _SAMPLES_PER_SEGMENT + 1 ];
+        for( int j = 0; j <= _SAMPLES_PER_SEGMENT; j++ )
+        {
+            double t = (double) j / _SAMPLES_PER_SEGMENT;
+            double t2 = t * t;
+            double t3 = t2 * t;
+            double t4 = t3 * t;
+            double t5 = t4 * t;
+
+            //The quintic Hermite basis, with the accelerations at both ends left at zero.
+            double h0 = 1 - 10 * t3 + 15 * t4 - 6 * t5;
+            double h1 = t - 6 * t3 + 8 * t4 - 3 * t5;
+            double h4 = -4 * t3 + 7 * t4 - 3 * t5;
+            double h5 = 10 * t3 - 15 * t4 + 6 * t5;
+
+            //Its first and second derivatives.
+            double d0 = -30 * t2 + 60 * t3 - 30 * t4;
+            double d1 = 1 - 18 * t2 + 32 * t3 - 15 * t4;
+            double d4 = -12 * t2 + 28 * t3 - 15 * t4;
+            double d5 = 30 * t2 - 60 * t3 + 30 * t4;
+            double a0 = -60 * t + 180 * t2 - 120 * t3;
+            double a1 = -36 * t + 96 * t2 - 60 * t3;
+            double a4 = -24 * t + 84 * t2 - 60 * t3;
+            double a5 = 60 * t - 180 * t2 + 120 * t3;
+
+            int i = first + j;
+            x[ i ] = h0 * start[ 0 ] + h1 * startDx + h4 * endDx + h5 * end[ 0 ];
+            y[ i ] = h0 * start[ 1 ] + h1 * startDy + h4 * endDy + h5 * end[ 1 ];
+
+            double dx = d0 * start[ 0 ] + d1 * startDx + d4 * endDx + d5 * end[ 0 ];
+            double dy = d0 * start[ 1 ] + d1 * startDy + d4 * endDy + d5 * end[ 1 ];
+            double ddx = a0 * start[ 0 ] + a1 * startDx + a4 * endDx + a5 * end[ 0 ];
+            double ddy = a0 * start[ 1 ] + a1 * startDy + a4 * endDy + a5 * end[ 1 ];
+            double speed = Math.sqrt( dx * dx + dy * dy );
+            curvature[ j ] = speed > 0.0 ? Math.abs( dx * ddy - dy * ddx ) / ( speed * speed * speed ) : 0.0;
+
+            //Adds the straight line from the last point to the distance along the path.
+            if( i > 0 && j > 0 )
+            {
+                distance[ i ] = distance[ i - 1 ] + Math.sqrt( ( x[ i ] - x[ i - 1 ] ) * ( x[ i ] - x[ i - 1 ] ) + ( y[ i ] - y[ i - 1 ] ) * ( y[ i ] - y[ i - 1 ] ) );
+            }
+        }
+
+        //Turns the heading smoothly over the length of the spline, starting and ending without turning.
+        double length = distance[ first + _SAMPLES_PER_SEGMENT ] - distance[ first ];
+        double turn = end[ 3 ] - start[ 3 ];
+        for( int j = 0; j <= _SAMPLES_PER_SEGMENT; j++ )
+        {
+            int i = first + j;
+            double u = ( distance[ i ] - distance[ first ] ) / length;
+            double u2 = u * u;
+            heading[ i ] = start[ 3 ] + turn * ( 10 * u2 * u - 15 * u2 * u2 + 6 * u2 * u2 * u );
+
+            //The heading turns this many degrees per inch along the path here.
+            double turnPerInch = Math.abs( turn * ( 30 * u2 - 60 * u2 * u + 30 * u2 * u2 ) / length );
+
+            //The wheels are shared between moving and turning, and the curve needs sideways acceleration.
+            double fastest = 1.0 / ( 1.0 / _maxVelocity + turnPerInch / _maxTurnRate );
+            if( curvature[ j ] > 0.0 )
+            {
+                fastest = Math.min( fastest, Math.sqrt( _maxAcceleration / curvature[ j ] ) );
+            }
+
+            //Keeps the limit of the segment before at the first point, which may be the stop of a turn in place.
+            limit[ i ] = j == 0 && i > 0 ? Math.min( limit[ i ], fastest ) : fastest;
+        }
+    }
+
+    /**
+     * Measures a turn in place between two waypoints at the same place into the
+     * arrays of points. The distance along the path goes on through the turn as
+     * though each degree were as far as the robot drives in the time it turns
+     * that degree at the top turn rate, so the speed and acceleration limits
+     * hold the turn to the top turn rate and to the matching acceleration. The
+     * robot stops before and after the turn, since it cannot start or stop
+     * moving along the path while turning in place.
+     *
+     * @param start The waypoint the turn starts at.
+     * @param end The waypoint the turn ends at.
+     * @param first The index of the first point of the turn.
+     * @param x The x position of each point.
+     * @param y The y position of each point.
+     * @param heading The heading of each point.
+     * @param distance The distance along the path to each point.
+     * @param limit The fastest the robot can go at each point.
+     */
+    private void measureTurn( double[] start, double[] end, int first, double[] x, double[] y, double[] heading, double[] distance, double[] limit )
+    {
+        double turn = end[ 3 ] - start[ 3 ];
+        double length = Math.abs( turn ) * _maxVelocity / _maxTurnRate;
+        for( int j = 0; j <= _SAMPLES_PER_SEGMENT; j++ )
+        {
+            double u = (double) j / _SAMPLES_PER_SEGMENT;
+            int i = first + j;
+            x[ i ] = start[ 0 ];
+            y[ i ] = start[ 1 ];
+            heading[ i ] = start[ 3 ] + turn * u;
+            if( j > 0 )
+            {
+                distance[ i ] = distance[ first ] + length * u;
+            }
+            limit[ i ] = j == 0 || j == _SAMPLES_PER_SEGMENT ? 0.0 : _maxVelocity;
+        }
+    }
+
+    /**
+     * Samples the path once every loop.
+     *
+     * @param x The x position of each point.
+     * @param y The y position of each point.
+     * @param heading The heading of each point.
+     * @param velocity The speed at each point.
+     * @param time When the robot reaches each point.
+     *
+     * @return The trajectory.
+     */
+    private static Trajectory sample( double[] x, double[] y, double[] heading, double[] velocity, double[] time )
+    {
+        int last = time.length - 1;
+        int length = (int) Math.ceil( time[ last ] / Trajectory.DT ) + 1;
+        double[] sampleX = new double[ length ];
+        double[] sampleY = new double[ length ];
+        double[] sampleHeading = new double[ length ];
+
+        //Walks along the points, interpolating between the two the sample time falls between.
+        int i = 0;
+        for( int k = 0; k < length; k++ )
+        {
+            double t = Math.min( k * Trajectory.DT, time[ last ] );
+            while( i < last - 1 && time[ i + 1 ] < t )
+            {
+                i++;
+            }
+
+            //Finds how far between the two points the robot is, speeding up or slowing down steadily between them.
+            double span = time[ i + 1 ] - time[ i ];
+            double fraction = 1.0;
+            if( span > 0.0 )
+            {
+                double elapsed = Utility.limitRange( t - time[ i ], span, 0.0 );
+                double travelled = velocity[ i ] * elapsed + 0.5 * ( velocity[ i + 1 ] - velocity[ i ] ) / span * elapsed * elapsed;
+                fraction = 2.0 * travelled / ( ( velocity[ i ] + velocity[ i + 1 ] ) * span );
+            }
+            sampleX[ k ] = x[ i ] + ( x[ i + 1 ] - x[ i ] ) * fraction;
+            sampleY[ k ] = y[ i ] + ( y[ i + 1 ] - y[ i ] ) * fraction;
+            sampleHeading[ k ] = heading[ i ] + ( heading[ i + 1 ] - heading[ i ] ) * fraction;
+        }
+
+        return new Trajectory( sampleX, sampleY, sampleHeading );
+    }
+}
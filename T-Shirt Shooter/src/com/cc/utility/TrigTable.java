@@ -0,0 +1,78 @@
+package com.cc.utility;
+
+/**
+ * A precomputed table of sines over one full turn. The Squawk VM works out
+ * Math.sin and Math.cos slowly in software, so the drive code looks the values
+ * up here instead and interpolates between the two nearest entries, which is
+ * accurate to about 0.00001.
+ */
+public class TrigTable
+{
+    //The number of entries in one full turn. Must be a power of two.
+    private static final int _SIZE = 1024;
+
+    //The number of entries in a quarter turn, which is how far cosine is ahead of sine.
+    private static final int _QUARTER = _SIZE / 4;
+
+    //The number of entries per radian.
+    private static final double _SCALE = _SIZE / ( 2 * Math.PI );
+
+    //The sine at each entry, with one extra entry so the last one can interpolate.
+    private static final double[] _SIN = new double[ _SIZE + 1 ];
+
+    static
+    {
+        //Fills the table once when the class is loaded.
+        for( int i = 0; i <= _SIZE; i++ )
+        {
+            _SIN[ i ] = Math.sin( i / _SCALE );
+        }
+    }
+
+    private TrigTable()
+    {
+    }
+
+    /**
+     * Returns the sine of the given angle.
+     *
+     * @param radians The angle in radians.
+     *
+     * @return The sine of the angle.
+     */
+    public static double sin( double radians )
+    {
+        return lookup( radians * _SCALE );
+    }
+
+    /**
+     * Returns the cosine of the given angle.
+     *
+     * @param radians The angle in radians.
+     *
+     * @return The cosine of the angle.
+     */
+    public static double cos( double radians )
+    {
+        return lookup( radians * _SCALE + _QUARTER );
+    }
+
+    /**
+     * Looks up the sine at the given position in the table.
+     *
+     * @param position The angle in table entries, which may be outside one turn.
+     *
+     * @return The sine interpolated between the two nearest entries.
+     */
+    private static double lookup( double position )
+    {
+        //Splits the position into a whole entry and how far it is towards the next one.
+        double floor = Math.floor( position );
+        double fraction = position - floor;
+
+        //Wraps the entry into one turn. Masking works for negative numbers too.
+        int index = ( (int) floor ) & ( _SIZE - 1 );
+
+        return _SIN[ index ] + ( _SIN[ index + 1 ] - _SIN[ index ] ) * fraction;
+    }
+}
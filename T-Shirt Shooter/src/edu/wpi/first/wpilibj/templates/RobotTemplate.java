@@ -8,8 +8,17 @@
 package edu.wpi.first.wpilibj.templates;
 
 import com.cc.autonomous.*;
+import com.cc.commands.CommandScheduler;
+import com.cc.config.Parameters;
+import com.cc.hal.AnalogSensor;
+import com.cc.hal.Hardware;
+import com.cc.hal.wpi.WpiChooser;
+import com.cc.inputs.frame.InputFrame;
 import com.cc.inputs.driver.*;
-import com.cc.shooter.Shooter;
+import com.cc.outputs.frame.OutputFrame;
+import com.cc.recorder.FlightRecorder;
+import com.cc.recorder.Profiler;
+import com.cc.shooter.FireControl;
 import com.cc.shooter.ShooterCompressor;
 import com.cc.systems.*;
 import com.cc.utility.Utility;
@@ -27,17 +36,38 @@ import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
  */
 public class RobotTemplate extends IterativeRobot 
 {
+    //The tunable parameters of the robot.
+    private Parameters _parameters;
+    
     //The robot driver.
     private Driver _driver;
     
     //The robot chassis.
     private Chassis _chassis;
     
+    //The controller which moves the chassis in autonomous.
+    private MotionController _motion;
+    
     //The Shooter Compressor
     private ShooterCompressor _compressor;
     
-    //The TShirt Shooter
-    private Shooter _tShirtShooter;
+    //Shares the battery between the subsystems.
+    private PowerBudget _power;
+    
+    //Holds the outputs of the loop until they are written together at the end.
+    private OutputFrame _output;
+    
+    //Holds the inputs of the loop, each read once when it is first needed.
+    private InputFrame _input;
+    
+    //The fire control of the TShirt Shooter
+    private FireControl _fireControl;
+    
+    //Records every loop to a log file.
+    private FlightRecorder _recorder;
+    
+    //Times each section of the loop.
+    private Profiler _profiler;
     
     //Initializes the original PID constants for the chassis. These are dynamically changable in the Smart Dashboard.
     private final double _KP = 0.7;
@@ -47,6 +77,9 @@ public class RobotTemplate extends IterativeRobot
     //The robot mechanism.
     private Mechanism _shooter;
     
+    //The scheduler which runs the commands of the robot.
+    private CommandScheduler _scheduler;
+    
     //The maximum and minimum extremes for the position of the arm
     private final double _MAX_ARM_EXTREME = -1000000;
     private final double _MIN_ARM_EXTREME = 1000000;
@@ -55,11 +88,17 @@ public class RobotTemplate extends IterativeRobot
     private final double _ARM_UP_SPEED = 1.0;
     private final double _ARM_DOWN_SPEED = -1.0;
     
-    //The constants for the middle position of the arm.
+    //The middle position of the arm.
     private final double _ARM_MIDDLE_UP_POSITION = 220.0;
-    private final double _ARM_MIDDLE_DOWN_POSITION = 220.0;
-    private final double _ARM_MIDDLE_UP_SPEED = 0.700;
-    private final double _ARM_MIDDLE_DOWN_SPEED = 0.350;
+    
+    //The constants for the bottom and top positions of the arm.
+    private final double _ARM_BOTTOM_POSITION = 400.0;
+    private final double _ARM_TOP_POSITION = 40.0;
+    
+    //Initializes the original PID constants for the arm. These are dynamically changable in the Smart Dashboard.
+    private final double _ARM_KP = 0.01;
+    private final double _ARM_KI = 0.002;
+    private final double _ARM_KD = 0.0005;
           
     //The delay between ejecting the ball and shooting the ball.
     private final double _DELAY = 0.080;
@@ -70,11 +109,40 @@ public class RobotTemplate extends IterativeRobot
     //The rotational exponential deadzone for the driver.
     private final double _ROT_DEADZONE = 0.05;
     
+    //The part of each driver axis around the center which reads zero.
+    private final double _DRIVER_DEADBAND = 0.0;
+    
+    //The part of the arm axis around the center which reads zero, so noise on the axis does not let go of the arm's hold.
+    private final double _ARM_DEADBAND = 0.1;
+    
+    //How much the chassis keeps its rotation when the wheels are too fast, where 1 keeps all of it.
+    private final double _ROTATION_PRIORITY = 1.0;
+    
+    //The wheel speed loop constant, which is 0 since the robot has no wheel encoders.
+    private final double _WHEEL_KP = 0.0;
+    
+    //Whether the loop profiler is on, where anything but 0 is on.
+    private final double _PROFILER = 1.0;
+    
     private final double TICKS_PER_INCH = -53.199;
     
+    //The top speed of the chassis in inches per second and the constant of its velocity loop.
+    private final double _MAX_VELOCITY = 150.0;
+    private final double _VELOCITY_KP = 0.005;
+    
+    //The top acceleration of the chassis in inches per second per second, and its top turn rate in degrees per second.
+    private final double _MAX_ACCELERATION = 200.0;
+    private final double _MAX_TURN_RATE = 360.0;
+    
+    //The constants of the trajectory follower, for position and for heading.
+    private final double _TRAJECTORY_KP = 4.0;
+    private final double _TRAJECTORY_HEADING_KP = 4.0;
+    
+    //The time in seconds the chassis takes to get most of the way to a new speed.
+    private final double _DRIVE_LAG = 0.25;
+    
     //The autonomous constants.
-    private final double _AUTO_CENTER_TURN_SPEED = 0.3;
-    private final double _AUTO_CENTER_TURN_TIME = 0.3;
+    private final double _AUTO_CENTER_TURN_ANGLE = 32.4;
     private final double _AUTO_CENTER_FORWARD_SPEED = 0.55;
     private final double _AUTO_CENTER_FORWARD_TIME = 2.7;
     private final double _AUTO_CENTER_FORWARD_DISTANCE = 95;
@@ -82,8 +150,9 @@ public class RobotTemplate extends IterativeRobot
     private final double _AUTO_SIDE_FORWARD_SPEED = 0.75;
     private final double _AUTO_SIDE_FORWARD_DISTANCE = 85;
     
-    //The AutoCommand to be run in autonomous.
+    //The AutoCommand to be run in autonomous, and every AutoCommand by its index in the chooser.
     private AutoCommand _autoCommand;
+    private AutoCommand[] _autoCommands;
     
     //Declares the Smart Dashboard device which chooses the Driver and the drive type.
     private SendableChooser _driverChooser;
@@ -95,8 +164,11 @@ public class RobotTemplate extends IterativeRobot
     //Declares the Smart Dashboard device which chooses which AutoCommand to run.
     private SendableChooser _autoCommandChooser;
     
-    //A flag that insure autonomous only goes once.
-    private boolean _autoFlag = true;
+    //The index picked in each chooser, read through the input frame.
+    private AnalogSensor _driverSelection;
+    private AnalogSensor _driveTypeSelection;
+    private AnalogSensor _autoCommandSelection;
+    
 
     /**
      * This function is run when the robot is first started up and initializes
@@ -104,63 +176,115 @@ public class RobotTemplate extends IterativeRobot
      */
     public void robotInit() 
     {
+        //Get the input frame and start the first loop of inputs.
+        _input = InputFrame.getInstance();
+        _input.startTick();
+        
+        //Get the parameters object.
+        _parameters = Parameters.getInstance();
+        
+        //Get the loop profiler.
+        _profiler = Profiler.getInstance();
+        
+        //Get the power budget and the output frame before the subsystems that use them.
+        _power = PowerBudget.getInstance();
+        _output = OutputFrame.getInstance();
+        
         //Get the chassis object.
         _chassis = Chassis.getInstance();
+        _motion = MotionController.getInstance();
         
         //Puts the PID constants into the Smart Dashboard so they are dynamicly changable.
-        SmartDashboard.putNumber( " P-Constant: ", _KP );
-        SmartDashboard.putNumber( " I-Constant: ", _KI );
-        SmartDashboard.putNumber( " D-Constant: ", _KD );
+        _parameters.publish( Parameters.P_CONSTANT, _KP );
+        _parameters.publish( Parameters.I_CONSTANT, _KI );
+        _parameters.publish( Parameters.D_CONSTANT, _KD );
         
         //Get the mechanism object.
         _shooter = Mechanism.getInstance();
         
+        //Get the command scheduler.
+        _scheduler = CommandScheduler.getInstance();
+        
         //Turns the camera light on.
         _shooter.lightOn();
         
         //Creates a new Compressor
         _compressor = ShooterCompressor.getInstance();
         
-        //Creates a new Tshirt Shooter
-        _tShirtShooter = Shooter.getInstance();
+        //Creates the fire control of the Tshirt Shooter
+        _fireControl = FireControl.getInstance();
+        
+        //Starts recording every loop to the next of the log files, which keeps the logs of the last few times the robot started.
+        _recorder = FlightRecorder.getInstance();
+        _recorder.start( "flight" );
+        _recorder.startLoop();
         
         //Puts the maximum arm up and down speeds into the SmartDashboard
-        SmartDashboard.putNumber( " Arm Up-Speed: " , _ARM_UP_SPEED );
-        SmartDashboard.putNumber( " Arm Down-Speed: " , _ARM_DOWN_SPEED );
+        _parameters.publish( Parameters.ARM_UP_SPEED, _ARM_UP_SPEED );
+        _parameters.publish( Parameters.ARM_DOWN_SPEED, _ARM_DOWN_SPEED );
         
         //Puts the minimum and maximum arm extremes into the SmartDashboard.
-        SmartDashboard.putNumber( " Arm Maximum Extreme: " , _MAX_ARM_EXTREME );
-        SmartDashboard.putNumber( " Arm Minimum Extreme: " , _MIN_ARM_EXTREME );
+        _parameters.publish( Parameters.ARM_MAXIMUM_EXTREME, _MAX_ARM_EXTREME );
+        _parameters.publish( Parameters.ARM_MINIMUM_EXTREME, _MIN_ARM_EXTREME );
         
-        //Puts the middle arm position constants into the SmartDashboard.
-        SmartDashboard.putNumber( " Arm Middle Up Position: " , _ARM_MIDDLE_UP_POSITION );
-        SmartDashboard.putNumber( " Arm Middle Down Position: " , _ARM_MIDDLE_DOWN_POSITION );
-        SmartDashboard.putNumber( " Arm Middle Up Speed: " , _ARM_MIDDLE_UP_SPEED );
-        SmartDashboard.putNumber( " Arm Middle Down Speed: " , _ARM_MIDDLE_DOWN_SPEED );
+        //Puts the middle arm position into the SmartDashboard.
+        _parameters.publish( Parameters.ARM_MIDDLE_UP_POSITION, _ARM_MIDDLE_UP_POSITION );
+        
+        //Puts the bottom and top arm positions into the SmartDashboard.
+        _parameters.publish( Parameters.ARM_BOTTOM_POSITION, _ARM_BOTTOM_POSITION );
+        _parameters.publish( Parameters.ARM_TOP_POSITION, _ARM_TOP_POSITION );
+        
+        //Puts the arm PID constants into the SmartDashboard.
+        _parameters.publish( Parameters.ARM_P_CONSTANT, _ARM_KP );
+        _parameters.publish( Parameters.ARM_I_CONSTANT, _ARM_KI );
+        _parameters.publish( Parameters.ARM_D_CONSTANT, _ARM_KD );
         
         //Puts the arm shooting delay into the SmartDashboard.
-        SmartDashboard.putNumber( " Arm Shooting Delay: " , _DELAY );
+        _parameters.publish( Parameters.ARM_SHOOTING_DELAY, _DELAY );
         
         //Puts the expo of the driver into the SmartDashboard.
-        SmartDashboard.putNumber( " Driver Expo: " , _DRIVEREXPO );
+        _parameters.publish( Parameters.DRIVER_EXPO, _DRIVEREXPO );
         
         //Puts the rotational exponential deadzone into the SmartDashboard.
-        SmartDashboard.putNumber( " Rot Dead-Zone: " , _ROT_DEADZONE );
+        _parameters.publish( Parameters.ROT_DEAD_ZONE, _ROT_DEADZONE );
+        
+        //Puts the driver dead-band into the SmartDashboard.
+        _parameters.publish( Parameters.DRIVER_DEAD_BAND, _DRIVER_DEADBAND );
+        
+        //Puts the arm dead-band into the SmartDashboard.
+        _parameters.publish( Parameters.ARM_DEAD_BAND, _ARM_DEADBAND );
+        
+        //Puts how much the chassis keeps its rotation at full speed, and the wheel speed loop constant, into the SmartDashboard.
+        _parameters.publish( Parameters.ROTATION_PRIORITY, _ROTATION_PRIORITY );
+        _parameters.publish( Parameters.WHEEL_P_CONSTANT, _WHEEL_KP );
+        
+        //Puts the loop profiler switch into the SmartDashboard.
+        _parameters.publish( Parameters.PROFILER, _PROFILER );
+        
+        _parameters.publish( Parameters.ENCODER_TICKS, TICKS_PER_INCH );
         
-        SmartDashboard.putNumber( " Encoder Ticks: " , TICKS_PER_INCH );
+        //Puts the chassis velocity constants into the SmartDashboard.
+        _parameters.publish( Parameters.MAX_VELOCITY, _MAX_VELOCITY );
+        _parameters.publish( Parameters.VELOCITY_P_CONSTANT, _VELOCITY_KP );
+        
+        //Puts the trajectory limits and the trajectory follower constants into the SmartDashboard.
+        _parameters.publish( Parameters.MAX_ACCELERATION, _MAX_ACCELERATION );
+        _parameters.publish( Parameters.MAX_TURN_RATE, _MAX_TURN_RATE );
+        _parameters.publish( Parameters.TRAJECTORY_P_CONSTANT, _TRAJECTORY_KP );
+        _parameters.publish( Parameters.TRAJECTORY_HEADING_P_CONSTANT, _TRAJECTORY_HEADING_KP );
+        _parameters.publish( Parameters.DRIVE_LAG, _DRIVE_LAG );
                       
         //Puts the autonomous constants into the Smart Dashboard.
-        SmartDashboard.putNumber( " Auto-Center Turn Speed: " , _AUTO_CENTER_TURN_SPEED );
-        SmartDashboard.putNumber( " Auto-Center Turn Time: " , _AUTO_CENTER_TURN_TIME );
-        SmartDashboard.putNumber( " Auto-Center Forward Speed: " , _AUTO_CENTER_FORWARD_SPEED );
-        SmartDashboard.putNumber( " Auto-Center Forward Time: " , _AUTO_CENTER_FORWARD_TIME );
-        SmartDashboard.putNumber( " Auto-Center Forward Distance: ", _AUTO_CENTER_FORWARD_DISTANCE );
-        SmartDashboard.putNumber( " Auto-Side Forward Speed: " , _AUTO_SIDE_FORWARD_SPEED );
-        SmartDashboard.putNumber( " Auto-Side Forward Time: " , _AUTO_SIDE_FORWARD_TIME );
-        SmartDashboard.putNumber( " Auto-Side Forward Distance: " , _AUTO_SIDE_FORWARD_DISTANCE );
+        _parameters.publish( Parameters.AUTO_CENTER_TURN_ANGLE, _AUTO_CENTER_TURN_ANGLE );
+        _parameters.publish( Parameters.AUTO_CENTER_FORWARD_SPEED, _AUTO_CENTER_FORWARD_SPEED );
+        _parameters.publish( Parameters.AUTO_CENTER_FORWARD_TIME, _AUTO_CENTER_FORWARD_TIME );
+        _parameters.publish( Parameters.AUTO_CENTER_FORWARD_DISTANCE, _AUTO_CENTER_FORWARD_DISTANCE );
+        _parameters.publish( Parameters.AUTO_SIDE_FORWARD_SPEED, _AUTO_SIDE_FORWARD_SPEED );
+        _parameters.publish( Parameters.AUTO_SIDE_FORWARD_TIME, _AUTO_SIDE_FORWARD_TIME );
+        _parameters.publish( Parameters.AUTO_SIDE_FORWARD_DISTANCE, _AUTO_SIDE_FORWARD_DISTANCE );
         
         //Child mode chooser
-        SmartDashboard.putNumber( " Child Mode: ", _childMode );
+        _parameters.publish( Parameters.CHILD_MODE, _childMode );
         
         //Initializes the chooser devices.
         _driverChooser = new SendableChooser();
@@ -176,18 +300,25 @@ public class RobotTemplate extends IterativeRobot
         _driveTypeChooser.addDefault( "Normal Holo Driver" , new Integer( 1 ) );//1 for the Normal Holo Dirve.
         _driveTypeChooser.addObject( "Relative Holo Drive" , new Integer( 0 ) );//0 for the Relative Holo Drive.
         
-        //Adds each AutoCommand into the Smart Dashboard.
-        _autoCommandChooser.addDefault( "Do Nothing" , new AutoNothing() );
-        _autoCommandChooser.addObject( "Center Auto Command" , new AutoCenter() );
-        _autoCommandChooser.addObject( "Side Auto Command" , new AutoSide() );
+        //Creates each AutoCommand and adds its index into the Smart Dashboard.
+        _autoCommands = new AutoCommand[] { new AutoNothing(), new AutoCenter(), new AutoSide() };
+        _autoCommandChooser.addDefault( "Do Nothing" , new Integer( 0 ) );//0 for doing nothing.
+        _autoCommandChooser.addObject( "Center Auto Command" , new Integer( 1 ) );//1 for the Center Auto Command.
+        _autoCommandChooser.addObject( "Side Auto Command" , new Integer( 2 ) );//2 for the Side Auto Command.
         
         //Puts the chooser devices into the Smart Dashboard.
         SmartDashboard.putData( "Driver Controller" , _driverChooser );
         SmartDashboard.putData( "Drive Type" , _driveTypeChooser );
         SmartDashboard.putData( "Auto Command" , _autoCommandChooser );
         
+        //Reads the choosers through the input frame.
+        Hardware hardware = Hardware.getInstance();
+        _driverSelection = _input.analog( hardware.getChooser( "Driver Controller", new WpiChooser( _driverChooser ) ) );
+        _driveTypeSelection = _input.analog( hardware.getChooser( "Drive Type", new WpiChooser( _driveTypeChooser ) ) );
+        _autoCommandSelection = _input.analog( hardware.getChooser( "Auto Command", new WpiChooser( _autoCommandChooser ) ) );
+        
         //Finds the assigned index value of the driver type choosen
-        int index = ( (Integer) _driverChooser.getSelected() ).intValue();
+        int index = (int) _driverSelection.getValue();
         
         //The type of the driver will be choosen from the given index value from the Smart Dashboard.
         switch( index )
@@ -208,6 +339,15 @@ public class RobotTemplate extends IterativeRobot
                 _driver = AirplaneController.getInstance();
                 break;
         }
+        
+        //Generates the trajectories of every AutoCommand, so autonomous never has to.
+        prepareAutoCommands();
+        
+        //Writes every output that changed to the hardware at once.
+        _output.commit();
+        
+        //Records this loop as the one which started the mode.
+        _recorder.record( FlightRecorder.ROBOT | FlightRecorder.INIT, null );
     }
     
     /**
@@ -216,17 +356,74 @@ public class RobotTemplate extends IterativeRobot
      */ 
     public void disabledInit()
     {
+        //Starts a new loop of inputs.
+        _input.startTick();
+        
+        //Marks the start of the loop for the flight recorder.
+        _recorder.startLoop();
+        
         //Prompts that the robot is disabled.
         System.out.println( "Robot is Disabled" );
         
-        //Sets the automous flag to be false.
-        _autoFlag = false;
+        //Stops any autonomous move and any commands that were still running.
+        _motion.cancel();
+        _scheduler.cancelAll();
+        
+        //Stops the drive motors straight away, so they do not slew down from the last value when the robot is enabled.
+        _chassis.stop();
+        
+        //Drops any waiting shots and closes the shooter valve.
+        _fireControl.cancel();
+        
+        //Stops holding the arm in place.
+        _shooter.releaseArm();
         
         //Resets the gyro to 0 degrees.
         _chassis.resetGyro();
         
         //Turns the camera light on.
         _shooter.lightOn();     
+        
+        //Writes every output that changed to the hardware at once.
+        _output.commit();
+        
+        //Records this loop as the one which started the mode.
+        _recorder.record( FlightRecorder.DISABLED | FlightRecorder.INIT, null );
+    }
+    
+    /**
+     * This function is called periodically while the robot is disabled and
+     * generates the trajectories of the AutoCommands again if the parameters
+     * have been changed.
+     */
+    public void disabledPeriodic()
+    {
+        //Starts a new loop of inputs.
+        _input.startTick();
+        
+        //Marks the start of the loop for the flight recorder.
+        _recorder.startLoop();
+        
+        //Reads the next few parameters back from the Smart Dashboard.
+        _parameters.refresh();
+        
+        //Generates the trajectories again if the parameters changed.
+        prepareAutoCommands();
+        
+        //Records this loop.
+        _recorder.record( FlightRecorder.DISABLED, null );
+    }
+    
+    /**
+     * Gets every AutoCommand ready to run, which generates their trajectories
+     * if the parameters have changed since they were last generated.
+     */
+    private void prepareAutoCommands()
+    {
+        for( int i = 0; i < _autoCommands.length; i++ )
+        {
+            _autoCommands[ i ].prepare();
+        }
     }
     
     /**
@@ -235,34 +432,91 @@ public class RobotTemplate extends IterativeRobot
      */
     public void autonomousInit()
     {
-        //Finds the selected AutoCommand.
-        _autoCommand = (AutoCommand) _autoCommandChooser.getSelected(); 
+        //Starts a new loop of inputs.
+        _input.startTick();
+        
+        //Marks the start of the loop for the flight recorder.
+        _recorder.startLoop();
+        
+        //Finds the selected AutoCommand and starts it from its first step.
+        _autoCommand = _autoCommands[ (int) _autoCommandSelection.getValue() ];
+        _autoCommand.reset();
+        
+        //Starts the drive motors from a stop, whatever they were left at.
+        _chassis.stop();
         
         //Resets the gyro
         _chassis.resetGyro();
         
+        //Starts timing the loop over for autonomous.
+        _profiler.reset();
+        
         //Turns the light of the camera on.
         _shooter.lightOn();
         
+        //Writes every output that changed to the hardware at once.
+        _output.commit();
+        
+        //Records this loop as the one which started the mode.
+        _recorder.record( FlightRecorder.AUTONOMOUS | FlightRecorder.INIT, null );
     }
 
     /**
-     * This function is called periodically during autonomous and runs the given
-     * AutoCommand once.
+     * This function is called periodically during autonomous and runs one step
+     * of the given AutoCommand and of the motion controller.
      */
     public void autonomousPeriodic() 
     {
+        //Starts a new loop of inputs.
+        _input.startTick();
+        
+        //Marks the start of the loop for the profiler and the flight recorder.
+        _profiler.startLoop();
+        _recorder.startLoop();
+        
+        //Reads the next few parameters back from the Smart Dashboard.
+        _profiler.begin( Profiler.PARAMETERS );
+        _parameters.refresh();
+        _profiler.end( Profiler.PARAMETERS );
+        
+        //Reads the battery and the chassis sensors once for this loop.
+        _profiler.begin( Profiler.SENSORS );
+        _power.update();
+        _chassis.updateSensors();
+        _profiler.end( Profiler.SENSORS );
+        
         //Turns the camera light on.
         _shooter.lightOn();
         
-        //If the flag hasn't been raised...
-        if( !_autoFlag )
-        {
-            //Runs the given AutoCommand and set the auto flag to be true.
-            _autoCommand.runAutoCommand();
-        
-            _autoFlag = true;
-        }
+        //Runs the current step of the given AutoCommand and advances the current autonomous move.
+        _profiler.begin( Profiler.DRIVE );
+        _autoCommand.runAutoCommand();
+        _motion.step();
+        _profiler.end( Profiler.DRIVE );
+
+        //Keeps the air tank full.
+        _profiler.begin( Profiler.COMPRESSOR );
+        _compressor.runCompressor( );
+        _profiler.end( Profiler.COMPRESSOR );
+
+        //Runs the commands of the robot and holds the arm at its position.
+        _profiler.begin( Profiler.ARM );
+        _scheduler.run();
+        _shooter.runArm();
+        _profiler.end( Profiler.ARM );
+        
+        //Writes every output that changed to the hardware at once.
+        _profiler.begin( Profiler.OUTPUTS );
+        _output.commit();
+        _profiler.end( Profiler.OUTPUTS );
+        
+        //Records this loop.
+        _profiler.begin( Profiler.RECORDER );
+        _recorder.record( FlightRecorder.AUTONOMOUS, null );
+        _profiler.end( Profiler.RECORDER );
+        
+        //Finishes timing the loop.
+        _profiler.endLoop();
     }
     
     /**
@@ -271,8 +525,14 @@ public class RobotTemplate extends IterativeRobot
      */
     public void teleopInit()
     {   
+        //Starts a new loop of inputs.
+        _input.startTick();
+        
+        //Marks the start of the loop for the flight recorder.
+        _recorder.startLoop();
+        
         //Finds the assigned index value of the driver type choosen
-        int index = ( (Integer) _driverChooser.getSelected() ).intValue();
+        int index = (int) _driverSelection.getValue();
         
         //The type of the driver will be choosen from the given index value from the Smart Dashboard.
         switch( index )
@@ -294,8 +554,25 @@ public class RobotTemplate extends IterativeRobot
                 break;
         }
         
+        //Starts the driver from what is held now, so a button held through the enable does not shoot, and with no shots waiting.
+        _driver.seedState();
+        _fireControl.cancel();
+        
+        //Stops any autonomous move that was still running, and starts the drive motors from a stop.
+        _motion.cancel();
+        _chassis.stop();
+        
         //Reset the gyro.
         _chassis.resetGyro();
+        
+        //Starts timing the loop over for Tele-Op.
+        _profiler.reset();
+        
+        //Writes every output that changed to the hardware at once.
+        _output.commit();
+        
+        //Records this loop as the one which started the mode.
+        _recorder.record( FlightRecorder.TELEOP | FlightRecorder.INIT, null );
     }
 
     /**
@@ -305,16 +582,40 @@ public class RobotTemplate extends IterativeRobot
      */
     public void teleopPeriodic() 
     {
+        //Starts a new loop of inputs.
+        _input.startTick();
+        
+        //Marks the start of the loop for the profiler and the flight recorder.
+        _profiler.startLoop();
+        _recorder.startLoop();
+        
+        //Reads the next few parameters back from the Smart Dashboard.
+        _profiler.begin( Profiler.PARAMETERS );
+        _parameters.refresh();
+        _profiler.end( Profiler.PARAMETERS );
+        
+        //Reads the battery and the chassis sensors once for this loop.
+        _profiler.begin( Profiler.SENSORS );
+        _power.update();
+        _chassis.updateSensors();
+        _profiler.end( Profiler.SENSORS );
+        
+        //Reads the whole controller once for this loop.
+        _profiler.begin( Profiler.DRIVER );
+        DriverState input = _driver.poll();
+        _profiler.end( Profiler.DRIVER );
+        
         //Finds which drive type is wanted from the SmartDashBoard.
-        int index = ( (Integer) _driveTypeChooser.getSelected() ).intValue();
+        int index = (int) _driveTypeSelection.getValue();
         
         //Based on the selection above, choose and run the selected drive type.
+        _profiler.begin( Profiler.DRIVE );
         switch( index )
         {
             //1 is Normal Holo Drive.
             case 1:
                 //Drives the chassis not relative to the driver.
-                _chassis.holoDrive( Utility.limitRange( _driver.getY(), .25, -.25 ) , Utility.limitRange( _driver.getX( ), .25, -.25 ) , Utility.limitRange( _driver.getRot(), 0.25, -0.25 ) );
+                _chassis.holoDrive( Utility.limitRange( input.getY(), .25, -.25 ) , Utility.limitRange( input.getX(), .25, -.25 ) , Utility.limitRange( input.getRot(), 0.25, -0.25 ) );
                 break;
             
             //0 and default is Relative Holo Drive.
@@ -322,63 +623,106 @@ public class RobotTemplate extends IterativeRobot
             case 0:
                 //Drives the chassis relative to the driver.
                 //Makes sure the power is limited if in childMode
-                if( _childMode == 1 )
+                if( _parameters.get( Parameters.CHILD_MODE ) == 1 )
                 {
-                    _chassis.relativeHoloDrive( Utility.limitRange( _driver.getY(), .25, -.25 ) , Utility.limitRange( _driver.getX( ), .25, -.25 ) , Utility.limitRange( _driver.getRot(), 0.25, -0.25 ) );
+                    _chassis.relativeHoloDrive( Utility.limitRange( input.getY(), .25, -.25 ) , Utility.limitRange( input.getX(), .25, -.25 ) , Utility.limitRange( input.getRot(), 0.25, -0.25 ) );
                 }
                 else
                 {
-                    _chassis.relativeHoloDrive( _driver.getY() , _driver.getX() , Utility.limitRange( _driver.getRot(), 0.75, -0.75 ) );
+                    _chassis.relativeHoloDrive( input.getY() , input.getX() , Utility.limitRange( input.getRot(), 0.75, -0.75 ) );
                 }
                 break;
         }
+        _profiler.end( Profiler.DRIVE );
         
 //        System.out.println( _driver.getRot() );
         
         //If the analog button's sum is negative and the arm is below the minimum extreme...
-        if( _driver.getArm() < 0.0 && _shooter.getPotent() < SmartDashboard.getNumber( " Arm Minimum Extreme: " ) )
+        _profiler.begin( Profiler.ARM );
+        if( input.getArm() < 0.0 && _shooter.getPotent() < _parameters.get( Parameters.ARM_MINIMUM_EXTREME ) )
         {
             //The arm on the mechanism will raise at the analog speed.
-            _shooter.lowerArm( _driver.getArm() );
+            _shooter.lowerArm( input.getArm() );
         }
-        else if( _driver.getArm() > 0.0 && _shooter.getPotent() > SmartDashboard.getNumber( " Arm Maximum Extreme: " ) )//Else if the analog button's sum is positive and the arm is above the minimum extreme...
+        else if( input.getArm() > 0.0 && _shooter.getPotent() > _parameters.get( Parameters.ARM_MAXIMUM_EXTREME ) )//Else if the analog button's sum is positive and the arm is above the minimum extreme...
         {
             //The arm on the mechanism will lower at analog speed.
-            _shooter.raiseArm( -1 * _driver.getArm() );
+            _shooter.raiseArm( -1 * input.getArm() );
         }
-        else//Else stop the arm.
+        else if( !_shooter.isHoldingArm() )//Else stop the arm, unless it is being held at a position.
         {
             _shooter.stopArm();
         }
          
+        //Runs the commands of the robot.
+        _scheduler.run();
+        
+        //Holds the arm at its position.
+        _shooter.runArm();
+        _profiler.end( Profiler.ARM );
+        
         //Runs the compressor
+        _profiler.begin( Profiler.COMPRESSOR );
         _compressor.runCompressor( );
+        _profiler.end( Profiler.COMPRESSOR );
         
-        //Check what how long a shot must be used and calls it
-        if( ( _driver.getThirdButton() && _driver instanceof AirplaneController ) || ( _driver.getPriButton( ) && _driver instanceof XBoxController ) )
+        //Queues a shot of the length for the button that was just pressed, so holding a button only shoots once
+        _profiler.begin( Profiler.SHOOTER );
+        if( ( input.wasPressed( DriverState.THIRD ) && _driver instanceof AirplaneController ) || ( input.wasPressed( DriverState.PRIMARY ) && _driver instanceof XBoxController ) )
         {
             //Short Shot
-            _tShirtShooter.shoot( .05 );
-            System.out.println("Short Shot");
+            if( _fireControl.request( FireControl.SHORT_SHOT ) )
+            {
+                System.out.println("Short Shot");
+            }
         }
-        if( _driver.getSecButton() )
+        if( input.wasPressed( DriverState.SECONDARY ) )
         {
             //Medium Shot
-            _tShirtShooter.shoot( .1 );
-            System.out.println("Medium Shot");
+            if( _fireControl.request( FireControl.MEDIUM_SHOT ) )
+            {
+                System.out.println("Medium Shot");
+            }
         }
-        if(_driver.getFourthButton() )
+        if( input.wasPressed( DriverState.FOURTH ) )
         {
             //Long Shot
-            _tShirtShooter.shoot( .15 );
-            System.out.println("Long Shot");
+            if( _fireControl.request( FireControl.LONG_SHOT ) )
+            {
+                System.out.println("Long Shot");
+            }
         }
-        if( ( _driver.getFifthButton() && _driver instanceof AirplaneController ) || (_driver.getThirdButton( ) && _driver instanceof XBoxController ) )
+        if( ( input.wasPressed( DriverState.FIFTH ) && _driver instanceof AirplaneController ) || ( input.wasPressed( DriverState.THIRD ) && _driver instanceof XBoxController ) )
         {
             //Empty Tank Shot
-            _tShirtShooter.shoot( .5 );
-            System.out.println("Empty Tank Shot");
+            if( _fireControl.request( FireControl.EMPTY_TANK_SHOT ) )
+            {
+                System.out.println("Empty Tank Shot");
+            }
         }
+        
+        //Opens and closes the shooter valve for the waiting shots, without holding up the loop
+        _fireControl.runFireControl();
+        _profiler.end( Profiler.SHOOTER );
+        
+        //Shows the tank pressure and the shots left, and the battery, a value at a time.
+        _profiler.begin( Profiler.DASHBOARD );
+        _compressor.printTank();
+        _power.printPower();
+        _profiler.end( Profiler.DASHBOARD );
+        
+        //Writes every output that changed to the hardware at once.
+        _profiler.begin( Profiler.OUTPUTS );
+        _output.commit();
+        _profiler.end( Profiler.OUTPUTS );
+        
+        //Records this loop.
+        _profiler.begin( Profiler.RECORDER );
+        _recorder.record( FlightRecorder.TELEOP, input );
+        _profiler.end( Profiler.RECORDER );
+        
+        //Finishes timing the loop.
+        _profiler.endLoop();
     }
     
     /**
@@ -386,8 +730,14 @@ public class RobotTemplate extends IterativeRobot
      */
     public void testInit()
     {
+        //Starts a new loop of inputs.
+        _input.startTick();
+        
+        //Marks the start of the loop for the flight recorder.
+        _recorder.startLoop();
+        
         //Finds the assigned index value of the driver type choosen
-        int index = ( (Integer) _driverChooser.getSelected() ).intValue();
+        int index = (int) _driverSelection.getValue();
         
         //The type of the driver will be choosen from the given index value from the Smart Dashboard.
         switch( index )
@@ -408,6 +758,9 @@ public class RobotTemplate extends IterativeRobot
                 _driver = AirplaneController.getInstance();
                 break;
         }
+        
+        //Records this loop as the one which started the mode.
+        _recorder.record( FlightRecorder.TEST | FlightRecorder.INIT, null );
     }
     
     /**
@@ -415,7 +768,19 @@ public class RobotTemplate extends IterativeRobot
      */
     public void testPeriodic() 
     {
+        //Starts a new loop of inputs.
+        _input.startTick();
+        
+        //Marks the start of the loop for the flight recorder.
+        _recorder.startLoop();
+        
+        //Reads the next few parameters back from the Smart Dashboard.
+        _parameters.refresh();
+        
         _driver.printAxes( );
+        
+        //Records this loop.
+        _recorder.record( FlightRecorder.TEST, null );
     }
     
 }
\ No newline at end of file